@@ -20,12 +20,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
 
 import javax.activity.InvalidActivityException;
+import javax.swing.SwingUtilities;
 
+import robowars.diagnostics.ConsoleSink;
+import robowars.diagnostics.DiagnosticLevelEnum;
+import robowars.diagnostics.Diagnostics;
 import robowars.display.Display;
 
 import robowars.flow.MatchOptions;
+import robowars.flow.PlayerSettings;
 import robowars.logger.Entry;
 import robowars.logger.EntryEnum;
 import robowars.logger.Logger;
@@ -59,10 +66,25 @@ public class Board {
 																		new HexCoord(0, 0, 6),
 																		new HexCoord(-6, 0, 0)};
 	
-	/** Container for constant offsets in order to calculate absolute direction from the Interpreter's relative direction. */
-	private HashMap<HexCoord, Integer> ABSOLUTE_DIRECTION_OFFSETS;
-	/** Container for HexCoords in order to calculate location of a hex in absolute direction from the Interpreter's relative direction. */
-	private ArrayList<HexCoord> ABSOLUTE_DIRECTION_COORDS;
+	/** Constant offsets in order to calculate absolute direction from the Interpreter's relative direction, parallel to ABSOLUTE_DIRECTION_COORDS. */
+	private static final int[] ABSOLUTE_DIRECTION_OFFSETS = {0,
+																0, 1, 2, 3, 4, 5,
+																0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11,
+																0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17};
+	/** HexCoords in vector form, in order to calculate location of a hex in absolute direction from the Interpreter's relative direction. */
+	private static final HexCoord[] ABSOLUTE_DIRECTION_COORDS = {
+																new HexCoord(0,0,0),
+																new HexCoord(0,1,0), new HexCoord(0,0,1), new HexCoord(-1,0,0), new HexCoord(0,-1,0), new HexCoord(0,0,-1), new HexCoord(1,0,0),
+																new HexCoord(0,2,0), new HexCoord(0,1,1), new HexCoord(0,0,2), new HexCoord(-1,0,1), new HexCoord(-2,0,0), new HexCoord(-1,-1,0), new HexCoord(0,-2,0), new HexCoord(0,-1,-1), new HexCoord(0,0,-2), new HexCoord(1,0,-1), new HexCoord(2,0,0), new HexCoord(1,1,0),
+																new HexCoord(0,3,0), new HexCoord(0,2,1), new HexCoord(0,1,2), new HexCoord(0,0,3), new HexCoord(-1,0,2), new HexCoord(-2,0,1), new HexCoord(-3,0,0), new HexCoord(-2,-1,0), new HexCoord(-1,-2,0), new HexCoord(0,-3,0), new HexCoord(0,-2,-1), new HexCoord(0,-1,-2), new HexCoord(0,0,-3), new HexCoord(1,0,-2), new HexCoord(2,0,-1), new HexCoord(3,0,0), new HexCoord(2,1,0), new HexCoord(1,2,0)};
+	
+	/** The index into ABSOLUTE_DIRECTION_COORDS of each displacement, so that absoluteDirection() can look it up. */
+	private static final HashMap<HexCoord, Integer> ABSOLUTE_DIRECTION_INDICES = new HashMap<HexCoord, Integer>();
+	static {
+		for (int i = 0; i < ABSOLUTE_DIRECTION_COORDS.length; i++){
+			ABSOLUTE_DIRECTION_INDICES.put(ABSOLUTE_DIRECTION_COORDS[i], i);
+		}
+	}
 	
 	
 	
@@ -85,16 +107,34 @@ public class Board {
 	/** Stores the option for the match */
 	private MatchOptions matchOptions;
 	
+	/** Stores where messages go; the match's diagnostics, or the console when there are no match options */
+	private Diagnostics diagnostics;
+	
 	/** Stores the display */
 	private Display display;
 	
 	/** Stores the length of one side of the game board. Value is either 5 or 7 */
 	private int sideLength;	
 	
+	/** Stores the hexagons of the board, whose shared coordinates are the ones kept in pieceCoords */
+	private HexCells cells;
+	
+	/** Stores which living pieces are in each hexagon, kept in step with pieceCoords */
+	private OccupancyIndex occupancy;
+	
+	/** Stores the largest range of any piece, the furthest a witness can be from an event */
+	private int maxRange;
+	
+	/** Stores what each team can see and which of its members are alive, kept in step with the occupancy index */
+	private TeamVisibility visibility;
+	
 	private int remainingTeams;
 	
 	private boolean initialized;
 	
+	/** Counts the changes to the pieces' positions and health, and to the current piece, so that sensor results can be reused until one happens */
+	private int version;
+	
 	
 	/**
 	 * Constructor for Board. Not a constructor for testing purposed. Integrated with the rest of the game.
@@ -106,88 +146,6 @@ public class Board {
 	 */
 	public Board(int numberOfTeams, Display display,  MatchOptions matchOptions) throws InvalidActivityException{
 		
-		//  Load the absolute direction offsets.
-		ABSOLUTE_DIRECTION_OFFSETS = new HashMap<HexCoord, Integer>();
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,0), 0);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,1,0), 0);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,1), 1);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-1,0,0), 2);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,-1,0), 3);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,-1), 4);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(1,0,0), 5);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,2,0), 0);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,1,1), 1);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,2), 2);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-1,0,1), 3);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-2,0,0), 4);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-1,-1,0), 5);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,-2,0), 6);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,-1,-1), 7);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,-2), 8);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(1,0,-1), 9);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(2,0,0), 10);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(1,1,0), 11);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,3,0), 0);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,2,1), 1);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,1,2), 2);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,3), 3);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-1,0,2), 4);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-2,0,1), 5);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-3,0,0), 6);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-2,-1,0), 7);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(-1,-2,0), 8);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,-3,0), 9);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,-2,-1), 10);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,-1,-2), 11);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(0,0,-3), 12);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(1,0,-2), 13);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(2,0,-1), 14);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(3,0,0), 15);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(2,1,0), 16);
-		ABSOLUTE_DIRECTION_OFFSETS.put(new HexCoord(1,2,0), 17);
-		
-		
-		//  Load the absolute direction coords.
-		ABSOLUTE_DIRECTION_COORDS = new ArrayList<HexCoord>();
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,1,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-1,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,-1,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,-1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(1,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,2,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,1,1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,2));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-1,0,1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-2,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-1,-1,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,-2,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,-1,-1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,-2));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(1,0,-1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(2,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(1,1,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,3,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,2,1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,1,2));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,3));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-1,0,2));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-2,0,1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-3,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-2,-1,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(-1,-2,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,-3,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,-2,-1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,-1,-2));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(0,0,-3));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(1,0,-2));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(2,0,-1));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(3,0,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(2,1,0));
-		ABSOLUTE_DIRECTION_COORDS.add(new HexCoord(1,2,0));
-		
-		
 		this.remainingTeams = numberOfTeams;	
 		if (matchOptions != null){
 			this.piecesPerTeam = matchOptions.getNumScouts() + matchOptions.getNumSnipers() + matchOptions.getNumTanks();		
@@ -198,6 +156,7 @@ public class Board {
 		this.display = display;		
 		this.loggerManager = new Logger(numberOfTeams);		
 		this.matchOptions = matchOptions;		
+		this.diagnostics = matchOptions != null ? matchOptions.getDiagnostics() : new Diagnostics(new ConsoleSink(), DiagnosticLevelEnum.WARNING);
 		this.pieceCoords = new HexCoord[numberOfTeams*this.getPiecesPerTeam()];	
 		this.currentPiece = 0;	
 		this.initialized = false;
@@ -210,6 +169,9 @@ public class Board {
 			this.teams[i] = new Team(this.getTeamFromOffset(i), this.matchOptions.getPlayers()[i].isAI(), this.matchOptions.getPlayers()[i], this);
 			this.teams[i].setPlayerName(matchOptions.getPlayers()[i].getName());
 		}
+		for (int i = 0; i < this.pieceCoords.length; i++){
+			this.maxRange = Math.max(this.maxRange, this.getPieceFromOffset(i).getRange());
+		}
 		
 		//  Assign the size of the board.
 		//  EXTENSION - this can be modified for multiple types of maps.
@@ -232,28 +194,26 @@ public class Board {
 			default:
 				throw new InvalidActivityException("Need to pick a small or large side length to construct a board.");
 		}
+		this.cells = HexCells.of(sideLength);
 		
 		//  Depending on if it is a 2-player, 3-player, or 6-player game, initialize the starting position of each piece.
 		//  EXTENSION - if new map types are defined, new cases may need to be defined.
 		switch (sideLength){
 		case 5:
 			for (int i = 0; i < numberOfTeams*this.piecesPerTeam; i++){
-				this.pieceCoords[i] = new HexCoord( SMALL_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()].getX(),
-													SMALL_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()].getY(),
-													SMALL_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()].getZ());
-				
+				this.pieceCoords[i] = this.cells.intern(SMALL_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()]);
 			}
 			break;
 		case 7:
 			for (int i = 0; i < numberOfTeams*this.piecesPerTeam; i++){
-				this.pieceCoords[i] = new HexCoord( LARGE_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()].getX(),
-													LARGE_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()].getY(),
-													LARGE_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()].getZ());
+				this.pieceCoords[i] = this.cells.intern(LARGE_MAP_START_POSITIONS[this.getTeamFromOffset(i/piecesPerTeam).ordinal()]);
 			}
 			break;
 		default:
 			throw new InvalidActivityException("Error in Board: unknown side length.");
 		}
+		this.indexOccupancy();
+		this.visibility = new TeamVisibility(this, numberOfTeams, this.piecesPerTeam);
 		
 		//  Set the initial facing direction of each piece for each team.
 		//  The absolute direction conveniently matches the TeamEnum's ordinal.
@@ -265,7 +225,7 @@ public class Board {
 				}
 			}
 			else {
-				System.out.println("Illegal team ordinal in board initialization.");
+				this.diagnostics.report(DiagnosticLevelEnum.ERROR, "Board", "illegal team ordinal in board initialization.");
 			
 			}
 		}
@@ -295,6 +255,14 @@ public class Board {
 		for (int i = 0; i < this.getTeams().length; i++){
 			this.getTeams()[i].processDeathFlags();
 		}
+		
+		//  Take off the board any piece destroyed outside of shootSpace().
+		for (int i = 0; i < this.pieceCoords.length; i++){
+			if (!this.getPieceFromOffset(i).isAlive() && this.occupancy.cellOf(i) >= 0){
+				this.occupancy.remove(i);
+				this.visibility.destroyed(i);
+			}
+		}
 	}
 	
 	
@@ -315,8 +283,12 @@ public class Board {
 			return;
 		}
 		
-		//  move - change coordinates
+		//  move - change coordinates, keeping the board's own coordinate for the hex.
+		coord = this.cells.intern(coord);
 		this.getPieceCoords()[this.getCurrentPiece()] = coord;
+		this.occupancy.place(this.getCurrentPiece(), this.cells.numberOf(coord));
+		this.visibility.moved(this.getCurrentPiece());
+		this.version += 1;
 		//  update the movement of the piece, and the direction.
 		movingPiece.updateMove(this.shortestDistance(currentCoord, coord), movingPiece.getRelativeRotation(this.absoluteDirection(movingPiece, currentCoord, coord)));
 
@@ -345,8 +317,17 @@ public class Board {
 		this.getLoggerManager().getTeamLogs()[this.getTeams().length].addEntry(entryArrival);
 		
 		
-		//  tell the display about this.
-		this.display.getGameScreen().movePiece(this.getCurrentPiece(), currentCoord, this.displacement(currentCoord, coord), this.getPieceFromOffset(this.getCurrentPiece()).getRange(), this.getLivingTeamMembers(this.getCurrentPiece() / this.getPiecesPerTeam()), this.getVisibleRobotsForCurrentTeam());
+		//  tell the display about this, with the board as it is now.
+		final int piece = this.getCurrentPiece();
+		final HexCoord vector = this.displacement(currentCoord, coord);
+		final int range = movingPiece.getRange();
+		final HashMap<Integer, Integer> teamMembers = this.getLivingTeamMembers(piece / this.getPiecesPerTeam());
+		final ArrayList<Integer> visibleRobots = this.getVisibleRobotsForCurrentTeam();
+		this.onDisplay(new Runnable() {
+			public void run(){
+				display.getGameScreen().movePiece(piece, currentCoord, vector, range, teamMembers, visibleRobots);
+			}
+		});
 		
 	}
 
@@ -411,30 +392,30 @@ public class Board {
 		if(!this.isInBounds(hex)){
 			//System.out.println("Hex: " + hex.getX() + ", " + hex.getY() + ", " + hex.getZ());
 			//This should never happen. Display takes care of this.
-			System.out.println("Clicked hexagon is out of bounds.");
+			this.diagnostics.report(DiagnosticLevelEnum.INFO, "Board", "Clicked hexagon is out of bounds.");
 			return false;
 		}
 		else if(action.compareTo(EntryEnum.MOVEMENT) == 0){
 			if (!hexIsWithinMovementRange(hex, this.getPieceFromOffset(this.getCurrentPiece()))){
-				System.out.println("You don't have enough movement left.");
+				this.diagnostics.report(DiagnosticLevelEnum.INFO, "Board", "You don't have enough movement left.");
 				return false;
 			}
 			if (!currentPiece.isAlive()){
-				System.out.println("You are dead. You can't move, you zombie!");
+				this.diagnostics.report(DiagnosticLevelEnum.INFO, "Board", "You are dead. You can't move, you zombie!");
 				return false;
 			}
 		}
 		else if (action.compareTo(EntryEnum.SHOOTING) == 0) {
 			if (!this.hexIsWithinVisibleRange(hex, this.getPieceFromOffset(this.getCurrentPiece()))){
-				System.out.println("You can't shoot where you can't see.");
+				this.diagnostics.report(DiagnosticLevelEnum.INFO, "Board", "You can't shoot where you can't see.");
 				return false;
 			}
 			if (!currentPiece.isAlive()){
-				System.out.println("You are dead. You can't shoot, you zombie!");
+				this.diagnostics.report(DiagnosticLevelEnum.INFO, "Board", "You are dead. You can't shoot, you zombie!");
 				return false;
 			}
 			if (currentPiece.getHasShot()){
-				System.out.println("You have already had your turn to shoot.");
+				this.diagnostics.report(DiagnosticLevelEnum.INFO, "Board", "You have already had your turn to shoot.");
 				return false;
 			}
 		}
@@ -458,35 +439,11 @@ public class Board {
 	 */
 	private HexCoord displacement(HexCoord from, HexCoord to){
 		
-		from.reduce();
-		to.reduce();
-		
-		from.toVector();
-		to.toVector();
-		
-		// vector is a vector for the displacement.
-		HexCoord vector = new HexCoord(to.getX() - from.getX(), 
-									  to.getY() - from.getY(),
-									  to.getZ() - from.getZ());
-		// Because +x + +z make one +y
-		if (vector.getX()>0 && vector.getZ() >0){
-			int minimumDifference = Math.min(vector.getX(), vector.getZ());
-			vector.setX(vector.getX() - minimumDifference);
-			vector.setY(vector.getY() + minimumDifference);
-			vector.setZ(vector.getZ() - minimumDifference);
-		}
-		// Because -x and -z make one -y
-		else if (vector.getX() < 0 && vector.getZ() < 0){
-			int maximumDifference = Math.max(vector.getX(), vector.getZ());
-			vector.setX(vector.getX() - maximumDifference);
-			vector.setY(vector.getY() + maximumDifference);
-			vector.setZ(vector.getZ() - maximumDifference);
-		}
-		else{
-			//Should be done.
-		}
+		HexCoord start = from.reduce();
+		HexCoord end = to.reduce();
 		
-		return vector;
+		// The difference in standard form, put in vector form, because +x and +z make one +y, and -x and -z make one -y.
+		return new HexCoord(end.getX() - start.getX(), 0, end.getZ() - start.getZ()).toVector();
 		
 	}
 	
@@ -503,10 +460,9 @@ public class Board {
 		
 		int absoluteDir = 0;
 		
-		for (HexCoord key: this.ABSOLUTE_DIRECTION_OFFSETS.keySet()){
-			if (vector.getX() == key.getX() && vector.getY() == key.getY() && vector.getZ() == key.getZ()){
-				absoluteDir = this.ABSOLUTE_DIRECTION_OFFSETS.get(key);
-			}
+		Integer index = ABSOLUTE_DIRECTION_INDICES.get(vector);
+		if (index != null){
+			absoluteDir = ABSOLUTE_DIRECTION_OFFSETS[index];
 		}
 		
 		return absoluteDir;
@@ -547,7 +503,7 @@ public class Board {
 			}
 			return relativeDistance;
 		default:
-			System.out.println("Illegal distance supplied in board.relativeDirection()");
+			this.diagnostics.report(DiagnosticLevelEnum.ERROR, "Board", "illegal distance supplied in relativeDirection().");
 			return 0;
 		}
 		
@@ -556,11 +512,11 @@ public class Board {
 	
 	/**This method is called when a player attempts to shoot at a hexagon space. 
 	 * Reshooting in the same turn is not allowed, and shooting outside of the piece's range is not allowed.
-	 * @param targetHex: the target hexagon that is intended to be shot
+	 * @param target: the target hexagon that is intended to be shot
 	 */
-	public void shootSpace(HexCoord targetHex){
+	public void shootSpace(HexCoord target){
 		//  Reduce the target hex coordinate.
-		targetHex.reduce();
+		final HexCoord targetHex = target.reduce();
 		
 		//  Get the shooting piece from current piece
 		Piece shootingPiece = this.getPieceFromOffset(this.getCurrentPiece());
@@ -594,6 +550,8 @@ public class Board {
 				totalDamageDealt += damageTaken;
 				
 				if(!victimPiece.isAlive()){
+					this.occupancy.remove(victim);
+					this.visibility.destroyed(victim);
 					numberEnemiesDefeated.add(victim);
 					if (this.getTeams()[victim / this.piecesPerTeam].checkEliminated()){
 						this.remainingTeams -= 1;
@@ -601,6 +559,7 @@ public class Board {
 				}
 			}
 		}
+		this.version += 1;
 		// If a piece is destroyed, does it receive two logs? Damage taken and death?
 		shootingPiece.updateShoot(totalDamageDealt, numberEnemiesDefeated.size());
 
@@ -642,8 +601,13 @@ public class Board {
 		}
 		
 		//tell the display about the shot.
-		this.getDisplay().getGameScreen().hideForShot(toHide);
-		this.getDisplay().getGameScreen().shootSpace(this.getPieceCoords()[this.getCurrentPiece()], targetHex);	
+		final HexCoord source = this.getPieceCoords()[this.getCurrentPiece()];
+		this.onDisplay(new Runnable() {
+			public void run(){
+				display.getGameScreen().hideForShot(toHide);
+				display.getGameScreen().shootSpace(source, targetHex);
+			}
+		});
 		
 	}
 	
@@ -672,9 +636,7 @@ public class Board {
 		
 		HexCoord current = this.getPieceCoords()[this.getCurrentPiece()];
 		
-		HexCoord targetHex = new HexCoord( current.getX() + this.ABSOLUTE_DIRECTION_COORDS.get(index).getX(), 
-											current.getY() + this.ABSOLUTE_DIRECTION_COORDS.get(index).getY(),
-											current.getZ() + this.ABSOLUTE_DIRECTION_COORDS.get(index).getZ());
+		HexCoord targetHex = current.add(ABSOLUTE_DIRECTION_COORDS[index]);
 		
 		shootSpace(targetHex);
 		
@@ -705,62 +667,121 @@ public class Board {
 	
 	/**Returns a list of all the pieces that can see a hexCoord.
 	 * @param eventCoord: the coordinate of interest.
-	 * @return list of all the pieces that can see the eventCoord hexCoord.
+	 * @return list of all the pieces that can see the eventCoord hexCoord, in order of offset.
 	 */
 	private List<Integer> getWitnesses(HexCoord eventCoord){
 		
-		List<Integer> witnesses = new LinkedList<Integer>();
+		List<Integer> witnesses = new ArrayList<Integer>();
+		int eventCell = this.cells.numberOf(eventCoord);
+		if (eventCell < 0){
+			return witnesses;
+		}
 		
-		// for each piece, if the piece is alive
-		// and the piece can see the event hexCoord,
-		// then the piece is a witness
-		for (int i = 0; i < (this.getTeams().length * this.getPiecesPerTeam()); i++){
-			Piece potentialWitness = this.getPieceFromOffset(i);
-			if (potentialWitness.isAlive()){
-				if (this.hexIsWithinVisibleRange(eventCoord, potentialWitness)){
-					witnesses.add(i);
-				}
+		// Only living pieces within the largest range can see the event hexCoord.
+		// Of those, a piece is a witness if the event is within its own range of where it is.
+		long[] nearby = this.newPieceSet();
+		this.markPiecesInRange(eventCell, this.maxRange, nearby);
+		for (Integer i : this.piecesIn(nearby)){
+			if (this.cells.distance(this.occupancy.cellOf(i), eventCell) <= this.getPieceFromOffset(i).getRange()){
+				witnesses.add(i);
 			}
 		}
 				
 		return witnesses;
 	}
 	
+	/**
+	 * Makes an empty set of pieces, with one bit per piece offset.
+	 * @return The set.
+	 */
+	long[] newPieceSet(){
+		return new long[(this.pieceCoords.length + 63) / 64];
+	}
+	
+	/**
+	 * Adds the living pieces within a range of a hexagon to a set, ANDing the hexagon's range mask with the occupied hexagons.
+	 * @param cell The number of the hexagon in this.cells.
+	 * @param range The largest distance from the hexagon.
+	 * @param found The set of pieces, from newPieceSet().
+	 * @postcondition The bit of each living piece in range is set in found.
+	 */
+	void markPiecesInRange(int cell, int range, long[] found){
+		for (int word = 0; word < this.cells.words(); word++){
+			long bits = this.cells.rangeWord(cell, range, word) & this.occupancy.occupiedWord(word);
+			while (bits != 0L){
+				int inRange = word * 64 + Long.numberOfTrailingZeros(bits);
+				for (int i = this.occupancy.first(inRange); i >= 0; i = this.occupancy.next(i)){
+					if (this.getPieceFromOffset(i).isAlive()){
+						found[i >>> 6] |= 1L << i;
+					}
+				}
+				bits &= bits - 1;
+			}
+		}
+	}
+	
+	/**
+	 * Lists the pieces in a set.
+	 * @param set The set of pieces, from newPieceSet().
+	 * @return The offsets of the pieces, in order.
+	 */
+	ArrayList<Integer> piecesIn(long[] set){
+		int size = 0;
+		for (long bits : set){
+			size += Long.bitCount(bits);
+		}
+		ArrayList<Integer> pieces = new ArrayList<Integer>(size);
+		for (int word = 0; word < set.length; word++){
+			long bits = set[word];
+			while (bits != 0L){
+				pieces.add(word * 64 + Long.numberOfTrailingZeros(bits));
+				bits &= bits - 1;
+			}
+		}
+		return pieces;
+	}
+	
 	
 	/**
 	 * Helper method for checking which robots a given piece can see.
 	 * Called by the Display to implement the fog of war.
 	 * @param offset The piece doing the visibility checking.
-	 * @return A list of the offsets of visible robots.
+	 * @return A list of the offsets of visible robots, in order.
 	 */
 	public ArrayList<Integer> getVisibleRobotsToPiece(int offset){
-		ArrayList<Integer> visible = new ArrayList<Integer>();
-		
-		// for each piece, if the piece is alive
-		// and the piece can see the event hexCoord,
-		// then the piece is a witness
-		for (int i = 0; i < (this.getTeams().length * this.getPiecesPerTeam()); i++){
-			if (this.isVisibleToPiece(offset, i)){
-				visible.add(i);
-			}
-		}
-
-		return visible;
+		long[] visible = this.newPieceSet();
+		this.markPiecesInRange(this.cells.numberOf(this.pieceCoords[offset]), this.getPieceFromOffset(offset).getRange(), visible);
+		return this.piecesIn(visible);
 	}
 	
 	/**
 	 * A method that gets the set of visible robots to a team.
 	 * Called by the Display to implement the fog of war.
-	 * @return A list of the offsets of visible robots.
+	 * @return A list of the offsets of visible robots, each once, in order.
 	 */
 	public ArrayList<Integer> getVisibleRobotsForCurrentTeam(){
-		ArrayList<Integer> visible = new ArrayList<Integer>();
-		
-		for (int i = (this.getCurrentPiece() / this.piecesPerTeam) * this.piecesPerTeam; i < (this.getCurrentPiece() / this.piecesPerTeam)* this.piecesPerTeam + this.piecesPerTeam; i++){
-			visible.addAll(this.getVisibleRobotsToPiece(i));
-		}
-		return visible;
-		
+		return this.getVisibleRobotsForTeam(this.getCurrentPiece() / this.piecesPerTeam);
+	}
+	
+	/**
+	 * A method that gets the set of robots the living members of a team can see, as kept up to date by moves and shots.
+	 * @param teamOffset The offset of the team.
+	 * @return A list of the offsets of visible robots, each once, in order.
+	 */
+	public ArrayList<Integer> getVisibleRobotsForTeam(int teamOffset){
+		return this.visibility.getVisibleRobots(teamOffset);
+	}
+	
+	/**
+	 * Adds a listener to be told when robots come into or go out of a team's view, and when pieces are destroyed.
+	 * @param listener The listener.
+	 */
+	public void addVisibilityListener(VisibilityListener listener){
+		this.visibility.addListener(listener);
+	}
+	
+	public void removeVisibilityListener(VisibilityListener listener){
+		this.visibility.removeListener(listener);
 	}
 	
 	/**
@@ -883,25 +904,50 @@ public class Board {
 	 * @return List of Pieces' offset that occupy the space
 	 * @throws InvalidParameterException
 	 */
-	public LinkedList<Integer> scanSpace(HexCoord coord){
-		if (!isInBounds(coord)){
+	public List<Integer> scanSpace(HexCoord coord){
+		int cell = this.cells.numberOf(coord);
+		if (cell < 0){
 			throw new InvalidParameterException("Coord is not in the bounds of the board");
 		}
 
 		// Create a new list called habitants to store all the pieces at the hexCoord
-		LinkedList<Integer> habitants = new LinkedList<Integer>();
-		//Loop through and add all the habitants
-		for (int i = 0; i<this.getPieceCoords().length; i++){
-			if (coord.isSameAs(this.getPieceCoords()[i])){
-				Piece potentialHabitant = this.getPieceFromOffset(this.getCurrentPiece());
-						if (potentialHabitant.isAlive()){
-							habitants.add(i);
-						}
+		List<Integer> habitants = new ArrayList<Integer>(this.occupancy.count(cell));
+		//Loop through and add all the habitants, checking each one since a piece can be destroyed outside of shootSpace().
+		for (int i = this.occupancy.first(cell); i >= 0; i = this.occupancy.next(i)){
+			if (this.getPieceFromOffset(i).isAlive()){
+				habitants.add(i);
 			}
 		}	
 		return habitants;
 	}
 	
+	/**
+	 * Checks whether a living piece is in a hexagon, without making a list of them.
+	 * @param cell The number of the hexagon in this.cells.
+	 * @return true if a living piece is in the hexagon.
+	 */
+	private boolean isOccupied(int cell){
+		for (int i = this.occupancy.first(cell); i >= 0; i = this.occupancy.next(i)){
+			if (this.getPieceFromOffset(i).isAlive()){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Rebuilds the occupancy index from pieceCoords, leaving out destroyed pieces.
+	 * @postcondition Each living piece is in the index at its coordinate.
+	 */
+	private void indexOccupancy(){
+		this.occupancy = new OccupancyIndex(this.cells.size(), this.pieceCoords.length);
+		for (int i = 0; i < this.pieceCoords.length; i++){
+			if (this.pieceCoords[i] != null && this.getPieceFromOffset(i).isAlive()){
+				this.occupancy.place(i, this.cells.numberOf(this.pieceCoords[i]));
+			}
+		}
+	}
+	
 	/**
 	 * An overloaded version of scanArea() for use in the Interpreter.
 	 * @return
@@ -952,11 +998,12 @@ public class Board {
 
 		}
 		
-		if (!this.isInBounds(coord)){
+		int cell = this.cells.numberOf(coord);
+		if (cell < 0){
 			result = "OUT OF BOUNDS";
 		}
 		else {
-			if (this.scanSpace(coord).size() == 0){
+			if (!this.isOccupied(cell)){
 				result = "EMPTY";
 			}
 			else {
@@ -987,188 +1034,20 @@ public class Board {
 
 	/**
 	 * Give two hexCoords, this method figures out the shortestDistance (minimum number of hex-Coords) between the two hexCoords.
-	 * @param coord1
-	 * @param coord2
+	 * @param from
+	 * @param to
 	 * @return an integer which represents the shortest hex-distance between the two coordinates.  
 	 */
-	public int shortestDistance(HexCoord coord1, HexCoord coord2){
-		
-		coord1.reduce();
-		coord2.reduce();
-		//  If the two coords are along the same x-axis or z-axis : Easy.
-		if (coord1.getX() == coord2.getX()){
-			return Math.abs(coord1.getZ() - coord2.getZ());
-		}
-		if (coord1.getZ() == coord2.getZ()){
-			return Math.abs(coord1.getX() - coord2.getX());
-		}
-		
-		HexCoord vector = this.displacement(coord1, coord2);
-
-		//  Return the magnitude of this vector.
-		return Math.abs(vector.getX()) + Math.abs(vector.getY()) + Math.abs(vector.getZ());
-		
+	public int shortestDistance(HexCoord from, HexCoord to){
+		return this.cells.distance(from, to);
 	}
 	
 	/**Checks whether a coordinate is within the bounds of the board coordinates
 	 * @param coord
 	 * @return boolean: whether the coordinate is within the bounds of the board
-	 * @postcondition the coordinate is reduced to the standard form
 	 */
 	public boolean isInBounds(HexCoord coord){
-	
-		coord.reduce();
-		
-		//  Note: I could have reduced the following code to a few lines. But using switch cases is more readable and understandable than voodoo.
-		if (this.getSideLength() == 5){
-			switch (coord.getX()){
-
-				case -4: 
-					if (coord.getZ() >= -4 && coord.getZ() <= 0){
-						return true;
-					}
-					break;
-			
-				case -3: 
-					if (coord.getZ() >= -4 && coord.getZ() <= 1){
-						return true;
-					}
-					break;
-			
-				case -2: 
-					if (coord.getZ() >= -4 && coord.getZ() <= 2){
-						return true;
-					}
-					break;
-			
-				case -1: 
-					if (coord.getZ() >= -4 && coord.getZ() <= 3){
-						return true;
-					}
-					break;
-			
-				case 0: 
-					if (coord.getZ() >= -4 && coord.getZ() <= 4){
-						return true;
-					}
-					break;
-			
-				case 1: 
-					if (coord.getZ() >= -3 && coord.getZ() <= 4){
-						return true;
-					}
-					break;
-			
-				case 2: 
-					if (coord.getZ() >= -2 && coord.getZ() <= 4){
-						return true;
-					}
-					break;
-			
-				case 3: 
-					if (coord.getZ() >= -1 && coord.getZ() <= 4){
-						return true;
-					}
-					break;
-			
-				case 4: 
-					if (coord.getZ() >= 0 && coord.getZ() <= 4){
-						return true;
-					}
-					break;
-			
-				default: 
-					return false;
-
-			}
-		}
-		else if (this.getSideLength() == 7){
-			switch (coord.getX()){
-				case -6: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 0){
-					return true;
-					}
-					break;
-	
-				case -5: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 1){
-					return true;
-					}
-					break;
-	
-				case -4: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 2){
-						return true;
-					}
-					break;
-		
-				case -3: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 3){
-						return true;
-					}
-					break;
-		
-				case -2: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 4){
-						return true;
-					}
-					break;
-		
-				case -1: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 5){
-						return true;
-					}
-					break;
-		
-				case 0: 
-					if (coord.getZ() >= -6 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-		
-				case 1: 
-					if (coord.getZ() >= -5 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-		
-				case 2: 
-					if (coord.getZ() >= -4 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-		
-				case 3: 
-					if (coord.getZ() >= -3 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-		
-				case 4: 
-					if (coord.getZ() >= -2 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-					
-				case 5: 
-					if (coord.getZ() >= -1 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-
-				case 6: 
-					if (coord.getZ() >= 0 && coord.getZ() <= 6){
-						return true;
-					}
-					break;
-
-				default: 
-					return false;
-
-			}
-
-		}	
-		return false;
+		return this.cells.contains(coord);
 	}
 
 	public HexCoord[] getPieceCoords() {
@@ -1176,7 +1055,12 @@ public class Board {
 	}
 
 	public void setPieceCoords(HexCoord[] pieceCoords) {
-		this.pieceCoords = pieceCoords;
+		this.pieceCoords = new HexCoord[pieceCoords.length];
+		for (int i = 0; i < pieceCoords.length; i++){
+			this.pieceCoords[i] = this.cells.intern(pieceCoords[i]);
+		}
+		this.indexOccupancy();
+		this.visibility.rebuild();
 	}
 
 	
@@ -1197,13 +1081,24 @@ public class Board {
 	public int getCurrentPiece() {
 		//  If the value of currentPiece was modified to something illegal for array indexing, output an error message
 		if (currentPiece >= this.getTeams().length * this.getPiecesPerTeam() || currentPiece < 0){
-			System.out.println("Error in Board.getCurrentPiece(): illegal index for currentPiece: " + this.currentPiece);
+			if (this.diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+				this.diagnostics.report(DiagnosticLevelEnum.ERROR, "Board", "getCurrentPiece(): illegal index for currentPiece: " + this.currentPiece);
+			}
 		}
 		return currentPiece;
 	}
 
 	public void setCurrentPiece(int currentPiece) {
 		this.currentPiece = currentPiece % (this.getTeams().length * this.getPiecesPerTeam());
+		this.version += 1;
+	}
+	
+	/**
+	 * Getter for the version of the board, which changes whenever a piece moves or is shot, or the current piece changes.
+	 * @return The number of changes so far.
+	 */
+	public int getVersion() {
+		return this.version;
 	}
 
 	public Logger getLoggerManager() {
@@ -1214,6 +1109,23 @@ public class Board {
 	public Display getDisplay() {
 		return display;
 	}
+	
+	/**
+	 * Runs an update of the display on the Swing event thread. Moves and shots made by the Interpreter come from the GameManager's AI thread.
+	 * @param update The update, which must only use values it was given, not read the board.
+	 * @postcondition The update has run, or has been queued to run on the event thread; a board without a display, as in the tests, has nothing to update.
+	 */
+	private void onDisplay(Runnable update){
+		if (this.display == null){
+			return;
+		}
+		if (SwingUtilities.isEventDispatchThread()){
+			update.run();
+		}
+		else {
+			SwingUtilities.invokeLater(update);
+		}
+	}
 
 	public int getPiecesPerTeam() {
 		return piecesPerTeam;
@@ -1224,6 +1136,18 @@ public class Board {
 		return this.sideLength;
 	}
 	
+	public HexCells getCells() {
+		return this.cells;
+	}
+	
+	OccupancyIndex getOccupancy() {
+		return this.occupancy;
+	}
+	
+	int getMaxRange() {
+		return this.maxRange;
+	}
+	
 
 	public void resetRound(){
 		for (int i = 0; i < this.getTeams().length; i++){
@@ -1244,13 +1168,17 @@ public class Board {
 
 			if (offset == this.getTeams().length){
 
-				System.out.println("Error in Board: offset out of range for number of teams in getTeamFromOffset(). Possibly a modding problem. Offset:" + offset);
+				if (this.diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+					this.diagnostics.report(DiagnosticLevelEnum.ERROR, "Board", "offset out of range for number of teams in getTeamFromOffset(). Possibly a modding problem. Offset:" + offset);
+				}
 
 			}
 
 			else{
 
-				System.out.println("Error in Board: offset out of range for number of teams in getTeamFromOffset(). Offset:" + offset);
+				if (this.diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+					this.diagnostics.report(DiagnosticLevelEnum.ERROR, "Board", "offset out of range for number of teams in getTeamFromOffset(). Offset:" + offset);
+				}
 
 			}
 
@@ -1302,14 +1230,13 @@ public class Board {
 		}
 	}
 	
+	/**
+	 * Gets the living members of a team, as kept up to date by shots.
+	 * @param teamOffset The offset of the team.
+	 * @return A new map from the offset of each living member to its range.
+	 */
 	public HashMap<Integer, Integer> getLivingTeamMembers(int teamOffset){
-		HashMap<Integer, Integer> teamMembers = new HashMap<>();
-		for (int i = (teamOffset * this.piecesPerTeam); i < (teamOffset * this.piecesPerTeam) + this.piecesPerTeam; i++){
-			if (this.getPieceFromOffset(i).isAlive()){
-				teamMembers.put(i, this.getPieceFromOffset(i).getRange());
-			}
-		}
-		return teamMembers;
+		return this.visibility.getLivingMembers(teamOffset);
 	}
 	
 	
@@ -1322,8 +1249,18 @@ public class Board {
 				
 		//  Tests for the Board class.
 		
+		//  Three teams play on the small board.
+		MatchOptions options = new MatchOptions();
+		options.setNumPlayers(3);
+		options.setNumScouts(4);
+		PlayerSettings[] players = new PlayerSettings[3];
+		for (int i = 0; i < players.length; i++){
+			players[i] = new PlayerSettings();
+		}
+		options.setPlayers(players);
+		
 		Board b = null;
-		b = new Board(6, null, null);
+		b = new Board(3, null, options);
 		
 		if (!b.isInBounds(new HexCoord (0, 0, 0))){
 			System.out.println("Hexcoord isn't in bounds when it should be.");
@@ -1394,6 +1331,81 @@ public class Board {
 			System.out.println("Incorrect shortest Distance. Calculated answer:" + minDistance);
 		}
 		
+		//  The views kept as pieces move and die match the views counted from scratch, and a listener is told of each change once.
+		final int piecesPerTeam = b.getPiecesPerTeam();
+		final List<TreeSet<Integer>> told = new ArrayList<TreeSet<Integer>>();
+		for (int team = 0; team < 3; team++){
+			told.add(new TreeSet<Integer>(b.getVisibleRobotsForTeam(team)));
+		}
+		final List<Integer> destroyed = new ArrayList<Integer>();
+		final int[] wrongEvents = {0};
+		b.addVisibilityListener(new VisibilityListener(){
+			public void visibilityChanged(int teamOffset, List<Integer> shown, List<Integer> hidden){
+				for (int offset : shown){
+					if (!told.get(teamOffset).add(offset)){
+						wrongEvents[0] += 1;
+					}
+				}
+				for (int offset : hidden){
+					if (!told.get(teamOffset).remove(offset)){
+						wrongEvents[0] += 1;
+					}
+				}
+			}
+			public void memberDestroyed(int teamOffset, int offset){
+				if (offset / piecesPerTeam != teamOffset){
+					wrongEvents[0] += 1;
+				}
+				destroyed.add(offset);
+			}
+		});
+		
+		Random random = new Random(370);
+		List<Integer> killed = new ArrayList<Integer>();
+		int pieces = b.getPieceCoords().length;
+		for (int step = 0; step < 500; step++){
+			int piece = random.nextInt(pieces);
+			if (!b.getPieceFromOffset(piece).isAlive()){
+				continue;
+			}
+			if (step % 25 == 24){
+				b.getPieceFromOffset(piece).takeDamage(1000);
+				b.processDeathFlags();
+				killed.add(piece);
+			}
+			else {
+				int cell = random.nextInt(b.cells.size());
+				b.pieceCoords[piece] = b.cells.cellAt(cell);
+				b.occupancy.place(piece, cell);
+				b.visibility.moved(piece);
+			}
+			
+			for (int team = 0; team < 3; team++){
+				TreeSet<Integer> visible = new TreeSet<Integer>();
+				HashMap<Integer, Integer> living = new HashMap<Integer, Integer>();
+				for (int viewer = team * piecesPerTeam; viewer < (team + 1) * piecesPerTeam; viewer++){
+					if (!b.getPieceFromOffset(viewer).isAlive()){
+						continue;
+					}
+					living.put(viewer, b.getPieceFromOffset(viewer).getRange());
+					for (int seen = 0; seen < pieces; seen++){
+						if (b.isVisibleToPiece(viewer, seen)){
+							visible.add(seen);
+						}
+					}
+				}
+				if (!b.getVisibleRobotsForTeam(team).equals(new ArrayList<Integer>(visible)) || !told.get(team).equals(visible)){
+					System.out.println("Incorrect visible robots of team " + team + " after step " + step + ": " + b.getVisibleRobotsForTeam(team) + " and told " + told.get(team) + ", should be " + visible);
+				}
+				if (!b.getLivingTeamMembers(team).equals(living)){
+					System.out.println("Incorrect living members of team " + team + " after step " + step + ": " + b.getLivingTeamMembers(team));
+				}
+			}
+		}
+		if (killed.size() == 0 || !destroyed.equals(killed) || wrongEvents[0] != 0){
+			System.out.println("Incorrect visibility events: destroyed " + destroyed + ", should be " + killed + ", with " + wrongEvents[0] + " wrong events.");
+		}
+		
 		
 		System.out.println("Tests complete.");
 	}
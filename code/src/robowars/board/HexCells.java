@@ -0,0 +1,326 @@
+/*	HexCells.java
+ * 	Purpose: The hexagons of a board of one side length, each with a number from 0 and one shared HexCoord in standard form.
+ *           A table cannot be changed once made, so the tables for the small and large boards are shared by every board.
+ */
+
+package robowars.board;
+
+import java.security.InvalidParameterException;
+
+public final class HexCells {
+
+	/** The cells of a board with side length 5. */
+	private static final HexCells SMALL = new HexCells(5, true);
+
+	/** The cells of a board with side length 7. */
+	private static final HexCells LARGE = new HexCells(7, true);
+
+	/** The number of hexagons along each side of the board. */
+	private final int sideLength;
+
+	/** The largest distance from the centre to a hexagon on the board, which bounds x, z, and x - z in standard form. */
+	private final int radius;
+
+	/** The number of x or z values from -radius to radius. */
+	private final int width;
+
+	/** The number of each hexagon, indexed by (x + radius) * width + (z + radius) in standard form, or -1 if it is off the board. */
+	private final int[] numbers;
+
+	/** The coordinate of each hexagon in standard form, indexed by its number. */
+	private final HexCoord[] cells;
+
+	/** The distance between each pair of hexagons, indexed by from * size() + to, or null if distances are counted as needed. */
+	private final byte[] distances;
+
+	/** The number of longs in a bitset with one bit per hexagon. */
+	private final int words;
+
+	/** The bitset of hexagons within each range of each hexagon, from (range * size() + from) * words, or null if made as needed. */
+	private final long[] rangeMasks;
+
+	/**
+	 * Constructor for the cells of a board. Hexagons are numbered by x, and then by z.
+	 * Distances are counted as needed, so that a large board does not need a table of every pair.
+	 * @param sideLength The number of hexagons along each side of the board.
+	 * @precondition The side length is greater than 0.
+	 */
+	public HexCells(int sideLength){
+		this(sideLength, false);
+	}
+
+	/**
+	 * Constructor for the cells of a board, with or without a table of distances.
+	 * @param sideLength The number of hexagons along each side of the board.
+	 * @param withDistances Whether to count every distance now. Distances on the board fit in a byte up to side length 64.
+	 * @precondition The side length is greater than 0.
+	 */
+	private HexCells(int sideLength, boolean withDistances){
+		if (sideLength <= 0){
+			throw new InvalidParameterException("Side length must be greater than 0.");
+		}
+		this.sideLength = sideLength;
+		this.radius = sideLength - 1;
+		this.width = 2 * this.radius + 1;
+		this.numbers = new int[this.width * this.width];
+		//  A hexagon board has 3n(n-1)+1 hexagons.
+		this.cells = new HexCoord[3 * sideLength * (sideLength - 1) + 1];
+		this.words = (this.cells.length + 63) / 64;
+
+		int number = 0;
+		for (int x = -this.radius; x <= this.radius; x++){
+			for (int z = -this.radius; z <= this.radius; z++){
+				if (Math.abs(x - z) <= this.radius){
+					this.cells[number] = new HexCoord(x, 0, z);
+					this.numbers[this.index(x, z)] = number;
+					number++;
+				}
+				else {
+					this.numbers[this.index(x, z)] = -1;
+				}
+			}
+		}
+
+		if (withDistances){
+			int size = this.cells.length;
+			this.distances = new byte[size * size];
+			for (int from = 0; from < size; from++){
+				for (int to = 0; to < size; to++){
+					this.distances[from * size + to] = (byte) HexCoord.distance(this.cells[from], this.cells[to]);
+				}
+			}
+
+			//  No two hexagons are further apart than twice the radius, so larger ranges use that mask.
+			this.rangeMasks = new long[(2 * this.radius + 1) * size * this.words];
+			for (int range = 0; range <= 2 * this.radius; range++){
+				for (int from = 0; from < size; from++){
+					int mask = (range * size + from) * this.words;
+					for (int to = 0; to < size; to++){
+						if (this.distances[from * size + to] <= range){
+							this.rangeMasks[mask + (to >>> 6)] |= 1L << to;
+						}
+					}
+				}
+			}
+		}
+		else {
+			this.distances = null;
+			this.rangeMasks = null;
+		}
+	}
+
+	/**
+	 * Gets the cells of a board, sharing the tables of the standard board sizes.
+	 * @param sideLength The number of hexagons along each side of the board.
+	 * @return The cells.
+	 */
+	public static HexCells of(int sideLength){
+		switch (sideLength){
+		case 5:
+			return SMALL;
+		case 7:
+			return LARGE;
+		default:
+			return new HexCells(sideLength);
+		}
+	}
+
+	/**
+	 * Gives the index into numbers of a hexagon in standard form.
+	 * @precondition x and z are both from -radius to radius.
+	 */
+	private int index(int x, int z){
+		return (x + this.radius) * this.width + (z + this.radius);
+	}
+
+	/**
+	 * Finds the number of a hexagon.
+	 * @param coord The hexagon, in any form.
+	 * @return The number, or -1 if the hexagon is off the board.
+	 */
+	public int numberOf(HexCoord coord){
+		int x = coord.getX() + coord.getY();
+		int z = coord.getZ() + coord.getY();
+		if (x < -this.radius || x > this.radius || z < -this.radius || z > this.radius){
+			return -1;
+		}
+		return this.numbers[this.index(x, z)];
+	}
+
+	/**
+	 * Checks whether a hexagon is on the board.
+	 * @param coord The hexagon, in any form.
+	 * @return true if the hexagon is on the board.
+	 */
+	public boolean contains(HexCoord coord){
+		return this.numberOf(coord) >= 0;
+	}
+
+	/**
+	 * Gets the shared coordinate of a hexagon.
+	 * @param number The number of the hexagon.
+	 * @return The coordinate, in standard form.
+	 */
+	public HexCoord cellAt(int number){
+		return this.cells[number];
+	}
+
+	/**
+	 * Gets the shared coordinate of a hexagon, so that every coordinate a board keeps is in standard form.
+	 * @param coord The hexagon, in any form.
+	 * @return The shared coordinate equal to coord.
+	 * @throws InvalidParameterException if the hexagon is off the board.
+	 */
+	public HexCoord intern(HexCoord coord){
+		int number = this.numberOf(coord);
+		if (number < 0){
+			throw new InvalidParameterException("Coordinate " + coord + " is not in the bounds of the board.");
+		}
+		return this.cells[number];
+	}
+
+	/**
+	 * Gives the distance between two hexagons by number.
+	 * @param from The number of the starting hexagon.
+	 * @param to The number of the ending hexagon.
+	 * @return The fewest steps from one to the other.
+	 */
+	public int distance(int from, int to){
+		if (this.distances != null){
+			return this.distances[from * this.cells.length + to];
+		}
+		return HexCoord.distance(this.cells[from], this.cells[to]);
+	}
+
+	/**
+	 * Gives the distance between two hexagons, from the table when both are on the board.
+	 * @param from The starting hexagon, in any form.
+	 * @param to The ending hexagon, in any form.
+	 * @return The fewest steps from one to the other.
+	 */
+	public int distance(HexCoord from, HexCoord to){
+		if (this.distances != null){
+			int fromNumber = this.numberOf(from);
+			int toNumber = this.numberOf(to);
+			if (fromNumber >= 0 && toNumber >= 0){
+				return this.distances[fromNumber * this.cells.length + toNumber];
+			}
+		}
+		return HexCoord.distance(from, to);
+	}
+
+	/**
+	 * Gives one long of the bitset of hexagons within a range of a hexagon, in which bit (to % 64) of word (to / 64) is set
+	 * for each hexagon number to within the range. ANDing it with another bitset of hexagons keeps those in range.
+	 * @param from The number of the hexagon at the centre.
+	 * @param range The largest distance from the centre.
+	 * @param word The index of the long, from 0 up to, but not including, words().
+	 * @return The bits of hexagons 64 * word up to 64 * word + 63.
+	 */
+	public long rangeWord(int from, int range, int word){
+		if (range < 0){
+			return 0L;
+		}
+		if (this.rangeMasks != null){
+			return this.rangeMasks[(Math.min(range, 2 * this.radius) * this.cells.length + from) * this.words + word];
+		}
+		long bits = 0L;
+		for (int to = word * 64; to < Math.min(word * 64 + 64, this.cells.length); to++){
+			if (HexCoord.distance(this.cells[from], this.cells[to]) <= range){
+				bits |= 1L << to;
+			}
+		}
+		return bits;
+	}
+
+	/** @return The number of longs in a bitset with one bit per hexagon. */
+	public int words(){
+		return this.words;
+	}
+
+	/** @return The number of hexagons on the board. */
+	public int size(){
+		return this.cells.length;
+	}
+
+	public int getSideLength(){
+		return this.sideLength;
+	}
+
+	public static void main(String args[]){
+
+		//  Unit tests for the HexCells class
+
+		HexCells small = HexCells.of(5);
+		if (small.size() != 61 || HexCells.of(7).size() != 127){
+			System.out.println("Error in size(): " + small.size() + " and " + HexCells.of(7).size());
+		}
+		if (HexCells.of(5) != small){
+			System.out.println("Error: the small board's cells are not shared.");
+		}
+
+		for (int i = 0; i < small.size(); i++){
+			if (small.numberOf(small.cellAt(i)) != i){
+				System.out.println("Error in numberOf(): " + small.cellAt(i).toString());
+			}
+		}
+
+		if (!small.contains(new HexCoord(4, -1, 4)) || small.contains(new HexCoord(4, 0, 6)) || small.contains(new HexCoord(4, 1, 0))){
+			System.out.println("Error in contains().");
+		}
+
+		HexCoord c = small.intern(new HexCoord(0, -4, 0));
+		if (c != small.intern(new HexCoord(-4, 0, -4)) || c.getX() != -4 || c.getY() != 0 || c.getZ() != -4){
+			System.out.println("Error in intern(): " + c.toString());
+		}
+
+		//  The table agrees with counting, and neighbours are one step apart.
+		HexCells large = HexCells.of(7);
+		HexCells counted = new HexCells(7);
+		for (int from = 0; from < large.size(); from++){
+			for (int to = 0; to < large.size(); to++){
+				if (large.distance(from, to) != counted.distance(from, to)){
+					System.out.println("Error in distance(): " + large.cellAt(from).toString() + " to " + large.cellAt(to).toString());
+				}
+			}
+		}
+		if (small.distance(new HexCoord(0, 0, 0), new HexCoord(0, 1, 0)) != 1 || small.distance(new HexCoord(0, 0, 0), new HexCoord(1, 0, 1)) != 1
+				|| small.distance(new HexCoord(0, 0, -4), new HexCoord(0, 0, 4)) != 8 || small.distance(new HexCoord(-4, 0, -2), new HexCoord(3, 0, 2)) != 7){
+			System.out.println("Error in distance() between coordinates.");
+		}
+		if (small.distance(new HexCoord(0, 0, 0), new HexCoord(10, 0, 0)) != 10){
+			System.out.println("Error in distance() off the board.");
+		}
+
+		//  The masks agree with the distances, with and without a table.
+		for (int from = 0; from < large.size(); from++){
+			for (int range = 0; range <= 13; range += 3){
+				for (int word = 0; word < large.words(); word++){
+					long bits = large.rangeWord(from, range, word);
+					if (bits != counted.rangeWord(from, range, word)){
+						System.out.println("Error in rangeWord(): " + large.cellAt(from).toString() + " range " + range);
+					}
+					for (int to = word * 64; to < Math.min(word * 64 + 64, large.size()); to++){
+						if (((bits >>> to) & 1L) != (large.distance(from, to) <= range ? 1L : 0L)){
+							System.out.println("Error in rangeWord(): " + large.cellAt(from).toString() + " to " + large.cellAt(to).toString());
+						}
+					}
+				}
+			}
+		}
+		if (Long.bitCount(small.rangeWord(small.numberOf(new HexCoord()), 1, 0)) != 7 || large.words() != 2){
+			System.out.println("Error in rangeWord(): a hexagon has 6 neighbours.");
+		}
+
+		try {
+			small.intern(new HexCoord(-5, 0, 0));
+			System.out.println("Error: intern() accepted a coordinate off the board.");
+		}
+		catch (InvalidParameterException e){
+			//  Expected.
+		}
+
+		System.out.println("Tests finished.");
+	}
+
+}
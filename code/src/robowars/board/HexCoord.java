@@ -9,28 +9,27 @@
 
 package robowars.board;
 
-public class HexCoord {
+public final class HexCoord {
 
 	/**
 	 * X-coordinate of the hexagon.
 	 */
-	private int x;
+	private final int x;
 	
 	/**
 	 * Y-coordinate of the hexagon.
 	 */
-	private int y;
+	private final int y;
 	
 	/**
 	 * Z-coordinate of the hexagon.
 	 */
-	private int z;
+	private final int z;
 
 	public HexCoord(int x, int y, int z){
 		this.x = x;
 		this.y = y;
 		this.z = z;
-//		this.reduce();
 	}
 	
 	public HexCoord(){
@@ -44,58 +43,69 @@ public class HexCoord {
 		return x;
 	}
 
-	public void setX(int x) {
-		this.x = x;
-	}
-
 	public int getY() {
 		return y;
 	}
 
-	public void setY(int y) {
-		this.y = y;
-	}
-
 	public int getZ() {
 		return z;
 	}
-
-	public void setZ(int z) {
-		this.z = z;
-	}
 	
 	/**
 	 * Reduces the coordinate to the standard form (with non-zero x and z, and zero y)
+	 * @return The coordinate in standard form, which is this coordinate if it is already in standard form.
 	 */
-	public void reduce(){
-		this.setX(this.getX() + this.getY());
-		this.setZ(this.getY() + this.getZ());
-		this.setY(0);
+	public HexCoord reduce(){
+		if (this.y == 0){
+			return this;
+		}
+		return new HexCoord(this.x + this.y, 0, this.z + this.y);
 	}
 	
 	/**
-	 *  Un-reduces - puts the coordinate back to the shortest way to get from (0,0,0) to the coordinate.
+	 *  Un-reduces - gives the shortest way to get from (0,0,0) to the coordinate.
+	 *  @return The coordinate in vector form, using y for the steps where x and z move together.
 	 */
-	 public void toVector(){
-		 
-		 this.reduce();
+	 public HexCoord toVector(){
+		 int reducedX = this.x + this.y;
+		 int reducedZ = this.z + this.y;
 		 
-		 if ((this.getX() <=0 && this.getZ() >= 0) || (this.getX()>= 0 && this.getZ()<=0)){
-			 return;
+		 if ((reducedX <= 0 && reducedZ >= 0) || (reducedX >= 0 && reducedZ <= 0)){
+			 return this.reduce();
+		 }
+		 else if (reducedX < 0){
+			 int steps = Math.max(reducedX, reducedZ);
+			 return new HexCoord(reducedX - steps, steps, reducedZ - steps);
 		 }
-		 else{
-			 if (this.getX()<0 && this.getZ()<0){
-				 this.setY(Math.max(this.getX(), this.getY()));
-				 this.setX(this.getX() - this.getY());
-				 this.setZ(this.getZ()-this.getY());
-			 }
-			 else{
-				 this.setY(Math.min(this.getX(), this.getZ()));
-				 this.setX(this.getX() - this.getY());
-				 this.setZ(this.getZ()-this.getY());
-			 }
+		 else {
+			 int steps = Math.min(reducedX, reducedZ);
+			 return new HexCoord(reducedX - steps, steps, reducedZ - steps);
 		 }
 	 }
+	 
+	 /**
+	  * Adds a vector to the coordinate.
+	  * @param vector : the vector, in any form.
+	  * @return The coordinate moved by the vector, in standard form.
+	  */
+	 public HexCoord add(HexCoord vector){
+		 return new HexCoord(this.x + this.y + vector.x + vector.y, 0, this.z + this.y + vector.z + vector.y);
+	 }
+	
+	 /**
+	  * Counts the fewest steps from one hexagon to another. Steps along x and z in the same direction pair up into steps along y.
+	  * @param from : the starting hexagon, in any form.
+	  * @param to : the ending hexagon, in any form.
+	  * @return The number of steps.
+	  */
+	 public static int distance(HexCoord from, HexCoord to){
+		 int dx = (to.x + to.y) - (from.x + from.y);
+		 int dz = (to.z + to.y) - (from.z + from.y);
+		 if ((dx >= 0) == (dz >= 0)){
+			 return Math.max(Math.abs(dx), Math.abs(dz));
+		 }
+		 return Math.abs(dx) + Math.abs(dz);
+	 }
 	
 	 /**
 	  * Compares if the two coordinates are the same.
@@ -103,9 +113,27 @@ public class HexCoord {
 	  * @return True if the same coordinate, false otherwise.
 	  */
 	 public boolean isSameAs(HexCoord coord){
-		 coord.reduce();
-		 this.reduce();
-		 return (this.getX() == coord.getX() && this.getY() == coord.getY() && this.getZ() == coord.getZ());
+		 return this.equals(coord);
+	 }
+	 
+	 /**
+	  * Two coordinates are equal when they name the same hexagon, whatever form each is in.
+	  */
+	 @Override
+	 public boolean equals(Object other){
+		 if (this == other){
+			 return true;
+		 }
+		 if (!(other instanceof HexCoord)){
+			 return false;
+		 }
+		 HexCoord coord = (HexCoord) other;
+		 return this.x + this.y == coord.x + coord.y && this.z + this.y == coord.z + coord.y;
+	 }
+	 
+	 @Override
+	 public int hashCode(){
+		 return 31 * (this.x + this.y) + (this.z + this.y);
 	 }
 	 
 	/**
@@ -120,58 +148,88 @@ public class HexCoord {
 		
 		//  Unit tests for the HexCoord class
 		
-		HexCoord c = new HexCoord(4, 5, 0);
-		c.reduce();
+		HexCoord c = new HexCoord(4, 5, 0).reduce();
 		if (c.getX() != 9 || c.getY() != 0  || c.getZ() != 5){
 			System.out.println("Error: " + c.toString());
 		}
 		
-		c.toVector();
+		c = c.toVector();
 		if (c.getX() != 4 || c.getY() != 5  || c.getZ() != 0){
 			System.out.println("Error in toVector(): " + c.toString());
 		}
 		
-		c = new HexCoord(1, 0, 0);
-		c.reduce();
+		c = new HexCoord(1, 0, 0).reduce();
 		if (c.getX() != 1 || c.getY() != 0  || c.getZ() != 0){
 			System.out.println("Error: " + c.toString());
 		}
 		
-		c.toVector();
+		c = c.toVector();
 		if (c.getX() != 1 || c.getY() != 0  || c.getZ() != 0){
 			System.out.println("Error in toVector(): " + c.toString());
 		}
 		
-		c = new HexCoord(-4, 5, 0);
-		c.reduce();
+		c = new HexCoord(-4, 5, 0).reduce();
 		if (c.getX() != 1 || c.getY() != 0  || c.getZ() != 5){
 			System.out.println("Error: " + c.toString());
 		}
-		c.toVector();
+		c = c.toVector();
 		if (c.getX() != 0 || c.getY() != 1  || c.getZ() != 4){
 			System.out.println("Error in toVector(): " + c.toString());
 		}
 		
-		c = new HexCoord(-5, 5, -6);
-		c.reduce();
+		c = new HexCoord(-5, 5, -6).reduce();
 		if (c.getX() != 0 || c.getY() != 0  || c.getZ() != -1){
 			System.out.println("Error: " + c.toString());
 		}
-		c.toVector();
+		c = c.toVector();
 		if (c.getX() != 0 || c.getY() != 0  || c.getZ() != -1){
 			System.out.println("Error in toVector(): " + c.toString());
 		}
 		
-		c = new HexCoord(-4, 0, 4);
-		c.reduce();
+		c = new HexCoord(-4, 0, 4).reduce();
 		if (c.getX() != -4 || c.getY() != 0  || c.getZ() != 4){
 			System.out.println("Error: " + c.toString());
 		}
-		c.toVector();
+		c = c.toVector();
 		if (c.getX() != -4 || c.getY() != 0  || c.getZ() != 4){
 			System.out.println("Error in toVector(): " + c.toString());
 		}
 		
+		//  Negative x and z move together along -y.
+		c = new HexCoord(-3, 0, -1).toVector();
+		if (c.getX() != -2 || c.getY() != -1  || c.getZ() != 0){
+			System.out.println("Error in toVector(): " + c.toString());
+		}
+		
+		//  Reducing and comparing do not change the coordinates.
+		c = new HexCoord(4, 5, 0);
+		HexCoord d = new HexCoord(9, 0, 5);
+		c.reduce();
+		if (c.getX() != 4 || c.getY() != 5 || c.getZ() != 0){
+			System.out.println("Error: reduce() changed " + c.toString());
+		}
+		if (!c.isSameAs(d) || !c.equals(d) || c.hashCode() != d.hashCode()){
+			System.out.println("Error in equals(): " + c.toString() + " and " + d.toString());
+		}
+		if (c.getY() != 5){
+			System.out.println("Error: isSameAs() changed " + c.toString());
+		}
+		if (c.equals(new HexCoord(4, 0, 0))){
+			System.out.println("Error in equals(): " + c.toString() + " is not (4, 0, 0)");
+		}
+		
+		c = new HexCoord(1, 0, -1).add(new HexCoord(0, 1, 0));
+		if (c.getX() != 2 || c.getY() != 0  || c.getZ() != 0){
+			System.out.println("Error in add(): " + c.toString());
+		}
+		
+		if (HexCoord.distance(new HexCoord(-1, 0, -1), new HexCoord(1, 0, 2)) != 3 || HexCoord.distance(new HexCoord(-2, 0, 2), new HexCoord(2, 0, -2)) != 8){
+			System.out.println("Error in distance().");
+		}
+		if (HexCoord.distance(new HexCoord(0, 3, 0), new HexCoord()) != 3 || HexCoord.distance(new HexCoord(1, 0, 1), new HexCoord(2, 0, -1)) != 3){
+			System.out.println("Error in distance() with y.");
+		}
+		
 		System.out.println("Tests finished.");
 	}
 }
@@ -0,0 +1,180 @@
+/*	OccupancyIndex.java
+ * 	Purpose: Which pieces are in each hexagon of a board, so that a space can be scanned without looking at every piece.
+ *           The pieces in a hexagon are kept as a chain through an array, from the lowest offset up, so nothing is made as pieces move.
+ */
+
+package robowars.board;
+
+import java.util.Arrays;
+
+public class OccupancyIndex {
+
+	/** The lowest offset of the pieces in each hexagon, indexed by hexagon number, or -1 if the hexagon is empty. */
+	private final int[] first;
+
+	/** The next higher offset in the same hexagon, indexed by piece offset, or -1 if it is the last. */
+	private final int[] next;
+
+	/** The hexagon number of each piece, indexed by piece offset, or -1 if it is off the board. */
+	private final int[] cells;
+
+	/** The number of pieces in each hexagon, indexed by hexagon number. */
+	private final int[] counts;
+
+	/** The hexagons with pieces in them, one bit per hexagon number, as in HexCells.rangeWord(). */
+	private final long[] occupied;
+
+	/**
+	 * Constructor for an index with every piece off the board.
+	 * @param numberOfCells The number of hexagons on the board.
+	 * @param numberOfPieces The number of pieces in the match.
+	 */
+	public OccupancyIndex(int numberOfCells, int numberOfPieces){
+		this.first = new int[numberOfCells];
+		this.next = new int[numberOfPieces];
+		this.cells = new int[numberOfPieces];
+		this.counts = new int[numberOfCells];
+		this.occupied = new long[(numberOfCells + 63) / 64];
+		Arrays.fill(this.first, -1);
+		Arrays.fill(this.next, -1);
+		Arrays.fill(this.cells, -1);
+	}
+
+	/**
+	 * Puts a piece in a hexagon, taking it out of the hexagon it was in.
+	 * @param piece The offset of the piece.
+	 * @param cell The number of the hexagon.
+	 * @postcondition The piece is in the hexagon's chain, in order of offset.
+	 */
+	public void place(int piece, int cell){
+		this.remove(piece);
+
+		if (this.first[cell] < 0 || this.first[cell] > piece){
+			this.next[piece] = this.first[cell];
+			this.first[cell] = piece;
+		}
+		else {
+			int before = this.first[cell];
+			while (this.next[before] >= 0 && this.next[before] < piece){
+				before = this.next[before];
+			}
+			this.next[piece] = this.next[before];
+			this.next[before] = piece;
+		}
+		this.cells[piece] = cell;
+		this.counts[cell] += 1;
+		this.occupied[cell >>> 6] |= 1L << cell;
+	}
+
+	/**
+	 * Takes a piece off the board, as when it is destroyed.
+	 * @param piece The offset of the piece.
+	 * @postcondition The piece is in no hexagon. Nothing changes if it was already off the board.
+	 */
+	public void remove(int piece){
+		int cell = this.cells[piece];
+		if (cell < 0){
+			return;
+		}
+
+		if (this.first[cell] == piece){
+			this.first[cell] = this.next[piece];
+		}
+		else {
+			int before = this.first[cell];
+			while (this.next[before] != piece){
+				before = this.next[before];
+			}
+			this.next[before] = this.next[piece];
+		}
+		this.next[piece] = -1;
+		this.cells[piece] = -1;
+		this.counts[cell] -= 1;
+		if (this.counts[cell] == 0){
+			this.occupied[cell >>> 6] &= ~(1L << cell);
+		}
+	}
+
+	/**
+	 * @param piece The offset of the piece.
+	 * @return The number of the hexagon the piece is in, or -1 if it is off the board.
+	 */
+	public int cellOf(int piece){
+		return this.cells[piece];
+	}
+
+	/**
+	 * @param cell The number of the hexagon.
+	 * @return The number of pieces in the hexagon.
+	 */
+	public int count(int cell){
+		return this.counts[cell];
+	}
+
+	/**
+	 * Gives one long of the bitset of hexagons with pieces in them.
+	 * @param word The index of the long.
+	 * @return The bits of hexagons 64 * word up to 64 * word + 63.
+	 */
+	public long occupiedWord(int word){
+		return this.occupied[word];
+	}
+
+	/**
+	 * Starts walking the pieces in a hexagon: for (int p = first(cell); p >= 0; p = next(p))
+	 * @param cell The number of the hexagon.
+	 * @return The lowest offset in the hexagon, or -1 if it is empty.
+	 */
+	public int first(int cell){
+		return this.first[cell];
+	}
+
+	/**
+	 * Continues walking the pieces in a hexagon.
+	 * @param piece The offset of a piece in the hexagon.
+	 * @return The next higher offset in the same hexagon, or -1 if there are no more.
+	 */
+	public int next(int piece){
+		return this.next[piece];
+	}
+
+	public static void main(String args[]){
+
+		//  Unit tests for the OccupancyIndex class
+
+		OccupancyIndex index = new OccupancyIndex(4, 5);
+		index.place(3, 1);
+		index.place(0, 1);
+		index.place(4, 1);
+		index.place(2, 1);
+		index.place(1, 2);
+
+		String walked = "";
+		for (int p = index.first(1); p >= 0; p = index.next(p)){
+			walked += p;
+		}
+		if (!walked.equals("0234") || index.count(1) != 4 || index.count(2) != 1 || index.count(0) != 0){
+			System.out.println("Error in place(): hexagon 1 holds " + walked);
+		}
+
+		index.place(2, 2);
+		index.remove(0);
+		index.remove(0);
+		walked = "";
+		for (int p = index.first(1); p >= 0; p = index.next(p)){
+			walked += p;
+		}
+		if (!walked.equals("34") || index.count(1) != 2 || index.count(2) != 2 || index.cellOf(0) != -1 || index.cellOf(2) != 2){
+			System.out.println("Error in remove(): hexagon 1 holds " + walked);
+		}
+		if (index.first(2) != 1 || index.next(1) != 2 || index.next(2) != -1){
+			System.out.println("Error: hexagon 2 is out of order.");
+		}
+		if (index.occupiedWord(0) != 6L){
+			System.out.println("Error in occupiedWord(): " + Long.toBinaryString(index.occupiedWord(0)));
+		}
+
+		System.out.println("Tests finished.");
+	}
+
+}
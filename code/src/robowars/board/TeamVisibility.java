@@ -0,0 +1,266 @@
+/*  TeamVisibility.java
+ *  Purpose: What each team of a board can see, and which of its members are alive, kept up to date as pieces move and die.
+ *           A move only looks at the pieces near the moving piece and the pieces that could see it, instead of every pair,
+ *           and the changes to each team's view are passed on to VisibilityListeners.
+ */
+
+package robowars.board;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import robowars.pieces.Piece;
+
+class TeamVisibility {
+
+	/** The board whose pieces are followed. */
+	private final Board board;
+
+	/** The number of pieces on each team. */
+	private final int piecesPerTeam;
+
+	/** The pieces each piece can see, one bit per piece offset, indexed by the offset of the viewer. */
+	private final long[][] sees;
+
+	/** The pieces that can see each piece, one bit per piece offset, indexed by the offset of the piece seen. */
+	private final long[][] seenBy;
+
+	/** The number of members of each team that can see each piece, indexed by team offset and then piece offset. */
+	private final int[][] watchers;
+
+	/** The pieces each team can see, one bit per piece offset, indexed by team offset. */
+	private final long[][] visible;
+
+	/** The pieces of each team whose view changed since the listeners were last told, indexed by team offset. */
+	private final long[][] changed;
+
+	/** The living members of each team, with their ranges, indexed by team offset. */
+	private final List<Map<Integer, Integer>> livingMembers;
+
+	/** Where the changes are passed on to. */
+	private final List<VisibilityListener> listeners;
+
+	/**
+	 * Constructor for the views of every team of a board, as the pieces stand now.
+	 * @param board The board, whose occupancy index is up to date.
+	 * @param numberOfTeams The number of teams.
+	 * @param piecesPerTeam The number of pieces on each team.
+	 */
+	TeamVisibility(Board board, int numberOfTeams, int piecesPerTeam){
+		int pieces = numberOfTeams * piecesPerTeam;
+		this.board = board;
+		this.piecesPerTeam = piecesPerTeam;
+		this.sees = new long[pieces][];
+		this.seenBy = new long[pieces][];
+		for (int i = 0; i < pieces; i++){
+			this.sees[i] = board.newPieceSet();
+			this.seenBy[i] = board.newPieceSet();
+		}
+		this.watchers = new int[numberOfTeams][pieces];
+		this.visible = new long[numberOfTeams][];
+		this.changed = new long[numberOfTeams][];
+		this.livingMembers = new ArrayList<Map<Integer, Integer>>(numberOfTeams);
+		for (int team = 0; team < numberOfTeams; team++){
+			this.visible[team] = board.newPieceSet();
+			this.changed[team] = board.newPieceSet();
+			this.livingMembers.add(new HashMap<Integer, Integer>());
+		}
+		this.listeners = new ArrayList<VisibilityListener>();
+		this.rebuild();
+	}
+
+	/**
+	 * Works out every view again, as when the pieces have all been put somewhere new.
+	 * @postcondition The views and living members match the board, and the listeners have been told of the changes.
+	 */
+	void rebuild(){
+		for (int team = 0; team < this.livingMembers.size(); team++){
+			this.livingMembers.get(team).clear();
+		}
+		for (int i = 0; i < this.sees.length; i++){
+			Piece piece = this.board.getPieceFromOffset(i);
+			if (piece.isAlive()){
+				this.livingMembers.get(i / this.piecesPerTeam).put(i, piece.getRange());
+			}
+			this.look(i);
+		}
+		this.publish();
+	}
+
+	/**
+	 * Updates the views after a piece has moved.
+	 * @param offset The offset of the piece, whose new hexagon is in the board's occupancy index.
+	 * @postcondition The listeners have been told of the changes.
+	 */
+	void moved(int offset){
+		//  What the piece sees from where it is now.
+		this.look(offset);
+
+		//  Who sees the piece: only those who saw it before, and those near enough to see it now, can change.
+		long[] candidates = this.board.newPieceSet();
+		int cell = this.board.getOccupancy().cellOf(offset);
+		if (cell >= 0){
+			this.board.markPiecesInRange(cell, this.board.getMaxRange(), candidates);
+		}
+		for (int word = 0; word < candidates.length; word++){
+			long bits = candidates[word] | this.seenBy[offset][word];
+			while (bits != 0L){
+				int viewer = word * 64 + Long.numberOfTrailingZeros(bits);
+				this.setSeen(viewer, offset, this.canSee(viewer, offset));
+				bits &= bits - 1;
+			}
+		}
+		this.publish();
+	}
+
+	/**
+	 * Updates the views and living members after a piece has been destroyed.
+	 * @param offset The offset of the piece, which has been taken out of the board's occupancy index.
+	 * @postcondition The piece sees nothing and is seen by nobody, and the listeners have been told.
+	 */
+	void destroyed(int offset){
+		int team = offset / this.piecesPerTeam;
+		if (this.livingMembers.get(team).remove(offset) == null){
+			return;
+		}
+		for (int word = 0; word < this.sees[offset].length; word++){
+			long bits = this.sees[offset][word] | this.seenBy[offset][word];
+			while (bits != 0L){
+				int other = word * 64 + Long.numberOfTrailingZeros(bits);
+				this.setSeen(offset, other, false);
+				this.setSeen(other, offset, false);
+				bits &= bits - 1;
+			}
+		}
+		this.publish();
+		for (VisibilityListener listener : this.listeners){
+			listener.memberDestroyed(team, offset);
+		}
+	}
+
+	/**
+	 * Works out again what one piece sees.
+	 * @param viewer The offset of the piece.
+	 */
+	private void look(int viewer){
+		long[] now = this.board.newPieceSet();
+		int cell = this.board.getOccupancy().cellOf(viewer);
+		if (cell >= 0 && this.board.getPieceFromOffset(viewer).isAlive()){
+			this.board.markPiecesInRange(cell, this.board.getPieceFromOffset(viewer).getRange(), now);
+		}
+		for (int word = 0; word < now.length; word++){
+			long bits = now[word] ^ this.sees[viewer][word];
+			while (bits != 0L){
+				int seen = word * 64 + Long.numberOfTrailingZeros(bits);
+				this.setSeen(viewer, seen, (now[word] & (1L << seen)) != 0L);
+				bits &= bits - 1;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether one piece can see another where they are now.
+	 * @param viewer The offset of the piece looking.
+	 * @param seen The offset of the piece looked at.
+	 * @return true if both are alive and the piece looked at is within the range of the piece looking.
+	 */
+	private boolean canSee(int viewer, int seen){
+		int from = this.board.getOccupancy().cellOf(viewer);
+		int to = this.board.getOccupancy().cellOf(seen);
+		return from >= 0 && to >= 0 && this.board.getPieceFromOffset(viewer).isAlive() && this.board.getPieceFromOffset(seen).isAlive()
+				&& this.board.getCells().distance(from, to) <= this.board.getPieceFromOffset(viewer).getRange();
+	}
+
+	/**
+	 * Records whether one piece sees another, and whether the viewer's team still sees it.
+	 * @param viewer The offset of the piece looking.
+	 * @param seen The offset of the piece looked at.
+	 * @param isSeen Whether the viewer sees it now.
+	 */
+	private void setSeen(int viewer, int seen, boolean isSeen){
+		long bit = 1L << seen;
+		if (((this.sees[viewer][seen >>> 6] & bit) != 0L) == isSeen){
+			return;
+		}
+		this.sees[viewer][seen >>> 6] ^= bit;
+		this.seenBy[seen][viewer >>> 6] ^= 1L << viewer;
+
+		int team = viewer / this.piecesPerTeam;
+		if (isSeen){
+			this.watchers[team][seen] += 1;
+			if (this.watchers[team][seen] == 1){
+				this.visible[team][seen >>> 6] |= bit;
+				this.changed[team][seen >>> 6] ^= bit;
+			}
+		}
+		else {
+			this.watchers[team][seen] -= 1;
+			if (this.watchers[team][seen] == 0){
+				this.visible[team][seen >>> 6] &= ~bit;
+				this.changed[team][seen >>> 6] ^= bit;
+			}
+		}
+	}
+
+	/**
+	 * Tells the listeners what each team has come to see or stopped seeing since they were last told.
+	 * @postcondition No changes are waiting.
+	 */
+	private void publish(){
+		for (int team = 0; team < this.changed.length; team++){
+			long[] changes = this.changed[team];
+			List<Integer> shown = null;
+			List<Integer> hidden = null;
+			for (int word = 0; word < changes.length; word++){
+				long bits = changes[word];
+				while (bits != 0L){
+					int offset = word * 64 + Long.numberOfTrailingZeros(bits);
+					if ((this.visible[team][word] & (1L << offset)) != 0L){
+						shown = shown == null ? new ArrayList<Integer>() : shown;
+						shown.add(offset);
+					}
+					else {
+						hidden = hidden == null ? new ArrayList<Integer>() : hidden;
+						hidden.add(offset);
+					}
+					bits &= bits - 1;
+				}
+				changes[word] = 0L;
+			}
+			if (shown != null || hidden != null){
+				for (VisibilityListener listener : this.listeners){
+					listener.visibilityChanged(team, shown == null ? new ArrayList<Integer>() : shown, hidden == null ? new ArrayList<Integer>() : hidden);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lists the robots a team can see.
+	 * @param team The offset of the team.
+	 * @return A new list of the offsets of the visible robots, in order.
+	 */
+	ArrayList<Integer> getVisibleRobots(int team){
+		return this.board.piecesIn(this.visible[team]);
+	}
+
+	/**
+	 * Gets the living members of a team.
+	 * @param team The offset of the team.
+	 * @return A new map from the offset of each living member to its range.
+	 */
+	HashMap<Integer, Integer> getLivingMembers(int team){
+		return new HashMap<Integer, Integer>(this.livingMembers.get(team));
+	}
+
+	void addListener(VisibilityListener listener){
+		this.listeners.add(listener);
+	}
+
+	void removeListener(VisibilityListener listener){
+		this.listeners.remove(listener);
+	}
+
+}
@@ -0,0 +1,28 @@
+/*  VisibilityListener.java
+ *  Purpose: Interface for the parts of the game that follow what each team can see, such as the fog of war,
+ *           told only what has changed after each move, shot, or death.
+ */
+
+package robowars.board;
+
+import java.util.List;
+
+public interface VisibilityListener {
+
+	/**
+	 * Called when robots come into or go out of a team's view. Called on the thread that changed the board,
+	 * which is a worker thread during AI turns.
+	 * @param teamOffset The offset of the team.
+	 * @param shown The offsets of the robots the team can now see, in order.
+	 * @param hidden The offsets of the robots the team can no longer see, in order.
+	 */
+	void visibilityChanged(int teamOffset, List<Integer> shown, List<Integer> hidden);
+
+	/**
+	 * Called when a member of a team is destroyed, after its view has been taken away.
+	 * @param teamOffset The offset of the team.
+	 * @param offset The offset of the destroyed piece.
+	 */
+	void memberDestroyed(int teamOffset, int offset);
+
+}
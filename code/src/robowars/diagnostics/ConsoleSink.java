@@ -0,0 +1,14 @@
+/*  ConsoleSink.java
+ *  Purpose: Diagnostic sink printing each message to System.out, as the game always has.
+ */
+
+package robowars.diagnostics;
+
+public class ConsoleSink implements DiagnosticSink {
+
+	@Override
+	public void write(DiagnosticLevelEnum level, String source, String message){
+		System.out.println(level + " in " + source + ": " + message);
+	}
+
+}
@@ -0,0 +1,18 @@
+/*  DiagnosticLevelEnum.java
+ *  Purpose: Enumeration of the levels of diagnostic messages, from the most detailed to none at all.
+ */
+
+package robowars.diagnostics;
+
+public enum DiagnosticLevelEnum {
+	/** Tracing of the interpreter's work, such as each word declared. */
+	DEBUG,
+	/** Events worth knowing about, such as values printed by a robot or the optimizations applied to it. */
+	INFO,
+	/** Problems that do not stop anything, such as unmatched control words in a program. */
+	WARNING,
+	/** Errors in a robot program or in the game, such as a word run with too few arguments. */
+	ERROR,
+	/** Used as a threshold only: nothing is reported. */
+	OFF;
+}
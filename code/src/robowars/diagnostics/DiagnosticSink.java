@@ -0,0 +1,17 @@
+/*  DiagnosticSink.java
+ *  Purpose: Interface for the destinations of diagnostic messages, such as the console or a file.
+ */
+
+package robowars.diagnostics;
+
+public interface DiagnosticSink {
+
+	/**
+	 * Records one message. Only called for messages at or above the threshold of the Diagnostics using the sink.
+	 * @param level The level of the message.
+	 * @param source Where the message came from, eg. "Board" or the name of a robot.
+	 * @param message The message.
+	 */
+	void write(DiagnosticLevelEnum level, String source, String message);
+
+}
@@ -0,0 +1,173 @@
+/*  Diagnostics.java
+ *  Purpose: Filters diagnostic messages by level before passing them to a sink, and counts the errors of each robot.
+ */
+
+package robowars.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Diagnostics {
+
+	/** Where messages at or above the threshold go. */
+	private final DiagnosticSink sink;
+	/** The ordinal of the lowest level reported. */
+	private volatile int threshold;
+
+	/** The names of the registered robots, indexed by robot id, or null for an id that has been unregistered. */
+	private final List<String> robots;
+	/** The number of errors of each registered robot, indexed by robot id. */
+	private int[] errorCounts;
+
+	/**
+	 * Constructor for diagnostics reporting messages at or above a level.
+	 * Callers are expected to check isEnabled() before building a message, so nothing is built for a level that is not reported.
+	 * @param sink Where the messages go.
+	 * @param level The lowest level reported, or OFF to report nothing.
+	 */
+	public Diagnostics(DiagnosticSink sink, DiagnosticLevelEnum level){
+		if (sink == null){
+			throw new RuntimeException("Error creating Diagnostics: sink cannot be null.");
+		}
+		this.sink = sink;
+		this.threshold = level.ordinal();
+		this.robots = new ArrayList<String>();
+		this.errorCounts = new int[8];
+	}
+
+	/**
+	 * Creates diagnostics that report nothing, but still count errors.
+	 * @return The diagnostics.
+	 */
+	public static Diagnostics disabled(){
+		return new Diagnostics(new ConsoleSink(), DiagnosticLevelEnum.OFF);
+	}
+
+	/**
+	 * Creates diagnostics for a new match, reporting to the same sink at the same level, with no robots registered.
+	 * @return The diagnostics.
+	 */
+	public Diagnostics forMatch(){
+		return new Diagnostics(this.sink, this.getLevel());
+	}
+
+	/**
+	 * Whether messages at a level are passed to the sink.
+	 * @param level The level of the message.
+	 * @return true if the message should be built and reported.
+	 */
+	public boolean isEnabled(DiagnosticLevelEnum level){
+		return level.ordinal() >= this.threshold && level != DiagnosticLevelEnum.OFF;
+	}
+
+	public DiagnosticLevelEnum getLevel(){
+		return DiagnosticLevelEnum.values()[this.threshold];
+	}
+
+	public void setLevel(DiagnosticLevelEnum level){
+		this.threshold = level.ordinal();
+	}
+
+	public DiagnosticSink getSink(){
+		return this.sink;
+	}
+
+	/**
+	 * Reports a message if its level is enabled.
+	 * @param level The level of the message.
+	 * @param source Where the message came from, eg. "Board".
+	 * @param message The message.
+	 */
+	public void report(DiagnosticLevelEnum level, String source, String message){
+		if (this.isEnabled(level)){
+			this.sink.write(level, source, message);
+		}
+	}
+
+	/**
+	 * Reports a message from a registered robot if its level is enabled.
+	 * @param level The level of the message.
+	 * @param robot The robot id returned by register().
+	 * @param message The message.
+	 */
+	public void report(DiagnosticLevelEnum level, int robot, String message){
+		if (this.isEnabled(level)){
+			this.sink.write(level, this.getRobotName(robot), message);
+		}
+	}
+
+	/**
+	 * Registers a robot so that its errors can be counted, reusing the lowest id that has been unregistered.
+	 * @param name The name used for the robot in messages and in getErrorCounts().
+	 * @return The id of the robot.
+	 */
+	public synchronized int register(String name){
+		int free = this.robots.indexOf(null);
+		if (free >= 0){
+			this.robots.set(free, name);
+			this.errorCounts[free] = 0;
+			return free;
+		}
+		this.robots.add(name);
+		if (this.robots.size() > this.errorCounts.length){
+			this.errorCounts = Arrays.copyOf(this.errorCounts, this.errorCounts.length * 2);
+		}
+		return this.robots.size() - 1;
+	}
+
+	/**
+	 * Unregisters a robot, so that it is no longer in getErrorCounts() and its id can be given to another robot.
+	 * @param robot The robot id returned by register().
+	 */
+	public synchronized void unregister(int robot){
+		this.robots.set(robot, null);
+		this.errorCounts[robot] = 0;
+	}
+
+	/** @return The number of robots registered and not unregistered. */
+	public synchronized int getRobotCount(){
+		int count = 0;
+		for (String name : this.robots){
+			if (name != null){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public synchronized String getRobotName(int robot){
+		return this.robots.get(robot);
+	}
+
+	/**
+	 * Counts an error against a robot, whether or not errors are reported.
+	 * @param robot The robot id returned by register().
+	 */
+	public synchronized void countError(int robot){
+		this.errorCounts[robot] += 1;
+	}
+
+	public synchronized int getErrorCount(int robot){
+		return this.errorCounts[robot];
+	}
+
+	/**
+	 * Getter for the number of errors of every registered robot.
+	 * @return The error counts by robot name, in the order the robots were registered.
+	 */
+	public synchronized Map<String, Integer> getErrorCounts(){
+		Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+		for (int i = 0; i < this.robots.size(); i++){
+			if (this.robots.get(i) == null){
+				continue;
+			}
+			Integer earlier = counts.get(this.robots.get(i));
+			counts.put(this.robots.get(i), this.errorCounts[i] + (earlier == null ? 0 : earlier));
+		}
+		return counts;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*  FileSink.java
+ *  Purpose: Diagnostic sink appending each message to a text file.
+ */
+
+package robowars.diagnostics;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+public class FileSink implements DiagnosticSink {
+
+	/** The open file. Messages are buffered, and written out by flush() or close(). */
+	private final BufferedWriter writer;
+
+	/**
+	 * Constructor opening a file for appending.
+	 * @param path The path of the file.
+	 */
+	public FileSink(String path){
+		try {
+			this.writer = new BufferedWriter(new FileWriter(path, true));
+		}
+		catch (IOException e){
+			throw new RuntimeException("Error creating FileSink: cannot open " + path + ": " + e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void write(DiagnosticLevelEnum level, String source, String message){
+		try {
+			this.writer.write(level + " in " + source + ": " + message);
+			this.writer.newLine();
+		}
+		catch (IOException e){
+			throw new RuntimeException("Error in FileSink: " + e.getMessage());
+		}
+	}
+
+	public synchronized void flush(){
+		try {
+			this.writer.flush();
+		}
+		catch (IOException e){
+			throw new RuntimeException("Error in FileSink: " + e.getMessage());
+		}
+	}
+
+	public synchronized void close(){
+		try {
+			this.writer.close();
+		}
+		catch (IOException e){
+			throw new RuntimeException("Error in FileSink: " + e.getMessage());
+		}
+	}
+
+}
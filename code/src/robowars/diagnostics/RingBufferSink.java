@@ -0,0 +1,62 @@
+/*  RingBufferSink.java
+ *  Purpose: Diagnostic sink keeping the latest messages in memory, for inspecting a headless run after it ends.
+ */
+
+package robowars.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RingBufferSink implements DiagnosticSink {
+
+	/** The messages, overwritten oldest first once the buffer is full. */
+	private final String[] messages;
+	/** The index the next message is written to. */
+	private int next;
+	/** The number of messages held, at most the capacity. */
+	private int size;
+
+	/**
+	 * Constructor for a sink holding at most capacity messages.
+	 * @param capacity The number of messages kept.
+	 */
+	public RingBufferSink(int capacity){
+		if (capacity <= 0){
+			throw new RuntimeException("Error creating RingBufferSink: capacity must be greater than 0.");
+		}
+		this.messages = new String[capacity];
+		this.next = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public synchronized void write(DiagnosticLevelEnum level, String source, String message){
+		this.messages[this.next] = level + " in " + source + ": " + message;
+		this.next = (this.next + 1) % this.messages.length;
+		if (this.size < this.messages.length){
+			this.size += 1;
+		}
+	}
+
+	/**
+	 * Getter for the messages held.
+	 * @return The messages, oldest first.
+	 */
+	public synchronized List<String> getMessages(){
+		List<String> result = new ArrayList<String>(this.size);
+		int first = (this.next - this.size + this.messages.length) % this.messages.length;
+		for (int i = 0; i < this.size; i++){
+			result.add(this.messages[(first + i) % this.messages.length]);
+		}
+		return result;
+	}
+
+	public synchronized void clear(){
+		for (int i = 0; i < this.messages.length; i++){
+			this.messages[i] = null;
+		}
+		this.next = 0;
+		this.size = 0;
+	}
+
+}
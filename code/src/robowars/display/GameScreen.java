@@ -355,59 +355,31 @@ public class GameScreen extends Screen{
 	public void movePiece(int pieceOffset, HexCoord source, HexCoord vector, int range, HashMap<Integer, Integer> teamMembers, ArrayList<Integer> visibleRobots){
 		//  Store the required moves.
 		ArrayList<HexCoord> moves = new ArrayList<HexCoord>();
+		//  The hex reached so far, and the steps left along each axis.
+		HexCoord step = source.reduce();
+		int stepsX = vector.getX();
+		int stepsY = vector.getY();
+		int stepsZ = vector.getZ();
 
 		//  Move along the x-axis.
-		if (vector.getX() > 0){
-			while (vector.getX() > 0){
-				moves.add(new HexCoord(source.getX()+1, source.getY(), source.getZ()));
-				vector.setX(vector.getX()-1);
-				source.setX(source.getX()+1);
-				source.reduce();
-			}
-		}
-		else if (vector.getX() < 0){
-			while (vector.getX() < 0){
-				moves.add(new HexCoord(source.getX()-1, source.getY(), source.getZ()));
-				vector.setX(vector.getX()+1);
-				source.setX(source.getX()-1);
-				source.reduce();
-			}
+		while (stepsX != 0){
+			step = step.add(new HexCoord(Integer.signum(stepsX), 0, 0));
+			moves.add(step);
+			stepsX -= Integer.signum(stepsX);
 		}
 
 		//  Move along the y-axis.
-		if (vector.getY() > 0){
-			while (vector.getY() > 0){
-				moves.add(new HexCoord(source.getX(), source.getY()+1, source.getZ()));
-				vector.setY(vector.getY()-1);
-				source.setY(source.getY()+1);
-				source.reduce();
-			}
-		}
-		else if (vector.getY() < 0){
-			while (vector.getY() < 0){
-				moves.add(new HexCoord(source.getX(), source.getY()-1, source.getZ()));
-				vector.setY(vector.getY()+1);
-				source.setY(source.getY()-1);
-				source.reduce();
-			}
+		while (stepsY != 0){
+			step = step.add(new HexCoord(0, Integer.signum(stepsY), 0));
+			moves.add(step);
+			stepsY -= Integer.signum(stepsY);
 		}
 
 		//  Move along the z-axis.
-		if (vector.getZ() > 0){
-			while (vector.getZ() > 0){
-				moves.add(new HexCoord(source.getX(), source.getY(), source.getZ()+1));
-				vector.setZ(vector.getZ()-1);
-				source.setZ(source.getZ()+1);
-				source.reduce();
-			}
-		}
-		else if (vector.getZ() < 0){
-			while (vector.getZ() < 0){
-				moves.add(new HexCoord(source.getX(), source.getY(), source.getZ()-1));
-				vector.setZ(vector.getZ()+1);
-				source.setZ(source.getZ()-1);
-				source.reduce();
-			}
+		while (stepsZ != 0){
+			step = step.add(new HexCoord(0, 0, Integer.signum(stepsZ)));
+			moves.add(step);
+			stepsZ -= Integer.signum(stepsZ);
 		}
 
 		// Show the animation.
@@ -415,7 +387,6 @@ public class GameScreen extends Screen{
 			public void run(){
 				//  Move the piece.
 				for (HexCoord movement : moves){
-					movement.reduce();
 					board.resetVisibility();
 					board.resetColors();
 					board.showMove(pieceOffset, movement);
@@ -13,7 +13,9 @@ import java.awt.Color;
 import java.util.HashMap;
 
 import javax.swing.AbstractAction;
+import javax.swing.JButton;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 
 public class TurnTransitionScreen extends Screen{
 
@@ -44,6 +46,17 @@ public class TurnTransitionScreen extends Screen{
 		this.setBackground(Color.BLACK);
 		this.setVisible(false);
 		this.setLayout(new BorderLayout());
+		
+		//  AI turns are played, and the AIs initialized, while this Screen is shown; the button ends one that runs too long.
+		if (actions != null && actions.get("cancelAI") != null){
+			JPanel buttons = new JPanel();
+			buttons.setBackground(Color.BLACK);
+			JButton stop = new JButton(actions.get("cancelAI"));
+			stop.setText("Stop Robot");
+			stop.setName("StopRobotButton");
+			buttons.add(stop);
+			this.add(buttons, BorderLayout.SOUTH);
+		}
 	}
 	
 	
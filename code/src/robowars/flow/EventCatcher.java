@@ -64,6 +64,9 @@ public class EventCatcher implements AWTEventListener {
 	}
 
 	public void createGameManager(MatchOptions options){
+		if (this.gameManager != null){
+			this.gameManager.shutdown();
+		}
 		this.gameManager = new GameManager(this, this.display, options, menuManager.getSettings());
 	}
 	
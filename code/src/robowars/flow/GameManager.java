@@ -10,11 +10,17 @@ package robowars.flow;
 
 import java.awt.event.ActionEvent;
 import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import javax.activity.InvalidActivityException;
 import javax.swing.AbstractAction;
+import javax.swing.SwingUtilities;
 
 import robowars.board.Board;
 import robowars.board.HexCoord;
+import robowars.diagnostics.DiagnosticLevelEnum;
+import robowars.diagnostics.Diagnostics;
 import robowars.display.Display;
 import robowars.display.ScreenEnum;
 import robowars.display.TurnTransitionScreen;
@@ -29,8 +35,12 @@ public class GameManager {
 	
 	private Display display;
 	
+	/** The board of the match. It is changed on the aiExecutor during AI turns and initialization, so the event thread only uses it while aiRunning() is false; the display is given copies made by the board. */
 	private Board board;
 	
+	/** What each team of the board can see, followed through the board's changes instead of copied every turn. */
+	private TeamViews views;
+	
 	
 	public MatchOptions matchOptions;
 	
@@ -39,6 +49,21 @@ public class GameManager {
 	
 	private HexCoord activeHex;
 	
+	/** Runs the AI turns one at a time, so that the Swing event thread stays free while a robot program runs. */
+	private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable r){
+			Thread thread = new Thread(r, "RoboWars AI");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/** The team whose AI turn is running on the aiExecutor, or null. Only read and written on the event thread. */
+	private Team aiTeam;
+	
+	/** Whether the AIs are being initialized on the aiExecutor. Only read and written on the event thread. */
+	private boolean initializingAI;
+	
 	//	private Team currentTeam;
 	
 	public GameManager(EventCatcher ec, Display display, MatchOptions options, Settings settings){
@@ -62,12 +87,18 @@ public class GameManager {
 		
 		try {
 			
-			//  Initialize the game board.
+			//  Initialize the game board, with a new seed and new diagnostics for the match, so that its error counts are only of its robots.
+			matchOptions.drawSeed();
+			matchOptions.setDiagnostics(matchOptions.getDiagnostics().forMatch());
 			board = new Board(matchOptions.getNumPlayers(), this.display, matchOptions);
+			views = new TeamViews(board);
 			
 			
 		} catch (InvalidActivityException e) {
-			System.out.println("GameManager can't initialize Board: " + e.getMessage());
+			Diagnostics diagnostics = matchOptions.getDiagnostics();
+			if (diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+				diagnostics.report(DiagnosticLevelEnum.ERROR, "GameManager", "can't initialize Board: " + e.getMessage());
+			}
 			display.switchTo(ScreenEnum.TITLE);
 			
 		}
@@ -88,6 +119,11 @@ public class GameManager {
 		actions.put("endTurn", new AbstractAction() {
 			public void actionPerformed(ActionEvent e) {
 				
+				//  The AI turn being played, or the AIs being initialized, end the turn themselves when they are done.
+				if (aiRunning()){
+					return;
+				}
+				
 				//  Hide stats from other teams.
 				Team[] teams = board.getTeams();
 				for (Team team : teams) {
@@ -100,9 +136,12 @@ public class GameManager {
 				actions.get("shoot").setEnabled(true);
 
 				if (board.getInitialized() == true){
-					System.out.println("GameScreen - End Turn");
+					Diagnostics diagnostics = matchOptions.getDiagnostics();
+					diagnostics.report(DiagnosticLevelEnum.DEBUG, "GameManager", "GameScreen - End Turn");
 					//  Set the piece's turn to have ended
-					System.out.println("Ending piece: " + board.getCurrentPiece());
+					if (diagnostics.isEnabled(DiagnosticLevelEnum.DEBUG)){
+						diagnostics.report(DiagnosticLevelEnum.DEBUG, "GameManager", "Ending piece: " + board.getCurrentPiece());
+					}
 				
 					display.getGameScreen().getBoardPanel().getContextMenu().setVisible(false);
 					board.getPieceFromOffset(board.getCurrentPiece()).endTurn();
@@ -144,48 +183,25 @@ public class GameManager {
 				
 				if (board.getInitialized()){
 					board.setCurrentPiece(board.nextPiece(board.getCurrentPiece()));
+					startTurn(e);
 				}
 				else {
-					board.initialize();
-				}
-				
-				display.getGameScreen().reloadForCurrentPiece(board.getCurrentPiece(), board.getPieceFromOffset(board.getCurrentPiece()).getRange(), board.getLivingTeamMembers(board.getCurrentPiece() / board.getPiecesPerTeam()), board.getVisibleRobotsForCurrentTeam());
-				
-				
-				//  Show the stats of current piece.
-				Piece piece = board.getPieceFromOffset(board.getCurrentPiece());
-				Team currentTeam = board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()];
-				int teamIndex = board.getOffsetFromTeam(currentTeam.getColour());
-				
-				display.getGameScreen().setCurrentStats(teamIndex, board.getCurrentPiece(), 
-						currentTeam.getPlayerName(), piece.getAttack(), piece.getCurrentMovement(),
-						piece.getCurrentHealth(), piece.getRange());
-				
-				
-				
-				
-				boolean isAI = board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()].isAI();
-				((TurnTransitionScreen)display.getCurrentScreen()).showMessagePlayerMessage(board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()].getPlayerName(), isAI);
-				if (isAI){
-					board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()].playAI(board.getCurrentPiece() % board.getPiecesPerTeam());
-					this.actionPerformed(e);
-				}
-				else {
-					display.switchTo(ScreenEnum.GAME);
+					initializeAI(e);
 				}
 			}
 			
 		});
 		actions.put("move", new AbstractAction() {
 			public void actionPerformed(ActionEvent e) {
-				System.out.println("GameScreen - Move");
+				matchOptions.getDiagnostics().report(DiagnosticLevelEnum.DEBUG, "GameManager", "GameScreen - Move");
+				//  The board belongs to the AI thread until the AI is done.
+				if (aiRunning()){
+					return;
+				}
 				display.getGameScreen().getBoardPanel().getContextMenu().setVisible(false);
 				board.movePiece(display.getGameScreen().getBoardPanel().getActiveHex());
 				
-				display.getGameScreen().reloadForCurrentPiece(board.getCurrentPiece(), 
-						board.getPieceFromOffset(board.getCurrentPiece()).getRange(), 
-						board.getLivingTeamMembers(board.getCurrentPiece() / board.getPiecesPerTeam()), 
-						board.getVisibleRobotsForCurrentTeam());
+				reloadCurrentPiece();
 				
 				//  Disable move button when no movement points left
 				if (board.getPieceFromOffset(board.getCurrentPiece()).getCurrentMovement() == 0) {
@@ -197,7 +213,11 @@ public class GameManager {
 		});
 		actions.put("shoot", new AbstractAction() {
 			public void actionPerformed(ActionEvent e) {
-				System.out.println("GameScreen - Shoot");
+				matchOptions.getDiagnostics().report(DiagnosticLevelEnum.DEBUG, "GameManager", "GameScreen - Shoot");
+				//  The board belongs to the AI thread until the AI is done.
+				if (aiRunning()){
+					return;
+				}
 				
 				display.getGameScreen().getBoardPanel().getContextMenu().setVisible(false);
 				board.shootSpace(display.getGameScreen().getBoardPanel().getActiveHex());
@@ -206,10 +226,7 @@ public class GameManager {
 				} catch (InterruptedException e1) {
 				}
 				board.processDeathFlags();
-				display.getGameScreen().reloadForCurrentPiece(board.getCurrentPiece(), 
-						board.getPieceFromOffset(board.getCurrentPiece()).getRange(), 
-						board.getLivingTeamMembers(board.getCurrentPiece() / board.getPiecesPerTeam()), 
-						board.getVisibleRobotsForCurrentTeam());
+				reloadCurrentPiece();
 				
 				//  Disable shoot button after one shot
 				//  EXTENSION - Bug fix: if the shot was not successful, don't disable the button.
@@ -227,7 +244,7 @@ public class GameManager {
 		});
 		actions.put("inspect", new AbstractAction() {
 			public void actionPerformed(ActionEvent e) {
-				System.out.println("GameScreen - Inspect");
+				matchOptions.getDiagnostics().report(DiagnosticLevelEnum.DEBUG, "GameManager", "GameScreen - Inspect");
 				//  EXTENSION - Inspect function has not been implemented. Would display the stats of all robots in a particular space.
 				display.getGameScreen().getBoardPanel().getContextMenu().setVisible(false);
 
@@ -236,7 +253,7 @@ public class GameManager {
 		});
 		actions.put("cancel", new AbstractAction() {
 			public void actionPerformed(ActionEvent e) {
-				System.out.println("GameScreen - Cancel");
+				matchOptions.getDiagnostics().report(DiagnosticLevelEnum.DEBUG, "GameManager", "GameScreen - Cancel");
 				//  cancels out the menu
 				display.getGameScreen().getBoardPanel().getContextMenu().setVisible(false);
 			}
@@ -244,6 +261,159 @@ public class GameManager {
 		});
 	}
 	
+	/**
+	 * Shows the board as the current piece's team sees it, from the views followed through the board's changes.
+	 * @precondition Called on the event thread, while no AI turn is running.
+	 */
+	private void reloadCurrentPiece(){
+		int team = board.getCurrentPiece() / board.getPiecesPerTeam();
+		display.getGameScreen().reloadForCurrentPiece(board.getCurrentPiece(), board.getPieceFromOffset(board.getCurrentPiece()).getRange(), views.getLivingMembers(team), views.getVisibleRobots(team));
+	}
+	
+	/**
+	 * Starts the turn of the current piece: shows its stats, and plays it if it is an AI piece.
+	 * @param e The event that ended the previous turn.
+	 * @precondition Called on the event thread, with the board initialized.
+	 */
+	private void startTurn(ActionEvent e){
+		reloadCurrentPiece();
+		
+		//  Show the stats of current piece.
+		Piece piece = board.getPieceFromOffset(board.getCurrentPiece());
+		Team currentTeam = board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()];
+		int teamIndex = board.getOffsetFromTeam(currentTeam.getColour());
+		
+		display.getGameScreen().setCurrentStats(teamIndex, board.getCurrentPiece(), 
+				currentTeam.getPlayerName(), piece.getAttack(), piece.getCurrentMovement(),
+				piece.getCurrentHealth(), piece.getRange());
+		
+		boolean isAI = board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()].isAI();
+		((TurnTransitionScreen)display.getCurrentScreen()).showMessagePlayerMessage(board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()].getPlayerName(), isAI);
+		if (isAI){
+			playAI(board.getTeams()[board.getCurrentPiece() / board.getPiecesPerTeam()], board.getCurrentPiece() % board.getPiecesPerTeam(), e);
+		}
+		else {
+			display.switchTo(ScreenEnum.GAME);
+		}
+	}
+	
+	/**
+	 * Initializes the AIs of every team on the aiExecutor, then starts the first turn with a new event on the Swing event thread.
+	 * An AI that runs too long while it is initialized can be stopped with cancelAI(), as an AI turn can.
+	 * @param e The event that ended the previous turn.
+	 * @precondition Called on the event thread, with no AI turn running.
+	 */
+	private void initializeAI(final ActionEvent e){
+		//  Cleared here rather than when the initialization starts, so that a cancelAI() made while it waits still stops it.
+		for (Team team : this.board.getTeams()){
+			team.clearCancelAI();
+		}
+		this.initializingAI = true;
+		this.aiExecutor.execute(new Runnable() {
+			public void run(){
+				try {
+					board.initialize();
+				}
+				catch (RuntimeException ex) {
+					Diagnostics diagnostics = matchOptions.getDiagnostics();
+					if (diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+						diagnostics.report(DiagnosticLevelEnum.ERROR, "GameManager", "AI initialization failed: " + ex.getMessage());
+					}
+				}
+				finally {
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run(){
+							initializingAI = false;
+							if (aiExecutor.isShutdown()){
+								//  The match was left while the AIs were initialized.
+								return;
+							}
+							startTurn(e);
+						}
+					});
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Plays an AI turn on the aiExecutor, then ends the turn with a new event on the Swing event thread.
+	 * Ending each turn from a new event keeps the stack flat however many AI turns follow each other.
+	 * @param team The AI team.
+	 * @param piece The index of the piece in its team.
+	 * @param e The event that ended the previous turn.
+	 * @precondition Called on the event thread, with no AI turn running.
+	 */
+	private void playAI(final Team team, final int piece, final ActionEvent e){
+		//  Cleared here rather than when the turn starts, so that a cancelAI() made while the turn waits still ends it.
+		team.clearCancelAI();
+		this.aiTeam = team;
+		this.aiExecutor.execute(new Runnable() {
+			public void run(){
+				try {
+					team.playAI(piece);
+				}
+				catch (RuntimeException ex) {
+					Diagnostics diagnostics = matchOptions.getDiagnostics();
+					if (diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+						diagnostics.report(DiagnosticLevelEnum.ERROR, "GameManager", "AI turn failed: " + ex.getMessage());
+					}
+				}
+				finally {
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run(){
+							aiTeam = null;
+							if (aiExecutor.isShutdown()){
+								//  The match was left while the turn was played.
+								return;
+							}
+							actions.get("endTurn").actionPerformed(e);
+						}
+					});
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Checks whether an AI turn or the AIs' initialization is running on the aiExecutor, changing the board.
+	 * @return true if the event thread must leave the board alone.
+	 * @precondition Called on the event thread.
+	 */
+	private boolean aiRunning(){
+		return this.aiTeam != null || this.initializingAI;
+	}
+	
+	/**
+	 * Ends the AI turn that is running, if there is one. The match goes on with the next piece.
+	 * While the AIs are being initialized, ends the initialization of every piece not yet initialized instead.
+	 * A turn or initialization that has been queued but has not started yet ends as soon as it starts.
+	 * @precondition Called on the event thread.
+	 */
+	public void cancelAI(){
+		if (this.aiTeam != null){
+			this.aiTeam.cancelAI();
+		}
+		if (this.initializingAI){
+			for (Team team : this.board.getTeams()){
+				team.cancelAI();
+			}
+		}
+	}
+	
+	/**
+	 * Stops the AI thread once the match is over with. An AI turn that is running or queued is cancelled, and no turn follows it.
+	 * @postcondition No more AI turns will be played by this GameManager.
+	 */
+	public void shutdown(){
+		this.cancelAI();
+		this.aiExecutor.shutdown();
+	}
+	
+	/**
+	 * Getter for the board of the match.
+	 * @return The board, which the event thread must only use while no AI turn or initialization is running.
+	 */
 	public Board getBoard(){
 		return this.board;
 	}
@@ -9,6 +9,13 @@
 package robowars.flow;
 
 import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import robowars.diagnostics.ConsoleSink;
+import robowars.diagnostics.DiagnosticLevelEnum;
+import robowars.diagnostics.Diagnostics;
+import robowars.interpreter.Interpreter;
+import robowars.interpreter.InterpreterConfig;
 
 public class MatchOptions {
 
@@ -47,6 +54,24 @@ public class MatchOptions {
 	//  EXTENSION - See the above values for more detail. Advanced rules can be implemented using existing board functions.
 	private boolean useAdvancedRules;
 	
+	/** The number of instructions each AI piece may run in one turn before the turn is ended. The same budget gives the same result in every run of a match. */
+	private int instructionBudget;
+	
+	/** The seed every random number in the match is drawn from. Playing a match again with the same seed and robots gives the same result. */
+	private long seed;
+	
+	/** Whether the seed was set with setSeed(), so that every match is played with it instead of a new one. */
+	private boolean seedIsSet;
+	
+	/** Where the Board, GameManager and AI pieces send their messages, and where the errors of each robot are counted. */
+	private Diagnostics diagnostics;
+	
+	/** Whether the Interpreters of AI pieces record where their programs spend their time. Off by default. */
+	private boolean profiling;
+	
+	/** The number of instructions and board actions the Interpreters of AI pieces keep a trace of, or 0 for no trace. Off by default. */
+	private int traceCapacity;
+	
 	public MatchOptions(){
 		//  Default values:
 		numScouts = 1;
@@ -58,6 +83,12 @@ public class MatchOptions {
 		players = null;  //  We must create the array when the "Start Game" button is pressed.
 		saveRobotStatistics = true;
 		useAdvancedRules = false;
+		instructionBudget = Interpreter.DEFAULT_INSTRUCTION_BUDGET;
+		seed = new SplittableRandom().nextLong();  //  Drawn again by drawSeed() as each match starts, unless one is set; getSeed() records it for replaying.
+		seedIsSet = false;
+		diagnostics = new Diagnostics(new ConsoleSink(), DiagnosticLevelEnum.WARNING);
+		profiling = false;
+		traceCapacity = 0;
 	}
 	
 	public PlayerSettings[] getPlayers() {
@@ -144,6 +175,69 @@ public class MatchOptions {
 		
 	}
 	
+	public int getInstructionBudget(){
+		return this.instructionBudget;
+	}
+	
+	public void setInstructionBudget(int budget){
+		this.instructionBudget = budget;
+	}
+	
+	/**
+	 * Getter for the limits the Interpreters of the match run with. The config is made when asked for, and does not change with these options afterwards.
+	 * @return The config, with the instruction budget of these options.
+	 */
+	public InterpreterConfig getInterpreterConfig(){
+		return InterpreterConfig.DEFAULT.withInstructionBudget(this.instructionBudget);
+	}
+	
+	public long getSeed(){
+		return this.seed;
+	}
+	
+	/**
+	 * Sets the seed every following match is played with, as when replaying a match.
+	 * @param seed The seed.
+	 */
+	public void setSeed(long seed){
+		this.seed = seed;
+		this.seedIsSet = true;
+	}
+	
+	/**
+	 * Draws a new seed for a match that is starting, unless a seed has been set with setSeed().
+	 * @postcondition getSeed() gives the seed of the match.
+	 */
+	public void drawSeed(){
+		if (!this.seedIsSet){
+			this.seed = new SplittableRandom().nextLong();
+		}
+	}
+	
+	public Diagnostics getDiagnostics(){
+		return this.diagnostics;
+	}
+	
+	public void setDiagnostics(Diagnostics d){
+		this.diagnostics = d;
+	}
+	
+	public boolean isProfiling(){
+		return this.profiling;
+	}
+	
+	public void setProfiling(boolean profiling){
+		this.profiling = profiling;
+	}
+	
+	public int getTraceCapacity(){
+		return this.traceCapacity;
+	}
+	
+	public void setTraceCapacity(int traceCapacity){
+		this.traceCapacity = traceCapacity;
+	}
+	
 	public int getBoardSize(){
 		return this.boardSize;
 	}
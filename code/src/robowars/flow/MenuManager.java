@@ -65,6 +65,9 @@ public class MenuManager {
 	/**  A list of all records of the robots in the game. */
 	private List<RobotRecord> robotRecords;
 	
+	/**  Loads the robot records, and checks the robots added to them. */
+	private RecordLoader loader;
+	
 	/** A reference to the Display component of the application. */
 	private Display display;
 	
@@ -83,9 +86,10 @@ public class MenuManager {
 		
 		//  Load the robot records here
 		
-		RecordLoader loader = new RecordLoader(false);
+		this.loader = new RecordLoader(false);
+		this.loader.setDiagnostics(this.matchOptions.getDiagnostics());
 		
-		this.robotRecords = loader.getJsonFile();
+		this.robotRecords = this.loader.getJsonFile();
 		
 		
 		//  Define the actions for each button (or other element if necessary) per screen here.
@@ -250,6 +254,14 @@ public class MenuManager {
 				
 		//  Turn transition screen
 		HashMap<String, AbstractAction> turnTransitionActions = new HashMap<>();
+		turnTransitionActions.put("cancelAI", new AbstractAction() {
+			public void actionPerformed(ActionEvent e) {
+				if (catcher.getGameManager() != null){
+					catcher.getGameManager().cancelAI();
+				}
+			}
+			
+		});
 					
 		//  Game Screen goes in GameManager
 		
@@ -446,6 +458,7 @@ public class MenuManager {
 	 */
 	public void addRobot(RobotRecord robot) {
 		
+		this.loader.verify(robot);
 		this.robotRecords.add(robot);
 		
 	}
@@ -20,17 +20,47 @@ import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
+import robowars.diagnostics.ConsoleSink;
+import robowars.diagnostics.DiagnosticLevelEnum;
+import robowars.diagnostics.Diagnostics;
+import robowars.interpreter.ProgramCache;
+
 
 public class RecordLoader {
 
 	/**  Whether to get files online. */
 	public Boolean isReadOnline;
 	
+	/** Where the problems found in loaded robots are reported. */
+	private Diagnostics diagnostics;
+	
 	/** Constructor */
 	public RecordLoader(Boolean isReadOnline){
 		this.isReadOnline = isReadOnline;
+		this.diagnostics = new Diagnostics(new ConsoleSink(), DiagnosticLevelEnum.WARNING);
 		
-		
+	}
+	
+	public Diagnostics getDiagnostics(){
+		return this.diagnostics;
+	}
+	
+	public void setDiagnostics(Diagnostics diagnostics){
+		this.diagnostics = diagnostics;
+	}
+	
+	/**
+	 * Compiles the program of a robot, checking it with the StackVerifier, and reports the problems found as warnings from the robot.
+	 * The compiled program is kept in the ProgramCache, so the robot is not compiled again when it plays.
+	 * @param record The robot.
+	 * @return The problems found, eg. code that always underflows the stack. Empty if there are none.
+	 */
+	public String[] verify(RobotRecord record){
+		String[] warnings = ProgramCache.getProgram(record).getWarnings();
+		for (String warning : warnings){
+			this.diagnostics.report(DiagnosticLevelEnum.WARNING, "RobotRecord " + record.getName(), warning);
+		}
+		return warnings;
 	}
 
 	/**
@@ -91,6 +121,15 @@ public class RecordLoader {
 		} finally {
 			
 		}
+		
+		//  The robots are checked once they have all been loaded, so that a robot which cannot be checked is still loaded and stops no others.
+		for (RobotRecord record : records) {
+			try {
+				this.verify(record);
+			} catch (RuntimeException e) {
+				this.diagnostics.report(DiagnosticLevelEnum.ERROR, "RobotRecord " + record.getName(), "program could not be checked: " + e.getMessage());
+			}
+		}
 		return records;
 	}
 
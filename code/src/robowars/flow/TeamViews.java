@@ -0,0 +1,78 @@
+/*  TeamViews.java
+ *  Purpose: What each team can see, and which of its members are alive, kept up to date from the board's VisibilityListener changes,
+ *           so that each turn can show the fog of war without copying the whole view from the board.
+ */
+
+package robowars.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import robowars.board.Board;
+import robowars.board.VisibilityListener;
+
+class TeamViews implements VisibilityListener {
+
+	/** The robots each team can see, in order, indexed by team offset. */
+	private final List<ArrayList<Integer>> visible;
+
+	/** The living members of each team, with their ranges, indexed by team offset. */
+	private final List<HashMap<Integer, Integer>> living;
+
+	/**
+	 * Constructor for the views of every team of a board, copied from the board once and then followed through its changes.
+	 * The views are changed on the thread changing the board, so they are only read on the event thread when no AI turn is running.
+	 * @param board The board.
+	 */
+	TeamViews(Board board){
+		int teams = board.getTeams().length;
+		this.visible = new ArrayList<ArrayList<Integer>>(teams);
+		this.living = new ArrayList<HashMap<Integer, Integer>>(teams);
+		for (int team = 0; team < teams; team++){
+			this.visible.add(board.getVisibleRobotsForTeam(team));
+			this.living.add(board.getLivingTeamMembers(team));
+		}
+		board.addVisibilityListener(this);
+	}
+
+	public void visibilityChanged(int teamOffset, List<Integer> shown, List<Integer> hidden){
+		ArrayList<Integer> robots = this.visible.get(teamOffset);
+		for (Integer offset : hidden){
+			int index = Collections.binarySearch(robots, offset);
+			if (index >= 0){
+				robots.remove(index);
+			}
+		}
+		for (Integer offset : shown){
+			int index = Collections.binarySearch(robots, offset);
+			if (index < 0){
+				robots.add(-index - 1, offset);
+			}
+		}
+	}
+
+	public void memberDestroyed(int teamOffset, int offset){
+		this.living.get(teamOffset).remove(offset);
+	}
+
+	/**
+	 * Getter for the robots a team can see.
+	 * @param team The offset of the team.
+	 * @return The offsets of the visible robots, in order; the list must not be changed.
+	 */
+	ArrayList<Integer> getVisibleRobots(int team){
+		return this.visible.get(team);
+	}
+
+	/**
+	 * Getter for the living members of a team.
+	 * @param team The offset of the team.
+	 * @return The offsets of the living members, mapped to their ranges; the map must not be changed.
+	 */
+	HashMap<Integer, Integer> getLivingMembers(int team){
+		return this.living.get(team);
+	}
+
+}
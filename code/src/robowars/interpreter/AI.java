@@ -11,7 +11,10 @@
 package robowars.interpreter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import robowars.flow.RobotRecord;
 
@@ -19,26 +22,25 @@ public class AI {
 
 	/** A list of the lines contained in a clean full program. */
 	List<String> fullProgram;
+	/** The tokens of the program, with their place in the source. Empty for a program given as terms. */
+	List<Token> tokens;
+	/** The stack effect comments of the program's words, eg. "a b -- c", keyed by word name. Empty for a program given as terms. */
+	Map<String, String> effects;
 
 	/** Constructor for use in the main application, taking a RobotRecord. */
 	public AI (RobotRecord r){
 		
 		fullProgram = new ArrayList<String>();
+		tokens = new ArrayList<Token>();
+		effects = new HashMap<String, String>();
 		
-		//  Remove comments from each line, remove empty whitespace entries, and add to the full program.
+		//  Read the tokens of the program in one pass, dropping comments other than the stack effects of words.
 		if (r != null){
-
-			List<String> raw = r.getCode();
-			
-			for (String line : raw){
-				line = stripComments(line);
-				String[] splitLine = line.split(" ");
-				for (int i = 0; i < splitLine.length; i++){
-					splitLine[i] = splitLine[i].trim();
-					if (!splitLine[i].equals("")){
-						fullProgram.add(splitLine[i]);
-					}
-				}
+			Lexer lexer = Lexer.read(r.getCode());
+			tokens = lexer.getTokens();
+			effects = lexer.getDeclaredEffects();
+			for (Token token : tokens){
+				fullProgram.add(token.getText());
 			}
 		}
 		
@@ -47,6 +49,8 @@ public class AI {
 	/** Constructor for test purposes only. */
 	public AI (List<String> raw){
 		fullProgram = raw;
+		tokens = new ArrayList<Token>();
+		effects = new HashMap<String, String>();
 	}
 	
 	public List<String> getFull(){
@@ -57,67 +61,24 @@ public class AI {
 		fullProgram = program;
 	}
 	
+	public List<Token> getTokens(){
+		return tokens;
+	}
+	
+	public Map<String, String> getDeclaredEffects(){
+		return effects;
+	}
+	
 	
 	/**
 	 * Remove comments from a RobotRecord's code.
+	 * Comments may be nested, and parentheses inside a ." string are kept.
 	 * @param line The line to strip of comments.
 	 * @return The cleaned line.
 	 */
 	
 	public String stripComments(String line){
-		//  If the line doesn't contain any parentheses, we are finished.
-		while (line.contains("(") || line.contains(")")){
-			if (line.contains("(")){
-				if (line.contains(")")){
-					//  Line contains at least one complete comment
-					int openCount = 1;
-					int closeCount = 0;
-					int firstOpenIndex = line.indexOf("(");
-					int lastClosedIndex = line.indexOf("(");
-					for (int i = firstOpenIndex + 1; i < line.length(); i++){
-						if (("" + line.charAt(i)).equals("(")){
-							openCount += 1;
-						}
-						else if (("" + line.charAt(i)).equals(")")){
-							closeCount += 1;
-							lastClosedIndex = i;
-							if (closeCount == openCount){
-								//  We've matched the outer pair of braces.
-								StringBuilder text = new StringBuilder(line);
-								System.out.println(text);
-								if (i+1 < line.length()){
-									text.replace(firstOpenIndex, i + 1, "");
-								}
-								else {
-									text.replace(firstOpenIndex, i, "");
-								}
-								line = text.toString();
-								System.out.println(line);
-								break;
-							}
-						}
-					}
-					//  If some parentheses are unmatched, replace the outermost complete pair.
-					if (closeCount != openCount){
-						StringBuilder text = new StringBuilder(line);
-						System.out.println(text);
-						text.replace(firstOpenIndex, lastClosedIndex, "");
-						line = text.toString();
-						System.out.println(line);
-					}
-					
-				}
-				else {
-					//  Hanging parentheses; strip out the opening parentheses.
-					line = line.replace("(", "");
-				}
-			}
-			else {
-				//  Hanging parentheses; strip out the closing parentheses.
-				line = line.replace(")", "");
-			}
-		}
-		return line;
+		return Lexer.stripComments(line);
 	}
 	
 	public static void main(String[] args){
@@ -214,6 +175,43 @@ public class AI {
 			System.out.println("PASSED: AI stripComments() Test 8.");
 		}
 		
+		r.getCode().add(": edgeMove ( -- ) ( move along ( an ) edge )");
+		r.getCode().add("  0 check!   .\"OUT OF (BOUNDS)\" = ( true if off the board )");
+		test = new AI(r);
+		if (!test.getFull().equals(Arrays.asList(":", "edgeMove", "0", "check!", ".\"OUT OF (BOUNDS)\"", "="))){
+			System.out.println("FAILED: AI tokenize Test 9. Result: " + test.getFull());
+			return;
+		}
+		else {
+			System.out.println("PASSED: AI tokenize Test 9.");
+		}
+		
+		Token token = test.getTokens().get(4);
+		if (token.getLine() != 2 || token.getColumn() != 14 || test.getTokens().get(1).getColumn() != 3 || test.getTokens().get(2).getColumn() != 3){
+			System.out.println("FAILED: AI tokenize Test 10. Result: " + test.getTokens());
+			return;
+		}
+		else {
+			System.out.println("PASSED: AI tokenize Test 10.");
+		}
+		
+		result = test.stripComments("  .\"(quoted)\" fo(())x (a (b) c) )");
+		if (!result.equals("  .\"(quoted)\" fox  ")){
+			System.out.println("FAILED: AI stripComments() Test 11. Result: " + result);
+			return;
+		}
+		else {
+			System.out.println("PASSED: AI stripComments() Test 11.");
+		}
+		
+		if (!test.getDeclaredEffects().get("edgeMove").equals(" -- ")){
+			System.out.println("FAILED: AI tokenize Test 12. Result: " + test.getDeclaredEffects());
+			return;
+		}
+		else {
+			System.out.println("PASSED: AI tokenize Test 12.");
+		}
+		
 		System.out.println("AI Class: all tests passed.");
 	}
 	
@@ -0,0 +1,170 @@
+/*  BuiltinWord.java
+ *  Purpose: Static registry of the Interpreter's standard words, each with flags describing where it may run and what it touches.
+ *           Shared by every Interpreter, so that creating one does not build a function table.
+ */
+
+package robowars.interpreter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public abstract class BuiltinWord {
+
+	/** Flag for words that may only run while a piece is taking its turn. */
+	public static final int RESTRICTED = 1;
+	/** Flag for words that read or change the board, rather than only the piece's own program state. */
+	public static final int TOUCHES_BOARD = 2;
+	/** The number of outputs of a word that pushes a different number of values depending on the values it is given. */
+	public static final int VARIABLE = -1;
+
+	/** The word used in a robot program. */
+	private final String word;
+	/** The number of values the word takes from the stack when it succeeds. */
+	private final int inputs;
+	/** The number of values the word leaves on the stack in their place when it succeeds, or VARIABLE. */
+	private final int outputs;
+	/** The flags of the word, combined with |. */
+	private final int flags;
+
+	/** The standard words, in the order of the original function table. */
+	private static final BuiltinWord[] WORDS = {
+		new BuiltinWord("+", 2, 1, 0) {void execute(Interpreter in) {in.add();} },
+		new BuiltinWord("-", 2, 1, 0) {void execute(Interpreter in) {in.subtract();} },
+		new BuiltinWord("*", 2, 1, 0) {void execute(Interpreter in) {in.multiply();} },
+		new BuiltinWord("/mod", 2, 2, 0) {void execute(Interpreter in) {in.divideRemain();} },
+		new BuiltinWord("and", 2, 1, 0) {void execute(Interpreter in) {in.and();} },
+		new BuiltinWord("or", 2, 1, 0) {void execute(Interpreter in) {in.or();} },
+		new BuiltinWord("invert", 1, 1, 0) {void execute(Interpreter in) {in.invert();} },
+		new BuiltinWord("dup", 1, 2, 0) {void execute(Interpreter in) {in.duplicate();} },
+		new BuiltinWord("drop", 1, 0, 0) {void execute(Interpreter in) {in.drop();} },
+		new BuiltinWord("swap", 2, 2, 0) {void execute(Interpreter in) {in.swap();} },
+		new BuiltinWord("rot", 3, 3, 0) {void execute(Interpreter in) {in.rotate();} },
+		new BuiltinWord(">", 2, 1, 0) {void execute(Interpreter in) {in.greaterThan();} },
+		new BuiltinWord(">=", 2, 1, 0) {void execute(Interpreter in) {in.greaterThanEqual();} },
+		new BuiltinWord("<", 2, 1, 0) {void execute(Interpreter in) {in.lessThan();} },
+		new BuiltinWord("<=", 2, 1, 0) {void execute(Interpreter in) {in.lessThanEqual();} },
+		new BuiltinWord("=", 2, 1, 0) {void execute(Interpreter in) {in.equal();} },
+		new BuiltinWord("<>", 2, 1, 0) {void execute(Interpreter in) {in.notEqual();} },
+		new BuiltinWord("if", 1, 0, 0) {void execute(Interpreter in) {in.ifBlock();} },
+		new BuiltinWord("begin", 0, 0, 0) {void execute(Interpreter in) {in.whileBlock();} },
+		new BuiltinWord("do", 2, 0, 0) {void execute(Interpreter in) {in.forBlock();} },
+		new BuiltinWord("variable", 0, 0, 0) {void execute(Interpreter in) {in.declareVar();} },
+		new BuiltinWord(":", 0, 0, 0) {void execute(Interpreter in) {in.declareWord();} },
+		new BuiltinWord("random", 1, 1, 0) {void execute(Interpreter in) {in.random();} },
+		new BuiltinWord(".", 1, 0, 0) {void execute(Interpreter in) {in.dotPrint();} },
+		new BuiltinWord("health", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qHealth();} },
+		new BuiltinWord("healthLeft", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qHealthLeft();} },
+		new BuiltinWord("moves", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qMoves();} },
+		new BuiltinWord("movesLeft", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qMovesLeft();} },
+		new BuiltinWord("attack", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qAttack();} },
+		new BuiltinWord("range", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qRange();} },
+		new BuiltinWord("team", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qTeam();} },
+		new BuiltinWord("type", 0, 1, RESTRICTED) {void execute(Interpreter in) {in.qType();} },
+		new BuiltinWord("turn!", 1, 0, RESTRICTED | TOUCHES_BOARD) {void execute(Interpreter in) {in.turn();} },
+		new BuiltinWord("move!", 0, 0, RESTRICTED | TOUCHES_BOARD) {void execute(Interpreter in) {in.move();} },
+		new BuiltinWord("shoot!", 2, 0, RESTRICTED | TOUCHES_BOARD) {void execute(Interpreter in) {in.shoot();} },
+		new BuiltinWord("check!", 1, 1, RESTRICTED | TOUCHES_BOARD) {void execute(Interpreter in) {in.check();} },
+		new BuiltinWord("scan!", 0, 1, RESTRICTED | TOUCHES_BOARD) {void execute(Interpreter in) {in.scan();} },
+		new BuiltinWord("identify!", 1, 4, RESTRICTED | TOUCHES_BOARD) {void execute(Interpreter in) {in.identify();} },
+		new BuiltinWord("send!", 2, 1, 0) {void execute(Interpreter in) {in.sendMessage();} },
+		new BuiltinWord("mesg?", 1, 1, 0) {void execute(Interpreter in) {in.checkMessages();} },
+		new BuiltinWord("recv!", 1, VARIABLE, 0) {void execute(Interpreter in) {in.receiveMessage();} },
+		new BuiltinWord("?", 1, 1, 0) {void execute(Interpreter in) {in.retrieve();} },
+		new BuiltinWord("!", 2, 0, 0) {void execute(Interpreter in) {in.store();} }
+	};
+
+	/** Lookup from program words to standard words. */
+	private static final Map<String, BuiltinWord> BY_WORD;
+	/** The standard word run for each opcode, indexed by ordinal; null for opcodes the instruction loop runs itself. */
+	private static final BuiltinWord[] BY_OPCODE = new BuiltinWord[OpcodeEnum.values().length];
+
+	static {
+		Map<String, BuiltinWord> byWord = new HashMap<String, BuiltinWord>();
+		for (BuiltinWord builtin : WORDS){
+			byWord.put(builtin.word, builtin);
+			OpcodeEnum op = OpcodeEnum.fromWord(builtin.word);
+			if (op != null){
+				BY_OPCODE[op.ordinal()] = builtin;
+			}
+		}
+		BY_WORD = Collections.unmodifiableMap(byWord);
+	}
+
+	private BuiltinWord(String word, int inputs, int outputs, int flags){
+		this.word = word;
+		this.inputs = inputs;
+		this.outputs = outputs;
+		this.flags = flags;
+	}
+
+	/**
+	 * Runs the word for the current piece of an Interpreter.
+	 * @param in The Interpreter running the word.
+	 */
+	abstract void execute(Interpreter in);
+
+	public String getWord(){
+		return this.word;
+	}
+
+	/**
+	 * Getter for the number of values the word takes from the stack.
+	 * A word given too few values reports an error and clears the stack, except that "swap" and "rot" leave a shorter stack alone.
+	 * @return The number of inputs.
+	 */
+	public int getInputs(){
+		return this.inputs;
+	}
+
+	/**
+	 * Getter for the number of values the word leaves on the stack in place of its inputs.
+	 * @return The number of outputs, or VARIABLE for "recv!", which leaves nothing when there is no message.
+	 */
+	public int getOutputs(){
+		return this.outputs;
+	}
+
+	/**
+	 * Whether the word can only be run while a piece is taking its turn.
+	 * @return true if the word queries or changes the piece or the board.
+	 */
+	public boolean isRestricted(){
+		return (this.flags & RESTRICTED) != 0;
+	}
+
+	/**
+	 * Whether the word reads or changes the board.
+	 * @return true for the words that turn, move or shoot the piece, or look at the board around it.
+	 */
+	public boolean touchesBoard(){
+		return (this.flags & TOUCHES_BOARD) != 0;
+	}
+
+	/**
+	 * Method for finding the standard word spelled by a program term.
+	 * @param word The term from the robot program.
+	 * @return The standard word, or null if the term is not one.
+	 */
+	public static BuiltinWord find(String word){
+		return BY_WORD.get(word);
+	}
+
+	/**
+	 * Method for finding the standard word run by an opcode.
+	 * @param op The opcode.
+	 * @return The standard word, or null for internal opcodes and for control words the instruction loop runs itself.
+	 */
+	public static BuiltinWord forOpcode(OpcodeEnum op){
+		return BY_OPCODE[op.ordinal()];
+	}
+
+	/**
+	 * Getter for every standard word.
+	 * @return The words, unmodifiable.
+	 */
+	public static Map<String, BuiltinWord> getWords(){
+		return BY_WORD;
+	}
+
+}
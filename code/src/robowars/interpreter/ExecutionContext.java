@@ -0,0 +1,71 @@
+/*  ExecutionContext.java
+ *  Purpose: The state of one call to Interpreter.play() or initialize(): the instruction budget left, the loops and calls running,
+ *           and the parsing flags. A new context is made for each call, so nothing is carried from one turn into the next.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ExecutionContext {
+
+	/** The number of instructions left for the running turn. */
+	int fuel;
+	/** Flag for whether the running program should stop for the rest of the turn. */
+	boolean abortTurn;
+	/** Flag to prevent malicious code from trying to run board-related methods outside of the play() method. */
+	boolean isPlayMode;
+
+	/** The current index of each running do loop, innermost last. */
+	final int[] loopIndices;
+	/** The last index of each running do loop, parallel to loopIndices. */
+	final int[] loopLimits;
+	/** The number of do loops running. */
+	int loopDepth;
+	/** The number of user word calls in progress, across the instruction loop and hot words. */
+	int callDepth;
+	/** The call depth of the verified word whose stack words run without depth checks, or -1 if every word is checked. */
+	int uncheckedCall;
+
+	/** The instructions waiting to be parsed, from which the control words and declarations take the terms that follow them. */
+	final List<String> currentInstructions;
+	/** Flag for whether declareWord() has reached the semicolon ending the word. */
+	boolean hitSemicolon;
+
+	/**
+	 * Constructor for the context of one turn or initialization.
+	 * @param config The limits of the match.
+	 * @param isPlayMode Whether the pieces may use the board, as they may while taking a turn.
+	 */
+	ExecutionContext(InterpreterConfig config, boolean isPlayMode){
+		this.fuel = config.getInstructionBudget();
+		this.abortTurn = false;
+		this.isPlayMode = isPlayMode;
+		this.loopIndices = new int[config.getMaxLoopDepth()];
+		this.loopLimits = new int[config.getMaxLoopDepth()];
+		this.loopDepth = 0;
+		this.callDepth = 0;
+		this.uncheckedCall = -1;
+		this.currentInstructions = new ArrayList<String>();
+		this.hitSemicolon = false;
+	}
+
+	/**
+	 * Constructor for a copy of a context, with its own loop state.
+	 * @param other The context to copy.
+	 */
+	ExecutionContext(ExecutionContext other){
+		this.fuel = other.fuel;
+		this.abortTurn = other.abortTurn;
+		this.isPlayMode = other.isPlayMode;
+		this.loopIndices = other.loopIndices.clone();
+		this.loopLimits = other.loopLimits.clone();
+		this.loopDepth = other.loopDepth;
+		this.callDepth = other.callDepth;
+		this.uncheckedCall = other.uncheckedCall;
+		this.currentInstructions = new ArrayList<String>(other.currentInstructions);
+		this.hitSemicolon = other.hitSemicolon;
+	}
+
+}
@@ -0,0 +1,271 @@
+/*  HotWord.java
+ *  Purpose: Second execution tier for user words that are called often: the word's instructions are bound once to Word closures,
+ *           so running it needs no decoding, dispatch switch or operand lookups.
+ */
+
+package robowars.interpreter;
+
+import robowars.interpreter.Interpreter.Word;
+
+public class HotWord {
+
+	/** The opcodes indexed by ordinal, for decoding compiled instructions. */
+	private static final OpcodeEnum[] OPCODES = OpcodeEnum.values();
+
+	/** The word number in the program. */
+	final int word;
+	/** The name of the word, for error messages. */
+	final String name;
+	/** One closure per instruction of the word, ending with its RETURN. */
+	private final Word[] steps;
+	/** The index of the next step to run, set by each step that jumps. */
+	private int next;
+	/** The Interpreter the word runs in. */
+	private final Interpreter interpreter;
+
+	/**
+	 * Constructor which binds each instruction of a word to a closure.
+	 * Jump targets become step indices, and literals, variables and the piece's stack are resolved once.
+	 * @param interpreter The Interpreter of the piece's team.
+	 * @param program The compiled program of the piece.
+	 * @param piece The piece offset.
+	 * @param word The word number to compile.
+	 */
+	HotWord(Interpreter interpreter, Program program, int piece, int word){
+		this.interpreter = interpreter;
+		this.word = word;
+		this.name = program.wordNames[word];
+
+		int[] code = program.code;
+		int entry = program.wordEntries[word];
+		int end = entry;
+		while (OPCODES[code[end]] != OpcodeEnum.RETURN){
+			end += Program.INSTRUCTION_SIZE;
+		}
+
+		this.steps = new Word[(end - entry) / Program.INSTRUCTION_SIZE + 1];
+		for (int pc = entry; pc <= end; pc += Program.INSTRUCTION_SIZE){
+			this.steps[(pc - entry) / Program.INSTRUCTION_SIZE] = this.bind(program, piece, entry, pc);
+		}
+	}
+
+	/**
+	 * Runs the word, charging each step to the Interpreter's instruction budget in the same way as the instruction loop.
+	 * @precondition The word's piece is the current piece.
+	 * @postcondition The word has returned or the turn has been aborted, and any loops it left open have ended.
+	 */
+	void run(){
+		Interpreter interpreter = this.interpreter;
+		if (interpreter.context.callDepth == interpreter.config.getMaxCallDepth()){
+			interpreter.error("too many nested calls to ", this.name, ". Aborting turn.");
+			interpreter.context.abortTurn = true;
+			return;
+		}
+		interpreter.context.callDepth += 1;
+		int loopBase = interpreter.context.loopDepth;
+		//  The word may call itself, so the caller's next step is kept here.
+		int callerNext = this.next;
+
+		Word[] steps = this.steps;
+		int step = 0;
+		//  The RETURN step jumps past the end.
+		while (step < steps.length){
+			if (interpreter.context.fuel == 0){
+				interpreter.error("exceeded the budget of ", interpreter.config.getInstructionBudget(), " instructions. Ending turn.");
+				interpreter.context.abortTurn = true;
+				break;
+			}
+			if ((interpreter.context.fuel & Interpreter.CANCEL_CHECK_MASK) == 0 && interpreter.checkCancelled()){
+				break;
+			}
+			interpreter.context.fuel -= 1;
+			this.next = step + 1;
+			steps[step].execute();
+			if (interpreter.context.abortTurn){
+				break;
+			}
+			step = this.next;
+		}
+
+		//  Loops left open by the word end with it.
+		interpreter.context.loopDepth = loopBase;
+		interpreter.context.callDepth -= 1;
+		this.next = callerNext;
+	}
+
+	/**
+	 * Binds one instruction to a closure with the same effect as the instruction loop.
+	 * @param program The compiled program of the piece.
+	 * @param piece The piece offset.
+	 * @param entry The offset of the word's first instruction.
+	 * @param pc The offset of the instruction.
+	 * @return The closure for the instruction.
+	 */
+	private Word bind(final Program program, int piece, final int entry, int pc){
+		final Interpreter interpreter = this.interpreter;
+		final ValueStack stack = interpreter.stacks[piece];
+		final int[] code = program.code;
+		final OpcodeEnum op = OPCODES[code[pc]];
+		final int operand = code[pc + Program.OPERAND];
+
+		Word bound;
+		switch (op){
+		case PUSH_LITERAL:
+			final ValueTypeEnum type = program.constantTypes[operand];
+			final int value = program.constantValues[operand];
+			final String constant = program.constants[operand];
+			bound = new Word() {public void execute() {stack.push(type, value, constant);} };
+			break;
+		case PUSH_VARIABLE:
+			final String address = program.varAddresses[operand];
+			bound = new Word() {public void execute() {stack.push(ValueTypeEnum.ADDRESS, operand, address);} };
+			break;
+		case CALL:
+			bound = new Word() {public void execute() {interpreter.callWord(program, operand);} };
+			break;
+		case RETURN:
+		case HALT:
+			bound = new Word() {public void execute() {next = steps.length;} };
+			break;
+		case NOP:
+		case THEN:
+		case BEGIN:
+			bound = new Word() {public void execute() {} };
+			break;
+
+		case IF:
+			final int falseStep = this.stepOf(entry, OPCODES[code[operand]] == OpcodeEnum.ELSE ? operand + Program.INSTRUCTION_SIZE : operand);
+			final int skipStep = this.stepOf(entry, interpreter.skipIf(code, operand));
+			bound = new Word() {public void execute() {
+				if (stack.size() < 1){
+					//  No value to test, so skip both branches.
+					next = skipStep;
+				}
+				else if (stack.typeAt(0) != ValueTypeEnum.BOOLEAN){
+					stack.drop();
+					next = skipStep;
+				}
+				else if (!stack.popBool()){
+					next = falseStep;
+				}
+			} };
+			break;
+		case ELSE:
+		case LEAVE:
+			final int target = this.stepOf(entry, operand);
+			final boolean leave = op == OpcodeEnum.LEAVE;
+			bound = new Word() {public void execute() {
+				if (leave){
+					interpreter.context.loopDepth -= 1;
+				}
+				next = target;
+			} };
+			break;
+		case UNTIL:
+			final int beginStep = this.stepOf(entry, operand);
+			bound = new Word() {public void execute() {
+				if (stack.size() == 0){
+					interpreter.error("whileBlock: no value on stack to test finished condition. Aborting turn.");
+					interpreter.context.abortTurn = true;
+				}
+				else if (stack.typeAt(0) != ValueTypeEnum.BOOLEAN){
+					stack.drop();
+					interpreter.error("whileBlock: no boolean  value on stack to test finished condition. Aborting turn.");
+					interpreter.context.abortTurn = true;
+				}
+				else if (!stack.popBool()){
+					next = beginStep;
+				}
+			} };
+			break;
+		case DO:
+			bound = new Word() {public void execute() {
+				if (interpreter.context.loopDepth == interpreter.config.getMaxLoopDepth()){
+					interpreter.error("too many nested loops. Aborting turn.");
+					interpreter.context.abortTurn = true;
+					return;
+				}
+				interpreter.beginLoop();
+			} };
+			break;
+		case LOOP:
+			final int bodyStep = this.stepOf(entry, operand);
+			bound = new Word() {public void execute() {
+				int loop = interpreter.context.loopDepth - 1;
+				interpreter.context.loopIndices[loop] += 1;
+				if (interpreter.context.loopIndices[loop] <= interpreter.context.loopLimits[loop]){
+					next = bodyStep;
+				}
+				else {
+					interpreter.context.loopDepth -= 1;
+				}
+			} };
+			break;
+		case LOOP_INDEX:
+			bound = new Word() {public void execute() {
+				if (interpreter.context.loopDepth == 0){
+					interpreter.error("parse(): no loop iterator value to push for term 'I'. Aborting.");
+					interpreter.context.abortTurn = true;
+					return;
+				}
+				stack.pushInt(interpreter.context.loopIndices[interpreter.context.loopDepth - 1]);
+			} };
+			break;
+
+		case RETRIEVE_VARIABLE:
+			bound = new Word() {public void execute() {interpreter.retrieveVariable(operand);} };
+			break;
+		case STORE_VARIABLE:
+			final String location = program.varAddresses[operand];
+			bound = new Word() {public void execute() {interpreter.storeVariable(operand, location);} };
+			break;
+		case DROP_PAIR:
+			bound = new Word() {public void execute() {interpreter.dropPair();} };
+			break;
+		case LITERAL_SUBTRACT:
+		case LITERAL_NOT_EQUAL:
+		case LITERAL_LESS_THAN:
+			final int integer = program.constantValues[operand];
+			final String literal = program.constants[operand];
+			if (op == OpcodeEnum.LITERAL_SUBTRACT){
+				bound = new Word() {public void execute() {interpreter.literalSubtract(integer, literal);} };
+			}
+			else if (op == OpcodeEnum.LITERAL_NOT_EQUAL){
+				bound = new Word() {public void execute() {interpreter.literalNotEqual(integer, literal);} };
+			}
+			else {
+				bound = new Word() {public void execute() {interpreter.literalLessThan(integer, literal);} };
+			}
+			break;
+
+		default:
+			final BuiltinWord builtin = BuiltinWord.forOpcode(op);
+			bound = new Word() {public void execute() {builtin.execute(interpreter);} };
+			break;
+		}
+
+		if (op.isRestricted()){
+			final Word method = bound;
+			bound = new Word() {public void execute() {
+				if (!interpreter.context.isPlayMode){
+					interpreter.error("parse(): restricted word cannot be parsed outside of play mode. Aborting.");
+					interpreter.context.abortTurn = true;
+					return;
+				}
+				method.execute();
+			} };
+		}
+		return bound;
+	}
+
+	/**
+	 * Converts a code offset within the word to a step index.
+	 * @param entry The offset of the word's first instruction.
+	 * @param pc The code offset.
+	 * @return The index of the step for the instruction at the offset.
+	 */
+	private int stepOf(int entry, int pc){
+		return (pc - entry) / Program.INSTRUCTION_SIZE;
+	}
+
+}
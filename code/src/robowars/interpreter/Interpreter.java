@@ -14,19 +14,27 @@
  */
 
 package robowars.interpreter;
+import robowars.board.Board;
+import robowars.diagnostics.DiagnosticLevelEnum;
+import robowars.diagnostics.Diagnostics;
+import robowars.diagnostics.ConsoleSink;
+import robowars.diagnostics.RingBufferSink;
+import robowars.flow.MatchOptions;
 import robowars.flow.PlayerSettings;
+import robowars.flow.RobotRecord;
 import robowars.pieces.Piece;
 import robowars.pieces.Team;
 import robowars.pieces.TeamEnum;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Stack;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.SplittableRandom;
+
+import javax.activity.InvalidActivityException;
 
 public class Interpreter {
 
@@ -37,83 +45,104 @@ public class Interpreter {
 		void execute();
 	}
 	
-	/**
-	 *  A TimerTask used to clock the time spent in an Interpreter loop (for or while blocks).
-	 *  Prevents malicious or malformed user code from locking up the system.
-	 */
-	public class TurnTimerTask extends TimerTask {
-		
-		Interpreter parent;
-		Thread t;
-		
-		public TurnTimerTask(Interpreter p){
-			parent = p;
-			t = new Thread();
-		}
-		
-		@Override
-		public void run(){
-			System.out.println("Exceeded turn limit time. Aborting.");
-			parent.triggerTimerInterrupt();
-
-		}
-		
-	}
-	
 	//  Constant values for the Interpreter implementation
 	
-	/** How long a loop is permitted to run before aborting. */
-	public static int TURN_LIMIT_MILLISECONDS = 5000;
-	/** The maximum capacity of each piece's mailbox for message sending. */
-	public static int MAILBOX_CAPACITY = 6;
+	/** The number of instructions a piece may run in one turn, or while being initialized, unless the match sets another budget. */
+	public static final int DEFAULT_INSTRUCTION_BUDGET = 100000;
+	/** The maximum capacity of each piece's mailbox for message sending, unless the match sets another. */
+	public static final int DEFAULT_MAILBOX_CAPACITY = 6;
+	/** The maximum number of values on each piece's stack, unless the match sets another. */
+	public static final int DEFAULT_STACK_CAPACITY = 1024;
+	/** The maximum depth of nested user word calls in a compiled program, unless the match sets another. */
+	public static final int DEFAULT_MAX_CALL_DEPTH = 64;
+	/** The maximum number of do loops a compiled program may have running at once, including loops in calling words, unless the match sets another. */
+	public static final int DEFAULT_MAX_LOOP_DEPTH = 32;
+	/** The number of calls after which a user word is compiled to a HotWord, unless the match sets another. */
+	public static final int DEFAULT_HOT_WORD_THRESHOLD = 1000;
+	/** Returned by the comparison helpers when the top two values cannot be compared. */
+	private static final int NOT_COMPARABLE = Integer.MIN_VALUE;
 	
 	/** The number of pieces per team. */
 	Integer numberOfPieces;
 	/** The offset of the currently active piece. */
 	Integer currentPiece;
-	/** An array for storing the programs for each piece's AI, indexed by the piece offset. */
+	/** An array for storing the programs for each piece's AI, indexed by the piece offset. Null for a piece whose program comes from the ProgramCache. */
 	AI[] ai;
+	/** The robot records for each piece, indexed by the piece offset, or null when the programs are given as AIs. */
+	RobotRecord[] records;
 	/** An array for storing the mailboxes for each piece, indexed by the piece offset. */
 	Mailbox[] mailboxes;
 	/** An array for storing the interpreter stacks for each piece, indexed by the piece offset. */
-	protected Stack<String>[] stacks;
-	/** An array of lists of the user-defined words for each piece's program, indexed by the piece offset. */
-	List<UserWord>[] userWords;
-	/** An array of lists of the user-defined variables for each piece's program, indexed by the piece offset. */
-	List<UserVariable>[] userVars;
-	/** A list of loopIterators for the currently running program. */
-	List<Integer> loopIterators;
-	/** A list of instructions for the currently running program. */
-	List<String> currentInstructions;
+	protected ValueStack[] stacks;
+	/** An array of dictionaries of the user-defined words for each piece's program, indexed by the piece offset. */
+	SlotDictionary<UserWord>[] userWords;
+	/** An array of dictionaries of the user-defined variables for each piece's program, indexed by the piece offset. Variable locations on the stack hold the slot. */
+	SlotDictionary<UserVariable>[] userVars;
 	/** A mapping of piece names to integer offsets. */
 	Map<String, Integer> idToIndex;
-	/** A mapping of string words to indices for the methods array. */
-	Map<String, Integer> functionTableMapping;
-	/** A function table for the Interpreter's standard methods. */
-	Word[] methods;
 	/** The team this Interpreter belongs to. */
 	Team team;
-	/** Flag for whether parsing has hit a semicolon and the turn should end. */
-	boolean hitSemicolon;
-	/** Flag for whether a loop should be forced to quit running. */
-	boolean forceLoopInterrupt;
-	/** Flag for whether a "leave" word was parsed inside a for block. */
-	boolean leaveForBlock;
-	/** Flag to prevent malicious code from trying to run board-related methods outside of the play() method. */
-	boolean isPlayMode;
+	/** The board the team plays on, which the pieces sense, move on and shoot at. */
+	Board board;
+	/** The limits the pieces' programs run with, fixed for the match. Prevents malicious or malformed user code from locking up the system. */
+	final InterpreterConfig config;
+	/** The state of the play() or initialize() call running, made new for each call. */
+	ExecutionContext context;
 	
-	/** Defines which words are only allowed to be executed during play mode (eg. turn(), shoot()) */
-	public List<String> restrictedWords;
+	/** An array for storing the compiled programs for each piece, indexed by the piece offset. */
+	Program[] programs;
 	
-	/** Timer for clocking the Interpreter's execution time during loops. */
-	Timer turnTimer;
-	/** Task to be scheduled by the turnTimer during loop execution. */
-	TurnTimerTask timeoutTask;
+	/** The number of calls to each user word of each piece's program, indexed by piece offset and word number. */
+	int[][] wordCalls;
+	/** The hot words of each piece's program, indexed by piece offset and word number; null until a word is hot. */
+	HotWord[][] hotWords;
+	/** The return offset and caller's loop count of each call followed by the instruction loop, two ints per call, made once for the interpreter. */
+	private final int[] returnStack;
+	/** The number of calls on returnStack; each execute() starts above the calls of the execute() that called it. */
+	private int returnDepth;
+	/** Records where each piece's program spends its time, or null when profiling is off. */
+	Profiler profiler;
+	/** Records each instruction and board action of the pieces, or null when tracing is off. */
+	TraceRecorder tracer;
+	/** Set by cancel() from another thread to end the turn being played, and cleared by clearCancel() when the next turn is queued. */
+	volatile boolean cancelled;
+	/** The running turn checks for cancel() each time its remaining budget is a multiple of CANCEL_CHECK_MASK + 1. */
+	static final int CANCEL_CHECK_MASK = 1023;
 	
+	/** The opcodes indexed by ordinal, for decoding compiled instructions. */
+	private static final OpcodeEnum[] OPCODES = OpcodeEnum.values();
 	
-	/** Constructor for the Interpreter for use in the main application. */
-	@SuppressWarnings("unchecked")
+	/** What the playing piece can sense, reused by the sensing words until the board changes. */
+	SensorSnapshot sensors;
+	
+	/** The random number stream of each piece, indexed by the piece offset. */
+	PieceRandom[] randoms;
+	/** The seed of the match the streams are derived from. */
+	long seed;
+	/** Which of the match's streams the team draws from, so that each team gets its own. */
+	int stream;
+	
+	/** Where the messages of the running programs go. */
+	Diagnostics diagnostics;
+	/** The id of each piece in the diagnostics, indexed by the piece offset. */
+	int[] robotIds;
+	
+	
+	/** Constructor for an Interpreter with the default limits. */
 	public Interpreter(Integer numPieces, Team t, PlayerSettings robots) throws RuntimeException{
+		this(numPieces, t, robots, InterpreterConfig.DEFAULT);
+	}
+	
+	/**
+	 *  Constructor for the Interpreter for use in the main application.
+	 *  An Interpreter belongs to the thread playing its match; Interpreters of different matches share nothing that changes, and may run on different threads at once.
+	 *  @param numPieces - The number of pieces in the team.
+	 *  @param t - The team, whose board the pieces play on.
+	 *  @param robots - The settings holding the robot records, or null when the programs are given as AIs.
+	 *  @param config - The limits of the match.
+	 */
+	@SuppressWarnings("unchecked")
+	public Interpreter(Integer numPieces, Team t, PlayerSettings robots, InterpreterConfig config) throws RuntimeException{
 		//  Check preconditions for creating the interpreter.
 		if (numPieces <= 0){
 			throw new RuntimeException("Error creating Interpreter: number of Pieces must be greater than 0.");
@@ -127,452 +156,1026 @@ public class Interpreter {
 			}
 		}
 		
+		if (config == null){
+			throw new RuntimeException("Config cannot be null when instantiating Interpreter.");
+		}
+		
 		numberOfPieces = numPieces;
 		team = t;
+		board = t.getBoard();
+		this.config = config;
 		currentPiece = 0;
 		ai = new AI[numPieces];
+		records = new RobotRecord[numPieces];
 		mailboxes = new Mailbox[numPieces];
-		stacks = (Stack<String>[]) new Stack[numPieces];
-		userWords = (ArrayList<UserWord>[]) new ArrayList[numPieces];
-		userVars = (ArrayList<UserVariable>[]) new ArrayList[numPieces];
+		stacks = new ValueStack[numPieces];
+		userWords = SlotDictionary.newArray(numPieces);
+		userVars = SlotDictionary.newArray(numPieces);
 		idToIndex = new HashMap<String, Integer>();
+		programs = new Program[numPieces];
+		wordCalls = new int[numPieces][];
+		hotWords = new HotWord[numPieces][];
+		returnStack = new int[config.getMaxCallDepth() * 2];
 		
 		//  Instantiate the array elements for each piece.
+		this.loadRobots(robots);
 		for (int i = 0; i < numPieces; i++){
-			if (robots != null){
-				ai[i] = new AI(robots.mapRobots.get(i));
-				//System.out.println("Program " + i + ": " + ai[i].getFull());
-			}
-			
 			//  EXTENSION: To make this code modular, adjust names to match types later? Eg. SNIPER2
-			mailboxes[i] = new Mailbox(MAILBOX_CAPACITY, "piece" + i, this);
+			mailboxes[i] = new Mailbox(config.getMailboxCapacity(), "piece" + i, this);
 			idToIndex.put("piece" + i, i);
-			stacks[i] = new Stack<String>();
-			userWords[i] = new ArrayList<UserWord>();
-			userVars[i] = new ArrayList<UserVariable>();
-		}
-		
-		
-		loopIterators = new ArrayList<Integer>();
-		currentInstructions = new ArrayList<String>();
-		
-		hitSemicolon = false;
-		forceLoopInterrupt = false;
-		leaveForBlock = false;
-		functionTableMapping = new HashMap<String, Integer>();
-		isPlayMode = false;
-		
-		//  Define the words which are restricted to play mode.
-		restrictedWords = new ArrayList<String>();
-		restrictedWords.add("health");
-		restrictedWords.add("healthLeft");
-		restrictedWords.add("moves");
-		restrictedWords.add("movesLeft");
-		restrictedWords.add("attack");
-		restrictedWords.add("range");
-		restrictedWords.add("team");
-		restrictedWords.add("type");
-		restrictedWords.add("turn!");
-		restrictedWords.add("move!");
-		restrictedWords.add("shoot!");
-		restrictedWords.add("check!");
-		restrictedWords.add("scan!");
-		restrictedWords.add("identify!");
-		
-		
-		//  Define the function table mapping for the standard interpreter functions
-		functionTableMapping.put("+", 0);
-		functionTableMapping.put("-", 1);
-		functionTableMapping.put("*", 2);
-		functionTableMapping.put("/mod", 3);
-		functionTableMapping.put("and", 4);
-		functionTableMapping.put("or", 5);
-		functionTableMapping.put("invert", 6);
-		functionTableMapping.put("dup", 7);
-		functionTableMapping.put("drop", 8);
-		functionTableMapping.put("swap", 9);
-		functionTableMapping.put("rot", 10);
-		functionTableMapping.put(">", 11);
-		functionTableMapping.put(">=", 12);
-		functionTableMapping.put("<", 13);
-		functionTableMapping.put("<=", 14);
-		functionTableMapping.put("=", 15);
-		functionTableMapping.put("<>", 16);
-		functionTableMapping.put("if", 17);
-		functionTableMapping.put("begin", 18);
-		functionTableMapping.put("do", 19);
-		functionTableMapping.put("variable", 20);
-		functionTableMapping.put(":", 21);
-		functionTableMapping.put("random", 22);
-		functionTableMapping.put(".", 23);
-		functionTableMapping.put("health", 24);
-		functionTableMapping.put("healthLeft", 25);
-		functionTableMapping.put("moves", 26);
-		functionTableMapping.put("movesLeft", 27);
-		functionTableMapping.put("attack", 28);
-		functionTableMapping.put("range", 29);
-		functionTableMapping.put("team", 30);
-		functionTableMapping.put("type", 31);
-		functionTableMapping.put("turn!", 32);
-		functionTableMapping.put("move!", 33);
-		functionTableMapping.put("shoot!", 34);
-		functionTableMapping.put("check!", 35);
-		functionTableMapping.put("scan!", 36);
-		functionTableMapping.put("identify!", 37);
-		functionTableMapping.put("send!", 38);
-		functionTableMapping.put("mesg?", 39);
-		functionTableMapping.put("recv!", 40);
-		functionTableMapping.put("?", 41);
-		functionTableMapping.put("!", 42);
-
-		
+			stacks[i] = new ValueStack(config.getStackCapacity());
+			userWords[i] = new SlotDictionary<UserWord>();
+			userVars[i] = new SlotDictionary<UserVariable>();
+		}
 		
-		//  Define the methods that go in the function table.
-		methods = new Word[] {
-				new Word() {public void execute() {add();} },
-				new Word() {public void execute() {subtract();} },
-				new Word() {public void execute() {multiply();} },
-				new Word() {public void execute() {divideRemain();} },
-				new Word() {public void execute() {and();} },
-				new Word() {public void execute() {or();} },
-				new Word() {public void execute() {invert();} },
-				new Word() {public void execute() {duplicate();} },
-				new Word() {public void execute() {drop();} },
-				new Word() {public void execute() {swap();} },
-				new Word() {public void execute() {rotate();} },
-				new Word() {public void execute() {greaterThan();} },
-				new Word() {public void execute() {greaterThanEqual();} },
-				new Word() {public void execute() {lessThan();} },
-				new Word() {public void execute() {lessThanEqual();} },
-				new Word() {public void execute() {equal();} },
-				new Word() {public void execute() {notEqual();} },
-				new Word() {public void execute() {ifBlock();} },
-				new Word() {public void execute() {whileBlock();} },
-				new Word() {public void execute() {forBlock();} },
-				new Word() {public void execute() {declareVar();} },
-				new Word() {public void execute() {declareWord();} },
-				new Word() {public void execute() {random();} },
-				new Word() {public void execute() {dotPrint();} },
-				new Word() {public void execute() {qHealth();} },  		//  Restricted word
-				new Word() {public void execute() {qHealthLeft();} },	//  Restricted word
-				new Word() {public void execute() {qMoves();} },		//  Restricted word
-				new Word() {public void execute() {qMovesLeft();} },	//  Restricted word
-				new Word() {public void execute() {qAttack();} },		//  Restricted word
-				new Word() {public void execute() {qRange();} },		//  Restricted word
-				new Word() {public void execute() {qTeam();} },			//  Restricted word
-				new Word() {public void execute() {qType();} },			//  Restricted word
-				new Word() {public void execute() {turn();} },			//  Restricted word
-				new Word() {public void execute() {move();} },			//  Restricted word
-				new Word() {public void execute() {shoot();} },			//  Restricted word
-				new Word() {public void execute() {check();} },			//  Restricted word
-				new Word() {public void execute() {scan();} },			//  Restricted word
-				new Word() {public void execute() {identify();} },		//  Restricted word
-				new Word() {public void execute() {sendMessage();} },	
-				new Word() {public void execute() {checkMessages();} },
-				new Word() {public void execute() {receiveMessage();} },
-				new Word() {public void execute() {retrieve();} },
-				new Word() {public void execute() {store();} }
-		};
 		
-	
+		context = new ExecutionContext(config, false);
+		robotIds = new int[numPieces];
+		randoms = new PieceRandom[numPieces];
+		sensors = new SensorSnapshot();
+		setSeed(0, 0);
+		setDiagnostics(new Diagnostics(new ConsoleSink(), DiagnosticLevelEnum.WARNING));
 		
+		//  The standard words are shared by every Interpreter; see BuiltinWord.
 	}
 	
-	
 	/**
-	 *  Public method used to play the AI for the pieceID given.
-	 *  @param piece - An integer representing the index of the piece to play.
-	 *  @postcondition The AI has taken its turn.
+	 *  Stores the robot records of each piece. The program is compiled from the record, or found in the ProgramCache, when the piece is initialized.
+	 *  @param robots - The settings holding the robot records, or null when the programs are given as AIs.
 	 */
-	public void play(Integer piece){
-		this.currentPiece = piece;
-		this.currentInstructions.add("play");
-		
-		this.isPlayMode = true;
-		while (this.currentInstructions.size() > 0){
-			this.parse(this.currentInstructions.remove(0));			
-		}	
-		
-		this.isPlayMode = false;
-		return;
+	private void loadRobots(PlayerSettings robots){
+		for (int i = 0; i < this.numberOfPieces; i++){
+			this.records[i] = null;
+			this.ai[i] = null;
+			if (robots != null){
+				this.records[i] = robots.mapRobots.get(i);
+				if (this.records[i] == null){
+					this.ai[i] = new AI(this.records[i]);
+				}
+			}
+		}
 	}
 	
 	/**
-	 * Public method used to initialize the AI for the pieceID given.
-	 * @param piece - An integer representing the index of the piece to initialize.
-	 * @postcondition The AI has been initialized.
+	 *  Resets the Interpreter for a new match, keeping its stacks, mailboxes and dictionaries so that a pooled Interpreter allocates nothing per piece.
+	 *  The limits and diagnostics are kept, and the random streams start again from the seed; the pieces keep their robot ids, under the names of the new team.
+	 *  @param t - The team for the new match.
+	 *  @param robots - The settings holding the robot records, or null when the programs will be given as AIs.
+	 *  @precondition The team is not null, and there is a robot record for each piece.
+	 *  @postcondition Every piece must be initialized again before it is played.
 	 */
-	public void initialize(Integer piece){
-		this.currentPiece = piece;
-		this.currentInstructions = this.ai[piece].getFull();
-		while (this.currentInstructions.size() > 0){
-			this.parse(this.currentInstructions.remove(0));			
-		}
-		//  Make sure that we have a play method defined; define an empty one otherwise.
-		boolean hasPlay = false;
-		System.out.println("Words: " + this.userWords[piece]);
-		for (int i = 0; i < this.userWords[piece].size(); i++){
-			if (this.userWords[piece].get(i).getName().equals("play")){
-				hasPlay = true;
-			}
-		}
-		if (!hasPlay){
-			System.out.println("Error: no play word detected. Adding a blank one.");
-			this.userWords[piece].add(new UserWord("play"));
-			this.userWords[piece].get(this.userWords[piece].size() -1).setReplaceValues(new ArrayList<String>());
-		}		
-		return;
+	public void reset(Team t, PlayerSettings robots){
+		if (t == null){
+			throw new RuntimeException("Team cannot be null when resetting Interpreter.");
+		}
+		if (robots != null && robots.mapRobots.size() < this.numberOfPieces){
+			throw new RuntimeException("Insufficient number of Robot Records when resetting Interpreter.");
+		}
+		
+		this.team = t;
+		this.board = t.getBoard();
+		this.currentPiece = 0;
+		this.loadRobots(robots);
+		for (int i = 0; i < this.numberOfPieces; i++){
+			this.mailboxes[i].clear();
+			this.stacks[i].clear();
+			this.userWords[i].clear();
+			this.userVars[i].clear();
+			this.programs[i] = null;
+			this.wordCalls[i] = null;
+			this.hotWords[i] = null;
+		}
+		
+		this.context = new ExecutionContext(this.config, false);
+		this.sensors.invalidate();
+		this.setSeed(this.seed, this.stream);
+		this.setDiagnostics(this.diagnostics);
+	}
+	
+	
+	public InterpreterConfig getConfig(){
+		return this.config;
+	}
+	
+	public int getInstructionBudget(){
+		return this.config.getInstructionBudget();
 	}
 	
 	/**
-	 * Method called by the turnTimer's task to stop a loop from executing.
+	 *  Derives the random number stream of each piece from the match seed.
+	 *  The match seed is split once per stream up to the team's, and the team's stream once per piece, so every piece of every team
+	 *  draws its own numbers, and does so in the same way in every run of the match.
+	 *  @param matchSeed - The seed of the match.
+	 *  @param teamStream - Which stream of the match the team draws from, eg. the ordinal of its colour.
 	 */
-	private void triggerTimerInterrupt(){
-		forceLoopInterrupt = true;
+	public void setSeed(long matchSeed, int teamStream){
+		this.seed = matchSeed;
+		this.stream = teamStream;
+		SplittableRandom match = new SplittableRandom(matchSeed);
+		SplittableRandom team = match.split();
+		for (int i = 0; i < teamStream; i++){
+			team = match.split();
+		}
+		for (int i = 0; i < this.numberOfPieces; i++){
+			this.randoms[i] = new PieceRandom(team.split().nextLong());
+		}
 	}
 	
+	public long getSeed(){
+		return this.seed;
+	}
 	
 	/**
-	 *  A method for adding the top two elements of the current stack.
-	 *  @precondition The top two elements of the stack represent integers.
-	 *  @postcondition The top two elements have been popped from the stack, added, and the result pushed to the stack.
+	 *  Setter for where the messages of the running programs go. Registers each piece with the diagnostics, so that its errors are counted,
+	 *  after unregistering the pieces from the diagnostics set before, so that setting them again does not add more robots.
+	 *  @param d - The diagnostics for the match.
 	 */
-	public void add(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation add().");
-			return;
+	public void setDiagnostics(Diagnostics d){
+		if (d == null){
+			throw new RuntimeException("Error setting diagnostics: diagnostics cannot be null.");
 		}
-		try {
-			Integer arg1 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			Integer arg2 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			this.stacks[this.currentPiece].push("" + (arg1 + arg2));
-			return;
+		if (this.diagnostics != null){
+			for (int i = 0; i < this.numberOfPieces; i++){
+				this.diagnostics.unregister(this.robotIds[i]);
+			}
 		}
-		catch (NumberFormatException e) {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation add().");
-			return;
+		this.diagnostics = d;
+		for (int i = 0; i < this.numberOfPieces; i++){
+			String name = this.team.getColour() + " piece" + i;
+			if (this.records[i] != null){
+				name += " (" + this.records[i].getName() + ")";
+			}
+			this.robotIds[i] = d.register(name);
 		}
-		finally {}
-		
+	}
+	
+	public Diagnostics getDiagnostics(){
+		return this.diagnostics;
 	}
 	
 	/**
-	 *  A method for subtracting the top two elements of the current stack.
-	 *  @precondition The top two elements of the stack represent integers.
-	 *  @postcondition The top two elements have been popped from the stack, subtracted, and the result pushed to the stack.
+	 *  Takes a snapshot of every piece: its stack, variables, words, mailbox, random stream and the loop state of the last call.
+	 *  Compiled programs and word definitions are shared with the snapshot rather than copied; a dictionary is only copied when it is next changed.
+	 *  @return The snapshot, which does not change as this Interpreter plays on.
+	 *  @precondition The Interpreter is not playing a turn.
 	 */
-	public void subtract(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation subtract().");
-			return;
+	public InterpreterSnapshot snapshot(){
+		return new InterpreterSnapshot(this);
+	}
+	
+	/**
+	 *  Puts every piece back as it was when a snapshot was taken. The snapshot can be restored again, into this or another Interpreter.
+	 *  HotWords are kept when the snapshot came from this Interpreter, and compiled again as they are called otherwise.
+	 *  The board is not part of the snapshot.
+	 *  @param snapshot - The snapshot to restore.
+	 *  @precondition The snapshot has as many pieces as this Interpreter, and was taken with the same mailbox capacity and no larger stack capacity.
+	 *  @postcondition The pieces play on from the snapshot.
+	 */
+	public void restore(InterpreterSnapshot snapshot){
+		if (snapshot.getNumberOfPieces() != this.numberOfPieces){
+			throw new RuntimeException("Error restoring Interpreter: the snapshot has " + snapshot.getNumberOfPieces() + " pieces, not " + this.numberOfPieces + ".");
+		}
+		if (snapshot.config.getMailboxCapacity() != this.config.getMailboxCapacity() || snapshot.config.getStackCapacity() > this.config.getStackCapacity()){
+			throw new RuntimeException("Error restoring Interpreter: the snapshot was taken with other limits (" + snapshot.config + ").");
+		}
+		boolean ownHotWords = snapshot.source == this;
+		this.currentPiece = snapshot.currentPiece;
+		this.context = new ExecutionContext(snapshot.context);
+		for (int i = 0; i < this.numberOfPieces; i++){
+			this.ai[i] = snapshot.ai[i];
+			this.programs[i] = snapshot.programs[i];
+			this.stacks[i].restore(snapshot.stacks[i]);
+			this.mailboxes[i].restore(snapshot.mailboxes[i]);
+			this.userWords[i] = snapshot.userWords[i].share();
+			this.userVars[i] = InterpreterSnapshot.copyVariables(snapshot.userVars[i]);
+			this.randoms[i] = new PieceRandom(snapshot.randoms[i]);
+			if (snapshot.wordCalls[i] == null){
+				this.wordCalls[i] = null;
+				this.hotWords[i] = null;
+			}
+			else {
+				this.wordCalls[i] = snapshot.wordCalls[i].clone();
+				//  HotWords are bound to the Interpreter that compiled them; words past the threshold are compiled again on their next call.
+				this.hotWords[i] = ownHotWords ? snapshot.hotWords[i].clone() : new HotWord[snapshot.hotWords[i].length];
+			}
 		}
-		try {
-			Integer arg1 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			Integer arg2 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			this.stacks[this.currentPiece].push("" + (arg1 - arg2));
-			return;
+		this.sensors.invalidate();
+	}
+	
+	/**
+	 *  Turns profiling on or off. Profiling is off by default, and costs the instruction loop one check per instruction while it is off.
+	 *  While profiling, user words are not run as HotWords, so that every call is recorded.
+	 *  @param profiling - true to record calls, time, loop iterations and stack depth for each piece from now on, false to stop and drop what was recorded.
+	 */
+	public void setProfiling(boolean profiling){
+		if (!profiling){
+			this.profiler = null;
 		}
-		catch (NumberFormatException e) {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation subtract().");
-			return;
+		else if (this.profiler == null){
+			this.profiler = new Profiler(this.stacks.length, this.config.getMaxCallDepth());
 		}
-		finally {}
 	}
-
+	
 	/**
-	 *  A method for multiplying the top two elements of the current stack.
-	 *  @precondition The top two elements of the stack represent integers.
-	 *  @postcondition The top two elements have been popped from the stack, multiplied, and the result pushed to the stack.
+	 *  Getter for the profiler.
+	 *  @return The profiler, or null if profiling is off.
 	 */
-	public void multiply(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation multiply().");
-			return;
-		}
-		try {
-			Integer arg1 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			Integer arg2 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			this.stacks[this.currentPiece].push("" + (arg1 * arg2));
-			return;
+	public Profiler getProfiler(){
+		return this.profiler;
+	}
+	
+	/**
+	 *  Turns tracing on or off. Tracing is off by default, and costs the instruction loop one check per instruction while it is off.
+	 *  The records are kept in a ring buffer allocated here, so a long match keeps only its most recent records.
+	 *  @param capacity - The number of records to keep, rounded up to a power of two, or 0 to stop and drop what was recorded.
+	 */
+	public void setTracing(int capacity){
+		if (capacity <= 0){
+			this.tracer = null;
 		}
-		catch (NumberFormatException e) {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation multiply().");
-			return;
+		else if (this.tracer == null || this.tracer.capacity() < capacity){
+			this.tracer = new TraceRecorder(capacity);
 		}
-		finally {}
 	}
 	
 	/**
-	 *  A method for dividing the top two elements of the current stack.
-	 *  @precondition The top two elements of the stack represent integers.
-	 *  @postcondition The top two elements have been popped from the stack, divided, and the remainder and quotient pushed to the stack in that order.
+	 *  Getter for the trace recorder.
+	 *  @return The trace recorder, or null if tracing is off.
 	 */
-	public void divideRemain(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation divideRemain().");
-			return;
-		}
-		try {
-			Integer arg1 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			Integer arg2 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			this.stacks[this.currentPiece].push("" + (arg1 % arg2));
-			this.stacks[this.currentPiece].push("" + (arg1 / arg2));
-			return;
+	public TraceRecorder getTraceRecorder(){
+		return this.tracer;
+	}
+	
+	/**
+	 *  Ends the turn being played, or the initialization being run, as soon as the running program next checks, within CANCEL_CHECK_MASK + 1 instructions.
+	 *  Turns and initializations started after it end before they run anything, until clearCancel() is called, so a turn cancelled while it waits to start is not played.
+	 *  May be called from any thread.
+	 */
+	public void cancel(){
+		this.cancelled = true;
+	}
+	
+	/**
+	 *  Lets turns and initializations run again after cancel().
+	 *  Called when a turn is queued rather than when it starts, so that a cancel() made while it waits still ends it.
+	 */
+	public void clearCancel(){
+		this.cancelled = false;
+	}
+	
+	/**
+	 *  Ends the turn if cancel() has been called.
+	 *  @return true if the turn has been cancelled.
+	 */
+	boolean checkCancelled(){
+		if (!this.cancelled){
+			return false;
 		}
-		catch (NumberFormatException e) {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation divideRemain().");
-			return;
+		this.error("turn cancelled. Ending turn.");
+		this.context.abortTurn = true;
+		return true;
+	}
+	
+	/**
+	 *  Getter for the number of errors in the program of a piece.
+	 *  @param piece - The index of the piece.
+	 *  @return The number of errors since the diagnostics were set.
+	 */
+	public int getErrorCount(int piece){
+		return this.diagnostics.getErrorCount(this.robotIds[piece]);
+	}
+	
+	/**
+	 *  Counts an error against the current piece and reports it.
+	 *  @param message - The error message.
+	 */
+	void error(String message){
+		this.context.uncheckedCall = -1;
+		this.diagnostics.countError(this.robotIds[this.currentPiece]);
+		this.diagnostics.report(DiagnosticLevelEnum.ERROR, this.robotIds[this.currentPiece], message);
+	}
+	
+	/**
+	 *  Counts an error against the current piece and reports it. The message is only put together if errors are reported.
+	 *  @param before - The text before the value.
+	 *  @param value - The value in the message.
+	 *  @param after - The text after the value.
+	 */
+	void error(String before, Object value, String after){
+		this.context.uncheckedCall = -1;
+		this.diagnostics.countError(this.robotIds[this.currentPiece]);
+		if (this.diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+			this.diagnostics.report(DiagnosticLevelEnum.ERROR, this.robotIds[this.currentPiece], before + value + after);
 		}
-		finally {}
 	}
 	
 	/**
-	 *  A method for performing the boolean and operation on the top two elements of the current stack.
-	 *  @precondition The top two elements of the stack represent boolean values.
-	 *  @postcondition The top two elements have been popped from the stack, the and operation performed, and the result pushed to the stack.
+	 *  Counts an error against the current piece and reports it. The message is only put together if errors are reported.
+	 *  @param before - The text before the first value.
+	 *  @param first - The first value in the message.
+	 *  @param between - The text between the values.
+	 *  @param second - The second value in the message.
+	 *  @param after - The text after the second value.
 	 */
-	public void and(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation and().");
-			return;
+	void error(String before, Object first, String between, Object second, String after){
+		this.context.uncheckedCall = -1;
+		this.diagnostics.countError(this.robotIds[this.currentPiece]);
+		if (this.diagnostics.isEnabled(DiagnosticLevelEnum.ERROR)){
+			this.diagnostics.report(DiagnosticLevelEnum.ERROR, this.robotIds[this.currentPiece], before + first + between + second + after);
 		}
-		
-		//  We cannot use a try...catch block here because parseBoolean() will convert any string not equal to "true" to false and throws no exception.
-		
-		boolean bool1, bool2;
-		String arg1 = this.stacks[this.currentPiece].pop();
-		String arg2 = this.stacks[this.currentPiece].pop();
-		if (arg1.equals("true") || arg1.equals("false")){
-			bool1 = Boolean.parseBoolean(arg1);
+	}
+	
+	/**
+	 *  Reports a message about the current piece.
+	 *  @param level - The level of the message.
+	 *  @param message - The message.
+	 */
+	void report(DiagnosticLevelEnum level, String message){
+		this.diagnostics.report(level, this.robotIds[this.currentPiece], message);
+	}
+	
+	/**
+	 *  Reports a message about the current piece. The message is only put together if the level is reported.
+	 *  @param level - The level of the message.
+	 *  @param before - The text before the value.
+	 *  @param value - The value in the message.
+	 */
+	void report(DiagnosticLevelEnum level, String before, Object value){
+		if (this.diagnostics.isEnabled(level)){
+			this.diagnostics.report(level, this.robotIds[this.currentPiece], before + value);
 		}
-		else {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation and().");
-			return;
+	}
+	
+	/**
+	 *  Public method used to play the AI for the pieceID given.
+	 *  Runs the compiled "play" word if the piece has been initialized, or compiles "play" with the words the piece has declared otherwise.
+	 *  @param piece - An integer representing the index of the piece to play.
+	 *  @postcondition The AI has taken its turn.
+	 */
+	public void play(Integer piece){
+		this.currentPiece = piece;
+		this.context = new ExecutionContext(this.config, true);
+		this.sensors.invalidate();
+		if (this.tracer != null){
+			this.tracer.nextTurn();
 		}
 		
-		if (arg2.equals("true") || arg2.equals("false")){
-			bool2 = Boolean.parseBoolean(arg2);
-		}
-		else {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation and().");
-			return;
+		//  A turn cancelled while it waited to start plays nothing.
+		Program program = this.programs[piece];
+		if (!this.checkCancelled()){
+			if (program != null){
+				this.run(program, program.wordEntries[program.playWord]);
+			}
+			else {
+				this.runTerms(Arrays.asList("play"));
+			}
 		}
 		
-		this.stacks[this.currentPiece].push("" + (bool1 && bool2));
+		this.context.isPlayMode = false;
 		return;
-
 	}
 	
 	/**
-	 *  A method for performing the boolean or operation on the top two elements of the current stack.
-	 *  @precondition The top two elements of the stack represent boolean values.
-	 *  @postcondition The top two elements have been popped from the stack, the or operation performed, and the result pushed to the stack.
+	 * Public method used to initialize the AI for the pieceID given.
+	 * The program is compiled once, or shared from the ProgramCache, its words and variables are declared, and the terms outside of any word are run.
+	 * @param piece - An integer representing the index of the piece to initialize.
+	 * @postcondition The AI has been initialized.
 	 */
-	public void or() {
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation or().");
-			return;
+	public void initialize(Integer piece){
+		this.currentPiece = piece;
+		this.context = new ExecutionContext(this.config, false);
+		Program program;
+		if (this.ai[piece] == null && this.records[piece] != null){
+			//  Pieces running the same robot share one compiled program.
+			program = ProgramCache.getProgram(this.records[piece]);
 		}
+		else {
+			program = ProgramCache.build(this.ai[piece].getFull(), this.ai[piece].getDeclaredEffects());
+		}
+		this.programs[piece] = program;
+		this.wordCalls[piece] = new int[program.wordNames.length];
+		this.hotWords[piece] = new HotWord[program.wordNames.length];
 		
-		//  We cannot use a try...catch block here because parseBoolean() will convert any string not equal to "true" to false and throws no exception.
-		
-		boolean bool1, bool2;
-		String arg1 = this.stacks[this.currentPiece].pop();
-		String arg2 = this.stacks[this.currentPiece].pop();
-		if (arg1.equals("true") || arg1.equals("false")){
-			bool1 = Boolean.parseBoolean(arg1);
+		//  Declare the program's variables and words so they can be used by store(), retrieve() and parse().
+		//  The dictionaries start empty, so each variable's slot is its number in the compiled program.
+		this.userVars[piece].clear();
+		this.userWords[piece].clear();
+		for (String name : program.varNames){
+			this.userVars[piece].declare(name, new UserVariable(name));
 		}
-		else {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation or().");
-			return;
+		for (int i = 0; i < program.wordNames.length; i++){
+			UserWord word = new UserWord(program.wordNames[i]);
+			word.setReplaceValues(new ArrayList<String>(Arrays.asList(program.wordBodies[i])));
+			this.userWords[piece].declare(program.wordNames[i], word);
 		}
 		
-		if (arg2.equals("true") || arg2.equals("false")){
-			bool2 = Boolean.parseBoolean(arg2);
+		this.report(DiagnosticLevelEnum.DEBUG, "words: ", this.userWords[piece]);
+		for (String warning : program.warnings){
+			this.report(DiagnosticLevelEnum.WARNING, warning);
 		}
-		else {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation or().");
-			return;
+		if (this.diagnostics.isEnabled(DiagnosticLevelEnum.INFO)){
+			this.report(DiagnosticLevelEnum.INFO, "optimizations: " + program.getOptimizationReport());
+		}
+		//  The compiler defines an empty play word if the program did not have one.
+		if (!program.definesPlay){
+			this.report(DiagnosticLevelEnum.WARNING, "no play word detected. Adding a blank one.");
 		}
 		
-		this.stacks[this.currentPiece].push("" + (bool1 || bool2));
+		//  An initialization cancelled while it waited to start runs nothing, but the program is still set up for the piece's turns.
+		if (!this.checkCancelled()){
+			this.run(program, 0);
+		}
 		return;
-		
 	}
 	
 	/**
-	 *  A method for performing the boolean not operation on the top element of the current stack.
-	 *  @precondition The top element of the stack represents a boolean value.
-	 *  @postcondition The top element has been popped from the stack, the value inverted, and the result pushed to the stack.
+	 * Runs a compiled program from the given offset until it halts, returns from its first word, or the turn is aborted.
+	 * Each run may execute at most instructionBudget instructions, so a program that never ends is stopped at the same point every time.
+	 * @param program - The compiled program of the current piece.
+	 * @param entry - The code offset to start running from.
+	 * @postcondition The instructions have been executed, and the loop state has been cleared.
 	 */
-	public void invert() {
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation invert().");
-			return;
+	void run(Program program, int entry){
+		Profiler profiler = this.profiler;
+		if (profiler != null){
+			profiler.begin(this.currentPiece, this.diagnostics.getRobotName(this.robotIds[this.currentPiece]), program, entry);
 		}
 		
-		//  We cannot use a try...catch block here because parseBoolean() will convert any string not equal to "true" to false and throws no exception.
-		
-		boolean bool1;
-		String arg1 = this.stacks[this.currentPiece].pop();
-		if (arg1.equals("true") || arg1.equals("false")){
-			bool1 = Boolean.parseBoolean(arg1);
+		try {
+			this.execute(program, entry);
 		}
-		else {
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation invert().");
-			return;
-		}		
-		
-		this.stacks[this.currentPiece].push("" + (!bool1));
-		return;
-	}
-	
-	/**
-	 *  A method for duplicating the top element of the current stack.
-	 *  @precondition The stack contains at least one element.
-	 *  @postcondition The top element has been popped from the stack, and the value pushed to the stack twice.
-	 */
-	public void duplicate() {
-		if (this.stacks[this.currentPiece].size() < 1){
+		catch (RuntimeException e){
+			//  Stack overflow, or an error from the board; the stack is cleared as it is for any other word error.
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation duplicate().");
-			return;
+			this.error("", e.getMessage(), ". Aborting turn.");
+		}
+		finally {
+			this.context.loopDepth = 0;
+			this.context.callDepth = 0;
+			this.context.uncheckedCall = -1;
+			if (profiler != null){
+				profiler.end(this.stacks[this.currentPiece].size());
+			}
 		}
-		String value = this.stacks[this.currentPiece].pop();
-		this.stacks[this.currentPiece].push(value);
-		this.stacks[this.currentPiece].push(value);
-		return;
 	}
 	
 	/**
-	 *  A method for discarding the top element of the current stack.
-	 *  @precondition The stack contains at least one element.
-	 *  @postcondition The top element has been popped from the stack and discarded.
+	 * The instruction loop: runs compiled instructions from the given offset until the program halts, returns from the word it started in, or the turn is aborted.
+	 * Calls to hot words are handed to their HotWord; other calls are followed within the loop.
+	 * @param program - The compiled program of the current piece.
+	 * @param entry - The code offset to start running from.
+	 * @postcondition The instructions have been executed, and abortTurn is set if the turn must end.
 	 */
-	public void drop(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation drop().");
-			return;
-		}
-		this.stacks[this.currentPiece].pop();
-		return;
+	void execute(Program program, int entry){
+		ExecutionContext context = this.context;
+		int[] code = program.code;
+		int pc = entry;
+		
+		//  Each call saves its return offset and the number of loops its caller had running, above the calls of any execute() running this one.
+		//  Every saved call counts towards callDepth, so returnStack never holds more than the maximum call depth.
+		int[] returnStack = this.returnStack;
+		int base = this.returnDepth;
+		int depth = base;
+		int loopBase = context.loopDepth;
+		
+		int fuel = context.fuel;
+		Profiler profiler = this.profiler;
+		TraceRecorder tracer = this.tracer;
+		
+		try {
+			while (!context.abortTurn){
+				if (fuel == 0){
+					this.error("exceeded the budget of ", this.config.getInstructionBudget(), " instructions. Ending turn.");
+					context.abortTurn = true;
+					return;
+				}
+				if ((fuel & CANCEL_CHECK_MASK) == 0 && this.checkCancelled()){
+					return;
+				}
+				fuel -= 1;
+				
+				OpcodeEnum op = OPCODES[code[pc]];
+				int operand = code[pc + Program.OPERAND];
+				pc += Program.INSTRUCTION_SIZE;
+				if (profiler != null){
+					profiler.start(op, this.stacks[this.currentPiece].size());
+				}
+				if (tracer != null){
+					tracer.instruction(this.currentPiece, op, this.stacks[this.currentPiece]);
+				}
+				
+				if (op.isRestricted() && !context.isPlayMode){
+					this.error("parse(): restricted word cannot be parsed outside of play mode. Aborting.");
+					context.abortTurn = true;
+					return;
+				}
+				
+				switch (op){
+				case PUSH_LITERAL:
+					this.stacks[this.currentPiece].push(program.constantTypes[operand], program.constantValues[operand], program.constants[operand]);
+					break;
+				case PUSH_VARIABLE:
+					this.stacks[this.currentPiece].push(ValueTypeEnum.ADDRESS, operand, program.varAddresses[operand]);
+					break;
+				case CALL:
+					HotWord hot = this.hotWord(program, operand);
+					if (hot != null){
+						//  The hot word charges its instructions to the same budget.
+						context.fuel = fuel;
+						hot.run();
+						fuel = context.fuel;
+						break;
+					}
+					if (context.callDepth == this.config.getMaxCallDepth()){
+						this.error("too many nested calls to ", program.wordNames[operand], ". Aborting turn.");
+						context.abortTurn = true;
+						return;
+					}
+					returnStack[depth * 2] = pc;
+					returnStack[depth * 2 + 1] = loopBase;
+					depth += 1;
+					this.returnDepth = depth;
+					context.callDepth += 1;
+					loopBase = context.loopDepth;
+					pc = program.wordEntries[operand];
+					if (context.uncheckedCall < 0 && program.wordVerified[operand]){
+						//  A verified word with enough values below it and enough room above cannot underflow or overflow, unless one of its words fails.
+						ValueStack stack = this.stacks[this.currentPiece];
+						if (stack.size() >= program.wordInputs[operand] && stack.size() + program.wordGrowth[operand] <= stack.capacity()){
+							context.uncheckedCall = context.callDepth;
+						}
+					}
+					if (profiler != null){
+						profiler.call(operand);
+					}
+					break;
+				case RETURN:
+					if (context.callDepth == context.uncheckedCall){
+						context.uncheckedCall = -1;
+					}
+					//  Loops left open by the word end with it.
+					context.loopDepth = loopBase;
+					if (depth == base){
+						return;
+					}
+					if (profiler != null){
+						profiler.ret();
+					}
+					depth -= 1;
+					this.returnDepth = depth;
+					context.callDepth -= 1;
+					pc = returnStack[depth * 2];
+					loopBase = returnStack[depth * 2 + 1];
+					break;
+				case HALT:
+					return;
+				case NOP:
+					break;
+					
+				case IF:
+					//  The operand is the offset of the matching "else" or "then".
+					if (this.stacks[this.currentPiece].size() < 1){
+						//  No value to test, so skip both branches.
+						pc = this.skipIf(code, operand);
+						context.uncheckedCall = -1;
+						break;
+					}
+					if (this.stacks[this.currentPiece].typeAt(0) != ValueTypeEnum.BOOLEAN){
+						//  No boolean to test, so skip both branches. The depths the verifier found assume a branch was run, so depth checks resume.
+						this.stacks[this.currentPiece].drop();
+						pc = this.skipIf(code, operand);
+						context.uncheckedCall = -1;
+					}
+					else if (!this.stacks[this.currentPiece].popBool()){
+						pc = OPCODES[code[operand]] == OpcodeEnum.ELSE ? operand + Program.INSTRUCTION_SIZE : operand;
+					}
+					break;
+				case ELSE:
+					//  Reached the end of the true branch; skip the false branch.
+					pc = operand;
+					break;
+				case THEN:
+					break;
+					
+				case BEGIN:
+					break;
+				case UNTIL:
+					if (this.stacks[this.currentPiece].size() == 0){
+						this.error("whileBlock: no value on stack to test finished condition. Aborting turn.");
+						context.abortTurn = true;
+						return;
+					}
+					if (this.stacks[this.currentPiece].typeAt(0) != ValueTypeEnum.BOOLEAN){
+						this.stacks[this.currentPiece].drop();
+						this.error("whileBlock: no boolean  value on stack to test finished condition. Aborting turn.");
+						context.abortTurn = true;
+						return;
+					}
+					if (!this.stacks[this.currentPiece].popBool()){
+						pc = operand;
+						if (profiler != null){
+							profiler.loop(pc);
+						}
+					}
+					break;
+					
+				case DO:
+					if (context.loopDepth == this.config.getMaxLoopDepth()){
+						this.error("too many nested loops. Aborting turn.");
+						context.abortTurn = true;
+						return;
+					}
+					this.beginLoop();
+					break;
+				case LOOP:
+					//  The operand is the offset of the first instruction of the loop body.
+					context.loopIndices[context.loopDepth - 1] += 1;
+					if (context.loopIndices[context.loopDepth - 1] <= context.loopLimits[context.loopDepth - 1]){
+						pc = operand;
+						if (profiler != null){
+							profiler.loop(pc);
+						}
+					}
+					else {
+						context.loopDepth -= 1;
+					}
+					break;
+				case LOOP_INDEX:
+					if (context.loopDepth == 0){
+						this.error("parse(): no loop iterator value to push for term 'I'. Aborting.");
+						context.abortTurn = true;
+						return;
+					}
+					this.stacks[this.currentPiece].pushInt(context.loopIndices[context.loopDepth - 1]);
+					break;
+				case LEAVE:
+					//  Leave the innermost loop immediately.
+					context.loopDepth -= 1;
+					pc = operand;
+					break;
+					
+				case RETRIEVE_VARIABLE:
+					this.retrieveVariable(operand);
+					break;
+				case STORE_VARIABLE:
+					this.storeVariable(operand, program.varAddresses[operand]);
+					break;
+				case DROP_PAIR:
+					if (context.uncheckedCall >= 0){
+						this.stacks[this.currentPiece].drop();
+						this.stacks[this.currentPiece].drop();
+					}
+					else {
+						this.dropPair();
+					}
+					break;
+					
+				//  Stack words, which skip their depth checks inside a verified word.
+				case DUPLICATE:
+					if (context.uncheckedCall >= 0){
+						this.stacks[this.currentPiece].copy(0);
+					}
+					else {
+						this.duplicate();
+					}
+					break;
+				case DROP:
+					if (context.uncheckedCall >= 0){
+						this.stacks[this.currentPiece].drop();
+					}
+					else {
+						this.drop();
+					}
+					break;
+				case SWAP:
+					if (context.uncheckedCall >= 0){
+						this.stacks[this.currentPiece].roll(1);
+					}
+					else {
+						this.swap();
+					}
+					break;
+				case ROTATE:
+					if (context.uncheckedCall >= 0){
+						this.stacks[this.currentPiece].roll(2);
+					}
+					else {
+						this.rotate();
+					}
+					break;
+				case LITERAL_SUBTRACT:
+					this.literalSubtract(program.constantValues[operand], program.constants[operand]);
+					break;
+				case LITERAL_NOT_EQUAL:
+					this.literalNotEqual(program.constantValues[operand], program.constants[operand]);
+					break;
+				case LITERAL_LESS_THAN:
+					this.literalLessThan(program.constantValues[operand], program.constants[operand]);
+					break;
+					
+				default:
+					BuiltinWord.forOpcode(op).execute(this);
+					break;
+				}
+				if (profiler != null){
+					profiler.finish(op);
+				}
+			}
+		}
+		finally {
+			context.fuel = fuel;
+			this.returnDepth = base;
+		}
+	}
+	
+	/**
+	 * Calls a user word from a hot word, running it as a hot word itself or with the instruction loop.
+	 * @param program - The compiled program of the current piece.
+	 * @param word - The word number to call.
+	 * @postcondition The word has returned, and any loops it left open have ended.
+	 */
+	void callWord(Program program, int word){
+		HotWord hot = this.hotWord(program, word);
+		if (hot != null){
+			hot.run();
+			return;
+		}
+		if (this.context.callDepth == this.config.getMaxCallDepth()){
+			this.error("too many nested calls to ", program.wordNames[word], ". Aborting turn.");
+			this.context.abortTurn = true;
+			return;
+		}
+		this.context.callDepth += 1;
+		this.execute(program, program.wordEntries[word]);
+		this.context.callDepth -= 1;
+	}
+	
+	/**
+	 * Counts a call to a user word, and compiles the word to a HotWord once it has been called as many times as the config's hot word threshold.
+	 * Words are never redefined once compiled, since the compiler does not allow ":" inside a word, so a hot word is kept for the rest of the match.
+	 * @param program - The compiled program of the current piece.
+	 * @param word - The word number being called.
+	 * @return The HotWord to run, or null if the word should be run by the instruction loop.
+	 */
+	HotWord hotWord(Program program, int word){
+		int piece = this.currentPiece;
+		if (this.profiler != null || program != this.programs[piece]){
+			//  Terms run by runTerms() have a program of their own, which is not counted.
+			return null;
+		}
+		HotWord hot = this.hotWords[piece][word];
+		if (hot != null){
+			return hot;
+		}
+		this.wordCalls[piece][word] += 1;
+		if (this.wordCalls[piece][word] < this.config.getHotWordThreshold()){
+			return null;
+		}
+		hot = new HotWord(this, program, piece, word);
+		this.hotWords[piece][word] = hot;
+		return hot;
+	}
+	
+	/**
+	 * Starts a do loop, using the start and end values on the stack in the same way as forBlock().
+	 * @precondition Fewer loops are running than the config allows.
+	 * @postcondition A new loop index has been added.
+	 */
+	void beginLoop(){
+		int start;
+		int end;
+		if (this.stacks[this.currentPiece].size() < 2){
+			//  There are not enough arguments on the stack, so we only need to execute the body once.
+			start = 0;
+			end = 0;
+			this.stacks[this.currentPiece].clear();
+			this.context.uncheckedCall = -1;
+		}
+		else {
+			boolean integers = this.stacks[this.currentPiece].typeAt(0) == ValueTypeEnum.INTEGER && this.stacks[this.currentPiece].typeAt(1) == ValueTypeEnum.INTEGER;
+			start = this.stacks[this.currentPiece].popInt();
+			end = this.stacks[this.currentPiece].popInt();
+			if (!integers || end <= start){
+				//  One or both of the arguments are not integers, so we ignore then and only need to execute the body once.
+				start = 0;
+				end = 0;
+			}
+		}
+		this.context.loopIndices[this.context.loopDepth] = start;
+		this.context.loopLimits[this.context.loopDepth] = end;
+		this.context.loopDepth += 1;
+	}
+	
+	/**
+	 * Finds the offset after a whole if block.
+	 * @param code - The compiled instructions.
+	 * @param target - The operand of the "if": the offset of its "else" or "then", or the end of the word.
+	 * @return The offset after the "then".
+	 */
+	int skipIf(int[] code, int target){
+		if (OPCODES[code[target]] == OpcodeEnum.ELSE){
+			return code[target + Program.OPERAND];
+		}
+		return target;
+	}
+	
+	
+	/**
+	 *  A method for adding the top two elements of the current stack.
+	 *  @precondition The top two elements of the stack represent integers.
+	 *  @postcondition The top two elements have been popped from the stack, added, and the result pushed to the stack.
+	 */
+	public void add(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation add().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.INTEGER || stack.typeAt(1) != ValueTypeEnum.INTEGER){
+			stack.clear();
+			this.error("incorrect argument types for stack operation add().");
+			return;
+		}
+		int arg1 = stack.popInt();
+		int arg2 = stack.popInt();
+		stack.pushInt(arg1 + arg2);
+		return;
+	}
+	
+	/**
+	 *  A method for subtracting the top two elements of the current stack.
+	 *  @precondition The top two elements of the stack represent integers.
+	 *  @postcondition The top two elements have been popped from the stack, subtracted, and the result pushed to the stack.
+	 */
+	public void subtract(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation subtract().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.INTEGER || stack.typeAt(1) != ValueTypeEnum.INTEGER){
+			stack.clear();
+			this.error("incorrect argument types for stack operation subtract().");
+			return;
+		}
+		int arg1 = stack.popInt();
+		int arg2 = stack.popInt();
+		stack.pushInt(arg1 - arg2);
+		return;
+	}
+
+	/**
+	 *  A method for multiplying the top two elements of the current stack.
+	 *  @precondition The top two elements of the stack represent integers.
+	 *  @postcondition The top two elements have been popped from the stack, multiplied, and the result pushed to the stack.
+	 */
+	public void multiply(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation multiply().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.INTEGER || stack.typeAt(1) != ValueTypeEnum.INTEGER){
+			stack.clear();
+			this.error("incorrect argument types for stack operation multiply().");
+			return;
+		}
+		int arg1 = stack.popInt();
+		int arg2 = stack.popInt();
+		stack.pushInt(arg1 * arg2);
+		return;
+	}
+	
+	/**
+	 *  A method for dividing the top two elements of the current stack.
+	 *  @precondition The top two elements of the stack represent integers.
+	 *  @postcondition The top two elements have been popped from the stack, divided, and the remainder and quotient pushed to the stack in that order.
+	 */
+	public void divideRemain(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation divideRemain().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.INTEGER || stack.typeAt(1) != ValueTypeEnum.INTEGER){
+			stack.clear();
+			this.error("incorrect argument types for stack operation divideRemain().");
+			return;
+		}
+		int arg1 = stack.popInt();
+		int arg2 = stack.popInt();
+		if (arg2 == 0){
+			stack.clear();
+			this.error("division by zero in stack operation divideRemain().");
+			return;
+		}
+		stack.pushInt(arg1 % arg2);
+		stack.pushInt(arg1 / arg2);
+		return;
+	}
+	
+	/**
+	 *  A method for performing the boolean and operation on the top two elements of the current stack.
+	 *  @precondition The top two elements of the stack represent boolean values.
+	 *  @postcondition The top two elements have been popped from the stack, the and operation performed, and the result pushed to the stack.
+	 */
+	public void and(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation and().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.BOOLEAN || stack.typeAt(1) != ValueTypeEnum.BOOLEAN){
+			stack.clear();
+			this.error("incorrect argument types for stack operation and().");
+			return;
+		}
+		boolean bool1 = stack.popBool();
+		boolean bool2 = stack.popBool();
+		stack.pushBool(bool1 && bool2);
+		return;
+	}
+	
+	/**
+	 *  A method for performing the boolean or operation on the top two elements of the current stack.
+	 *  @precondition The top two elements of the stack represent boolean values.
+	 *  @postcondition The top two elements have been popped from the stack, the or operation performed, and the result pushed to the stack.
+	 */
+	public void or(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation or().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.BOOLEAN || stack.typeAt(1) != ValueTypeEnum.BOOLEAN){
+			stack.clear();
+			this.error("incorrect argument types for stack operation or().");
+			return;
+		}
+		boolean bool1 = stack.popBool();
+		boolean bool2 = stack.popBool();
+		stack.pushBool(bool1 || bool2);
+		return;
+	}
+	
+	/**
+	 *  A method for performing the boolean not operation on the top element of the current stack.
+	 *  @precondition The top element of the stack represents a boolean value.
+	 *  @postcondition The top element has been popped from the stack, the value inverted, and the result pushed to the stack.
+	 */
+	public void invert(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation invert().");
+			return;
+		}
+		if (stack.typeAt(0) != ValueTypeEnum.BOOLEAN){
+			stack.clear();
+			this.error("incorrect argument types for stack operation invert().");
+			return;
+		}
+		boolean bool1 = stack.popBool();
+		stack.pushBool(!bool1);
+		return;
+	}
+	
+	/**
+	 *  A method for duplicating the top element of the current stack.
+	 *  @precondition The stack contains at least one element.
+	 *  @postcondition The top element has been popped from the stack, and the value pushed to the stack twice.
+	 */
+	public void duplicate(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation duplicate().");
+			return;
+		}
+		stack.copy(0);
+		return;
+	}
+	
+	/**
+	 *  A method for discarding the top element of the current stack.
+	 *  @precondition The stack contains at least one element.
+	 *  @postcondition The top element has been popped from the stack and discarded.
+	 */
+	public void drop(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation drop().");
+			return;
+		}
+		stack.drop();
+		return;
 	}
 	
 	/**
@@ -582,5591 +1185,6012 @@ public class Interpreter {
 	 *  @postcondition If the stack contains only one element, that element has been popped from and then pushed to the stack.
 	 */
 	public void swap(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation swap().");
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation swap().");
 			return;
 		}
+		if (stack.size() == 1){
+			return;
+		}
+		
+		stack.roll(1);
+		return;
+	}
+	
+	/**
+	 *  A method for changing the positions of the top three elements of the current stack.
+	 *  @precondition The stack contains at least one element.
+	 *  @postcondition The top three elements have been popped from the stack, and pushed so that the third value is the new top value.
+	 *  @postcondition If the stack contains one or two elements, those elements have not changed positions.
+	 */
+	public void rotate(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation rotate().");
+			return;
+		}
+		if (stack.size() < 3){
+			return;
+		}
+		
+		stack.roll(2);
+		return;
+	}
+	
+	/**
+	 *  A method for performing a greater-than comparison of the top two elements of the current stack.
+	 *  @precondition The stack contains at least two comparable elements of identical types.
+	 *  @postcondition The top two elements have been popped from the stack, their greater-than relationship compared, and the boolean result pushed to the stack.
+	 */
+	public void greaterThan(){
+		int order = this.compareTop("greaterThan");
+		if (order != NOT_COMPARABLE){
+			this.stacks[this.currentPiece].pushBool(order == 1);
+		}
+	}
+	
+	/**
+	 *  A method for performing a greater-than-equal comparison of the top two elements of the current stack.
+	 *  @precondition The stack contains at least two comparable elements of identical types.
+	 *  @postcondition The top two elements have been popped from the stack, their greater-than-equal relationship compared, and the boolean result pushed to the stack.
+	 */
+	public void greaterThanEqual(){
+		int order = this.compareTop("greaterThanEqual");
+		if (order != NOT_COMPARABLE){
+			this.stacks[this.currentPiece].pushBool(order >= 0);
+		}
+	}
+	
+	/**
+	 *  A method for performing a less-than comparison of the top two elements of the current stack.
+	 *  @precondition The stack contains at least two comparable elements of identical types.
+	 *  @postcondition The top two elements have been popped from the stack, their less-than relationship compared, and the boolean result pushed to the stack.
+	 */
+	public void lessThan(){
+		int order = this.compareTop("lessThan");
+		if (order != NOT_COMPARABLE){
+			this.stacks[this.currentPiece].pushBool(order == -1);
+		}
+	}
+	
+	/**
+	 *  A method for performing a less-than-equal comparison of the top two elements of the current stack.
+	 *  @precondition The stack contains at least two comparable elements of identical types.
+	 *  @postcondition The top two elements have been popped from the stack, their less-than-equal relationship compared, and the boolean result pushed to the stack.
+	 */
+	public void lessThanEqual(){
+		int order = this.compareTop("lessThanEqual");
+		if (order != NOT_COMPARABLE){
+			this.stacks[this.currentPiece].pushBool(order <= 0);
+		}
+	}
+	
+	/**
+	 *  Pops and compares the top two elements of the current stack for the ordering comparisons.
+	 *  Two integers are compared by value, and two strings with String.compareTo(); any other pair is not comparable.
+	 *  @param name - The name of the comparison, for the error message.
+	 *  @return The sign of the integer comparison or the result of compareTo(), of the top element against the one below it,
+	 *  or NOT_COMPARABLE if there were not enough elements or the two are not comparable.
+	 */
+	private int compareTop(String name){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation ", name, "().");
+			return NOT_COMPARABLE;
+		}
 		
-		if (this.stacks[this.currentPiece].size() == 1){
-			return;
+		ValueTypeEnum type1 = stack.typeAt(0);
+		ValueTypeEnum type2 = stack.typeAt(1);
+		if (type1 == ValueTypeEnum.INTEGER && type2 == ValueTypeEnum.INTEGER){
+			int int1 = stack.popInt();
+			int int2 = stack.popInt();
+			return Integer.signum(Integer.compare(int1, int2));
 		}
 		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-		this.stacks[this.currentPiece].push(value1);
-		this.stacks[this.currentPiece].push(value2);
-		return;
+		String value1 = stack.pop();
+		String value2 = stack.pop();
+		if (type1 != ValueTypeEnum.STRING || type2 != ValueTypeEnum.STRING){
+			this.error("the two arguments for stack operation ", name, "() are not comparable.");
+			return NOT_COMPARABLE;
+		}
+		return value1.compareTo(value2);
 	}
 	
 	/**
-	 *  A method for changing the positions of the top three elements of the current stack.
-	 *  @precondition The stack contains at least one element.
-	 *  @postcondition The top three elements have been popped from the stack, and pushed so that the third value is the new top value.
-	 *  @postcondition If the stack contains one or two elements, those elements have not changed positions.
+	 *  Pops and compares the top two elements of the current stack for equality.
+	 *  Integers and booleans are compared by value, and strings with String.equals(); values of different types are never equal.
+	 *  @param name - The name of the comparison, for the error message.
+	 *  @return 1 if the elements are equal, 0 if not, or NOT_COMPARABLE if there were not enough elements or either is a variable location.
 	 */
-	public void rotate(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation rotate().");
-			return;
+	private int equalTop(String name){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation ", name, "().");
+			return NOT_COMPARABLE;
 		}
 		
-		if (this.stacks[this.currentPiece].size() < 3){
-			return;
+		ValueTypeEnum type1 = stack.typeAt(0);
+		ValueTypeEnum type2 = stack.typeAt(1);
+		if (type1 == ValueTypeEnum.ADDRESS || type2 == ValueTypeEnum.ADDRESS){
+			//  At least one value is a variable location and not comparable.
+			stack.drop();
+			stack.drop();
+			this.error("the two arguments for stack operation ", name, "() are not comparable.");
+			return NOT_COMPARABLE;
 		}
-			
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-		String value3 = this.stacks[this.currentPiece].pop();
-		this.stacks[this.currentPiece].push(value2);
-		this.stacks[this.currentPiece].push(value1);
-		this.stacks[this.currentPiece].push(value3);
-		return;
+		if (type1 != type2){
+			stack.drop();
+			stack.drop();
+			return 0;
+		}
+		if (type1 == ValueTypeEnum.STRING){
+			return stack.pop().equals(stack.pop()) ? 1 : 0;
+		}
+		return stack.popInt() == stack.popInt() ? 1 : 0;
 	}
 	
 	/**
-	 *  A method for performing a greater-than comparison of the top two elements of the current stack.
+	 *  A method for performing an equality comparison of the top two elements of the current stack.
 	 *  @precondition The stack contains at least two comparable elements of identical types.
-	 *  @postcondition The top two elements have been popped from the stack, their greater-than relationship compared, and the boolean result pushed to the stack.
+	 *  @postcondition The top two elements have been popped from the stack, their equality compared, and the boolean result pushed to the stack.
 	 */
-	public void greaterThan(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation greaterThan().");
-			return;
+	public void equal(){
+		int equal = this.equalTop("equal");
+		if (equal != NOT_COMPARABLE){
+			this.stacks[this.currentPiece].pushBool(equal == 1);
 		}
-		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-		boolean error = false;
-		
-		if (value1.equals("true") || value1.equals("false") || value2.equals("true") || value2.equals("false")){
-			//  At least one value is boolean and not comparable.
-			error = true;
+	}
+	
+	/**
+	 *  A method for performing an inequality comparison of the top two elements of the current stack.
+	 *  @precondition The stack contains at least two comparable elements of identical types.
+	 *  @postcondition The top two elements have been popped from the stack, their inequality compared, and the boolean result pushed to the stack.
+	 */
+	public void notEqual(){
+		int equal = this.equalTop("notEqual");
+		if (equal != NOT_COMPARABLE){
+			this.stacks[this.currentPiece].pushBool(equal == 0);
 		}
-		if (value1.contains("#") || value2.contains("#")){
-			//  At least one value is a variable location and not comparable.
-			error = true;
+	}
+	
+	/** 
+	 *  A method for running an if statement within a set of instructions.
+	 *  @postcondition The if Block has been executed and the instructions between "if" and "then" have been removed from the current instructions.
+	 */
+	public void ifBlock(){
+		this.runStructure("if");
+	}
+	
+	/** 
+	 *  A method for running a while loop within a set of instructions.
+	 *  @postcondition The while loop has been executed and the instructions between "begin" and "until" have been removed from the current instructions.
+	 */
+	public void whileBlock(){
+		this.runStructure("begin");
+	}
+	
+	/** 
+	 *  A method for running a for loop within a set of instructions.
+	 *  @postcondition The for loop has been executed and the instructions between "do" and "loop" have been removed from the current instructions.
+	 */
+	public void forBlock(){
+		this.runStructure("do");
+	}
+	
+	/**
+	 *  Takes a control structure from the front of the current instructions, up to the word that closes it, and runs it with the instruction loop.
+	 *  Structures nested inside it are taken with it. A semicolon ends the word the structure is in, so it ends the structure too, and the instructions after it are dropped.
+	 *  @param open - The word that opened the structure, which has already been taken from the current instructions.
+	 *  @postcondition The structure has been run and removed from the current instructions.
+	 */
+	private void runStructure(String open){
+		List<String> terms = new ArrayList<String>();
+		terms.add(open);
+		int depth = 1;
+		while (depth > 0 && this.context.currentInstructions.size() > 0){
+			String term = this.context.currentInstructions.remove(0);
+			if (term.equals(";")){
+				this.context.currentInstructions.clear();
+				break;
+			}
+			OpcodeEnum op = OpcodeEnum.fromWord(term);
+			if (op == OpcodeEnum.IF || op == OpcodeEnum.BEGIN || op == OpcodeEnum.DO){
+				depth += 1;
+			}
+			else if (op == OpcodeEnum.THEN || op == OpcodeEnum.UNTIL || op == OpcodeEnum.LOOP){
+				depth -= 1;
+			}
+			terms.add(term);
+		}
+		this.runTerms(terms);
+	}
+	
+	/**
+	 *  Runs terms given as text, such as the instructions parsed by a test or the play word of a piece that has not been initialized.
+	 *  The terms are compiled with the words and variables the piece has declared and run by the instruction loop, so they behave just as a compiled program does,
+	 *  and the words and variables they declare are added to the piece's dictionaries.
+	 *  Each call runs on its own, so an error ends only the rest of the current instructions.
+	 *  @param terms - The terms to run.
+	 *  @postcondition The terms have been run, and the current instructions have been cleared if they were aborted.
+	 */
+	void runTerms(List<String> terms){
+		SlotDictionary<UserVariable> vars = this.userVars[this.currentPiece];
+		SlotDictionary<UserWord> words = this.userWords[this.currentPiece];
+		
+		//  The variables come first and in slot order, so each keeps its slot as its number in the compiled program.
+		List<String> source = new ArrayList<String>();
+		for (int slot = 0; slot < vars.size(); slot++){
+			source.add("variable");
+			source.add(vars.nameOf(slot));
+		}
+		for (int slot = 0; slot < words.size(); slot++){
+			source.add(":");
+			source.add(words.nameOf(slot));
+			if (words.get(slot).getReplaceValues() != null){
+				source.addAll(words.get(slot).getReplaceValues());
+			}
+			source.add(";");
 		}
+		source.addAll(terms);
+		Program program = ProgramCompiler.compile(source);
 		
-		//  If one value is an integer, the other must also be an integer.
-		Integer numberOfInts = 0;
-		Integer int1 = Integer.MAX_VALUE; 
-		Integer int2 = Integer.MAX_VALUE;
-		try {
-			int1 = Integer.parseInt(value1);
-			numberOfInts += 1;
-			int2 = Integer.parseInt(value2);
-			numberOfInts += 1;
+		for (int v = vars.size(); v < program.varNames.length; v++){
+			vars.declare(program.varNames[v], new UserVariable(program.varNames[v]));
 		}
-		catch (NumberFormatException e){
-			if (numberOfInts == 1){
-				//  One value is an integer and the other is not
-				error = true;
-			}
-			else {
-				//  One value could still be an integer
-				
-				try {
-					int2 = Integer.parseInt(value2);
-					numberOfInts += 1;
-				}
-				catch (NumberFormatException e2){
-					if (numberOfInts == 1){
-						//  One value is an integer and the other is not.
-						error = true;
-					}
-				}
-				finally {}				
+		for (int w = 0; w < program.wordNames.length; w++){
+			UserWord word = words.find(program.wordNames[w]);
+			List<String> body = Arrays.asList(program.wordBodies[w]);
+			if ((w != program.playWord || program.definesPlay) && (word == null || !body.equals(word.getReplaceValues()))){
+				word = new UserWord(program.wordNames[w]);
+				word.setReplaceValues(new ArrayList<String>(body));
+				words.declare(program.wordNames[w], word);
 			}
 		}
-		finally {}
-			
-		if (error){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": the two arguments for stack operation greaterThan() are not comparable.");
-			return;
+		for (String warning : program.warnings){
+			this.report(DiagnosticLevelEnum.WARNING, warning);
 		}
 		
-		boolean result;
-		if (numberOfInts == 2){
-			//  Perform integer comparison.
-			result = (int1 > int2);
+		//  Parsed terms are not profiled, and errors such as a full stack reach the caller, as they did when each term was parsed on its own.
+		Profiler profiler = this.profiler;
+		this.profiler = null;
+		this.context.abortTurn = false;
+		try {
+			this.execute(program, 0);
 		}
-		else {
-			//  Perform string comparison.
-			result = (value1.compareTo(value2) == 1);
+		finally {
+			this.profiler = profiler;
+			this.context.loopDepth = 0;
+			this.context.callDepth = 0;
+			this.context.uncheckedCall = -1;
+			if (this.context.abortTurn){
+				this.context.currentInstructions.clear();
+			}
 		}
-		
-		//  Push the final result.
-		this.stacks[this.currentPiece].push("" + result);
-		
 	}
 	
 	/**
-	 *  A method for performing a greater-than-equal comparison of the top two elements of the current stack.
-	 *  @precondition The stack contains at least two comparable elements of identical types.
-	 *  @postcondition The top two elements have been popped from the stack, their greater-than-equal relationship compared, and the boolean result pushed to the stack.
+	 *  A method for declaring a new UserVariable.
+	 *  A new UserVariable with the matching name of the following term has been created if it does not already exist.
 	 */
-	public void greaterThanEqual(){
-		if (this.stacks[this.currentPiece].size() < 2){
+	public void declareVar(){
+		
+		if (this.context.currentInstructions.size() < 1){
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation greaterThanEqual().");
+			this.error("not enough instructions for operation declareVar().");
 			return;
 		}
 		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-		boolean error = false;
-		
-		if (value1.equals("true") || value1.equals("false") || value2.equals("true") || value2.equals("false")){
-			//  At least one value is boolean and not comparable.
-			error = true;
-		}
-		if (value1.contains("#") || value2.contains("#")){
-			//  At least one value is a variable location and not comparable.
-			error = true;
-		}
+		String value = this.context.currentInstructions.remove(0);
 		
-		//  If one value is an integer, the other must also be an integer.
-		Integer numberOfInts = 0;
-		Integer int1 = Integer.MAX_VALUE; 
-		Integer int2 = Integer.MAX_VALUE;
 		try {
-			int1 = Integer.parseInt(value1);
-			numberOfInts += 1;
-			int2 = Integer.parseInt(value2);
-			numberOfInts += 1;
+			Integer q = Integer.parseInt(value);
+			q += 1;
+			this.error("integer argument as name in declareVar().");
+			return;
 		}
 		catch (NumberFormatException e){
-			if (numberOfInts == 1){
-				//  One value is an integer and the other is not
-				error = true;
+			if (value.equals("true") || value.equals("false")){
+				this.error("boolean argument as name in declareVar().");
+				return;
 			}
-			else {
-				//  One value could still be an integer
-				
-				try {
-					int2 = Integer.parseInt(value2);
-					numberOfInts += 1;
-				}
-				catch (NumberFormatException e2){
-					if (numberOfInts == 1){
-						//  One value is an integer and the other is not.
-						error = true;
-					}
-				}
-				finally {}				
+			if (value.contains("#")){
+				this.error("variable location as name in declareVar().");
+				return;
 			}
 		}
 		finally {}
-			
-		if (error){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": the two arguments for stack operation greaterThanEqual() are not comparable.");
-			return;
-		}
 		
-		boolean result;
-		if (numberOfInts == 2){
-			//  Perform integer comparison.
-			result = (int1 >= int2);
-		}
-		else {
-			//  Perform string comparison.
-			result = (value1.compareTo(value2) >= 0);
+		if (this.userVars[this.currentPiece].slotOf(value) < 0){
+			try{
+				this.userVars[this.currentPiece].declare(value, new UserVariable(value));
+			}
+			catch (Exception e){
+				this.error("declareVar(): name of new variable should never ben an empty string.");
+				this.stacks[this.currentPiece].clear();
+				return;
+			}
+			finally {}
 		}
 		
-		//  Push the final result.
-		this.stacks[this.currentPiece].push("" + result);
 	}
 	
 	/**
-	 *  A method for performing a less-than comparison of the top two elements of the current stack.
-	 *  @precondition The stack contains at least two comparable elements of identical types.
-	 *  @postcondition The top two elements have been popped from the stack, their less-than relationship compared, and the boolean result pushed to the stack.
+	 *  A method for declaring a new UserWord.
+	 *  @precondition The stack contains at least one element.
+	 *  @postcondition The string has been popped from the stack, and a new UserWord with the matching name has been created if it does not already exist.
 	 */
-	public void lessThan(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation lessThan().");
-			return;
-		}
+	public void declareWord(){
 		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-		boolean error = false;
+		this.report(DiagnosticLevelEnum.DEBUG, "declareWord() current piece: ", this.currentPiece);
 		
-		if (value1.equals("true") || value1.equals("false") || value2.equals("true") || value2.equals("false")){
-			//  At least one value is boolean and not comparable.
-			error = true;
-		}
-		if (value1.contains("#") || value2.contains("#")){
-			//  At least one value is a variable location and not comparable.
-			error = true;
+		if (this.context.currentInstructions.size() < 1){
+			this.error("not enough instructions for operation declareWord().");
+			return;
 		}
 		
-		//  If one value is an integer, the other must also be an integer.
-		Integer numberOfInts = 0;
-		Integer int1 = Integer.MAX_VALUE; 
-		Integer int2 = Integer.MAX_VALUE;
+		String value = this.context.currentInstructions.remove(0);
+		
 		try {
-			int1 = Integer.parseInt(value1);
-			numberOfInts += 1;
-			int2 = Integer.parseInt(value2);
-			numberOfInts += 1;
+			Integer q = Integer.parseInt(value);
+			q += 1;
+			this.error("integer argument as word name in declareWord().");
+			return;
 		}
 		catch (NumberFormatException e){
-			if (numberOfInts == 1){
-				//  One value is an integer and the other is not
-				error = true;
+			if (value.equals("true") || value.equals("false")){
+				this.stacks[this.currentPiece].clear();
+				this.error("boolean argument as word name in declareWord().");
+				return;
+			}
+			if (value.contains("#")){
+				this.stacks[this.currentPiece].clear();
+				this.error("variable location as word name in declareWord().");
+				return;
+			}
+		}
+		finally {}
+		
+		try{
+			//  A word declared again replaces the earlier definition in the same slot.
+			UserWord word = new UserWord(value);
+			this.userWords[this.currentPiece].declare(value, word);
+			this.report(DiagnosticLevelEnum.DEBUG, "declared word ", value);
+			if (this.context.currentInstructions.size() == 0){
+				word.setReplaceValues(new ArrayList<String>());
 			}
 			else {
-				//  One value could still be an integer
+				//  Get the replace values for the word from the current instruction list.
 				
-				try {
-					int2 = Integer.parseInt(value2);
-					numberOfInts += 1;
-				}
-				catch (NumberFormatException e2){
-					if (numberOfInts == 1){
-						//  One value is an integer and the other is not.
-						error = true;
+				String next = this.context.currentInstructions.remove(0);
+				ArrayList<String> replace = new ArrayList<>();
+				replace.add(next);
+				while (this.context.currentInstructions.size() != 0){
+					next = this.context.currentInstructions.remove(0);
+					if (!next.equals(";")){
+						replace.add(next);
 					}
+					else {
+						this.report(DiagnosticLevelEnum.DEBUG, "hit a semicolon in declareWord().");
+						this.context.hitSemicolon = true;
+						break;
+					}
+					
 				}
-				finally {}				
+				word.setReplaceValues(replace);
 			}
 		}
+		catch (Exception e){
+			//  The name of the word to be created was empty
+			this.error("declareWord(): name of new word should never be an empty string.");
+			this.stacks[this.currentPiece].clear();
+			return;
+		}
 		finally {}
-			
-		if (error){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": the two arguments for stack operation lessThan() are not comparable.");
+		if (this.context.hitSemicolon == true){
+			this.context.hitSemicolon = false;
+		}
+		this.report(DiagnosticLevelEnum.DEBUG, "replace: ", this.userWords[this.currentPiece].find(value).getReplaceValues());
+	}
+	
+	/**
+	 *  A method for generating a random integer.
+	 *  @precondition The stack has an integer value on top.
+	 *  @postcondition The integer has been popped from the stack, a random integer between 0 and that value generated, and the result pushed to the stack.
+	 */
+	public void random(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation random().");
 			return;
 		}
-		
-		boolean result;
-		if (numberOfInts == 2){
-			//  Perform integer comparison.
-			result = (int1 < int2);
+		if (stack.typeAt(0) != ValueTypeEnum.INTEGER){
+			stack.clear();
+			this.error("incorrect argument types for stack operation random().");
+			return;
+		}
+		int arg1 = stack.popInt();
+		if (arg1 <= 0){
+			stack.pushInt(0);
 		}
 		else {
-			//  Perform string comparison.
-			result = (value1.compareTo(value2) == -1);
+			stack.pushInt(this.randoms[this.currentPiece].nextInt(arg1));
 		}
-		
-		//  Push the final result.
-		this.stacks[this.currentPiece].push("" + result);
+		return;
 	}
 	
 	/**
-	 *  A method for performing a less-than-equal comparison of the top two elements of the current stack.
-	 *  @precondition The stack contains at least two comparable elements of identical types.
-	 *  @postcondition The top two elements have been popped from the stack, their less-than-equal relationship compared, and the boolean result pushed to the stack.
+	 *  A debug method for printing a value on the stack.
+	 *  @precondition The stack contains at least one element.
+	 *  @postcondition The top value has been popped from the stack and printed to the console.
 	 */
-	public void lessThanEqual(){
-		if (this.stacks[this.currentPiece].size() < 2){
+	public void dotPrint(){
+		if (this.stacks[this.currentPiece].size() < 1){
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation lessThanEqual().");
+			this.error("not enough arguments for stack operation random().");
 			return;
 		}
 		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-		boolean error = false;
-		
-		if (value1.equals("true") || value1.equals("false") || value2.equals("true") || value2.equals("false")){
-			//  At least one value is boolean and not comparable.
-			error = true;
+		String value = this.stacks[this.currentPiece].pop();
+		this.report(DiagnosticLevelEnum.INFO, "dotPrint(): ", value);
+	}
+	
+	/**
+	 *  A method for querying the board about the maximum health of the current piece.
+	 *  @postcondition The maximum health of the current piece has been pushed to the stack.
+	 */
+	public void qHealth(){
+		try {
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].pushInt(p.getHealth());
 		}
-		if (value1.contains("#") || value2.contains("#")){
-			//  At least one value is a variable location and not comparable.
-			error = true;
+		catch (Exception e){
+			this.error("invalid piece index when querying in qHealth().");
+			this.stacks[this.currentPiece].clear();
+			return;
 		}
-		
-		//  If one value is an integer, the other must also be an integer.
-		Integer numberOfInts = 0;
-		Integer int1 = Integer.MAX_VALUE; 
-		Integer int2 = Integer.MAX_VALUE;
+		finally {}
+	}
+	
+	/**
+	 *  A method for querying the board about the current health of the current piece.
+	 *  @postcondition The current health of the current piece has been pushed to the stack.
+	 */
+	public void qHealthLeft(){
 		try {
-			int1 = Integer.parseInt(value1);
-			numberOfInts += 1;
-			int2 = Integer.parseInt(value2);
-			numberOfInts += 1;
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].pushInt(p.getCurrentHealth());
 		}
-		catch (NumberFormatException e){
-			if (numberOfInts == 1){
-				//  One value is an integer and the other is not
-				error = true;
-			}
-			else {
-				//  One value could still be an integer
-				
-				try {
-					int2 = Integer.parseInt(value2);
-					numberOfInts += 1;
-				}
-				catch (NumberFormatException e2){
-					if (numberOfInts == 1){
-						//  One value is an integer and the other is not.
-						error = true;
-					}
-				}
-				finally {}				
-			}
+		catch (Exception e){
+			this.error("invalid piece index when querying in qHealthLeft().");
+			this.stacks[this.currentPiece].clear();
+			return;
 		}
 		finally {}
-			
-		if (error){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": the two arguments for stack operation lessThanEqual() are not comparable.");
+	}
+	
+	/**
+	 *  A method for querying the board about the maximum moves of the current piece.
+	 *  @postcondition The maximum moves of the current piece has been pushed to the stack.
+	 */
+	public void qMoves(){
+		try {
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].pushInt(p.getMovement());
+		}
+		catch (Exception e){
+			this.error("invalid piece index when querying in qMoves().");
+			this.stacks[this.currentPiece].clear();
 			return;
 		}
-		
-		boolean result;
-		if (numberOfInts == 2){
-			//  Perform integer comparison.
-			result = (int1 <= int2);
+		finally {}
+	}
+	
+	/**
+	 *  A method for querying the board about the remaining moves of the current piece.
+	 *  @postcondition The remaining moves of the current piece has been pushed to the stack.
+	 */
+	public void qMovesLeft(){
+		try {
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].pushInt(p.getCurrentMovement());
 		}
-		else {
-			//  Perform string comparison.
-			result = (value1.compareTo(value2) <= 0);
+		catch (Exception e){
+			this.error("invalid piece index when querying in qMovesLeft().");
+			this.stacks[this.currentPiece].clear();
+			return;
 		}
-		
-		//  Push the final result.
-		this.stacks[this.currentPiece].push("" + result);
+		finally {}
 	}
 	
 	/**
-	 *  A method for performing an equality comparison of the top two elements of the current stack.
-	 *  @precondition The stack contains at least two comparable elements of identical types.
-	 *  @postcondition The top two elements have been popped from the stack, their equality compared, and the boolean result pushed to the stack.
+	 *  A method for querying the board about the attack of the current piece.
+	 *  @postcondition The attack of the current piece has been pushed to the stack.
 	 */
-	public void equal(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation equal().");
-			return;
+	public void qAttack(){
+		try {
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].pushInt(p.getAttack());
 		}
-		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-
-		if (value1.contains("#") || value2.contains("#")){
-			//  At least one value is a variable location and not comparable.
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": the two arguments for stack operation equal() are not comparable.");
+		catch (Exception e){
+			this.error("invalid piece index when querying in qAttack().");
+			this.stacks[this.currentPiece].clear();
 			return;
 		}
-		
-		boolean result = (value1.equals(value2));
-		
-		//  Push the final result.
-		this.stacks[this.currentPiece].push("" + result);
+		finally {}
 	}
 	
 	/**
-	 *  A method for performing an inequality comparison of the top two elements of the current stack.
-	 *  @precondition The stack contains at least two comparable elements of identical types.
-	 *  @postcondition The top two elements have been popped from the stack, their inequality compared, and the boolean result pushed to the stack.
+	 *  A method for querying the board about the range of the current piece.
+	 *  @postcondition The range of the current piece has been pushed to the stack.
 	 */
-	public void notEqual(){
-		if (this.stacks[this.currentPiece].size() < 2){
+	public void qRange(){
+		try {
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].pushInt(p.getRange());
+		}
+		catch (Exception e){
+			this.error("invalid piece index when querying in qRange().");
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation notEqual().");
 			return;
 		}
-		
-		String value1 = this.stacks[this.currentPiece].pop();
-		String value2 = this.stacks[this.currentPiece].pop();
-
-		if (value1.contains("#") || value2.contains("#")){
-			//  At least one value is a variable location and not comparable.
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": the two arguments for stack operation notEqual() are not comparable.");
+		finally {}
+	}
+	
+	/**
+	 *  A method for querying the board about the team of the current piece.
+	 *  @postcondition The team of the current piece has been pushed to the stack.
+	 */
+	public void qTeam(){
+		this.stacks[this.currentPiece].push("" + this.team.getColour().toString());
+	}
+	
+	/**
+	 *  A method for querying the board about the unit type (Scout, Sniper or Tank) of the current piece.
+	 *  @postcondition The type of the current piece has been pushed to the stack.
+	 */
+	public void qType(){
+		try {
+			Piece p = this.team.getPiece(this.currentPiece);
+			this.stacks[this.currentPiece].push("" + p.getType().toString());
+		}
+		catch (Exception e){
+			this.error("invalid piece index when querying in qType().");
+			this.stacks[this.currentPiece].clear();
 			return;
 		}
-		
-		boolean result = !value1.equals(value2);
-		
-		//  Push the final result.
-		this.stacks[this.currentPiece].push("" + result);
+		finally {}
 	}
 	
-	/** 
-	 *  A method for running an if statement within a set of instructions.
-	 *  @postcondition The if Block has been executed and the instructions between "if" and "then" have been removed from the current instructions.
+	/**
+	 *  A method for turning the current piece on the board (changing the rotation).
+	 *  @precondition The top of the stack contains an integer.
+	 *  @postcondition The integer has been popped from the stack and the current piece has been rotated the corresponding amount.
 	 */
-	public void ifBlock(){	
+	public void turn(){
 		if (this.stacks[this.currentPiece].size() < 1){
-			//  No values to execute test block, execute only statements after "then"
-			
-			String nextTerm = "";
-			
-			while (!nextTerm.equals("then") && !nextTerm.equals(";") && this.currentInstructions.size() != 0){
-				nextTerm = this.currentInstructions.remove(0);
-			}
+			this.stacks[this.currentPiece].clear();
+			this.error("not enough arguments on stack for robot operation turn().");
 			return;
-			
 		}
 		
-		String testValue = this.stacks[this.currentPiece].pop();
-		if (!testValue.equals("true") && !testValue.equals("false")){
-			//  No boolean to execute test block, execute only statements after "then"
-			String nextTerm = "";
-			
-			while (!nextTerm.equals("then") && !nextTerm.equals(";") && this.currentInstructions.size() != 0){
-				nextTerm = this.currentInstructions.remove(0);
-			}
+		if (this.stacks[this.currentPiece].typeAt(0) != ValueTypeEnum.INTEGER){
+			//  The top of the stack is not an integer.
+			this.stacks[this.currentPiece].clear();
+			this.error("need integer on stack for robot operation turn().");
 			return;
 		}
-		
-		if (testValue.equals("true")){
-			String nextTerm = "";
-			if (this.currentInstructions.size() != 0){
-				nextTerm = this.currentInstructions.remove(0);
-				
-				//  Parse all terms after "if" and before "else"
-				//  Stop if the instruction is malformed
-				while (!nextTerm.equals("else") && !nextTerm.equals(";") && !nextTerm.equals("then") && this.currentInstructions.size() != 0){
-					this.parse(nextTerm);
-					nextTerm = this.currentInstructions.remove(0);
-				}
-				
-				//  When we reach "else" throw everything away between "else" and "then"
-				//  Stop if instruction is malformed
-				if (nextTerm.equals("else")){
-					while (!nextTerm.equals(";") && !nextTerm.equals("then") && this.currentInstructions.size() != 0){					
-						nextTerm = this.currentInstructions.remove(0);
-					}
-				}
-				
-				//  nextTerm must be either "then" or ";"
-				//  Return to parser.
-				if (nextTerm.equals(";")){
-					hitSemicolon = true;
-				}
-				return;
-			}
-			else {
-				return;
-			}
-		}
-		else {
-			String nextTerm = "";
-			if (this.currentInstructions.size() != 0){
-				//  Throw away everything until "else"
-				//  Stop if the instruction is malformed
-				while (!nextTerm.equals("else") && !nextTerm.equals(";") && !nextTerm.equals("then") && this.currentInstructions.size() != 0){					
-					nextTerm = this.currentInstructions.remove(0);
-				}
-				
-				//  When we reach "else", execute everything between "else" and "then"
-				//  Stop if instruction is malformed
-				if (nextTerm.equals("else")){
-					if (this.currentInstructions.size() !=0 ){
-						nextTerm = this.currentInstructions.remove(0);
-						while (!nextTerm.equals(";") && !nextTerm.equals("then") && this.currentInstructions.size() != 0){
-							this.parse(nextTerm);
-							nextTerm = this.currentInstructions.remove(0);
-						}
-					}
-					else {
-						return;
-					}
-				}
-				
-				if (nextTerm.equals(";")){
-					hitSemicolon = true;
-				}
-				return;
-			}
-			else {
-				return;
-			}
+		int rotation = this.stacks[this.currentPiece].popInt();
+		this.team.getPiece(this.currentPiece).rotate(rotation);
+		//  The relative directions of everything sensed have changed.
+		this.sensors.invalidate();
+		if (this.tracer != null){
+			this.tracer.action(this.currentPiece, OpcodeEnum.TURN, TraceActionEnum.TURN, rotation);
 		}
-
 		
 	}
 	
-	/** 
-	 *  A method for running a while loop within a set of instructions.
-	 *  @postcondition The while loop has been executed and the instructions between "begin" and "until" have been removed from the current instructions.
+	/**
+	 *  A method for moving the current piece on the board.
+	 *  @postcondition The current piece has moved one space forward on the board.
 	 */
-	public void whileBlock(){
-		if (this.currentInstructions.size() == 0) { 
-			return;
-		}
-		
-		List<String> bodyBlock = new ArrayList<String>();
-		String nextTerm = this.currentInstructions.remove(0);
-		while (!nextTerm.equals("until") && !nextTerm.equals(";") && this.currentInstructions.size() > 0) {
-			bodyBlock.add(nextTerm);	
-			nextTerm = this.currentInstructions.remove(0);
-		}
-		
-		
-		if (bodyBlock.size() == 0){
-			System.out.println("Error in whileBlock(): empty body. Ending whileBlock().");
-			return;
-			
-		}
-		
-		bodyBlock.add("until");
-		
-		if (nextTerm.equals(";")) {
-			this.hitSemicolon = true;
-		}
-		boolean finished = false;
-		turnTimer = new Timer();
-		turnTimer.schedule(new TurnTimerTask(this), 10000);
-		while(!finished && !this.forceLoopInterrupt){
-			this.currentInstructions.addAll(0, bodyBlock);
-			if (this.currentInstructions.size() == 0){
-				finished = true;
-				turnTimer.cancel();
-				break;
-			}
-			
-			while (this.currentInstructions.size() > 0){
-				nextTerm = this.currentInstructions.remove(0);
-				if (nextTerm.equals("until")){
-					//  Finished 
-					if (this.stacks[this.currentPiece].size() == 0){
-						System.out.println("Error in whileBlock: no value on stack to test finished condition. Aborting turn.");
-						this.currentInstructions.clear();
-						finished = true;
-						turnTimer.cancel();
-						return;
-					}
-					String testCondition = this.stacks[this.currentPiece].pop();
-					if (testCondition.equals("true") || testCondition.equals("false"))
-					{
-						if (testCondition.equals("true")){
-							finished = true;
-							turnTimer.cancel();
-							return;
-						}
-					}
-					else {
-						System.out.println("Error in whileBlock: no boolean  value on stack to test finished condition. Aborting turn.");
-						this.currentInstructions.clear();
-						finished = true;
-						turnTimer.cancel();
-						return;
-					}
-				}
-				else {
-					this.parse(nextTerm);
-				}
+	public void move(){
+		try{
+			this.sensors.invalidate();
+			this.board.moveForward();
+			if (this.tracer != null){
+				this.tracer.action(this.currentPiece, OpcodeEnum.MOVE, TraceActionEnum.MOVE, 0);
 			}
 		}
-		if (forceLoopInterrupt){
-			forceLoopInterrupt = false;
-			System.out.println("Error in execution of whileBlock(): timed out. Ending turn.");
-			this.currentInstructions.clear();
-			this.timeoutTask.cancel();
+		catch (RuntimeException e) {
+			this.error("move(): ", e.getMessage(), ". Aborting turn.");
+			this.stacks[this.currentPiece].clear();
+			this.context.currentInstructions.clear();
+			this.context.abortTurn = true;
 			return;
 		}
+		finally {}
 	}
 	
-	/** 
-	 *  A method for running a for loop within a set of instructions.
-	 *  @postcondition The for loop has been executed and the instructions between "do" and "loop" have been removed from the current instructions.
+	/**
+	 *  A method for using the current piece on the board to shoot a space on the board.
+	 *  @precondition The top of the stack contains two integer values.
+	 *  @postcondition The two integers, m and n, have been popped from the stack, and the space at m distance in direction n has been shot.
 	 */
-	public void forBlock(){
-		if (this.currentInstructions.size() == 0) { 
+	public void shoot(){
+		if (this.stacks[this.currentPiece].size() < 2){
+			this.stacks[this.currentPiece].clear();
+			this.error("not enough arguments on stack for robot operation shoot().");
 			return;
 		}
 		
-		Integer start;
-		Integer end;
-		
-		List<String> bodyBlock = new ArrayList<String>();
-		String nextTerm = this.currentInstructions.remove(0);
-		while (!nextTerm.equals("loop") && !nextTerm.equals(";") && this.currentInstructions.size() > 0) {
-			bodyBlock.add(nextTerm);	
-			nextTerm = this.currentInstructions.remove(0);
+		if (this.stacks[this.currentPiece].typeAt(0) != ValueTypeEnum.INTEGER || this.stacks[this.currentPiece].typeAt(1) != ValueTypeEnum.INTEGER){
+			//  The top of the stack is not an integer.
+			this.stacks[this.currentPiece].clear();
+			this.error("need integer on stack for robot operation shoot().");
+			return;
 		}
-		
-		
-		if (bodyBlock.size() == 0){
-			System.out.println("Error in forBlock(): empty body. Ending forBlock().");
-			return;			
+		int distance = this.stacks[this.currentPiece].popInt();
+		int direction = this.stacks[this.currentPiece].popInt();
+		this.sensors.invalidate();
+		this.board.shootSpace(distance, direction);
+		if (this.tracer != null){
+			this.tracer.action(this.currentPiece, OpcodeEnum.SHOOT, TraceActionEnum.SHOOT, distance * 8 + direction);
 		}
 		
-		bodyBlock.add("loop");
-		System.out.println(bodyBlock);
-		
-		if (nextTerm.equals(";")) {
-			this.hitSemicolon = true;
-		}
 		
-		if (this.stacks[this.currentPiece].size() < 2){
-			//  There are not enough arguments on the stack, so we only need to execute the body once.
-			start = 0;
-			end = 0;
+	}
+
+	/**
+	 *  A method for checking the contents of a space on the board.
+	 *  @precondition The top of the stack contains an integer.
+	 *  @postcondition The integer has been popped from the stack, and a string representing the contents of the space (EMPTY, OCCUPIED or OUT OF BOUNDS) has been pushed to the stack.
+	 */
+	public void check(){
+		if (this.stacks[this.currentPiece].size() < 1){
 			this.stacks[this.currentPiece].clear();
-		}
-		else {
-			try {
-				start = Integer.parseInt(this.stacks[this.currentPiece].pop());
-				end = Integer.parseInt(this.stacks[this.currentPiece].pop());
-				
-				if (end <= start){
-					start = 0;
-					end = 0;
-				}
-			}
-			catch (NumberFormatException e) {
-				//  One or both of the arguments are not integers, so we ignore then and only need to execute the body once.
-				start = 0;
-				end = 0;
-			}
-			finally {}
-		}
-		
-		this.loopIterators.add(start);
-		this.leaveForBlock = false;
-		turnTimer = new Timer();
-		turnTimer.schedule(new TurnTimerTask(this), 10000);
-		for(this.loopIterators.get(this.loopIterators.size() -1); this.loopIterators.get(this.loopIterators.size() -1) <= end; this.loopIterators.set(this.loopIterators.size() - 1, this.loopIterators.get(this.loopIterators.size() -1) + 1)){
-			this.currentInstructions.addAll(0, bodyBlock);
-			if (this.currentInstructions.size() == 0){
-				turnTimer.cancel();
-				break;
-			}
-			
-			while (this.currentInstructions.size() > 0){
-				nextTerm = this.currentInstructions.remove(0);
-				if (nextTerm.equals("loop")){
-					break;
-				}
-				else {
-					this.parse(nextTerm);
-				}
-			}
-			
-			if (this.leaveForBlock){
-				this.leaveForBlock = false;
-				turnTimer.cancel();
-				break;		
-			}
-			
-			if (forceLoopInterrupt){
-				forceLoopInterrupt = false;
-				System.out.println("Error in execution of forBlock(): timed out. Ending turn.");
-				this.currentInstructions.clear();
-				this.timeoutTask.cancel();
-				return;
-			}
-			
+			this.error("not enough arguments on stack for robot operation check().");
+			return;
 		}
 		
-		if (this.loopIterators.size() > 0){
-			this.loopIterators.remove(this.loopIterators.size() -1);
+		if (this.stacks[this.currentPiece].typeAt(0) != ValueTypeEnum.INTEGER){
+			//  The top of the stack is not an integer.
+			this.stacks[this.currentPiece].clear();
+			this.error("need integer on stack for robot operation check().");
+			return;
 		}
-		turnTimer.cancel();
-		
-		return;
+		int space = this.stacks[this.currentPiece].popInt();
+		this.stacks[this.currentPiece].push(this.sensors.getCheck(this.board, space));
 	}
 	
+	
 	/**
-	 *  A method for declaring a new UserVariable.
-	 *  A new UserVariable with the matching name of the following term has been created if it does not already exist.
+	 *  A method for counting the number of visible pieces, based on the current piece.
+	 *  The pieces are found once per turn, until the board changes, and identify() reuses them.
+	 *  @postcondition An integer representing the number of visible pieces (0 or greater) has been pushed to the stack.
 	 */
-	public void declareVar(){
-		
-		if (this.currentInstructions.size() < 1){
+	public void scan(){
+		this.stacks[this.currentPiece].pushInt(this.sensors.getVisible(this.board).size());
+	}
+	
+	/**
+	 *  A method for querying information about a visible piece.
+	 *  @precondition The top of the stack contains an integer.
+	 *  @postcondition The integer has been popped from the stack, and values representing the remaining health, direction, range and team colour of the robot have been pushed to the stack in that order.
+	 */	
+	public void identify(){
+		if (this.stacks[this.currentPiece].size() < 1){
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough instructions for operation declareVar().");
+			this.error("not enough arguments on stack for robot operation identify().");
 			return;
 		}
 		
-		String value = this.currentInstructions.remove(0);
-		
-		try {
-			Integer q = Integer.parseInt(value);
-			q += 1;
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": integer argument as name in declareVar().");
+		if (this.stacks[this.currentPiece].typeAt(0) != ValueTypeEnum.INTEGER){
+			//  The top of the stack is not an integer.
+			this.stacks[this.currentPiece].clear();
+			this.error("need integer on stack for robot operation identify().");
 			return;
 		}
-		catch (NumberFormatException e){
-			if (value.equals("true") || value.equals("false")){
-				System.out.println("Error in program execution for piece" + this.currentPiece + ": boolean argument as name in declareVar().");
-				return;
-			}
-			if (value.contains("#")){
-				System.out.println("Error in program execution for piece" + this.currentPiece + ": variable location as name in declareVar().");
-				return;
-			}
-		}
-		finally {}
+		int nthPiece = this.stacks[this.currentPiece].popInt();
+		List<Integer> inRangePieces = this.sensors.getVisible(this.board);
 		
-		boolean found = false;
-		for (int i = 0; i < this.userVars[this.currentPiece].size(); i++){
-			if (this.userVars[this.currentPiece].get(i).getName() == value){
-				found = true;
-				break;
-			}
-		}
-		if (!found){
-			try{
-				this.userVars[this.currentPiece].add(new UserVariable(value));
-			}
-			catch (Exception e){
-				System.out.println("Error in declareVar(): name of new variable should never ben an empty string.");
-				this.stacks[this.currentPiece].clear();
-				return;
-			}
-			finally {}
+		if (nthPiece < 0 || nthPiece >= inRangePieces.size()){
+			this.stacks[this.currentPiece].clear();
+			this.error("piece index out of range for robot operation identify().");
+			return;
 		}
 		
+		ArrayList<String> info = this.sensors.getInfo(this.board, nthPiece);
+		
+		if (info.size() != 4){
+			this.stacks[this.currentPiece].clear();
+			this.error("malformed info returned for robot operation identify().");
+			return;
+		}
+		
+		//  Push the four pieces of information returned to the stack.
+		for (int i = 0; i < info.size(); i++){
+			this.stacks[this.currentPiece].push(info.get(i));
+		}
+		return;
 	}
-	
+
 	/**
-	 *  A method for declaring a new UserWord.
-	 *  @precondition The stack contains at least one element.
-	 *  @postcondition The string has been popped from the stack, and a new UserWord with the matching name has been created if it does not already exist.
+	 *  A method for sending a message from one piece to another.
+	 *  @precondition The top of the stack contains at least two values, with a string at the top, and any value below it.
+	 *  @postcondition The two values have been popped from the stack, the message sent if possible, and a boolean true or false value has been pushed to the stack.
 	 */
-	public void declareWord(){
-		
-		System.out.println("declareWord current piece: " + this.currentPiece);
-		
-		if (this.currentInstructions.size() < 1){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough instructions for operation declareWord().");
+	public void sendMessage(){
+		if (this.stacks[this.currentPiece].size() < 2){
+			this.stacks[this.currentPiece].clear();
+			this.error("not enough arguments for stack operation sendMessage().");
 			return;
 		}
 		
-		String value = this.currentInstructions.remove(0);
+		ValueStack stack = this.stacks[this.currentPiece];
+		ValueTypeEnum recipientType = stack.typeAt(0);
+		ValueTypeEnum messageType = stack.typeAt(1);
+		int messageValue = stack.intAt(1);
+		String recipient = stack.pop();
+		//  The message is sent as it is on the stack; only a variable location is sent as its string form, as a location of one piece means nothing to another.
+		String message = messageType == ValueTypeEnum.ADDRESS ? stack.pop() : stack.refAt(0);
+		if (messageType != ValueTypeEnum.ADDRESS){
+			stack.drop();
+		}
 		
-		try {
-			Integer q = Integer.parseInt(value);
-			q += 1;
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": integer argument as word name in declareWord().");
+		if (recipientType == ValueTypeEnum.BOOLEAN || recipientType == ValueTypeEnum.ADDRESS){
+			this.error("wrong argument type as recipient in sendMessage().");
 			return;
 		}
-		catch (NumberFormatException e){
-			if (value.equals("true") || value.equals("false")){
-				this.stacks[this.currentPiece].clear();
-				System.out.println("Error in program execution for piece" + this.currentPiece + ": boolean argument as word name in declareWord().");
-				return;
-			}
-			if (value.contains("#")){
-				this.stacks[this.currentPiece].clear();
-				System.out.println("Error in program execution for piece" + this.currentPiece + ": variable location as word name in declareWord().");
-				return;
-			}
+		
+		if (recipientType == ValueTypeEnum.INTEGER){
+			this.error("integer argument type as recipient in sendMessage().");
+			this.stacks[this.currentPiece].clear();
+			return;
 		}
-		finally {}
 		
-		boolean found = false;
-		for (int i = 0; i < this.userWords[this.currentPiece].size(); i++){
-			if (this.userWords[this.currentPiece].get(i).getName() == value){
-				found = true;
-				break;
-			}
+		//  The value is a string and can be used to address a piece.
+		Integer index = this.idToIndex.get(recipient);
+		if (index == null || !this.team.getPiece(index).isAlive()){
+			stack.pushBool(false);
 		}
-		if (!found){
-			
-			try{
-				this.userWords[this.currentPiece].add(new UserWord(value));
-				System.out.println(value);
-				if (this.currentInstructions.size() == 0){
-					this.userWords[this.currentPiece].get(this.userWords[this.currentPiece].size() -1).setReplaceValues(new ArrayList<String>());
-				}
-				else {
-					//  Get the replace values for the word from the current instruction list.
-					
-					String next = this.currentInstructions.remove(0);
-					ArrayList<String> replace = new ArrayList<>();
-					replace.add(next);
-					while (this.currentInstructions.size() != 0){
-						next = this.currentInstructions.remove(0);
-						if (!next.equals(";")){
-							replace.add(next);
-						}
-						else {
-							System.out.println("Hit a semicolon in declareWord()!");
-							this.hitSemicolon = true;
-							break;
-						}
-						
-					}
-					this.userWords[this.currentPiece].get(this.userWords[this.currentPiece].size() -1).setReplaceValues(replace);
-				}
-			}
-			catch (Exception e){
-				//  The name of the word to be created was empty
-				System.out.println("Error in declareWord(): name of new word should never be an empty string.");
-				this.stacks[this.currentPiece].clear();
-				return;
-			}
-			finally {}
-			if (this.hitSemicolon == true){
-				this.hitSemicolon = false;
-			}
-			System.out.println("Replace: " + this.userWords[this.currentPiece].get(this.userWords[this.currentPiece].size() -1).getReplaceValues());
+		else if (messageType == ValueTypeEnum.ADDRESS){
+			stack.pushBool(this.mailboxes[this.currentPiece].sendMessage(recipient, message));
+		}
+		else {
+			stack.pushBool(this.mailboxes[this.currentPiece].sendMessage(index, messageType, messageValue, message));
 		}
 	}
 	
 	/**
-	 *  A method for generating a random integer.
-	 *  @precondition The stack has an integer value on top.
-	 *  @postcondition The integer has been popped from the stack, a random integer between 0 and that value generated, and the result pushed to the stack.
+	 *  A method for checking the current piece's mailbox for messages from a sender.
+	 *  @precondition The top of the stack contains a string.
+	 *  @postcondition The string has been popped from the stack, the mailbox checked, and a boolean true or false value has been pushed to the stack.
 	 */
-	public void random(){
+	public void checkMessages(){
 		if (this.stacks[this.currentPiece].size() < 1){
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation random().");
+			this.error("not enough arguments for stack operation checkMessages().");
 			return;
 		}
-		try {
-			Integer arg1 = Integer.parseInt(this.stacks[this.currentPiece].pop());
-			if (arg1 <= 0){
-				this.stacks[this.currentPiece].push("0");
-			}
-			else {
-				Random r = new Random();
-				this.stacks[this.currentPiece].push("" + r.nextInt(arg1));
-			}
+		ValueTypeEnum senderType = this.stacks[this.currentPiece].typeAt(0);
+		String sender = this.stacks[this.currentPiece].pop();
+		
+		if (senderType == ValueTypeEnum.BOOLEAN || senderType == ValueTypeEnum.ADDRESS){
+			this.error("wrong argument type as recipient in checkMessages().");
 			return;
 		}
-		catch (NumberFormatException e) {
+		
+		if (senderType == ValueTypeEnum.INTEGER){
+			this.error("integer argument type as recipient in checkMessages().");
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": incorrect argument types for stack operation random().");
 			return;
 		}
-		finally {}
+		
+		//  The value is a string and can be used to address a piece.
+		boolean hasMessage = this.mailboxes[this.currentPiece].hasMessage(sender);
+		this.stacks[this.currentPiece].pushBool(hasMessage);
 	}
 	
 	/**
-	 *  A debug method for printing a value on the stack.
-	 *  @precondition The stack contains at least one element.
-	 *  @postcondition The top value has been popped from the stack and printed to the console.
+	 *  A method for retrieving messages from a sender from the current piece's mailbox.
+	 *  @precondition The top of the stack contains a string, and the mailbox contains a message from the sender.
+	 *  @postcondition The string has been popped from the stack, the mailbox checked, and the value of the message has been pushed to the stack.
 	 */
-	public void dotPrint(){
+	public void receiveMessage(){
 		if (this.stacks[this.currentPiece].size() < 1){
 			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation random().");
+			this.error("not enough arguments for stack operation receiveMessage().");
 			return;
 		}
 		
-		String value = this.stacks[this.currentPiece].pop();
-		System.out.println("dotPrint(): " + value);
-	}
-	
-	/**
-	 *  A method for querying the board about the maximum health of the current piece.
-	 *  @postcondition The maximum health of the current piece has been pushed to the stack.
-	 */
-	public void qHealth(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getHealth());
+		ValueTypeEnum senderType = this.stacks[this.currentPiece].typeAt(0);
+		String sender = this.stacks[this.currentPiece].pop();
+		
+		if (senderType == ValueTypeEnum.BOOLEAN || senderType == ValueTypeEnum.ADDRESS){
+			this.error("wrong argument type as recipient in receiveMessage().");
+			return;
 		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qHealth().");
+		
+		if (senderType == ValueTypeEnum.INTEGER){
+			this.error("integer argument type as recipient in receiveMessage().");
 			this.stacks[this.currentPiece].clear();
 			return;
 		}
-		finally {}
+		
+		//  The value is a string and can be used to address a piece.
+		Mailbox mailbox = this.mailboxes[this.currentPiece];
+		if (mailbox.receiveMessage(mailbox.indexOf(sender), this.stacks[this.currentPiece]) && this.diagnostics.isEnabled(DiagnosticLevelEnum.DEBUG)){
+			this.report(DiagnosticLevelEnum.DEBUG, "received message " + this.stacks[this.currentPiece].peek());
+		}
 	}
 	
+	
 	/**
-	 *  A method for querying the board about the current health of the current piece.
-	 *  @postcondition The current health of the current piece has been pushed to the stack.
+	 * A method for storing a value within a user-defined variable.
+	 * @precondition The top element of the stack is an address and the element below that is some value.
+	 * @postcondition The top two elements of the stack have been popped, and the value has been stored in the location.
+	 * 
 	 */
-	public void qHealthLeft(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getCurrentHealth());
+	public void store(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			stack.clear();
+			this.error("not enough arguments for stack operation store().");
+			return;
 		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qHealthLeft().");
-			this.stacks[this.currentPiece].clear();
+		
+		//  The top of the stack must be a variable location.
+		int slot = this.addressSlot("store");
+		if (slot < 0){
 			return;
 		}
-		finally {}
+		
+		UserVariable matchingVar = this.userVars[this.currentPiece].get(slot);
+		matchingVar.setValue(stack.typeAt(0), stack.intAt(0), stack.refAt(0));
+		stack.drop();
+		return;
 	}
 	
 	/**
-	 *  A method for querying the board about the maximum moves of the current piece.
-	 *  @postcondition The maximum moves of the current piece has been pushed to the stack.
+	 * A method for retrieving a value from a user-defined variable.
+	 * @precondition The top element of the stack is an address.
+	 * @postcondition The address has been popped, and the value stored at the address has been pushed to the stack.
 	 */
-	public void qMoves(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getMovement());
+	public void retrieve(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1){
+			stack.clear();
+			this.error("not enough arguments for stack operation retrieve().");
+			return;
 		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qMoves().");
-			this.stacks[this.currentPiece].clear();
+		
+		//  The top of the stack must be a variable location.
+		int slot = this.addressSlot("retrieve");
+		if (slot < 0){
 			return;
 		}
-		finally {}
+		
+		UserVariable matchingVar = this.userVars[this.currentPiece].get(slot);
+		stack.push(matchingVar.getType(), matchingVar.getNumber(), matchingVar.varValue);
+		return;
 	}
 	
 	/**
-	 *  A method for querying the board about the remaining moves of the current piece.
-	 *  @postcondition The remaining moves of the current piece has been pushed to the stack.
+	 * Superinstruction for a variable followed by "?", pushing the value without pushing the location first.
+	 * @param slot - The slot of the variable.
+	 * @postcondition The value stored in the variable has been pushed to the stack.
 	 */
-	public void qMovesLeft(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getCurrentMovement());
-		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qMovesLeft().");
-			this.stacks[this.currentPiece].clear();
+	public void retrieveVariable(int slot){
+		UserVariable matchingVar = this.userVars[this.currentPiece].get(slot);
+		this.stacks[this.currentPiece].push(matchingVar.getType(), matchingVar.getNumber(), matchingVar.varValue);
+	}
+	
+	/**
+	 * Superinstruction for a variable followed by "!".
+	 * When store() would report an error, the location is pushed and store() called, so the error is the same.
+	 * @param slot - The slot of the variable.
+	 * @param address - The location of the variable, as pushed to the stack.
+	 * @postcondition The top element of the stack has been popped and stored in the variable.
+	 */
+	public void storeVariable(int slot, String address){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 1 || stack.size() == stack.capacity()){
+			stack.push(ValueTypeEnum.ADDRESS, slot, address);
+			this.store();
 			return;
 		}
-		finally {}
+		UserVariable matchingVar = this.userVars[this.currentPiece].get(slot);
+		matchingVar.setValue(stack.typeAt(0), stack.intAt(0), stack.refAt(0));
+		stack.drop();
 	}
 	
 	/**
-	 *  A method for querying the board about the attack of the current piece.
-	 *  @postcondition The attack of the current piece has been pushed to the stack.
+	 * Superinstruction for "drop drop".
+	 * @postcondition The top two elements have been popped from the stack and discarded.
 	 */
-	public void qAttack(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getAttack());
-		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qAttack().");
-			this.stacks[this.currentPiece].clear();
+	public void dropPair(){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.size() < 2){
+			//  Report the errors in the same way as two drops.
+			this.drop();
+			this.drop();
 			return;
 		}
-		finally {}
+		stack.drop();
+		stack.drop();
 	}
 	
 	/**
-	 *  A method for querying the board about the range of the current piece.
-	 *  @postcondition The range of the current piece has been pushed to the stack.
+	 * Superinstruction for an integer followed by "-", computing the integer minus the top element.
+	 * When the top element is not an integer, the integer is pushed and subtract() called, so any error is the same.
+	 * @param value - The integer.
+	 * @param literal - The integer as it appears in the program.
 	 */
-	public void qRange(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getRange());
-		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qRange().");
-			this.stacks[this.currentPiece].clear();
+	public void literalSubtract(int value, String literal){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (!this.literalFastPath(stack)){
+			stack.push(ValueTypeEnum.INTEGER, value, literal);
+			this.subtract();
 			return;
 		}
-		finally {}
+		stack.pushInt(value - stack.popInt());
 	}
 	
 	/**
-	 *  A method for querying the board about the team of the current piece.
-	 *  @postcondition The team of the current piece has been pushed to the stack.
+	 * Superinstruction for an integer followed by "<>".
+	 * When the top element is not an integer, the integer is pushed and notEqual() called, so any error is the same.
+	 * @param value - The integer.
+	 * @param literal - The integer as it appears in the program.
 	 */
-	public void qTeam(){
-		this.stacks[this.currentPiece].push("" + this.team.getColour().toString());
+	public void literalNotEqual(int value, String literal){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (!this.literalFastPath(stack)){
+			stack.push(ValueTypeEnum.INTEGER, value, literal);
+			this.notEqual();
+			return;
+		}
+		stack.pushBool(stack.popInt() != value);
 	}
 	
 	/**
-	 *  A method for querying the board about the unit type (Scout, Sniper or Tank) of the current piece.
-	 *  @postcondition The type of the current piece has been pushed to the stack.
+	 * Superinstruction for an integer followed by "<", testing whether the integer is less than the top element.
+	 * When the top element is not an integer, the integer is pushed and lessThan() called, so any error is the same.
+	 * @param value - The integer.
+	 * @param literal - The integer as it appears in the program.
 	 */
-	public void qType(){
-		try {
-			Piece p = this.team.getPiece(this.currentPiece);
-			this.stacks[this.currentPiece].push("" + p.getType().toString());
-		}
-		catch (Exception e){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": invalid piece index when querying in qType().");
-			this.stacks[this.currentPiece].clear();
+	public void literalLessThan(int value, String literal){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (!this.literalFastPath(stack)){
+			stack.push(ValueTypeEnum.INTEGER, value, literal);
+			this.lessThan();
 			return;
 		}
-		finally {}
+		stack.pushBool(value < stack.popInt());
 	}
 	
 	/**
-	 *  A method for turning the current piece on the board (changing the rotation).
-	 *  @precondition The top of the stack contains an integer.
-	 *  @postcondition The integer has been popped from the stack and the current piece has been rotated the corresponding amount.
+	 * Whether an integer superinstruction can work on the top element directly: it is an integer, and pushing the integer would not overflow the stack.
+	 * @param stack - The stack of the current piece.
+	 * @return true if the superinstruction does not need to fall back to its two instructions.
 	 */
-	public void turn(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments on stack for robot operation turn().");
-			return;
+	private boolean literalFastPath(ValueStack stack){
+		return stack.size() > 0 && stack.size() < stack.capacity() && stack.typeAt(0) == ValueTypeEnum.INTEGER;
+	}
+	
+	/**
+	 * Pops a variable location from the top of the stack for store() and retrieve(), and finds the slot of the variable.
+	 * Locations pushed by a program already hold the slot; a location pushed as a "#name" string is looked up by name.
+	 * @param name - The name of the calling method, for the error messages.
+	 * @return The slot of the variable, or -1 if the top of the stack is not a declared variable location. The stack is cleared in that case.
+	 */
+	private int addressSlot(String name){
+		ValueStack stack = this.stacks[this.currentPiece];
+		if (stack.typeAt(0) != ValueTypeEnum.ADDRESS){
+			stack.clear();
+			this.error("argument for stack operation ", name, "() not a variable location.");
+			return -1;
 		}
 		
-		String arg1 = this.stacks[this.currentPiece].pop();
-		Integer rotation;
-		try {
-			rotation = Integer.parseInt(arg1);
-			this.team.getPiece(this.currentPiece).rotate(rotation);
-			
+		int slot = stack.intAt(0);
+		if (slot < 0 || slot >= this.userVars[this.currentPiece].size()){
+			slot = this.userVars[this.currentPiece].slotOf(stack.peek().substring(1));
 		}
-		catch (NumberFormatException e){
-			//  The top of the stack is not an integer.
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": need integer on stack for robot operation turn().");
-			return;
+		if (slot < 0){
+			this.error("no such variable location ", stack.peek(), " for ", name, "().");
+			stack.clear();
+			return -1;
 		}
-		finally {}
-		
+		stack.drop();
+		return slot;
 	}
 	
 	/**
-	 *  A method for moving the current piece on the board.
-	 *  @postcondition The current piece has moved one space forward on the board.
+	 * A method used for parsing each term of a program and taking the appropriate action.
+	 * A control word takes the rest of its structure from the current instructions, and ":" and "variable" take the name and body they declare.
+	 * Other terms are compiled and run by the instruction loop, in the same way as the rest of a program.
+	 * @param term - A string representing the term to parse.
+	 * @postcondition The value has been parsed and the appropriate action has been taken.
 	 */
-	public void move(){
-		try{
-			this.team.getBoard().moveForward();
+	public void parse(String term){
+		OpcodeEnum op = OpcodeEnum.fromWord(term);
+		if (op == OpcodeEnum.IF || op == OpcodeEnum.BEGIN || op == OpcodeEnum.DO){
+			this.runStructure(term);
 		}
-		catch (RuntimeException e) {
-			System.out.println(e);
-			this.stacks[this.currentPiece].clear();
-			this.currentInstructions.clear();
-			return;
+		else if (term.equals(":") || term.equals("variable")){
+			//  Declarations read their name, and a word its body, from the current instructions.
+			BuiltinWord.find(term).execute(this);
+		}
+		else {
+			this.runTerms(Arrays.asList(term));
 		}
-		finally {}
 	}
 	
-	/**
-	 *  A method for using the current piece on the board to shoot a space on the board.
-	 *  @precondition The top of the stack contains two integer values.
-	 *  @postcondition The two integers, m and n, have been popped from the stack, and the space at m distance in direction n has been shot.
-	 */
-	public void shoot(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments on stack for robot operation shoot().");
-			return;
-		}
+	public static void main(String[] args){
 		
-		String arg1 = this.stacks[this.currentPiece].pop();
-		String arg2 = this.stacks[this.currentPiece].pop();
-		Integer distance;
-		Integer direction;
-		try {
-			distance = Integer.parseInt(arg1);
-			direction = Integer.parseInt(arg2);
-			this.team.getBoard().shootSpace(distance, direction);
-			
-		}
-		catch (NumberFormatException e){
-			//  The top of the stack is not an integer.
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": need integer on stack for robot operation shoot().");
+		//  Main class providing testing for the Interpreter Class
+		
+		
+		//  Use the Team test constructor.
+		Team t = new Team(TeamEnum.RED, true, 1, 1, 1);
+		//PlayerSettings playerS = new PlayerSettings();
+		
+		Interpreter testI = new Interpreter(3, t, null);
+		
+		String sResult;
+		
+		System.out.println("Beginning tests for Interpreter class.");
+		
+		/*
+		  add() :
+		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values where one or both are not integers. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two integers on top. Expected result: The top of the stack contains the correct result of the addition.
+		 */
+
+		testI.add();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter add() Test 1. Result: " + testI.stacks[0].size());
 			return;
 		}
-		finally {}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 1.");
+		}
 		
+		testI.stacks[0].push("cow");
 		
-	}
-
-	/**
-	 *  A method for checking the contents of a space on the board.
-	 *  @precondition The top of the stack contains an integer.
-	 *  @postcondition The integer has been popped from the stack, and a string representing the contents of the space (EMPTY, OCCUPIED or OUT OF BOUNDS) has been pushed to the stack.
-	 */
-	public void check(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments on stack for robot operation check().");
-			return;
-		}
+		testI.add();
 		
-		String arg1 = this.stacks[this.currentPiece].pop();
-		Integer space;
-		try {
-			space = Integer.parseInt(arg1);
-			this.stacks[this.currentPiece].push(this.team.getBoard().checkSpace(space));
-			
-		}
-		catch (NumberFormatException e){
-			//  The top of the stack is not an integer.
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": need integer on stack for robot operation check().");
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter add() Test 2. Result: " + testI.stacks[0].size());
 			return;
 		}
-		finally {}
-	}
-	
-	
-	/**
-	 *  A method for counting the number of visible pieces, based on the current piece.
-	 *  @postcondition An integer representing the number of visible pieces (0 or greater) has been pushed to the stack.
-	 */
-	public void scan(){
-		this.stacks[this.currentPiece].push("" + this.team.getBoard().scanArea().size());
-	}
-	
-	/**
-	 *  A method for querying information about a visible piece.
-	 *  @precondition The top of the stack contains an integer.
-	 *  @postcondition The integer has been popped from the stack, and values representing the remaining health, direction, range and team colour of the robot have been pushed to the stack in that order.
-	 */	
-	public void identify(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments on stack for robot operation identify().");
-			return;
+		else {
+			System.out.println("PASSED: Interpreter add() Test 2.");
 		}
 		
-		String arg1 = this.stacks[this.currentPiece].pop();
-		Integer nthPiece;
-		try {
-			nthPiece = Integer.parseInt(arg1);
-			List<Integer> inRangePieces = this.team.getBoard().scanArea();
-			
-			if (nthPiece >= inRangePieces.size()){
-				this.stacks[this.currentPiece].clear();
-				System.out.println("Error in program execution for piece" + this.currentPiece + ": piece index out of range for robot operation identify().");
-				return;
-			}
-			
-			
-			ArrayList<String> info = this.team.getBoard().getPieceInfoFromOffset(inRangePieces.get(nthPiece));
-			
-			if (info.size() != 4){
-				this.stacks[this.currentPiece].clear();
-				System.out.println("Error in program execution for piece" + this.currentPiece + ": malformed info returned for robot operation identify().");
-				return;
-			}
-			
-			//  Push the four pieces of information returned to the stack.
-			this.stacks[this.currentPiece].push(info.remove(0));
-			this.stacks[this.currentPiece].push(info.remove(0));
-			this.stacks[this.currentPiece].push(info.remove(0));
-			this.stacks[this.currentPiece].push(info.remove(0));
+		testI.stacks[0].push("cow");
+		testI.stacks[0].push("chicken");
+		
+		testI.add();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter add() Test 3. Result: " + testI.stacks[0].size());
 			return;
 		}
-		catch (NumberFormatException e){
-			//  The top of the stack is not an integer.
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": need integer on stack for robot operation identify().");
-			return;
+		else {
+			System.out.println("PASSED: Interpreter add() Test 3.");
 		}
-		finally {}
 		
+		testI.stacks[0].push("cow");
+		testI.stacks[0].push("42");
 		
-	}
-
-	/**
-	 *  A method for sending a message from one piece to another.
-	 *  @precondition The top of the stack contains at least two values, with a string at the top, and any value below it.
-	 *  @postcondition The two values have been popped from the stack, the message sent if possible, and a boolean true or false value has been pushed to the stack.
-	 */
-	public void sendMessage(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation sendMessage().");
+		testI.add();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter add() Test 4. Result: " + testI.stacks[0].size());
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 4.");
+		}
 		
-		String recipient = this.stacks[this.currentPiece].pop();
-		String message = this.stacks[this.currentPiece].pop();
+		testI.stacks[0].push("8");
+		testI.stacks[0].push("42");
 		
-		if (recipient.equals("true") || recipient.equals("false") || recipient.contains("#")){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": wrong argument type as recipient in sendMessage().");
-			return;
-		}
+		testI.add();
 		
-		try{
-			Integer q = Integer.parseInt(recipient);
-			q +=1;
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": integer argument type as recipient in sendMessage().");
-			this.stacks[this.currentPiece].clear();
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter add() Test 5. Result: " + testI.stacks[0].size());
 			return;
 		}
-		catch (NumberFormatException e){
-			//  The value is a string and can be used to address a piece.
-			if (!this.team.getPiece(this.idToIndex.get(recipient)).isAlive()){
-				this.stacks[this.currentPiece].push("false");
-			}
-			else {
-				boolean success = this.mailboxes[this.currentPiece].sendMessage(recipient, message);
-				if (success){
-					this.stacks[this.currentPiece].push("true");
-				}
-				else {
-					this.stacks[this.currentPiece].push("false");
-				}
-			}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 5.");
 		}
-		finally{}
 		
-	}
-	
-	/**
-	 *  A method for checking the current piece's mailbox for messages from a sender.
-	 *  @precondition The top of the stack contains a string.
-	 *  @postcondition The string has been popped from the stack, the mailbox checked, and a boolean true or false value has been pushed to the stack.
-	 */
-	public void checkMessages(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation checkMessages().");
-			return;
-		}
-		String sender = this.stacks[this.currentPiece].pop();
+		sResult = testI.stacks[0].pop();
 		
-		if (sender.equals("true") || sender.equals("false") || sender.contains("#")){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": wrong argument type as recipient in checkMessages().");
+		if (!sResult.equals("50")){
+			System.out.println("FAILED: Interpreter add() Test 6. Result: " + sResult);
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 6.");
+		}
 		
-		try{
-			Integer q = Integer.parseInt(sender);
-			q +=1;
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": integer argument type as recipient in checkMessages().");
-			this.stacks[this.currentPiece].clear();
+		testI.stacks[0].push("1");
+		testI.stacks[0].push("2");
+		testI.stacks[0].push("3");
+		
+		testI.add();
+		
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter add() Test 7. Result: " + testI.stacks[0].size());
 			return;
 		}
-		catch (NumberFormatException e){
-			//  The value is a string and can be used to address a piece.
-			boolean hasMessage = this.mailboxes[this.currentPiece].hasMessage(sender);
-			if (hasMessage){
-				this.stacks[this.currentPiece].push("true");
-			}
-			else {
-				this.stacks[this.currentPiece].push("false");
-			}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 7.");
 		}
-		finally{}
-	}
-	
-	/**
-	 *  A method for retrieving messages from a sender from the current piece's mailbox.
-	 *  @precondition The top of the stack contains a string, and the mailbox contains a message from the sender.
-	 *  @postcondition The string has been popped from the stack, the mailbox checked, and the value of the message has been pushed to the stack.
-	 */
-	public void receiveMessage(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation receiveMessage().");
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("5")){
+			System.out.println("FAILED: Interpreter add() Test 8. Result: " + sResult);
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 8.");
+		}
 		
-		String sender = this.stacks[this.currentPiece].pop();
+		testI.stacks[0].push("5");
+		testI.add();
 		
-		if (sender.equals("true") || sender.equals("false") || sender.contains("#")){
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": wrong argument type as recipient in receiveMessage().");
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter add() Test 9. Result: " + testI.stacks[0].size());
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 9.");
+		}
 		
-		try{
-			Integer q = Integer.parseInt(sender);
-			q +=1;
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": integer argument type as recipient in receiveMessage().");
-			this.stacks[this.currentPiece].clear();
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("6")){
+			System.out.println("FAILED: Interpreter add() Test 10. Result: " + sResult);
 			return;
 		}
-		catch (NumberFormatException e){
-			//  The value is a string and can be used to address a piece.
-			String message = this.mailboxes[this.currentPiece].receiveMessage(sender);
-			if (!message.equals("")){
-				System.out.println(message);
-				this.stacks[this.currentPiece].push(message);
-			}
+		else {
+			System.out.println("PASSED: Interpreter add() Test 10.");
 		}
-		finally{}
-	}
-	
-	
-	/**
-	 * A method for storing a value within a user-defined variable.
-	 * @precondition The top element of the stack is an address and the element below that is some value.
-	 * @postcondition The top two elements of the stack have been popped, and the value has been stored in the location.
-	 * 
-	 */
-	public void store(){
-		if (this.stacks[this.currentPiece].size() < 2){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation store().");
+		
+
+		/*
+		   subtract() :
+		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values where one or both are not integers. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two integers on top. Expected result: The top of the stack contains the correct result of the subtraction
+		*/
+		
+		testI.subtract();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter subtract() Test 11. Result: " + testI.stacks[0].size());
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 11.");
+		}
 		
-		//  The top of the stack must be a variable location.
-		String arg1 = this.stacks[this.currentPiece].pop();
-		if (arg1.contains("#") == false){
-			System.out.println(arg1);
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": argument for stack operation store() not a variable location." );
+		testI.stacks[0].push("cow");
+		
+		testI.subtract();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter subtract() Test 12. Result: " + testI.stacks[0].size());
 			return;
 		}
-		
-		UserVariable matchingVar = null;
-		//  Search and try to find the matching variable.
-		for (int i = 0; i < this.userVars[this.currentPiece].size(); i++){
-			if (this.userVars[this.currentPiece].get(i).getName().equals(arg1.substring(1))){
-				matchingVar = this.userVars[this.currentPiece].get(i);
-				break;
-			}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 12.");
 		}
 		
-		if (matchingVar == null){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": no such variable location " + arg1 + " for store()." );
+		testI.stacks[0].push("cow");
+		testI.stacks[0].push("chicken");
+		
+		testI.subtract();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter subtract() Test 13. Result: " + testI.stacks[0].size());
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 13.");
+		}
 		
-		String arg2 = this.stacks[this.currentPiece].pop();
-		matchingVar.setValue(arg2);
-		
-		return;
+		testI.stacks[0].push("cow");
+		testI.stacks[0].push("42");
 		
+		testI.subtract();
 		
-	}
-	
-	/**
-	 * A method for retrieving a value from a user-defined variable.
-	 * @precondition The top element of the stack is an address.
-	 * @postcondition The address has been popped, and the value stored at the address has been pushed to the stack.
-	 */
-	public void retrieve(){
-		if (this.stacks[this.currentPiece].size() < 1){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": not enough arguments for stack operation retrieve().");
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter subtract() Test 14. Result: " + testI.stacks[0].size());
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 14.");
+		}
+		
+		testI.stacks[0].push("42");
+		testI.stacks[0].push("8");
 		
-		//  The top of the stack must be a variable location.
-		String arg1 = this.stacks[this.currentPiece].pop();
-		if (arg1.contains("#") == false){
-			System.out.println(arg1);
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": argument for stack operation retrieve() not a variable location.");
+		testI.subtract();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter subtract() Test 15. Result: " + testI.stacks[0].size());
 			return;
 		}
-		
-		String value = "";
-		UserVariable matchingVar = null;
-		//  Search and try to find the matching variable.
-		for (int i = 0; i < this.userVars[this.currentPiece].size(); i++){
-			if (this.userVars[this.currentPiece].get(i).getName().equals(arg1.substring(1))){
-				matchingVar = this.userVars[this.currentPiece].get(i);
-				value = matchingVar.getValue();
-				break;
-			}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 15.");
 		}
 		
-		if (matchingVar == null){
-			this.stacks[this.currentPiece].clear();
-			System.out.println("Error in program execution for piece" + this.currentPiece + ": no such variable location " + arg1 + " for retrieve()." );
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("-34")){
+			System.out.println("FAILED: Interpreter subtract() Test 16. Result: " + sResult);
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 16.");
+		}
 		
-		this.stacks[this.currentPiece].push(value);
-		return;
-		
-	}
-	
-	/**
-	 * A method used for parsing each term of a program and taking the appropriate action.
-	 * @param term - A string representing the term to parse.
-	 * @postcondition The value has been parsed and the appropriate action has been taken.
-	 */
-	public void parse(String term){
+		testI.stacks[0].push("1");
+		testI.stacks[0].push("2");
+		testI.stacks[0].push("3");
 		
-		//  System.out.println("Parsing " + term);
+		testI.subtract();
 		
-		//   Check if the term is a semicolon; if it is, we're finished.
-		if (term.equals("")){
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter subtract() Test 17. Result: " + testI.stacks[0].size());
 			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 17.");
+		}
 		
+		sResult = testI.stacks[0].pop();
 		
-		if (term.equals(";")){
-//			this.currentInstructions.clear();
-			this.loopIterators.clear();
-			this.hitSemicolon = false;
+		if (!sResult.equals("1")){
+			System.out.println("FAILED: Interpreter subtract() Test 18. Result: " + sResult);
 			return;
 		}
-		
-		//  Check if the term stands in for a loop iterator; if it is, get the value and push to the stack
-		if (term.equals("I")){
-			if (this.loopIterators.size() == 0){
-				//  If there are no iterators, throw an error.
-				
-				System.out.println("Error in parse(): no loop iterator value to push for term 'I'. Aborting.");
-				this.currentInstructions.clear();
-				return;
-			}
-			
-			this.stacks[this.currentPiece].push("" + this.loopIterators.get(this.loopIterators.size()-1));
-			return;
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 18.");
 		}
 		
-		//  Check if the term is "leave"; if it is, we need to end a for block somewhere.
-		if (term.equals("leave")){
-			this.leaveForBlock = true;
-			return;
-		}
+		testI.stacks[0].push("1");
+		testI.subtract();
 		
-		//  Check if the term is one of the built-in methods; if it is, execute it.
-		if (this.functionTableMapping.containsKey(term)) {
-			
-			if (!this.restrictedWords.contains(term) || isPlayMode == true){
-			
-				int index = this.functionTableMapping.get(term);
-				this.methods[index].execute();
-				if (this.hitSemicolon == true){
-					this.currentInstructions.clear();
-					this.loopIterators.clear();
-					this.hitSemicolon = false;
-				}
-			}
-			else{
-				System.out.println("Error in parse(): restricted word cannot be parsed outside of play mode. Aborting.");
-				this.currentInstructions.clear();
-			}
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter subtract() Test 19. Result: " + testI.stacks[0].size());
 			return;
 		}
-		
-		//  Check if the term is a user word; if it is, add the replacement values to currentInstructions.
-		for (UserWord word : this.userWords[this.currentPiece]) {
-			if (word.getName().equals(term)) {
-				ArrayList<String> values = new ArrayList<>(word.getReplaceValues());
-				this.currentInstructions.addAll(0, values);
-				return;
-			}
+		else {
+			System.out.println("PASSED: Interpreter subtract() Test 19.");
 		}
 		
-		//  Check if the term is a user variable; if it is, push the location trigger to the stack.
-		for (UserVariable variable : this.userVars[this.currentPiece]) {
-			if (variable.getName().equals(term)) {
-				String address = "#" + variable.varName;
-				this.stacks[this.currentPiece].push(address);
-				return;
-			}
-		}
+		sResult = testI.stacks[0].pop();
 		
-		//  Check if the term is a string; if it is, strip the quotation marks and leading dot and push to the stack.
-		if (term.startsWith(".")) {
-			this.stacks[this.currentPiece].push(term.split("\"")[1]);
-
+		if (!sResult.equals("0")){
+			System.out.println("FAILED: Interpreter subtract() Test 20. Result: " + sResult);
+			return;
 		}
-		
-		//  Else the term is a boolean or integer; push it to the stack.
 		else {
-			this.stacks[this.currentPiece].push(term);
+			System.out.println("PASSED: Interpreter subtract() Test 20.");
 		}
 		
-	}
-	
-	public static void main(String[] args){
-		
-		//  Main class providing testing for the Interpreter Class
-		
-		
-		//  Use the Team test constructor.
-		Team t = new Team(TeamEnum.RED, true, 1, 1, 1);
-		//PlayerSettings playerS = new PlayerSettings();
-		
-		Interpreter testI = new Interpreter(3, t, null);
-		
-		String sResult;
-		
-		System.out.println("Beginning tests for Interpreter class.");
-		
-		/*
-		  add() :
+		/*multiply() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values where one or both are not integers. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two integers on top. Expected result: The top of the stack contains the correct result of the addition.
-		 */
-
-		testI.add();
+		o Test case: The stack contains two integers on top. Expected result: The top of the stack contains the correct result of the multiplication.
+		*/
+		
+		testI.multiply();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter add() Test 1. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 21. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 1.");
+			System.out.println("PASSED: Interpreter multiply() Test 21.");
 		}
 		
 		testI.stacks[0].push("cow");
 		
-		testI.add();
+		testI.multiply();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter add() Test 2. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 22. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 2.");
+			System.out.println("PASSED: Interpreter multiply() Test 22.");
 		}
 		
 		testI.stacks[0].push("cow");
 		testI.stacks[0].push("chicken");
 		
-		testI.add();
+		testI.multiply();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter add() Test 3. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 23. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 3.");
+			System.out.println("PASSED: Interpreter multiply() Test 23.");
 		}
 		
 		testI.stacks[0].push("cow");
 		testI.stacks[0].push("42");
 		
-		testI.add();
+		testI.multiply();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter add() Test 4. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 24. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 4.");
+			System.out.println("PASSED: Interpreter multiply() Test 24.");
 		}
 		
-		testI.stacks[0].push("8");
-		testI.stacks[0].push("42");
+		testI.stacks[0].push("6");
+		testI.stacks[0].push("4");
 		
-		testI.add();
+		testI.multiply();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter add() Test 5. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 25. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 5.");
+			System.out.println("PASSED: Interpreter multiply() Test 25.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("50")){
-			System.out.println("FAILED: Interpreter add() Test 6. Result: " + sResult);
+		if (!sResult.equals("24")){
+			System.out.println("FAILED: Interpreter multiply() Test 26. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 6.");
+			System.out.println("PASSED: Interpreter multiply() Test 26.");
 		}
 		
 		testI.stacks[0].push("1");
 		testI.stacks[0].push("2");
 		testI.stacks[0].push("3");
 		
-		testI.add();
+		testI.multiply();
 		
 		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter add() Test 7. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 27. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 7.");
+			System.out.println("PASSED: Interpreter multiply() Test 27.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("5")){
-			System.out.println("FAILED: Interpreter add() Test 8. Result: " + sResult);
+		if (!sResult.equals("6")){
+			System.out.println("FAILED: Interpreter multiply() Test 28. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 8.");
+			System.out.println("PASSED: Interpreter multiply() Test 28.");
 		}
 		
-		testI.stacks[0].push("5");
-		testI.add();
+		testI.stacks[0].push("6");
+		testI.multiply();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter add() Test 9. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter multiply() Test 29. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 9.");
+			System.out.println("PASSED: Interpreter multiply() Test 29.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("6")){
-			System.out.println("FAILED: Interpreter add() Test 10. Result: " + sResult);
+			System.out.println("FAILED: Interpreter multiply() Test 30. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter add() Test 10.");
+			System.out.println("PASSED: Interpreter multiply() Test 30.");
 		}
 		
-
-		/*
-		   subtract() :
+		/* divideRemain() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values where one or both are not integers. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two integers on top. Expected result: The top of the stack contains the correct result of the subtraction
+		o Test case: The stack contains two integers on top that divide evenly. Expected result: The top of the stack contains the correct result of the division, and the second value from the top is 0.
+		o Test case: The stack contains two integers on top that do not divide evenly. Expected result: The top of the stack contains the correct result of the division, and the second value from the top is the remainder.
 		*/
 		
-		testI.subtract();
+		
+		testI.divideRemain();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter subtract() Test 11. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter divideRemain() Test 31. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 11.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 31.");
 		}
 		
 		testI.stacks[0].push("cow");
 		
-		testI.subtract();
+		testI.divideRemain();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter subtract() Test 12. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter divideRemain() Test 32. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 12.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 32.");
 		}
 		
 		testI.stacks[0].push("cow");
 		testI.stacks[0].push("chicken");
 		
-		testI.subtract();
+		testI.divideRemain();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter divideRemain() Test 33. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter divideRemain() Test 33.");
+		}
+		
+		testI.stacks[0].push("cow");
+		testI.stacks[0].push("42");
+		
+		testI.divideRemain();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter divideRemain() Test 34. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter divideRemain() Test 34.");
+		}
+		
+		testI.stacks[0].push("3");
+		testI.stacks[0].push("12");
+		
+		testI.divideRemain();
+		
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter divideRemain() Test 35. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter divideRemain() Test 35.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("4")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 36. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter divideRemain() Test 36.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("0")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 37. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter divideRemain() Test 37.");
+		}
+		
+		testI.stacks[0].push("5");
+		testI.stacks[0].push("12");
+		
+		testI.divideRemain();
+		
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter divideRemain() Test 38. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter divideRemain() Test 38.");
+		}
+		
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter subtract() Test 13. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("2")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 39. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 13.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 39.");
 		}
 		
-		testI.stacks[0].push("cow");
-		testI.stacks[0].push("42");
-		
-		testI.subtract();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter subtract() Test 14. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("2")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 40. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 14.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 40.");
 		}
 		
-		testI.stacks[0].push("42");
-		testI.stacks[0].push("8");
+		testI.stacks[0].push("7");
+		testI.stacks[0].push("58");
+		testI.stacks[0].push("100");
 		
-		testI.subtract();
+		testI.divideRemain();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter subtract() Test 15. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 3){
+			System.out.println("FAILED: Interpreter divideRemain() Test 41. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 15.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 41.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("-34")){
-			System.out.println("FAILED: Interpreter subtract() Test 16. Result: " + sResult);
+		if (!sResult.equals("1")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 42. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 16.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 42.");
 		}
 		
-		testI.stacks[0].push("1");
-		testI.stacks[0].push("2");
-		testI.stacks[0].push("3");
-		
-		testI.subtract();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter subtract() Test 17. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("42")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 43. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 17.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 43.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("42");
+		testI.divideRemain();
 		
-		if (!sResult.equals("1")){
-			System.out.println("FAILED: Interpreter subtract() Test 18. Result: " + sResult);
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter divideRemain() Test 44. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 18.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 44.");
 		}
 		
-		testI.stacks[0].push("1");
-		testI.subtract();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter subtract() Test 19. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("6")){
+			System.out.println("FAILED: Interpreter divideRemain() Test 45. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 19.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 45.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("0")){
-			System.out.println("FAILED: Interpreter subtract() Test 20. Result: " + sResult);
+			System.out.println("FAILED: Interpreter divideRemain() Test 46. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter subtract() Test 20.");
+			System.out.println("PASSED: Interpreter divideRemain() Test 46.");
 		}
 		
-		/*multiply() :
+		
+		/*and() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values where one or both are not integers. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two integers on top. Expected result: The top of the stack contains the correct result of the multiplication.
+		o Test case: The stack contains two values where one or both are not boolean values. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two boolean values on top. Expected result: The top of the stack contains the correct result of the and() operation as a boolean, true or false.
 		*/
 		
-		testI.multiply();
+		testI.and();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter multiply() Test 21. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter and() Test 47. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 21.");
+			System.out.println("PASSED: Interpreter and() Test 47.");
 		}
 		
 		testI.stacks[0].push("cow");
 		
-		testI.multiply();
+		testI.and();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter multiply() Test 22. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter and() Test 48. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 22.");
+			System.out.println("PASSED: Interpreter and() Test 48.");
 		}
 		
-		testI.stacks[0].push("cow");
-		testI.stacks[0].push("chicken");
+		testI.stacks[0].push("123");
+		testI.stacks[0].push("456");
 		
-		testI.multiply();
+		testI.and();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter multiply() Test 23. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter and() Test 49. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 23.");
+			System.out.println("PASSED: Interpreter and() Test 49.");
 		}
 		
-		testI.stacks[0].push("cow");
-		testI.stacks[0].push("42");
+		testI.stacks[0].push("false");
+		testI.stacks[0].push("456");
 		
-		testI.multiply();
+		testI.and();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter multiply() Test 24. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter and() Test 50. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 24.");
+			System.out.println("PASSED: Interpreter and() Test 50.");
 		}
 		
-		testI.stacks[0].push("6");
-		testI.stacks[0].push("4");
+		testI.stacks[0].push("false");
+		testI.stacks[0].push("false");
 		
-		testI.multiply();
+		testI.and();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter multiply() Test 25. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter and() Test 50. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 25.");
+			System.out.println("PASSED: Interpreter and() Test 50.");
 		}
 		
+		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("24")){
-			System.out.println("FAILED: Interpreter multiply() Test 26. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter and() Test 51. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 26.");
+			System.out.println("PASSED: Interpreter and() Test 51.");
 		}
 		
-		testI.stacks[0].push("1");
-		testI.stacks[0].push("2");
-		testI.stacks[0].push("3");
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("false");
 		
-		testI.multiply();
+		testI.and();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter multiply() Test 27. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter and() Test 52. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 27.");
+			System.out.println("PASSED: Interpreter and() Test 52.");
 		}
 		
+		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("6")){
-			System.out.println("FAILED: Interpreter multiply() Test 28. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter and() Test 53. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 28.");
+			System.out.println("PASSED: Interpreter and() Test 53.");
 		}
 		
-		testI.stacks[0].push("6");
-		testI.multiply();
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("true");
+		
+		testI.and();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter multiply() Test 29. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter and() Test 54. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 29.");
+			System.out.println("PASSED: Interpreter and() Test 54.");
 		}
 		
+		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("6")){
-			System.out.println("FAILED: Interpreter multiply() Test 30. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter and() Test 55. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter multiply() Test 30.");
+			System.out.println("PASSED: Interpreter and() Test 55.");
 		}
 		
-		/* divideRemain() :
+		/*
+		or() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values where one or both are not integers. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two integers on top that divide evenly. Expected result: The top of the stack contains the correct result of the division, and the second value from the top is 0.
-		o Test case: The stack contains two integers on top that do not divide evenly. Expected result: The top of the stack contains the correct result of the division, and the second value from the top is the remainder.
+		o Test case: The stack contains two values where one or both are not boolean values. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two boolean values on top. Expected result: The top of the stack contains the correct result of the or() operation as a boolean, true or false.
 		*/
 		
-		
-		testI.divideRemain();
+		testI.or();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter divideRemain() Test 31. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter or() Test 56. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 31.");
+			System.out.println("PASSED: Interpreter or() Test 56.");
 		}
 		
 		testI.stacks[0].push("cow");
 		
-		testI.divideRemain();
+		testI.or();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter divideRemain() Test 32. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter or() Test 57. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 32.");
+			System.out.println("PASSED: Interpreter or() Test 57.");
 		}
 		
-		testI.stacks[0].push("cow");
-		testI.stacks[0].push("chicken");
+		testI.stacks[0].push("123");
+		testI.stacks[0].push("456");
 		
-		testI.divideRemain();
+		testI.or();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter divideRemain() Test 33. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter or() Test 58. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 33.");
+			System.out.println("PASSED: Interpreter or() Test 58.");
 		}
 		
-		testI.stacks[0].push("cow");
-		testI.stacks[0].push("42");
+		testI.stacks[0].push("false");
+		testI.stacks[0].push("456");
 		
-		testI.divideRemain();
+		testI.or();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter divideRemain() Test 34. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter or() Test 59. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 34.");
+			System.out.println("PASSED: Interpreter or() Test 59.");
 		}
 		
-		testI.stacks[0].push("3");
-		testI.stacks[0].push("12");
+		testI.stacks[0].push("false");
+		testI.stacks[0].push("false");
 		
-		testI.divideRemain();
+		testI.or();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter divideRemain() Test 35. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter or() Test 60. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 35.");
+			System.out.println("PASSED: Interpreter or() Test 60.");
 		}
 		
+		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("4")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 36. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter or() Test 61. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter or() Test 61.");
+		}
+		
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("false");
+		
+		testI.or();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter or() Test 62. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter or() Test 62.");
+		}
+		
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter or() Test 63. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter or() Test 63.");
+		}
+		
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("true");
+		
+		testI.or();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter or() Test 64. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 36.");
+			System.out.println("PASSED: Interpreter or() Test 64.");
 		}
 		
+		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("0")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 37. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter or() Test 65. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 37.");
+			System.out.println("PASSED: Interpreter or() Test 65.");
 		}
 		
-		testI.stacks[0].push("5");
-		testI.stacks[0].push("12");
 		
-		testI.divideRemain();
+		/* invert() :
+		o Test case: The stack contains one non-boolean value on top.
+		Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains one boolean value on top. Expected result: The top of the stack contains the opposite boolean value.
+		*/
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter divideRemain() Test 38. Result: " + testI.stacks[0].size());
+		testI.invert();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter invert() Test 66. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 38.");
+			System.out.println("PASSED: Interpreter invert() Test 66.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("cow");
 		
-		if (!sResult.equals("2")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 39. Result: " + sResult);
+		testI.invert();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter invert() Test 67. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 39.");
+			System.out.println("PASSED: Interpreter invert() Test 67.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("123");
 		
-		if (!sResult.equals("2")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 40. Result: " + sResult);
+		testI.invert();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter invert() Test 68. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 40.");
+			System.out.println("PASSED: Interpreter invert() Test 68.");
 		}
 		
-		testI.stacks[0].push("7");
-		testI.stacks[0].push("58");
-		testI.stacks[0].push("100");
 		
-		testI.divideRemain();
+		testI.stacks[0].push("false");
 		
-		if (testI.stacks[0].size() != 3){
-			System.out.println("FAILED: Interpreter divideRemain() Test 41. Result: " + testI.stacks[0].size());
+		testI.invert();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter invert() Test 69. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 41.");
+			System.out.println("PASSED: Interpreter invert() Test 69.");
 		}
 		
+		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("1")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 42. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter invert() Test 70. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 42.");
+			System.out.println("PASSED: Interpreter invert() Test 70.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("true");
 		
-		if (!sResult.equals("42")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 43. Result: " + sResult);
+		testI.invert();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter invert() Test 71. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 43.");
+			System.out.println("PASSED: Interpreter invert() Test 71.");
 		}
 		
-		testI.stacks[0].push("42");
-		testI.divideRemain();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter divideRemain() Test 44. Result: " + testI.stacks[0].size());
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter invert() Test 72. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 44.");
+			System.out.println("PASSED: Interpreter invert() Test 72.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("6")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 45. Result: " + sResult);
+		
+		/*
+		 duplicate() :
+		o Test case: The stack contains one value of any type on top. Expected result: The top of the stack contains two of the original value.
+		*/
+	
+		testI.duplicate();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter duplicate() Test 73. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 45.");
+			System.out.println("PASSED: Interpreter duplicate() Test 73.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("hello");
 		
-		if (!sResult.equals("0")){
-			System.out.println("FAILED: Interpreter divideRemain() Test 46. Result: " + sResult);
+		testI.duplicate();
+		
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter duplicate() Test 74. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter divideRemain() Test 46.");
+			System.out.println("PASSED: Interpreter duplicate() Test 74.");
 		}
 		
 		
-		/*and() :
-		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values where one or both are not boolean values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two boolean values on top. Expected result: The top of the stack contains the correct result of the and() operation as a boolean, true or false.
-		*/
-		
-		testI.and();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter and() Test 47. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("hello")){
+			System.out.println("FAILED: Interpreter duplicate() Test 75. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 47.");
+			System.out.println("PASSED: Interpreter duplicate() Test 75.");
 		}
 		
-		testI.stacks[0].push("cow");
-		
-		testI.and();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter and() Test 48. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("hello")){
+			System.out.println("FAILED: Interpreter duplicate() Test 76. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 48.");
+			System.out.println("PASSED: Interpreter duplicate() Test 76.");
 		}
 		
-		testI.stacks[0].push("123");
-		testI.stacks[0].push("456");
+		testI.stacks[0].push("127");
 		
-		testI.and();
+		testI.duplicate();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter and() Test 49. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter duplicate() Test 77. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 49.");
+			System.out.println("PASSED: Interpreter duplicate() Test 77.");
 		}
 		
-		testI.stacks[0].push("false");
-		testI.stacks[0].push("456");
 		
-		testI.and();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter and() Test 50. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("127")){
+			System.out.println("FAILED: Interpreter duplicate() Test 78. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 50.");
+			System.out.println("PASSED: Interpreter duplicate() Test 78.");
 		}
 		
-		testI.stacks[0].push("false");
-		testI.stacks[0].push("false");
-		
-		testI.and();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter and() Test 50. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("127")){
+			System.out.println("FAILED: Interpreter duplicate() Test 79. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 50.");
+			System.out.println("PASSED: Interpreter duplicate() Test 79.");
 		}
 		
 		
-		sResult = testI.stacks[0].pop();
+		/* drop() :
+		o Test case: The stack contains one value of any type on top. Expected result: The value has been removed from the stack, and nothing has been pushed to the stack.
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter and() Test 51. Result: " + sResult);
+		 */
+		
+		
+		testI.drop();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter drop() Test 80. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 51.");
+			System.out.println("PASSED: Interpreter drop() Test 80.");
 		}
 		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("false");
+		testI.stacks[0].push("hello");
 		
-		testI.and();
+		testI.drop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter and() Test 52. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter drop() Test 81. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 52.");
+			System.out.println("PASSED: Interpreter drop() Test 81.");
 		}
 		
+		testI.stacks[0].push("red");
+		testI.stacks[0].push("blue");
+		testI.stacks[0].push("green");
 		
-		sResult = testI.stacks[0].pop();
+		testI.drop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter and() Test 53. Result: " + sResult);
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter drop() Test 82. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 53.");
+			System.out.println("PASSED: Interpreter drop() Test 82.");
 		}
 		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("true");
-		
-		testI.and();
+		testI.drop();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter and() Test 54. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter drop() Test 83. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 54.");
+			System.out.println("PASSED: Interpreter drop() Test 83.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter and() Test 55. Result: " + sResult);
+		if (!sResult.equals("red")){
+			System.out.println("FAILED: Interpreter drop() Test 84. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter and() Test 55.");
+			System.out.println("PASSED: Interpreter drop() Test 84.");
 		}
 		
-		/*
-		or() :
-		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values where one or both are not boolean values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two boolean values on top. Expected result: The top of the stack contains the correct result of the or() operation as a boolean, true or false.
+		
+		/* swap() :
+		o Test case: The stack contains one value of any type on top. Expected result: The value has been replaced at the top of the stack.
+		o Test case: The stack contains two values of any type on top. Expected result: The second value is on the top of the stack, and the first is just below it.
 		*/
 		
-		testI.or();
+		testI.swap();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter or() Test 56. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter swap() Test 85. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 56.");
+			System.out.println("PASSED: Interpreter swap() Test 85.");
 		}
 		
-		testI.stacks[0].push("cow");
+		testI.stacks[0].push("moo");
 		
-		testI.or();
+		testI.swap();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter or() Test 57. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter swap() Test 86. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 57.");
+			System.out.println("PASSED: Interpreter swap() Test 86.");
 		}
 		
-		testI.stacks[0].push("123");
-		testI.stacks[0].push("456");
-		
-		testI.or();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter or() Test 58. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("moo")){
+			System.out.println("FAILED: Interpreter swap() Test 87. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 58.");
+			System.out.println("PASSED: Interpreter swap() Test 87.");
 		}
 		
-		testI.stacks[0].push("false");
-		testI.stacks[0].push("456");
+		testI.stacks[0].push("black");
+		testI.stacks[0].push("jack");
 		
-		testI.or();
+		testI.swap();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter or() Test 59. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter swap() Test 88. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 59.");
+			System.out.println("PASSED: Interpreter swap() Test 88.");
 		}
 		
-		testI.stacks[0].push("false");
-		testI.stacks[0].push("false");
-		
-		testI.or();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter or() Test 60. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("black")){
+			System.out.println("FAILED: Interpreter swap() Test 89. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 60.");
+			System.out.println("PASSED: Interpreter swap() Test 89.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter or() Test 61. Result: " + sResult);
+		if (!sResult.equals("jack")){
+			System.out.println("FAILED: Interpreter swap() Test 90. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 61.");
+			System.out.println("PASSED: Interpreter swap() Test 90.");
 		}
 		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("false");
+		testI.stacks[0].push("black");
+		testI.stacks[0].push("jack");
+		testI.stacks[0].push("stack");
 		
-		testI.or();
+		testI.swap();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter or() Test 62. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 3){
+			System.out.println("FAILED: Interpreter swap() Test 91. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 62.");
+			System.out.println("PASSED: Interpreter swap() Test 92.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter or() Test 63. Result: " + sResult);
+		if (!sResult.equals("jack")){
+			System.out.println("FAILED: Interpreter swap() Test 93. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 63.");
+			System.out.println("PASSED: Interpreter swap() Test 93.");
 		}
 		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("true");
-		
-		testI.or();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter or() Test 64. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("stack")){
+			System.out.println("FAILED: Interpreter swap() Test 94. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 64.");
+			System.out.println("PASSED: Interpreter swap() Test 94.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter or() Test 65. Result: " + sResult);
+		if (sResult != "black"){
+			System.out.println("FAILED: Interpreter swap() Test 95. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter or() Test 65.");
+			System.out.println("PASSED: Interpreter swap() Test 95.");
 		}
 		
 		
-		/* invert() :
-		o Test case: The stack contains one non-boolean value on top.
-		Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains one boolean value on top. Expected result: The top of the stack contains the opposite boolean value.
+		
+		/*rotate() :
+		o Test case: The stack contains one value of any type on top. Expected result: the value has been replaced at the top of the stack
+		o Test case: The stack contains two values of any type on top. Expected result: The two values have been replaced at the top of the stack in their original order.
+		o Test case: The stack contains three values of any type on top. Expected result: The three values will be replaced on the stack, with the second at the bottom, the first in the middle, and the third at the top.
 		*/
 		
-		testI.invert();
+		testI.rotate();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter invert() Test 66. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter rotate() Test 96. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 66.");
+			System.out.println("PASSED: Interpreter rotate() Test 96.");
 		}
 		
-		testI.stacks[0].push("cow");
+		testI.stacks[0].push("moo");
 		
-		testI.invert();
+		testI.rotate();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter invert() Test 67. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter rotate() Test 97. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 67.");
+			System.out.println("PASSED: Interpreter rotate() Test 97.");
 		}
 		
-		testI.stacks[0].push("123");
-		
-		testI.invert();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter invert() Test 68. Result: " + testI.stacks[0].size());
+		if (sResult != "moo"){
+			System.out.println("FAILED: Interpreter rotate() Test 98. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 68.");
+			System.out.println("PASSED: Interpreter rotate() Test 98.");
 		}
 		
+		testI.stacks[0].push("black");
+		testI.stacks[0].push("jack");
 		
-		testI.stacks[0].push("false");
-		
-		testI.invert();
+		testI.rotate();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter invert() Test 69. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter rotate() Test 99. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 69.");
+			System.out.println("PASSED: Interpreter rotate() Test 99.");
 		}
 		
+		sResult = testI.stacks[0].pop();
+		
+		if (sResult != "jack"){
+			System.out.println("FAILED: Interpreter rotate() Test 100. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter rotate() Test 100.");
+		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter invert() Test 70. Result: " + sResult);
+		if (sResult != "black"){
+			System.out.println("FAILED: Interpreter rotate() Test 101. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 70.");
+			System.out.println("PASSED: Interpreter rotate() Test 101.");
 		}
 		
-		testI.stacks[0].push("true");
+		testI.stacks[0].push("black");
+		testI.stacks[0].push("jack");
+		testI.stacks[0].push("stack");
 		
-		testI.invert();
+		testI.rotate();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter invert() Test 71. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 3){
+			System.out.println("FAILED: Interpreter rotate() Test 102. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 71.");
+			System.out.println("PASSED: Interpreter rotate() Test 102.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter invert() Test 72. Result: " + sResult);
+		if (sResult != "black"){
+			System.out.println("FAILED: Interpreter rotate() Test 103. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter invert() Test 72.");
+			System.out.println("PASSED: Interpreter rotate() Test 103.");
 		}
 		
+		sResult = testI.stacks[0].pop();
 		
+		if (sResult != "stack"){
+			System.out.println("FAILED: Interpreter rotate() Test 104. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter rotate() Test 104.");
+		}
 		
-		/*
-		 duplicate() :
-		o Test case: The stack contains one value of any type on top. Expected result: The top of the stack contains two of the original value.
-		*/
-	
-		testI.duplicate();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter duplicate() Test 73. Result: " + testI.stacks[0].size());
+		if (sResult != "jack"){
+			System.out.println("FAILED: Interpreter rotate() Test 105. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 73.");
+			System.out.println("PASSED: Interpreter rotate() Test 105.");
 		}
 		
-		testI.stacks[0].push("hello");
+		testI.stacks[0].push("1");
+		testI.stacks[0].push("2");
+		testI.stacks[0].push("3");
+		testI.stacks[0].push("4");
 		
-		testI.duplicate();
+		testI.rotate();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter duplicate() Test 74. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 4){
+			System.out.println("FAILED: Interpreter rotate() Test 106. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 74.");
+			System.out.println("PASSED: Interpreter rotate() Test 106.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("hello")){
-			System.out.println("FAILED: Interpreter duplicate() Test 75. Result: " + sResult);
+		if (sResult != "2"){
+			System.out.println("FAILED: Interpreter rotate() Test 107. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 75.");
+			System.out.println("PASSED: Interpreter rotate() Test 107.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("hello")){
-			System.out.println("FAILED: Interpreter duplicate() Test 76. Result: " + sResult);
+		if (sResult != "4"){
+			System.out.println("FAILED: Interpreter rotate() Test 108. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 76.");
+			System.out.println("PASSED: Interpreter rotate() Test 108.");
 		}
 		
-		testI.stacks[0].push("127");
-		
-		testI.duplicate();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter duplicate() Test 77. Result: " + testI.stacks[0].size());
+		if (sResult != "3"){
+			System.out.println("FAILED: Interpreter rotate() Test 109. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 77.");
+			System.out.println("PASSED: Interpreter rotate() Test 109.");
 		}
 		
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("127")){
-			System.out.println("FAILED: Interpreter duplicate() Test 78. Result: " + sResult);
+		if (sResult != "1"){
+			System.out.println("FAILED: Interpreter rotate() Test 110. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 78.");
+			System.out.println("PASSED: Interpreter rotate() Test 110.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("127")){
-			System.out.println("FAILED: Interpreter duplicate() Test 79. Result: " + sResult);
+		/*greaterThan() :
+		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values on the stack of the same type and are comparable Expected result: The top of the stack contains the correct result of the greaterThan() operation as a boolean, true or false.
+		*/
+		
+		testI.greaterThan();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter greaterThan() Test 111. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter duplicate() Test 79.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 111.");
 		}
 		
+		testI.stacks[0].push("foo");
 		
-		/* drop() :
-		o Test case: The stack contains one value of any type on top. Expected result: The value has been removed from the stack, and nothing has been pushed to the stack.
+		testI.greaterThan();
 		
-		 */
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter greaterThan() Test 112. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter greaterThan() Test 112.");
+		}
 		
+		testI.stacks[0].push("foo");
+		testI.stacks[0].push("48");
 		
-		testI.drop();
+		testI.greaterThan();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter drop() Test 80. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter greaterThan() Test 113. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter drop() Test 80.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 113.");
 		}
 		
-		testI.stacks[0].push("hello");
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("true");
 		
-		testI.drop();
+		testI.greaterThan();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter drop() Test 81. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter greaterThan() Test 114. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter drop() Test 81.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 114.");
 		}
 		
-		testI.stacks[0].push("red");
-		testI.stacks[0].push("blue");
-		testI.stacks[0].push("green");
 		
-		testI.drop();
+		testI.stacks[0].push("18");
+		testI.stacks[0].push("15");
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter drop() Test 82. Result: " + testI.stacks[0].size());
+		testI.greaterThan();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThan() Test 115. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter drop() Test 82.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 115.");
 		}
 		
-		testI.drop();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter drop() Test 83. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter greaterThan() Test 116. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter drop() Test 83.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 116.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("18");
+		testI.stacks[0].push("18");
 		
-		if (!sResult.equals("red")){
-			System.out.println("FAILED: Interpreter drop() Test 84. Result: " + sResult);
+		testI.greaterThan();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThan() Test 117. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter drop() Test 84.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 117.");
 		}
 		
+		sResult = testI.stacks[0].pop();
 		
-		/* swap() :
-		o Test case: The stack contains one value of any type on top. Expected result: The value has been replaced at the top of the stack.
-		o Test case: The stack contains two values of any type on top. Expected result: The second value is on the top of the stack, and the first is just below it.
-		*/
-		
-		testI.swap();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter swap() Test 85. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter greaterThan() Test 118. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 85.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 118.");
 		}
 		
-		testI.stacks[0].push("moo");
 		
-		testI.swap();
+		testI.stacks[0].push("15");
+		testI.stacks[0].push("18");
+		
+		testI.greaterThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter swap() Test 86. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter greaterThan() Test 119. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 86.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 119.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("moo")){
-			System.out.println("FAILED: Interpreter swap() Test 87. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter greaterThan() Test 120. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 87.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 120.");
 		}
 		
-		testI.stacks[0].push("black");
-		testI.stacks[0].push("jack");
-		
-		testI.swap();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter swap() Test 88. Result: " + testI.stacks[0].size());
-			return;
-		}
-		else {
-			System.out.println("PASSED: Interpreter swap() Test 88.");
-		}
+		testI.stacks[0].push("abc");
+		testI.stacks[0].push("acb");
 		
-		sResult = testI.stacks[0].pop();
+		testI.greaterThan();
 		
-		if (!sResult.equals("black")){
-			System.out.println("FAILED: Interpreter swap() Test 89. Result: " + sResult);
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThan() Test 121. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 89.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 121.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("jack")){
-			System.out.println("FAILED: Interpreter swap() Test 90. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter greaterThan() Test 122. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 90.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 122.");
 		}
 		
-		testI.stacks[0].push("black");
-		testI.stacks[0].push("jack");
-		testI.stacks[0].push("stack");
+		testI.stacks[0].push("acb");
+		testI.stacks[0].push("acb");
 		
-		testI.swap();
+		testI.greaterThan();
 		
-		if (testI.stacks[0].size() != 3){
-			System.out.println("FAILED: Interpreter swap() Test 91. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThan() Test 123. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 92.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 123.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("jack")){
-			System.out.println("FAILED: Interpreter swap() Test 93. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter greaterThan() Test 124. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 93.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 124.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("stack")){
-			System.out.println("FAILED: Interpreter swap() Test 94. Result: " + sResult);
+		testI.stacks[0].push("acb");
+		testI.stacks[0].push("abc");
+		
+		testI.greaterThan();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThan() Test 125. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 94.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 125.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "black"){
-			System.out.println("FAILED: Interpreter swap() Test 95. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter greaterThan() Test 126. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter swap() Test 95.");
+			System.out.println("PASSED: Interpreter greaterThan() Test 126.");
 		}
 		
-		
-		
-		/*rotate() :
-		o Test case: The stack contains one value of any type on top. Expected result: the value has been replaced at the top of the stack
-		o Test case: The stack contains two values of any type on top. Expected result: The two values have been replaced at the top of the stack in their original order.
-		o Test case: The stack contains three values of any type on top. Expected result: The three values will be replaced on the stack, with the second at the bottom, the first in the middle, and the third at the top.
+		/*greaterThanEqual() :
+		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: The stack contains two values on the stack of the same type and are comparable Expected result: The top of the stack contains the correct result of the greaterThanEqual() operation as a boolean, true or false.
 		*/
 		
-		testI.rotate();
+		testI.greaterThanEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter rotate() Test 96. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 127. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 96.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 127.");
 		}
 		
-		testI.stacks[0].push("moo");
+		testI.stacks[0].push("foo");
 		
-		testI.rotate();
+		testI.greaterThanEqual();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter rotate() Test 97. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 128. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 97.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 128.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("foo");
+		testI.stacks[0].push("48");
 		
-		if (sResult != "moo"){
-			System.out.println("FAILED: Interpreter rotate() Test 98. Result: " + sResult);
+		testI.greaterThanEqual();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 129. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 98.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 129.");
 		}
 		
-		testI.stacks[0].push("black");
-		testI.stacks[0].push("jack");
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("true");
 		
-		testI.rotate();
+		testI.greaterThanEqual();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter rotate() Test 99. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 130. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 99.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 130.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "jack"){
-			System.out.println("FAILED: Interpreter rotate() Test 100. Result: " + sResult);
+		testI.stacks[0].push("18");
+		testI.stacks[0].push("15");
+		
+		testI.greaterThanEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 131. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 100.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 131.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "black"){
-			System.out.println("FAILED: Interpreter rotate() Test 101. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 132. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 101.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 132.");
 		}
 		
-		testI.stacks[0].push("black");
-		testI.stacks[0].push("jack");
-		testI.stacks[0].push("stack");
+		testI.stacks[0].push("18");
+		testI.stacks[0].push("18");
 		
-		testI.rotate();
+		testI.greaterThanEqual();
 		
-		if (testI.stacks[0].size() != 3){
-			System.out.println("FAILED: Interpreter rotate() Test 102. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 133. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 102.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 133.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "black"){
-			System.out.println("FAILED: Interpreter rotate() Test 103. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 134. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 103.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 134.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "stack"){
-			System.out.println("FAILED: Interpreter rotate() Test 104. Result: " + sResult);
+		testI.stacks[0].push("15");
+		testI.stacks[0].push("18");
+		
+		testI.greaterThanEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 135. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 104.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 135.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "jack"){
-			System.out.println("FAILED: Interpreter rotate() Test 105. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 136. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 105.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 136.");
 		}
 		
-		testI.stacks[0].push("1");
-		testI.stacks[0].push("2");
-		testI.stacks[0].push("3");
-		testI.stacks[0].push("4");
 		
-		testI.rotate();
+		testI.stacks[0].push("abc");
+		testI.stacks[0].push("acb");
 		
-		if (testI.stacks[0].size() != 4){
-			System.out.println("FAILED: Interpreter rotate() Test 106. Result: " + testI.stacks[0].size());
+		testI.greaterThanEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 137. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 137.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 138. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 106.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 138.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("acb");
+		testI.stacks[0].push("acb");
 		
-		if (sResult != "2"){
-			System.out.println("FAILED: Interpreter rotate() Test 107. Result: " + sResult);
+		testI.greaterThanEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 139. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 107.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 139.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "4"){
-			System.out.println("FAILED: Interpreter rotate() Test 108. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 140. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 108.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 140.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "3"){
-			System.out.println("FAILED: Interpreter rotate() Test 109. Result: " + sResult);
+		testI.stacks[0].push("acb");
+		testI.stacks[0].push("abc");
+		
+		testI.greaterThanEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 141. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 109.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 141.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "1"){
-			System.out.println("FAILED: Interpreter rotate() Test 110. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter greaterThanEqual() Test 142. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter rotate() Test 110.");
+			System.out.println("PASSED: Interpreter greaterThanEqual() Test 142.");
 		}
 		
 		
-		/*greaterThan() :
+		
+		/*
+		lessThan() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on the stack of the same type and are comparable Expected result: The top of the stack contains the correct result of the greaterThan() operation as a boolean, true or false.
+		o Test case: The stack contains two values on the stack of the same type and are comparable Expected result: The top of the stack contains the correct result of the lessThan() operation as a boolean, true or false.
 		*/
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThan() Test 111. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 143. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 111.");
+			System.out.println("PASSED: Interpreter lessThan() Test 143.");
 		}
 		
 		testI.stacks[0].push("foo");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThan() Test 112. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 144. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 112.");
+			System.out.println("PASSED: Interpreter lessThan() Test 144.");
 		}
 		
 		testI.stacks[0].push("foo");
 		testI.stacks[0].push("48");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThan() Test 113. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 145. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 113.");
+			System.out.println("PASSED: Interpreter lessThan() Test 145.");
 		}
 		
 		testI.stacks[0].push("true");
 		testI.stacks[0].push("true");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThan() Test 114. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 146. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 114.");
+			System.out.println("PASSED: Interpreter lessThan() Test 146.");
 		}
 		
 		
 		testI.stacks[0].push("18");
 		testI.stacks[0].push("15");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThan() Test 115. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 147. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 115.");
+			System.out.println("PASSED: Interpreter lessThan() Test 147.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter greaterThan() Test 116. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter lessThan() Test 148. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 116.");
+			System.out.println("PASSED: Interpreter lessThan() Test 148.");
 		}
 		
 		testI.stacks[0].push("18");
 		testI.stacks[0].push("18");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThan() Test 117. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 149. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 117.");
+			System.out.println("PASSED: Interpreter lessThan() Test 149.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter greaterThan() Test 118. Result: " + sResult);
+			System.out.println("FAILED: Interpreter lessThan() Test 150. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 118.");
+			System.out.println("PASSED: Interpreter lessThan() Test 150.");
 		}
 		
 		
 		testI.stacks[0].push("15");
 		testI.stacks[0].push("18");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThan() Test 119. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 151. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 119.");
+			System.out.println("PASSED: Interpreter lessThan() Test 151.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter greaterThan() Test 120. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter lessThan() Test 152. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 120.");
+			System.out.println("PASSED: Interpreter lessThan() Test 152.");
 		}
 		
 		
 		testI.stacks[0].push("abc");
 		testI.stacks[0].push("acb");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThan() Test 121. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 153. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 121.");
+			System.out.println("PASSED: Interpreter lessThan() Test 153.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter greaterThan() Test 122. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter lessThan() Test 154. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 122.");
+			System.out.println("PASSED: Interpreter lessThan() Test 154.");
 		}
 		
 		testI.stacks[0].push("acb");
 		testI.stacks[0].push("acb");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThan() Test 123. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 155. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 123.");
+			System.out.println("PASSED: Interpreter lessThan() Test 155.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter greaterThan() Test 124. Result: " + sResult);
+			System.out.println("FAILED: Interpreter lessThan() Test 156. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 124.");
+			System.out.println("PASSED: Interpreter lessThan() Test 156.");
 		}
 		
 		
 		testI.stacks[0].push("acb");
 		testI.stacks[0].push("abc");
 		
-		testI.greaterThan();
+		testI.lessThan();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThan() Test 125. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThan() Test 157. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 125.");
+			System.out.println("PASSED: Interpreter lessThan() Test 157.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter greaterThan() Test 126. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter lessThan() Test 158. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThan() Test 126.");
+			System.out.println("PASSED: Interpreter lessThan() Test 158.");
 		}
 		
-		/*greaterThanEqual() :
+		
+		/*lessThanEqual() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on the stack of the same type and are comparable Expected result: The top of the stack contains the correct result of the greaterThanEqual() operation as a boolean, true or false.
+		o Test case: The stack contains two values on the stack of the same type and are comparable.
+		Expected result: The top of the stack contains the correct result of the lessThanEqual() operation as a boolean, true or false.
 		*/
 		
-		testI.greaterThanEqual();
+		
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 127. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 159. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 127.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 159.");
 		}
 		
 		testI.stacks[0].push("foo");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 128. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 160. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 128.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 160.");
 		}
 		
 		testI.stacks[0].push("foo");
 		testI.stacks[0].push("48");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 129. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 161. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 129.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 161.");
 		}
 		
 		testI.stacks[0].push("true");
 		testI.stacks[0].push("true");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 130. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 162. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 130.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 162.");
 		}
 		
 		
-		testI.stacks[0].push("18");
 		testI.stacks[0].push("15");
+		testI.stacks[0].push("18");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 131. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 163. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 131.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 163.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 132. Result: " + sResult);
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 164. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 132.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 164.");
 		}
 		
 		testI.stacks[0].push("18");
 		testI.stacks[0].push("18");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 133. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 165. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 133.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 165.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 134. Result: " + sResult);
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 166. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 134.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 166.");
 		}
 		
 		
-		testI.stacks[0].push("15");
 		testI.stacks[0].push("18");
+		testI.stacks[0].push("15");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 135. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 167. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 135.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 167.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 136. Result: " + sResult);
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 168. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 136.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 168.");
 		}
 		
 		
 		testI.stacks[0].push("abc");
 		testI.stacks[0].push("acb");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 137. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 169. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 137.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 169.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 138. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 170. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 138.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 170.");
 		}
 		
 		testI.stacks[0].push("acb");
 		testI.stacks[0].push("acb");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 139. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 171. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 139.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 171.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 140. Result: " + sResult);
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 172. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 140.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 172.");
 		}
 		
 		
 		testI.stacks[0].push("acb");
 		testI.stacks[0].push("abc");
 		
-		testI.greaterThanEqual();
+		testI.lessThanEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 141. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 173. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 141.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 173.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter greaterThanEqual() Test 142. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter lessThanEqual() Test 174. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter greaterThanEqual() Test 142.");
+			System.out.println("PASSED: Interpreter lessThanEqual() Test 174.");
 		}
 		
 		
 		
 		/*
-		lessThan() :
+		equal() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on the stack of the same type and are comparable Expected result: The top of the stack contains the correct result of the lessThan() operation as a boolean, true or false.
+		o Test case: The stack contains two values on the stack of the same type and are comparable. Expected result: The top of the stack contains the correct result of the equal() operation as a boolean, true or false.
 		*/
 		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThan() Test 143. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 175. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 143.");
+			System.out.println("PASSED: Interpreter equal() Test 175.");
 		}
 		
 		testI.stacks[0].push("foo");
 		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThan() Test 144. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 176. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 144.");
+			System.out.println("PASSED: Interpreter equal() Test 176.");
 		}
 		
 		testI.stacks[0].push("foo");
 		testI.stacks[0].push("48");
 		
-		testI.lessThan();
+		testI.equal();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThan() Test 145. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter equal() Test 177. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 145.");
+			System.out.println("PASSED: Interpreter equal() Test 177.");
 		}
 		
+		testI.stacks[0].pop();
+		
 		testI.stacks[0].push("true");
 		testI.stacks[0].push("true");
 		
-		testI.lessThan();
+		testI.equal();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThan() Test 146. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter equal() Test 178. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 146.");
+			System.out.println("PASSED: Interpreter equal() Test 178.");
 		}
 		
+		sResult = testI.stacks[0].pop();
 		
-		testI.stacks[0].push("18");
-		testI.stacks[0].push("15");
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter equal() Test 179. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter equal() Test 179.");
+		}
 		
-		testI.lessThan();
+		testI.stacks[0].push("false");
+		testI.stacks[0].push("false");
+		
+		testI.equal();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThan() Test 147. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 180. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 147.");
+			System.out.println("PASSED: Interpreter equal() Test 180.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter lessThan() Test 148. Result: " + sResult);
+			System.out.println("FAILED: Interpreter equal() Test 181. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 148.");
+			System.out.println("PASSED: Interpreter equal() Test 181.");
 		}
 		
-		testI.stacks[0].push("18");
-		testI.stacks[0].push("18");
+		testI.stacks[0].push("false");
+		testI.stacks[0].push("true");
 		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThan() Test 149. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 182. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 149.");
+			System.out.println("PASSED: Interpreter equal() Test 182.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter lessThan() Test 150. Result: " + sResult);
+			System.out.println("FAILED: Interpreter equal() Test 183. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 150.");
+			System.out.println("PASSED: Interpreter equal() Test 183.");
 		}
 		
-		
 		testI.stacks[0].push("15");
 		testI.stacks[0].push("18");
 		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThan() Test 151. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 184. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 151.");
+			System.out.println("PASSED: Interpreter equal() Test 184.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter lessThan() Test 152. Result: " + sResult);
+			System.out.println("FAILED: Interpreter equal() Test 185. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 152.");
+			System.out.println("PASSED: Interpreter equal() Test 185.");
 		}
 		
+		testI.stacks[0].push("18");
+		testI.stacks[0].push("18");
 		
-		testI.stacks[0].push("abc");
-		testI.stacks[0].push("acb");
-		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThan() Test 153. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 186. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 153.");
+			System.out.println("PASSED: Interpreter equal() Test 186.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter lessThan() Test 154. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter equal() Test 187. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 154.");
+			System.out.println("PASSED: Interpreter equal() Test 187.");
 		}
 		
-		testI.stacks[0].push("acb");
+		testI.stacks[0].push("abc");
 		testI.stacks[0].push("acb");
 		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThan() Test 155. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 188. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 155.");
+			System.out.println("PASSED: Interpreter equal() Test 188.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter lessThan() Test 156. Result: " + sResult);
+			System.out.println("FAILED: Interpreter equal() Test 189. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 156.");
+			System.out.println("PASSED: Interpreter equal() Test 189.");
 		}
 		
-		
 		testI.stacks[0].push("acb");
-		testI.stacks[0].push("abc");
+		testI.stacks[0].push("acb");
 		
-		testI.lessThan();
+		testI.equal();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThan() Test 157. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter equal() Test 190. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 157.");
+			System.out.println("PASSED: Interpreter equal() Test 190.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
 		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter lessThan() Test 158. Result: " + sResult);
+			System.out.println("FAILED: Interpreter equal() Test 191. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThan() Test 158.");
+			System.out.println("PASSED: Interpreter equal() Test 191.");
 		}
 		
 		
-		/*lessThanEqual() :
+		
+		
+		
+		/*notEqual() :
 		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
 		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on the stack of the same type and are comparable.
-		Expected result: The top of the stack contains the correct result of the lessThanEqual() operation as a boolean, true or false.
+		o Test case: The stack contains two values on the stack of the same type and are comparable. Expected result: The top of the stack contains the correct result of the notEqual() operation as a boolean, true or false.
+		
 		*/
 		
 		
-		testI.lessThanEqual();
+		testI.notEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 159. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter notEqual() Test 192. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 159.");
+			System.out.println("PASSED: Interpreter notEqual() Test 192.");
 		}
 		
 		testI.stacks[0].push("foo");
 		
-		testI.lessThanEqual();
+		testI.notEqual();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 160. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter notEqual() Test 193. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 160.");
+			System.out.println("PASSED: Interpreter notEqual() Test 193.");
 		}
 		
 		testI.stacks[0].push("foo");
 		testI.stacks[0].push("48");
 		
-		testI.lessThanEqual();
+		testI.notEqual();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 161. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter notEqual() Test 194. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 161.");
+			System.out.println("PASSED: Interpreter notEqual() Test 194.");
 		}
 		
+		testI.stacks[0].pop();
+		
 		testI.stacks[0].push("true");
 		testI.stacks[0].push("true");
 		
-		testI.lessThanEqual();
+		testI.notEqual();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 162. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter notEqual() Test 195. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 162.");
+			System.out.println("PASSED: Interpreter notEqual() Test 195.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter notEqual() Test 196. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 196.");
+		}
+		
+		testI.stacks[0].push("true");
+		testI.stacks[0].push("false");
+		
+		testI.notEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter notEqual() Test 197. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 197.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter notEqual() Test 198. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 198.");
 		}
 		
 		
 		testI.stacks[0].push("15");
 		testI.stacks[0].push("18");
 		
-		testI.lessThanEqual();
+		testI.notEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 163. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter notEqual() Test 199. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 163.");
+			System.out.println("PASSED: Interpreter notEqual() Test 199.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 164. Result: " + sResult);
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter notEqual() Test 200. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 164.");
+			System.out.println("PASSED: Interpreter notEqual() Test 200.");
 		}
 		
 		testI.stacks[0].push("18");
 		testI.stacks[0].push("18");
 		
-		testI.lessThanEqual();
+		testI.notEqual();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 165. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter notEqual() Test 201. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 165.");
+			System.out.println("PASSED: Interpreter notEqual() Test 201.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter notEqual() Test 202. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 202.");
+		}
+		
+		testI.stacks[0].push("abc");
+		testI.stacks[0].push("acb");
+		
+		testI.notEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter notEqual() Test 203. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 203.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter notEqual() Test 204. Result: " + sResult);
+			return;
 		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 204.");
+		}
+		
+		testI.stacks[0].push("acb");
+		testI.stacks[0].push("acb");
+		
+		testI.notEqual();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter notEqual() Test 205. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 205.");
+		}
+		
+		sResult = testI.stacks[0].pop();
+		
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter notEqual() Test 206. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter notEqual() Test 206.");
+		}
+		
+		
+		/*ifBlock() :
+		o Test case: The test block in the program is empty. Expected result: The if and else blocks are ignored, and the then block is executed.
+		o Test case: The stack does not contain values to execute the test block properly. Expected result: The if and else blocks are ignored, and the then block is executed.
+		o Test case: The stack contains values to execute the test block properly, and the value returned is not a boolean. Expected result: The if and else blocks are ignored, and the then block is executed.
+		o Test case: The stack contains values to execute the test block properly, and the result returned is a true value boolean. Expected result: The code in the if block is executed, followed by the code in the then block.
+		o Test case: The stack contains values to execute the test block properly, and the result returned is a false value boolean. Expected result: The code in the else block is executed, followed by the code in the then block.
+		*/
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.add("");
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 166. Result: " + sResult);
+		testI.ifBlock();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter ifBlock() Test 207. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 166.");
+			System.out.println("PASSED: Interpreter ifBlock() Test 207.");
 		}
 		
+		testI.context.currentInstructions.clear();
 		
-		testI.stacks[0].push("18");
-		testI.stacks[0].push("15");
+		//testI.context.currentInstructions.add("if");
+		//  Assume an "if" was at the front.
+		testI.context.currentInstructions.add("1");
+		testI.context.currentInstructions.add("else");
+		testI.context.currentInstructions.add("2");
+		testI.context.currentInstructions.add("then");
 		
-		testI.lessThanEqual();
+		testI.ifBlock();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 167. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 0){
+			System.out.println("FAILED: Interpreter ifBlock() Test 208. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 167.");
-		}
+			System.out.println("PASSED: Interpreter ifBlock() Test 208.");
+		}		
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.clear();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 168. Result: " + sResult);
+		testI.stacks[0].push("10");
+		//testI.context.currentInstructions.add("if");
+		//Assume an "if" was at the front.
+		testI.context.currentInstructions.add("1");
+		testI.context.currentInstructions.add("else");
+		testI.context.currentInstructions.add("2");
+		testI.context.currentInstructions.add("then");
+		
+		testI.ifBlock();
+		
+		if (testI.stacks[0].size() != 0){
+			System.out.println("FAILED: Interpreter ifBlock() Test 210. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 168.");
-		}
+			System.out.println("PASSED: Interpreter ifBlock() Test 210.");
+		}		
 		
 		
-		testI.stacks[0].push("abc");
-		testI.stacks[0].push("acb");
+		testI.context.currentInstructions.clear();
 		
-		testI.lessThanEqual();
+		testI.stacks[0].push("true");
+		//  Assume an "if" was at the front.
+		testI.context.currentInstructions.add("1");
+		testI.context.currentInstructions.add("else");
+		testI.context.currentInstructions.add("2");
+		testI.context.currentInstructions.add("then");
+		
+		testI.ifBlock();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 169. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter ifBlock() Test 212. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 169.");
-		}
+			System.out.println("PASSED: Interpreter ifBlock() Test 212.");
+		}		
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 170. Result: " + sResult);
+		if (sResult != "1"){
+			System.out.println("FAILED: Interpreter ifBlock() Test 214. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 170.");
+			System.out.println("PASSED: Interpreter ifBlock() Test 214.");
 		}
+			
+		testI.context.currentInstructions.clear();
 		
-		testI.stacks[0].push("acb");
-		testI.stacks[0].push("acb");
+		testI.stacks[0].push("false");
+		//  Assum an "if" was at the front.
+		testI.context.currentInstructions.add("1");
+		testI.context.currentInstructions.add("else");
+		testI.context.currentInstructions.add("2");
+		testI.context.currentInstructions.add("then");
 		
-		testI.lessThanEqual();
+		testI.ifBlock();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 171. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter ifBlock() Test 215. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 171.");
-		}
+			System.out.println("PASSED: Interpreter ifBlock() Test 215.");
+		}		
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 172. Result: " + sResult);
+		if (sResult != "2"){
+			System.out.println("FAILED: Interpreter ifBlock() Test 217. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 172.");
+			System.out.println("PASSED: Interpreter ifBlock() Test 217.");
 		}
 		
+
 		
-		testI.stacks[0].push("acb");
-		testI.stacks[0].push("abc");
 		
-		testI.lessThanEqual();
+		/*whileBlock() :
+		o Test case: The finished block of the program is empty. Expected result: The body is ignored, and the until block is executed.
+		o Test case: The stack does not contain values to execute the finished block properly. Expected result: The body is ignored, and the until block is executed.
+		o Test case: The stack contains values to execute the finished block properly, and the value returned is not a boolean. Expected result: The body is ignored, and the until block is executed.
+		o Test case: The stack contains values to execute the finished block properly, and the value returned is a true value boolean. Expected result: The code in the body is ignored, and the until block is executed.
+		o Test case: The stack contains values to execute the finished block properly, and the value returned is a false value boolean, and the finished block will never return true. Expected result: The code in the body is executed repeatedly, until the Interpreter detects that the time limit has been exceeded, and then the Interpreter ends the piece’s turn.
+		o Test case: The stack contains values to execute the finished block properly, and the value returned is a false value boolean, and the finished block will eventually return true. Expected result: The code in the body is executed as many times as the finished block evaluates to false, and then the until block is executed.
+		*/
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("");
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 173. Result: " + testI.stacks[0].size());
+		testI.whileBlock();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter whileBlock() Test 218. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 173.");
+			System.out.println("PASSED: Interpreter whileBlock() Test 218.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.clear();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter lessThanEqual() Test 174. Result: " + sResult);
+		// Assume a "begin" was at the front
+		testI.context.currentInstructions.add("until");
+		
+		testI.whileBlock();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter whileBlock() Test 219. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter lessThanEqual() Test 174.");
-		}
+			System.out.println("PASSED: Interpreter whileBlock() Test 219.");
+		}		
 		
 		
+		testI.context.currentInstructions.clear();
 		
-		/*
-		equal() :
-		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on the stack of the same type and are comparable. Expected result: The top of the stack contains the correct result of the equal() operation as a boolean, true or false.
-		*/
+		// Assume a "begin" was at the front
+		testI.context.currentInstructions.add("5");
+		testI.context.currentInstructions.add(">");
+		testI.context.currentInstructions.add("until");
 		
-		testI.equal();
+		testI.whileBlock();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter equal() Test 175. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter whileBlock() Test 221. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 175.");
-		}
+			System.out.println("PASSED: Interpreter whileBlock() Test 221.");
+		}		
 		
-		testI.stacks[0].push("foo");
+		testI.context.currentInstructions.clear();
 		
-		testI.equal();
+		// Assume a "begin" was at the front
+		testI.context.currentInstructions.add("5");
+		testI.context.currentInstructions.add("5");
+		testI.context.currentInstructions.add("+");
+		testI.context.currentInstructions.add("until");
+		
+		testI.whileBlock();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter equal() Test 176. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter whileBlock() Test 223. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 176.");
-		}
+			System.out.println("PASSED: Interpreter whileBlock() Test 223.");
+		}		
 		
-		testI.stacks[0].push("foo");
-		testI.stacks[0].push("48");
 		
-		testI.equal();
+		testI.context.currentInstructions.clear();
+		
+		// Assume a "begin" was at the front
+		testI.context.currentInstructions.add("foo");
+		testI.context.currentInstructions.add("5");
+		testI.context.currentInstructions.add("5");
+		testI.context.currentInstructions.add("+");
+		testI.context.currentInstructions.add("10");
+		testI.context.currentInstructions.add("=");
+		testI.context.currentInstructions.add("until");
+		
+		testI.whileBlock();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 177. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter whileBlock() Test 225. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 177.");
-		}
-		
-		testI.stacks[0].pop();
-		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("true");
+			System.out.println("PASSED: Interpreter whileBlock() Test 225.");
+		}		
 		
-		testI.equal();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 178. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("foo")){
+			System.out.println("FAILED: Interpreter whileBlock() Test 227. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 178.");
+			System.out.println("PASSED: Interpreter whileBlock() Test 227.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.clear();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter equal() Test 179. Result: " + sResult);
+		testI.stacks[0].push("0");
+		// Assume a "begin" was at the front
+		testI.context.currentInstructions.add("foo");
+		testI.context.currentInstructions.add("swap");
+		testI.context.currentInstructions.add("1");
+		testI.context.currentInstructions.add("+");
+		testI.context.currentInstructions.add("dup");
+		testI.context.currentInstructions.add("3");
+		testI.context.currentInstructions.add("=");
+		testI.context.currentInstructions.add("until");
+		
+		testI.whileBlock();
+		
+		if (testI.stacks[0].size() != 4){
+			System.out.println("FAILED: Interpreter whileBlock() Test 228. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 179.");
-		}
-		
-		testI.stacks[0].push("false");
-		testI.stacks[0].push("false");
+			System.out.println("PASSED: Interpreter whileBlock() Test 228.");
+		}		
 		
-		testI.equal();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 180. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("3")){
+			System.out.println("FAILED: Interpreter whileBlock() Test 230. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 180.");
+			System.out.println("PASSED: Interpreter whileBlock() Test 230.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter equal() Test 181. Result: " + sResult);
+		if (!sResult.equals("foo")){
+			System.out.println("FAILED: Interpreter whileBlock() Test 230. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 181.");
+			System.out.println("PASSED: Interpreter whileBlock() Test 230.");
 		}
 		
-		testI.stacks[0].push("false");
-		testI.stacks[0].push("true");
 		
-		testI.equal();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 182. Result: " + testI.stacks[0].size());
+		if (!sResult.equals("foo")){
+			System.out.println("FAILED: Interpreter whileBlock() Test 231. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 182.");
+			System.out.println("PASSED: Interpreter whileBlock() Test 231.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter equal() Test 183. Result: " + sResult);
+		if (!sResult.equals("foo")){
+			System.out.println("FAILED: Interpreter whileBlock() Test 232. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 183.");
+			System.out.println("PASSED: Interpreter whileBlock() Test 232.");
 		}
 		
-		testI.stacks[0].push("15");
-		testI.stacks[0].push("18");
+		//  This test should time out.
 		
-		testI.equal();
+		testI.context.currentInstructions.clear();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 184. Result: " + testI.stacks[0].size());
+		testI.stacks[0].push("0");
+		// Assume a "begin" was at the front
+		testI.context.currentInstructions.add("foo");
+		testI.context.currentInstructions.add("swap");
+		testI.context.currentInstructions.add("1");
+		testI.context.currentInstructions.add("+");
+		testI.context.currentInstructions.add("dup");
+		testI.context.currentInstructions.add("0");
+		testI.context.currentInstructions.add("=");
+		testI.context.currentInstructions.add("until");
+		
+		try {
+			testI.whileBlock();
+			System.out.println("FAILED: Interpreter whileBlock() Test 233. Result should have timed out.");
 			return;
 		}
-		else {
-			System.out.println("PASSED: Interpreter equal() Test 184.");
+		catch (Exception e){
+			System.out.println("PASSED: Interpreter whileBlock() Test 233. Result timed out.");
+			
+		}
+		finally {
+			
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].clear();
+
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter equal() Test 185. Result: " + sResult);
+		
+		/*forBlock() :
+		o Test case: The end or start expressions of the program are missing. Expected result: The body will only be executed once.
+		o Test case: The value of the end expression is less than or equal to the start expression. Expected result: The body will only be executed once.
+		o Test case: the value of the start expression is less than or equal to the end expression Expected result: The body will be executed a number of times, incrementing the iterator, until the start expression is greater than the end expression, and the iterator will be destroyed.
+		o Test case: The value of the start expression is less than or equal to the end expression, and the body code of the program contains the leave statement.
+		Expected result: The body will be executed a number of times, incrementing the iterator, until the start expression is greater than the end expression or the leave statement in the body code is reached, and the iterator will be destroyed.
+		*/
+
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("");
+		
+		testI.forBlock();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter forBlock() Test 234. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 185.");
+			System.out.println("PASSED: Interpreter forBlock() Test 234.");
 		}
 		
-		testI.stacks[0].push("18");
-		testI.stacks[0].push("18");
+		testI.context.currentInstructions.clear();
 		
-		testI.equal();
+		// Assume a "do" was at the front.
+		testI.context.currentInstructions.add("hello");
+		testI.context.currentInstructions.add("loop");
+		
+		testI.forBlock();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 186. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter forBlock() Test 235. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 186.");
+			System.out.println("PASSED: Interpreter forBlock() Test 235.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter equal() Test 187. Result: " + sResult);
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 236. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 187.");
+			System.out.println("PASSED: Interpreter forBlock() Test 236.");
 		}
 		
-		testI.stacks[0].push("abc");
-		testI.stacks[0].push("acb");
+		testI.context.currentInstructions.clear();
 		
-		testI.equal();
+		testI.stacks[0].push("5");
+		// Assume a "do" was at the front.
+		testI.context.currentInstructions.add("hello");
+		testI.context.currentInstructions.add("loop");
+		
+		testI.forBlock();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 188. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter forBlock() Test 237. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 188.");
+			System.out.println("PASSED: Interpreter forBlock() Test 237.");
 		}
-		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter equal() Test 189. Result: " + sResult);
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 238. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 189.");
+			System.out.println("PASSED: Interpreter forBlock() Test 238.");
 		}
 		
-		testI.stacks[0].push("acb");
-		testI.stacks[0].push("acb");
+		testI.context.currentInstructions.clear();
 		
-		testI.equal();
+		testI.stacks[0].push("3");
+		testI.stacks[0].push("5");
+		// Assume a "do" was at the front.
+		testI.context.currentInstructions.add("hello");
+		testI.context.currentInstructions.add("loop");
+		
+		testI.forBlock();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter equal() Test 190. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter forBlock() Test 2xx. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 190.");
+			System.out.println("PASSED: Interpreter forBlock() Test 2xx.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter equal() Test 191. Result: " + sResult);
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 2yy. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter equal() Test 191.");
+			System.out.println("PASSED: Interpreter forBlock() Test 2yy.");
 		}
 		
+		testI.context.currentInstructions.clear();
 		
+		testI.stacks[0].push("5");
+		testI.stacks[0].push("4");
+		// Assume a "do" was at the front.
+		testI.context.currentInstructions.add("hello");
+		testI.context.currentInstructions.add("loop");
 		
+		testI.forBlock();
 		
-		
-		/*notEqual() :
-		o Test case: The stack contains fewer than two values. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on top where both are not the same type. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on top where both are the same type but not comparable. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: The stack contains two values on the stack of the same type and are comparable. Expected result: The top of the stack contains the correct result of the notEqual() operation as a boolean, true or false.
-		
-		*/
-		
-		
-		testI.notEqual();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter notEqual() Test 192. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter forBlock() Test 239. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 192.");
+			System.out.println("PASSED: Interpreter forBlock() Test 239.");
 		}
 		
-		testI.stacks[0].push("foo");
-		
-		testI.notEqual();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter notEqual() Test 193. Result: " + testI.stacks[0].size());
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 240. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 193.");
+			System.out.println("PASSED: Interpreter forBlock() Test 240.");
 		}
 		
-		testI.stacks[0].push("foo");
-		testI.stacks[0].push("48");
-		
-		testI.notEqual();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 194. Result: " + testI.stacks[0].size());
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 241. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 194.");
+			System.out.println("PASSED: Interpreter forBlock() Test 241.");
 		}
 		
-		testI.stacks[0].pop();
+		testI.context.currentInstructions.clear();
 		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("true");
+		testI.stacks[0].push("5");
+		testI.stacks[0].push("0");
+		// Assume a "do" was at the front.
+		testI.context.currentInstructions.add("I");
+		testI.context.currentInstructions.add("3");
+		testI.context.currentInstructions.add("=");
+		testI.context.currentInstructions.add("if");
+		testI.context.currentInstructions.add("leave");
+		testI.context.currentInstructions.add("else");
+		testI.context.currentInstructions.add("hello");
+		testI.context.currentInstructions.add("then");
+		testI.context.currentInstructions.add("loop");
 		
-		testI.notEqual();
+		testI.forBlock();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 195. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 3){
+			System.out.println(testI.stacks[0]);
+			System.out.println("FAILED: Interpreter forBlock() Test 242. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 195.");
+			System.out.println("PASSED: Interpreter forBlock() Test 242.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter notEqual() Test 196. Result: " + sResult);
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 243. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 196.");
+			System.out.println("PASSED: Interpreter forBlock() Test 243.");
 		}
 		
-		testI.stacks[0].push("true");
-		testI.stacks[0].push("false");
-		
-		testI.notEqual();
+		sResult = testI.stacks[0].pop();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 197. Result: " + testI.stacks[0].size());
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 244. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 197.");
+			System.out.println("PASSED: Interpreter forBlock() Test 244.");
 		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter notEqual() Test 198. Result: " + sResult);
+		if (sResult != "hello"){
+			System.out.println("FAILED: Interpreter forBlock() Test 245. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 198.");
+			System.out.println("PASSED: Interpreter forBlock() Test 245.");
 		}
 		
 		
-		testI.stacks[0].push("15");
-		testI.stacks[0].push("18");
+		/* declareVar() :
+		o Test case: declareVar() is passed the name of a variable that does not currently exist. Expected result: A new UserVariable has been created in the Interpreter with the given name.
+		o Test case: declareVar() is passed the name of a variable that currently exists. Expected result: No new UserVariables are added to the Interpreter.
+		*/
 		
-		testI.notEqual();
+		testI.userVars[0].clear();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 199. Result: " + testI.stacks[0].size());
-			return;
-		}
-		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 199.");
-		}
+		testI.context.currentInstructions.clear();
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.add("");
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter notEqual() Test 200. Result: " + sResult);
-			return;
-		}
-		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 200.");
-		}
+		testI.declareVar();
 		
-		testI.stacks[0].push("18");
-		testI.stacks[0].push("18");
 		
-		testI.notEqual();
+		testI.context.currentInstructions.clear();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 201. Result: " + testI.stacks[0].size());
+		if (testI.userVars[0].size() > 0){
+			System.out.println("FAILED: Interpreter declareVar() Test 247. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 201.");
+			System.out.println("PASSED: Interpreter declareVar() Test 247.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter notEqual() Test 202. Result: " + sResult);
+		testI.context.currentInstructions.add("foo");
+		
+		testI.declareVar();
+		
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter declareVar() Test 248. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 202.");
+			System.out.println("PASSED: Interpreter declareVar() Test 248.");
 		}
 		
-		testI.stacks[0].push("abc");
-		testI.stacks[0].push("acb");
-		
-		testI.notEqual();
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 203. Result: " + testI.stacks[0].size());
+		if (testI.userVars[0].get(0).getName() != "foo"){
+			System.out.println("FAILED: Interpreter declareVar() Test 249. Result: " + testI.userVars[0].get(0).getName());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 203.");
+			System.out.println("PASSED: Interpreter declareVar() Test 249.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("foo");
 		
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter notEqual() Test 204. Result: " + sResult);
+		testI.declareVar();
+		
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter declareVar() Test 250. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 204.");
+			System.out.println("PASSED: Interpreter declareVar() Test 250.");
 		}
 		
-		testI.stacks[0].push("acb");
-		testI.stacks[0].push("acb");
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("bar");
 		
-		testI.notEqual();
+		testI.declareVar();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter notEqual() Test 205. Result: " + testI.stacks[0].size());
+		if (testI.userVars[0].size() != 2){
+			System.out.println("FAILED: Interpreter declareVar() Test 251. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 205.");
+			System.out.println("PASSED: Interpreter declareVar() Test 251.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter notEqual() Test 206. Result: " + sResult);
+		if (testI.userVars[0].get(0).getName() != "foo"){
+			System.out.println("FAILED: Interpreter declareVar() Test 252. Result: " + testI.userVars[0].get(0).getName());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter notEqual() Test 206.");
+			System.out.println("PASSED: Interpreter declareVar() Test 252.");
 		}
 		
-		
-		/*ifBlock() :
-		o Test case: The test block in the program is empty. Expected result: The if and else blocks are ignored, and the then block is executed.
-		o Test case: The stack does not contain values to execute the test block properly. Expected result: The if and else blocks are ignored, and the then block is executed.
-		o Test case: The stack contains values to execute the test block properly, and the value returned is not a boolean. Expected result: The if and else blocks are ignored, and the then block is executed.
-		o Test case: The stack contains values to execute the test block properly, and the result returned is a true value boolean. Expected result: The code in the if block is executed, followed by the code in the then block.
-		o Test case: The stack contains values to execute the test block properly, and the result returned is a false value boolean. Expected result: The code in the else block is executed, followed by the code in the then block.
-		*/
-		
-		testI.currentInstructions.add("");
-		
-		testI.ifBlock();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter ifBlock() Test 207. Result: " + testI.stacks[0].size());
+		if (testI.userVars[0].get(1).getName() != "bar"){
+			System.out.println("FAILED: Interpreter declareVar() Test 253. Result: " + testI.userVars[0].get(1).getName());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 207.");
+			System.out.println("PASSED: Interpreter declareVar() Test 253.");
 		}
 		
-		testI.currentInstructions.clear();
-		
-		//testI.currentInstructions.add("if");
-		//  Assume an "if" was at the front.
-		testI.currentInstructions.add("1");
-		testI.currentInstructions.add("else");
-		testI.currentInstructions.add("2");
-		testI.currentInstructions.add("then");
-		
-		testI.ifBlock();
+		/*declareWord() :
+		o Test case: declareWord() is passed the name of a word that does not currently exist. Expected result: A new UserWord has been created in the Interpreter with the given name and replacement values (even if the replacement values are empty).
+		o Test case: declareWord() is passed the name of a word that currently exists. Expected result: The existing UserWord is updated to use the given replacement values (even if the replacement values are empty).
+		*/
 		
-		if (testI.stacks[0].size() != 0){
-			System.out.println("FAILED: Interpreter ifBlock() Test 208. Result: " + testI.stacks[0].size());
-			return;
-		}
-		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 208.");
-		}		
+		testI.userWords[0].clear();
+		testI.stacks[0].clear();
+		testI.context.currentInstructions.clear();
 		
-		testI.currentInstructions.clear();
 		
-		testI.stacks[0].push("10");
-		//testI.currentInstructions.add("if");
-		//Assume an "if" was at the front.
-		testI.currentInstructions.add("1");
-		testI.currentInstructions.add("else");
-		testI.currentInstructions.add("2");
-		testI.currentInstructions.add("then");
+		testI.context.currentInstructions.add("");
 		
-		testI.ifBlock();
+		testI.declareWord();
 		
-		if (testI.stacks[0].size() != 0){
-			System.out.println("FAILED: Interpreter ifBlock() Test 210. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter declareWord() Test 255. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 210.");
-		}		
-		
+			System.out.println("PASSED: Interpreter declareWord() Test 255.");
+		}
 		
-		testI.currentInstructions.clear();
 		
-		testI.stacks[0].push("true");
-		//  Assume an "if" was at the front.
-		testI.currentInstructions.add("1");
-		testI.currentInstructions.add("else");
-		testI.currentInstructions.add("2");
-		testI.currentInstructions.add("then");
+		testI.context.currentInstructions.add("foo");
 		
-		testI.ifBlock();
+		testI.declareWord();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter ifBlock() Test 212. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() != 1){
+			System.out.println("FAILED: Interpreter declareWord() Test 256. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 212.");
-		}		
-		
-		sResult = testI.stacks[0].pop();
+			System.out.println("PASSED: Interpreter declareWord() Test 256.");
+		}
 		
-		if (sResult != "1"){
-			System.out.println("FAILED: Interpreter ifBlock() Test 214. Result: " + sResult);
+		if (testI.userWords[0].get(0).getName() != "foo"){
+			System.out.println("FAILED: Interpreter declareWord() Test 257. Result: " + testI.userWords[0].get(0).getName());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 214.");
+			System.out.println("PASSED: Interpreter declareWord() Test 257.");
 		}
-			
-		testI.currentInstructions.clear();
 		
-		testI.stacks[0].push("false");
-		//  Assum an "if" was at the front.
-		testI.currentInstructions.add("1");
-		testI.currentInstructions.add("else");
-		testI.currentInstructions.add("2");
-		testI.currentInstructions.add("then");
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("foo");
 		
-		testI.ifBlock();
+		testI.declareWord();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter ifBlock() Test 215. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() != 1){
+			System.out.println("FAILED: Interpreter declareWord() Test 258. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 215.");
-		}		
+			System.out.println("PASSED: Interpreter declareWord() Test 258.");
+		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("bar");
+		testI.context.currentInstructions.add("+");
+		testI.context.currentInstructions.add(";");
 		
-		if (sResult != "2"){
-			System.out.println("FAILED: Interpreter ifBlock() Test 217. Result: " + sResult);
+		testI.declareWord();
+		
+		if (testI.userWords[0].size() != 2){
+			System.out.println("FAILED: Interpreter declareWord() Test 259. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter ifBlock() Test 217.");
+			System.out.println("PASSED: Interpreter declareWord() Test 259.");
 		}
 		
-
-		
-		
-		/*whileBlock() :
-		o Test case: The finished block of the program is empty. Expected result: The body is ignored, and the until block is executed.
-		o Test case: The stack does not contain values to execute the finished block properly. Expected result: The body is ignored, and the until block is executed.
-		o Test case: The stack contains values to execute the finished block properly, and the value returned is not a boolean. Expected result: The body is ignored, and the until block is executed.
-		o Test case: The stack contains values to execute the finished block properly, and the value returned is a true value boolean. Expected result: The code in the body is ignored, and the until block is executed.
-		o Test case: The stack contains values to execute the finished block properly, and the value returned is a false value boolean, and the finished block will never return true. Expected result: The code in the body is executed repeatedly, until the Interpreter detects that the time limit has been exceeded, and then the Interpreter ends the piece’s turn.
-		o Test case: The stack contains values to execute the finished block properly, and the value returned is a false value boolean, and the finished block will eventually return true. Expected result: The code in the body is executed as many times as the finished block evaluates to false, and then the until block is executed.
-		*/
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("");
-		
-		testI.whileBlock();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter whileBlock() Test 218. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].get(0).getName() != "foo"){
+			System.out.println("FAILED: Interpreter declareWord() Test 260. Result: " + testI.userWords[0].get(0).getName());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 218.");
+			System.out.println("PASSED: Interpreter declareWord() Test 260.");
 		}
 		
-		testI.currentInstructions.clear();
-		
-		// Assume a "begin" was at the front
-		testI.currentInstructions.add("until");
+		if (testI.userWords[0].get(1).getName() != "bar"){
+			System.out.println("FAILED: Interpreter declareWord() Test 261. Result: " + testI.userWords[0].get(1).getName());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter declareWord() Test 261.");
+		}
 		
-		testI.whileBlock();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter whileBlock() Test 219. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].get(1).getReplaceValues().size() != 1 || !testI.userWords[0].get(1).getReplaceValues().get(0).equals("+")){
+			System.out.println("FAILED: Interpreter declareWord() Test 262a. Result: " + testI.userWords[0].get(1).getReplaceValues());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 219.");
-		}		
-		
+			System.out.println("PASSED: Interpreter declareWord() Test 262a.");
+		}
 		
-		testI.currentInstructions.clear();
 		
-		// Assume a "begin" was at the front
-		testI.currentInstructions.add("5");
-		testI.currentInstructions.add(">");
-		testI.currentInstructions.add("until");
+		/*random() :
+		o Test case: There is one value on the stack which is not an integer. Expected result: The stack will be cleared, and an error will be logged.
+		o Test case: There is one value on the stack which is an integer. Expected result: A random integer between 0 and the popped value (exclusive) has been pushed to the stack.
+		*/
 		
-		testI.whileBlock();
+		testI.context.currentInstructions.clear();
+		testI.stacks[0].clear();
+		testI.random();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter whileBlock() Test 221. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter random() Test 262. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 221.");
-		}		
-		
-		testI.currentInstructions.clear();
+			System.out.println("PASSED: Interpreter random() Test 262.");
+		}
 		
-		// Assume a "begin" was at the front
-		testI.currentInstructions.add("5");
-		testI.currentInstructions.add("5");
-		testI.currentInstructions.add("+");
-		testI.currentInstructions.add("until");
+		testI.stacks[0].push("foo");
 		
-		testI.whileBlock();
+		testI.random();
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter whileBlock() Test 223. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter random() Test 263. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 223.");
-		}		
-		
-		
-		testI.currentInstructions.clear();
+			System.out.println("PASSED: Interpreter random() Test 263.");
+		}
 		
-		// Assume a "begin" was at the front
-		testI.currentInstructions.add("foo");
-		testI.currentInstructions.add("5");
-		testI.currentInstructions.add("5");
-		testI.currentInstructions.add("+");
-		testI.currentInstructions.add("10");
-		testI.currentInstructions.add("=");
-		testI.currentInstructions.add("until");
+		testI.stacks[0].push("10");
 		
-		testI.whileBlock();
+		testI.random();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter whileBlock() Test 225. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter random() Test 264. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 225.");
-		}		
+			System.out.println("PASSED: Interpreter random() Test 264.");
+		}
 		
 		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("foo")){
-			System.out.println("FAILED: Interpreter whileBlock() Test 227. Result: " + sResult);
+		int iResult = -1;
+		
+		try {
+			iResult = Integer.parseInt(sResult);
+			System.out.println("PASSED: Interpreter random() Test 265.");
+		}
+		catch (Exception e){
+			System.out.println("FAILED: Interpreter random() Test 265. Exception on converting return value from random to integer.");
+			return;		
+		}
+		finally {
+			
+		}
+		
+		if (iResult < 0 || iResult > 10){
+			System.out.println("FAILED: Interpreter random() Test 266. Result: " + iResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 227.");
+			System.out.println("PASSED: Interpreter random() Test 266.");
 		}
 		
-		testI.currentInstructions.clear();
+
 		
-		testI.stacks[0].push("0");
-		// Assume a "begin" was at the front
-		testI.currentInstructions.add("foo");
-		testI.currentInstructions.add("swap");
-		testI.currentInstructions.add("1");
-		testI.currentInstructions.add("+");
-		testI.currentInstructions.add("dup");
-		testI.currentInstructions.add("3");
-		testI.currentInstructions.add("=");
-		testI.currentInstructions.add("until");
 		
-		testI.whileBlock();
+		/*dotPrint() :
+		o Test case: There is one value on the stack. Expected result: A string representation of the value has been printed to the console.
+				 
+		 */
 		
-		if (testI.stacks[0].size() != 4){
-			System.out.println("FAILED: Interpreter whileBlock() Test 228. Result: " + testI.stacks[0].size());
+		testI.dotPrint();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter dotPrint() Test 267. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 228.");
-		}		
+			System.out.println("PASSED: Interpreter dotPrint() Test 267.");
+		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("thingToPrint");
 		
-		if (!sResult.equals("3")){
-			System.out.println("FAILED: Interpreter whileBlock() Test 230. Result: " + sResult);
+		testI.dotPrint();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter dotPrint() Test 268. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 230.");
+			System.out.println("PASSED: Interpreter dotPrint() Test 268.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("thingToNotPrint");
+		testI.stacks[0].push("thingToPrint");
 		
-		if (!sResult.equals("foo")){
-			System.out.println("FAILED: Interpreter whileBlock() Test 230. Result: " + sResult);
+		testI.dotPrint();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter dotPrint() Test 269. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 230.");
+			System.out.println("PASSED: Interpreter dotPrint() Test 269.");
 		}
 		
 		
 		sResult = testI.stacks[0].pop();
-		
-		if (!sResult.equals("foo")){
-			System.out.println("FAILED: Interpreter whileBlock() Test 231. Result: " + sResult);
+		if (sResult != "thingToNotPrint"){
+			System.out.println("FAILED: Interpreter dotPrint() Test 270. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 231.");
+			System.out.println("PASSED: Interpreter dotPrint() Test 270.");
 		}
 		
-		sResult = testI.stacks[0].pop();
 		
-		if (!sResult.equals("foo")){
-			System.out.println("FAILED: Interpreter whileBlock() Test 232. Result: " + sResult);
+		/*  sendMessage()
+		   (s v -- b)
+		   o Test case: There are fewer than two values on the stack. Expected result: The stack will be cleared and the error will be logged.
+		   o Test case: There are two values on the stack, and the second is not a string. Expected result: The stack will be cleared and the error will be logged.
+		   o Test case: There are two correct values on the stack, and the given mailbox is not full. Expected result: The boolean value true will be pushed to the stack.
+		   o Test case: There are two correct values on the stack, and the given mailbox is full. Expected result: The boolean value false will be pushed to the stack.
+		*/
+		
+		//  EXTENSION - If the way of identifying pieces by name changes (eg. SNIPER2 instead of piece3), these message-passing tests will need to be re-written.
+		testI.sendMessage();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter sendMessage() Test 271. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter whileBlock() Test 232.");
+			System.out.println("PASSED: Interpreter sendMessage() Test 271.");
 		}
 		
-		//  This test should time out.
+		testI.stacks[0].clear();
 		
-		testI.currentInstructions.clear();
 		
-		testI.stacks[0].push("0");
-		// Assume a "begin" was at the front
-		testI.currentInstructions.add("foo");
-		testI.currentInstructions.add("swap");
-		testI.currentInstructions.add("1");
-		testI.currentInstructions.add("+");
-		testI.currentInstructions.add("dup");
-		testI.currentInstructions.add("0");
-		testI.currentInstructions.add("=");
-		testI.currentInstructions.add("until");
+		testI.stacks[0].push("hello");
+		testI.stacks[0].push("false");
+		testI.sendMessage();
 		
-		try {
-			testI.whileBlock();
-			System.out.println("FAILED: Interpreter whileBlock() Test 233. Result should have timed out.");
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter sendMessage() Test 272. Result: " + testI.stacks[0].size());
 			return;
 		}
-		catch (Exception e){
-			System.out.println("PASSED: Interpreter whileBlock() Test 233. Result timed out.");
-			
-		}
-		finally {
-			
+		else {
+			System.out.println("PASSED: Interpreter sendMessage() Test 272.");
 		}
 		
-		testI.stacks[0].clear();
-
-		
 		
-		/*forBlock() :
-		o Test case: The end or start expressions of the program are missing. Expected result: The body will only be executed once.
-		o Test case: The value of the end expression is less than or equal to the start expression. Expected result: The body will only be executed once.
-		o Test case: the value of the start expression is less than or equal to the end expression Expected result: The body will be executed a number of times, incrementing the iterator, until the start expression is greater than the end expression, and the iterator will be destroyed.
-		o Test case: The value of the start expression is less than or equal to the end expression, and the body code of the program contains the leave statement.
-		Expected result: The body will be executed a number of times, incrementing the iterator, until the start expression is greater than the end expression or the leave statement in the body code is reached, and the iterator will be destroyed.
-		*/
-
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("");
+		testI.stacks[0].push("hello");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
 		
-		testI.forBlock();
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter sendMessage() Test 273. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter sendMessage() Test 273.");
+		}
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter forBlock() Test 234. Result: " + testI.stacks[0].size());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter sendMessage() Test 274. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 234.");
+			System.out.println("PASSED: Interpreter sendMessage() Test 274.");
+		}
+		
+		for (int i = 1; i < DEFAULT_MAILBOX_CAPACITY; i++){
+			
+			testI.stacks[0].push("hello");
+			testI.stacks[0].push("piece0");
+			testI.sendMessage();
+			sResult = testI.stacks[0].pop();
 		}
 		
-		testI.currentInstructions.clear();
-		
-		// Assume a "do" was at the front.
-		testI.currentInstructions.add("hello");
-		testI.currentInstructions.add("loop");
 		
-		testI.forBlock();
+		testI.stacks[0].push("hello");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter forBlock() Test 235. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter sendMessage() Test 275. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 235.");
+			System.out.println("PASSED: Interpreter sendMessage() Test 275.");
 		}
 		
 		sResult = testI.stacks[0].pop();
-		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 236. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter sendMessage() Test 276. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 236.");
+			System.out.println("PASSED: Interpreter sendMessage() Test 276.");
 		}
 		
-		testI.currentInstructions.clear();
-		
-		testI.stacks[0].push("5");
-		// Assume a "do" was at the front.
-		testI.currentInstructions.add("hello");
-		testI.currentInstructions.add("loop");
-		
-		testI.forBlock();
+		/*  checkMessage()
+		    (s -- b)
+		    o Test case: There are no values on the stack. Expected result: The stack will be cleared and the error will be logged.
+		    o Test case: There is one non-string value on the stack. Expected result: The stack will be cleared and the error will be logged.
+		    o Test case: There is one string value on the stack, and the given mailbox is empty. Expected result: The boolean value false will be pushed to the stack.
+		    o Test case: There is one string value on the stack, and the given mailbox has no messages from the matching piece. Expected result: The boolean value false will be pushed to the stack.
+		    o Test case: There is one string value on the stack, and the given mailbox has at least one message from the matching piece. Expected result: The boolean value false will be pushed to the stack.
+		*/
+		testI.mailboxes[0].clear();
+		testI.checkMessages();
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter forBlock() Test 237. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter checkMessages() Test 277. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 237.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 277.");
 		}
-		sResult = testI.stacks[0].pop();
 		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 238. Result: " + sResult);
+		testI.stacks[0].push("365");
+		testI.checkMessages();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter checkMessages() Test 278. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 238.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 278.");
 		}
 		
-		testI.currentInstructions.clear();
-		
-		testI.stacks[0].push("3");
-		testI.stacks[0].push("5");
-		// Assume a "do" was at the front.
-		testI.currentInstructions.add("hello");
-		testI.currentInstructions.add("loop");
-		
-		testI.forBlock();
+		testI.stacks[0].push("piece0");
+		testI.checkMessages();
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter forBlock() Test 2xx. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter checkMessages() Test 279. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 2xx.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 279.");
 		}
 		
 		sResult = testI.stacks[0].pop();
-		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 2yy. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter checkMessages() Test 280. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 2yy.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 280.");
 		}
 		
-		testI.currentInstructions.clear();
 		
-		testI.stacks[0].push("5");
-		testI.stacks[0].push("4");
-		// Assume a "do" was at the front.
-		testI.currentInstructions.add("hello");
-		testI.currentInstructions.add("loop");
+		testI.stacks[0].push("hi");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
 		
-		testI.forBlock();
+		testI.stacks[0].clear();
 		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter forBlock() Test 239. Result: " + testI.stacks[0].size());
+		testI.stacks[0].push("piece2");
+		testI.checkMessages();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter checkMessages() Test 281. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 239.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 281.");
 		}
 		
 		sResult = testI.stacks[0].pop();
-		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 240. Result: " + sResult);
+		if (!sResult.equals("false")){
+			System.out.println("FAILED: Interpreter checkMessages() Test 282. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 240.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 282.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("piece0");
+		testI.checkMessages();
 		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 241. Result: " + sResult);
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter checkMessages() Test 283. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 241.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 283.");
 		}
 		
-		testI.currentInstructions.clear();
-		
-		testI.stacks[0].push("5");
-		testI.stacks[0].push("0");
-		// Assume a "do" was at the front.
-		testI.currentInstructions.add("I");
-		testI.currentInstructions.add("3");
-		testI.currentInstructions.add("=");
-		testI.currentInstructions.add("if");
-		testI.currentInstructions.add("leave");
-		testI.currentInstructions.add("else");
-		testI.currentInstructions.add("hello");
-		testI.currentInstructions.add("then");
-		testI.currentInstructions.add("loop");
-		
-		testI.forBlock();
-		
-		if (testI.stacks[0].size() != 3){
-			System.out.println(testI.stacks[0]);
-			System.out.println("FAILED: Interpreter forBlock() Test 242. Result: " + testI.stacks[0].size());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter checkMessages() Test 284. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 242.");
+			System.out.println("PASSED: Interpreter checkMessages() Test 284.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		/*  receiveMessage()
+		    (s -- v)
+		    o Test case: There are no values on the stack. Expected result: The stack will be cleared and the error will be logged.
+		    o Test case: There is one non-string value on the stack. Expected result: The stack will be cleared and the error will be logged.
+		    o Test case: There is one string value on the stack, and the given mailbox is empty. Expected result: No value is pushed to the stack.
+		    o Test case: There is one string value on the stack, and the given mailbox has no messages from the matching piece. Expected result: No value is pushed to the stack.
+		    o Test case: There is one string value on the stack, and the given mailbox has one message from the matching piece. Expected result: The value from the message will be pushed to the stack.
+			o Test case: There is one string value on the stack, and the given mailbox has more than one message from the matching piece. Expected result: The value from the earliest message will be pushed to the stack.
+		*/
 		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 243. Result: " + sResult);
+		testI.mailboxes[0].clear();
+		testI.receiveMessage();
+		
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 285. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 243.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 285.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("365");
+		testI.receiveMessage();
 		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 244. Result: " + sResult);
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 286. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 244.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 286.");
 		}
 		
-		sResult = testI.stacks[0].pop();
+		testI.stacks[0].push("piece0");
+		testI.receiveMessage();
 		
-		if (sResult != "hello"){
-			System.out.println("FAILED: Interpreter forBlock() Test 245. Result: " + sResult);
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 287. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter forBlock() Test 245.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 287.");
 		}
 		
 		
-		/* declareVar() :
-		o Test case: declareVar() is passed the name of a variable that does not currently exist. Expected result: A new UserVariable has been created in the Interpreter with the given name.
-		o Test case: declareVar() is passed the name of a variable that currently exists. Expected result: No new UserVariables are added to the Interpreter.
-		*/
-		
-		testI.userVars[0].clear();
-		
-		testI.currentInstructions.clear();
-		
-		testI.currentInstructions.add("");
+		testI.stacks[0].push("hi");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
 		
-		testI.declareVar();
+		testI.stacks[0].clear();
 		
+		testI.stacks[0].push("piece2");
+		testI.receiveMessage();
 		
-		testI.currentInstructions.clear();
+		System.out.println(testI.stacks[0]);
 		
-		if (testI.userVars[0].size() > 0){
-			System.out.println("FAILED: Interpreter declareVar() Test 247. Result: " + testI.userVars[0].size());
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 288. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 247.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 288.");
 		}
 		
 		
-		testI.currentInstructions.add("foo");
-		
-		testI.declareVar();
+		testI.stacks[0].push("piece0");
+		testI.receiveMessage();
 		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter declareVar() Test 248. Result: " + testI.userVars[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 289. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 248.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 289.");
 		}
 		
-		if (testI.userVars[0].get(0).getName() != "foo"){
-			System.out.println("FAILED: Interpreter declareVar() Test 249. Result: " + testI.userVars[0].get(0).getName());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("hi")){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 290. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 249.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 290.");
 		}
 		
-		testI.currentInstructions.clear();
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("foo");
+		testI.stacks[0].push("first");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
+		testI.stacks[0].pop();
 		
-		testI.declareVar();
+		testI.stacks[0].push("second");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
+		testI.stacks[0].pop();
 		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter declareVar() Test 250. Result: " + testI.userVars[0].size());
+		testI.stacks[0].push("third");
+		testI.stacks[0].push("piece0");
+		testI.sendMessage();
+		testI.stacks[0].pop();
+		
+		testI.stacks[0].push("piece0");
+		testI.receiveMessage();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 291. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 250.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 291.");
 		}
 		
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("bar");
-		
-		testI.declareVar();
-		
-		if (testI.userVars[0].size() != 2){
-			System.out.println("FAILED: Interpreter declareVar() Test 251. Result: " + testI.userVars[0].size());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("first")){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 292. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 251.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 292.");
 		}
 		
-		if (testI.userVars[0].get(0).getName() != "foo"){
-			System.out.println("FAILED: Interpreter declareVar() Test 252. Result: " + testI.userVars[0].get(0).getName());
+		testI.stacks[0].push("piece0");
+		testI.receiveMessage();
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 293. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 252.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 293.");
 		}
 		
-		if (testI.userVars[0].get(1).getName() != "bar"){
-			System.out.println("FAILED: Interpreter declareVar() Test 253. Result: " + testI.userVars[0].get(1).getName());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("second")){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 294. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareVar() Test 253.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 294.");
 		}
 		
-		/*declareWord() :
-		o Test case: declareWord() is passed the name of a word that does not currently exist. Expected result: A new UserWord has been created in the Interpreter with the given name and replacement values (even if the replacement values are empty).
-		o Test case: declareWord() is passed the name of a word that currently exists. Expected result: The existing UserWord is updated to use the given replacement values (even if the replacement values are empty).
-		*/
-		
-		testI.userWords[0].clear();
-		testI.stacks[0].clear();
-		testI.currentInstructions.clear();
-		
-		
-		testI.currentInstructions.add("");
+		testI.stacks[0].push("piece0");
+		testI.receiveMessage();
 		
-		testI.declareWord();
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 295. Result: " + testI.stacks[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter receiveMessage() Test 295.");
+		}
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter declareWord() Test 255. Result: " + testI.userWords[0].size());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("third")){
+			System.out.println("FAILED: Interpreter receiveMessage() Test 296. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 255.");
+			System.out.println("PASSED: Interpreter receiveMessage() Test 296.");
 		}
 		
 		
-		testI.currentInstructions.add("foo");
+		/*  parse(String line) :
+			o Test case: parse() is passed an empty string. Expected result: parse() will perform no action.
+			o Test case: parse() is passed a string which evaluates to an integer. Expected result: parse() will correctly convert the string to an integer, and perform the appropriate operation with it.
+			o Test case: parse() is passed a string which evaluates to a boolean value true or false. Expected result: parse() will correctly convert the string to a boolean value, and perform the appropriate operation with it.
+			o Test case: parse() is passed a string which begins with a . character. Expected result: parse() will correctly convert the string into a cleaned string, without the leading character, and perform the appropriate operation with it.
+			o Test case: parse() is passed a string which evaluates to the name of an existing UserWord. Expected result: parse() will retrieve the correct UserWord and perform the appropriate operation with it.
+			o Test case: parse() is passed a string which evaluates to the name of an existing UserVariable. Expected result: parse() will retrieve the correct UserVariable and perform the appropriate operation with it.
+			o Test case: parse() is passed a string which evaluates to the name of an existing method in the Word Interface. Expected result: parse() will call the correct method.
+		 */
+		
+		testI.stacks[0].clear();
+		testI.mailboxes[0].clear();
+		testI.userVars[0].clear();
+		testI.userWords[0].clear();
 		
-		testI.declareWord();
+		testI.parse("");
 		
-		if (testI.userWords[0].size() != 1){
-			System.out.println("FAILED: Interpreter declareWord() Test 256. Result: " + testI.userWords[0].size());
+		if (testI.stacks[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 297. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 256.");
+			System.out.println("PASSED: Interpreter parse() Test 297.");
 		}
 		
-		if (testI.userWords[0].get(0).getName() != "foo"){
-			System.out.println("FAILED: Interpreter declareWord() Test 257. Result: " + testI.userWords[0].get(0).getName());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 298. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 257.");
+			System.out.println("PASSED: Interpreter parse() Test 298.");
 		}
 		
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("foo");
-		
-		testI.declareWord();
-		
-		if (testI.userWords[0].size() != 1){
-			System.out.println("FAILED: Interpreter declareWord() Test 258. Result: " + testI.userWords[0].size());
+		if (testI.userVars[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 299. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 258.");
+			System.out.println("PASSED: Interpreter parse() Test 299.");
 		}
 		
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("bar");
-		testI.currentInstructions.add("+");
-		testI.currentInstructions.add(";");
 		
-		testI.declareWord();
+		testI.parse("true");
 		
-		if (testI.userWords[0].size() != 2){
-			System.out.println("FAILED: Interpreter declareWord() Test 259. Result: " + testI.userWords[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 300. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 259.");
+			System.out.println("PASSED: Interpreter parse() Test 300.");
 		}
 		
-		if (testI.userWords[0].get(0).getName() != "foo"){
-			System.out.println("FAILED: Interpreter declareWord() Test 260. Result: " + testI.userWords[0].get(0).getName());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("true")){
+			System.out.println("FAILED: Interpreter parse() Test 301. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 260.");
+			System.out.println("PASSED: Interpreter parse() Test 301.");
 		}
 		
-		if (testI.userWords[0].get(1).getName() != "bar"){
-			System.out.println("FAILED: Interpreter declareWord() Test 261. Result: " + testI.userWords[0].get(1).getName());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 302. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 261.");
+			System.out.println("PASSED: Interpreter parse() Test 302.");
 		}
 		
-		
-		if (testI.userWords[0].get(1).getReplaceValues().size() != 1 || !testI.userWords[0].get(1).getReplaceValues().get(0).equals("+")){
-			System.out.println("FAILED: Interpreter declareWord() Test 262a. Result: " + testI.userWords[0].get(1).getReplaceValues());
+		if (testI.userVars[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 303. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter declareWord() Test 262a.");
+			System.out.println("PASSED: Interpreter parse() Test 303.");
 		}
 		
+		testI.parse("42");
 		
-		/*random() :
-		o Test case: There is one value on the stack which is not an integer. Expected result: The stack will be cleared, and an error will be logged.
-		o Test case: There is one value on the stack which is an integer. Expected result: A random integer between 0 and the popped value (exclusive) has been pushed to the stack.
-		*/
-		
-		testI.currentInstructions.clear();
-		testI.stacks[0].clear();
-		testI.random();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter random() Test 262. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 304. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter random() Test 262.");
+			System.out.println("PASSED: Interpreter parse() Test 304.");
 		}
 		
-		testI.stacks[0].push("foo");
-		
-		testI.random();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter random() Test 263. Result: " + testI.stacks[0].size());
+		sResult = testI.stacks[0].pop();
+		if (sResult != "42"){
+			System.out.println("FAILED: Interpreter parse() Test 305. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter random() Test 263.");
+			System.out.println("PASSED: Interpreter parse() Test 305.");
 		}
 		
-		testI.stacks[0].push("10");
-		
-		testI.random();
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter random() Test 264. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 306. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter random() Test 264.");
+			System.out.println("PASSED: Interpreter parse() Test 306.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		
-		int iResult = -1;
-		
-		try {
-			iResult = Integer.parseInt(sResult);
-			System.out.println("PASSED: Interpreter random() Test 265.");
-		}
-		catch (Exception e){
-			System.out.println("FAILED: Interpreter random() Test 265. Exception on converting return value from random to integer.");
-			return;		
+		if (testI.userVars[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 307. Result: " + testI.userVars[0].size());
+			return;
 		}
-		finally {
-			
+		else {
+			System.out.println("PASSED: Interpreter parse() Test 307.");
 		}
 		
-		if (iResult < 0 || iResult > 10){
-			System.out.println("FAILED: Interpreter random() Test 266. Result: " + iResult);
+		testI.parse(".\"porkchop\"");
+		
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 308. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter random() Test 266.");
+			System.out.println("PASSED: Interpreter parse() Test 308.");
 		}
 		
-
-		
-		
-		/*dotPrint() :
-		o Test case: There is one value on the stack. Expected result: A string representation of the value has been printed to the console.
-				 
-		 */
-		
-		testI.dotPrint();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter dotPrint() Test 267. Result: " + testI.stacks[0].size());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("porkchop")){
+			System.out.println("FAILED: Interpreter parse() Test 309. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter dotPrint() Test 267.");
+			System.out.println("PASSED: Interpreter parse() Test 309.");
 		}
 		
-		testI.stacks[0].push("thingToPrint");
-		
-		testI.dotPrint();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter dotPrint() Test 268. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 310. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter dotPrint() Test 268.");
+			System.out.println("PASSED: Interpreter parse() Test 310.");
 		}
 		
-		testI.stacks[0].push("thingToNotPrint");
-		testI.stacks[0].push("thingToPrint");
-		
-		testI.dotPrint();
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter dotPrint() Test 269. Result: " + testI.stacks[0].size());
+		if (testI.userVars[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 311. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter dotPrint() Test 269.");
+			System.out.println("PASSED: Interpreter parse() Test 311.");
 		}
 		
+		testI.parse("shotsFired");
 		
-		sResult = testI.stacks[0].pop();
-		if (sResult != "thingToNotPrint"){
-			System.out.println("FAILED: Interpreter dotPrint() Test 270. Result: " + sResult);
+		if (testI.stacks[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 312. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter dotPrint() Test 270.");
+			System.out.println("PASSED: Interpreter parse() Test 312.");
 		}
 		
-		
-		/*  sendMessage()
-		   (s v -- b)
-		   o Test case: There are fewer than two values on the stack. Expected result: The stack will be cleared and the error will be logged.
-		   o Test case: There are two values on the stack, and the second is not a string. Expected result: The stack will be cleared and the error will be logged.
-		   o Test case: There are two correct values on the stack, and the given mailbox is not full. Expected result: The boolean value true will be pushed to the stack.
-		   o Test case: There are two correct values on the stack, and the given mailbox is full. Expected result: The boolean value false will be pushed to the stack.
-		*/
-		
-		//  EXTENSION - If the way of identifying pieces by name changes (eg. SNIPER2 instead of piece3), these message-passing tests will need to be re-written.
-		testI.sendMessage();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter sendMessage() Test 271. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 313. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter sendMessage() Test 271.");
+			System.out.println("PASSED: Interpreter parse() Test 313.");
 		}
 		
-		testI.stacks[0].clear();
-		
-		
-		testI.stacks[0].push("hello");
-		testI.stacks[0].push("false");
-		testI.sendMessage();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter sendMessage() Test 272. Result: " + testI.stacks[0].size());
+		if (testI.userVars[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 314. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter sendMessage() Test 272.");
+			System.out.println("PASSED: Interpreter parse() Test 314.");
 		}
+		testI.stacks[0].clear();
 		
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("shotsFired");
+		testI.declareVar();
 		
-		testI.stacks[0].push("hello");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
+		testI.parse("shotsFired");
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter sendMessage() Test 273. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter parse() Test 315. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter sendMessage() Test 273.");
+			System.out.println("PASSED: Interpreter parse() Test 315.");
 		}
 		
 		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter sendMessage() Test 274. Result: " + sResult);
+		if (!sResult.equals("#shotsFired")){
+			System.out.println("FAILED: Interpreter parse() Test 316. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter sendMessage() Test 274.");
-		}
-		
-		for (int i = 1; i < MAILBOX_CAPACITY; i++){
-			
-			testI.stacks[0].push("hello");
-			testI.stacks[0].push("piece0");
-			testI.sendMessage();
-			sResult = testI.stacks[0].pop();
+			System.out.println("PASSED: Interpreter parse() Test 316.");
 		}
 		
-		
-		testI.stacks[0].push("hello");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter sendMessage() Test 275. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() > 0){
+			System.out.println("FAILED: Interpreter parse() Test 317. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter sendMessage() Test 275.");
+			System.out.println("PASSED: Interpreter parse() Test 317.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter sendMessage() Test 276. Result: " + sResult);
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 318. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter sendMessage() Test 276.");
+			System.out.println("PASSED: Interpreter parse() Test 318.");
 		}
 		
-		/*  checkMessage()
-		    (s -- b)
-		    o Test case: There are no values on the stack. Expected result: The stack will be cleared and the error will be logged.
-		    o Test case: There is one non-string value on the stack. Expected result: The stack will be cleared and the error will be logged.
-		    o Test case: There is one string value on the stack, and the given mailbox is empty. Expected result: The boolean value false will be pushed to the stack.
-		    o Test case: There is one string value on the stack, and the given mailbox has no messages from the matching piece. Expected result: The boolean value false will be pushed to the stack.
-		    o Test case: There is one string value on the stack, and the given mailbox has at least one message from the matching piece. Expected result: The boolean value false will be pushed to the stack.
-		*/
-		testI.mailboxes[0].clear();
-		testI.checkMessages();
+		testI.stacks[0].clear();
+		testI.context.currentInstructions.clear();
+		testI.context.currentInstructions.add("double");
+		testI.context.currentInstructions.add("dup");
+		testI.context.currentInstructions.add("+");
+		testI.declareWord();
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter checkMessages() Test 277. Result: " + testI.stacks[0].size());
+		//  A user word is run, not copied into the current instructions.
+		testI.stacks[0].pushInt(21);
+		testI.parse("double");
+		
+		if (testI.context.currentInstructions.size() != 0){
+			System.out.println("FAILED: Interpreter parse() Test 319. Result: " + testI.context.currentInstructions);
 			return;
 		}
-		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 277.");
+		else{
+			System.out.println("PASSED: Interpreter parse() Test 319.");
 		}
 		
-		testI.stacks[0].push("365");
-		testI.checkMessages();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter checkMessages() Test 278. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() == 0 || testI.stacks[0].intAt(0) != 42){
+			System.out.println("FAILED: Interpreter parse() Test 320. Result: " + testI.stacks[0]);
 			return;
 		}
-		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 278.");
+		else{
+			System.out.println("PASSED: Interpreter parse() Test 320.");
 		}
 		
-		testI.stacks[0].push("piece0");
-		testI.checkMessages();
-		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter checkMessages() Test 279. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter parse() Test 321. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 279.");
+			System.out.println("PASSED: Interpreter parse() Test 321.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter checkMessages() Test 280. Result: " + sResult);
+		if (testI.userWords[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 322. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 280.");
+			System.out.println("PASSED: Interpreter parse() Test 322.");
 		}
 		
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 323. Result: " + testI.userVars[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter parse() Test 323.");
+		}
 		
-		testI.stacks[0].push("hi");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
+		testI.context.currentInstructions.clear();
 		
 		testI.stacks[0].clear();
 		
-		testI.stacks[0].push("piece2");
-		testI.checkMessages();
+		
+		//  Test for established words in the Word Interface
+		
+		testI.parse("3");
+		testI.parse("3");
+		testI.parse("+");
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter checkMessages() Test 281. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter parse() Test 324. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 281.");
+			System.out.println("PASSED: Interpreter parse() Test 324.");
 		}
 		
 		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("false")){
-			System.out.println("FAILED: Interpreter checkMessages() Test 282. Result: " + sResult);
+		if (!sResult.equals("6")){
+			System.out.println("FAILED: Interpreter parse() Test 325. Result: " + sResult);
 			return;
 		}
-		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 282.");
+		else{
+			System.out.println("PASSED: Interpreter parse() Test 325.");
 		}
 		
-		testI.stacks[0].push("piece0");
-		testI.checkMessages();
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter checkMessages() Test 283. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 326. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 283.");
+			System.out.println("PASSED: Interpreter parse() Test 326.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter checkMessages() Test 284. Result: " + sResult);
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 327. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter checkMessages() Test 284.");
+			System.out.println("PASSED: Interpreter parse() Test 327.");
 		}
 		
-		/*  receiveMessage()
-		    (s -- v)
-		    o Test case: There are no values on the stack. Expected result: The stack will be cleared and the error will be logged.
-		    o Test case: There is one non-string value on the stack. Expected result: The stack will be cleared and the error will be logged.
-		    o Test case: There is one string value on the stack, and the given mailbox is empty. Expected result: No value is pushed to the stack.
-		    o Test case: There is one string value on the stack, and the given mailbox has no messages from the matching piece. Expected result: No value is pushed to the stack.
-		    o Test case: There is one string value on the stack, and the given mailbox has one message from the matching piece. Expected result: The value from the message will be pushed to the stack.
-			o Test case: There is one string value on the stack, and the given mailbox has more than one message from the matching piece. Expected result: The value from the earliest message will be pushed to the stack.
-		*/
-		
-		testI.mailboxes[0].clear();
-		testI.receiveMessage();
+		testI.parse("moo");
+		testI.parse("dup");
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 285. Result: " + testI.stacks[0].size());
+		if (testI.stacks[0].size() != 2){
+			System.out.println("FAILED: Interpreter parse() Test 328. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 285.");
+			System.out.println("PASSED: Interpreter parse() Test 328.");
 		}
 		
-		testI.stacks[0].push("365");
-		testI.receiveMessage();
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("moo")){
+			System.out.println("FAILED: Interpreter parse() Test 329. Result: " + sResult);
+			return;
+		}
+		else{
+			System.out.println("PASSED: Interpreter parse() Test 329.");
+		}
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 286. Result: " + testI.stacks[0].size());
+		sResult = testI.stacks[0].pop();
+		if (!sResult.equals("moo")){
+			System.out.println("FAILED: Interpreter parse() Test 330. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 286.");
+			System.out.println("PASSED: Interpreter parse() Test 330.");
 		}
 		
-		testI.stacks[0].push("piece0");
-		testI.receiveMessage();
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 287. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 331. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 287.");
+			System.out.println("PASSED: Interpreter parse() Test 331.");
 		}
 		
-		
-		testI.stacks[0].push("hi");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 332. Result: " + testI.userVars[0].size());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter parse() Test 332.");
+		}
 		
 		testI.stacks[0].clear();
+		testI.context.currentInstructions.clear();
 		
-		testI.stacks[0].push("piece2");
-		testI.receiveMessage();
-		
-		System.out.println(testI.stacks[0]);
+		testI.stacks[0].push("so many shots");
+		testI.stacks[0].push("#shotsFired");
+
+		testI.parse("!");
 		
 		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 288. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter parse() Test 333. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 288.");
+			System.out.println("PASSED: Interpreter parse() Test 333.");
 		}
 		
 		
-		testI.stacks[0].push("piece0");
-		testI.receiveMessage();
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 289. Result: " + testI.stacks[0].size());
+		if (testI.userWords[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 334. Result: " + testI.userWords[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 289.");
+			System.out.println("PASSED: Interpreter parse() Test 334.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("hi")){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 290. Result: " + sResult);
+		if (testI.userVars[0].size() != 1){
+			System.out.println("FAILED: Interpreter parse() Test 335. Result: " + testI.userVars[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 290.");
+			System.out.println("PASSED: Interpreter parse() Test 335.");
 		}
 		
-		testI.stacks[0].push("first");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
-		testI.stacks[0].pop();
-		
-		testI.stacks[0].push("second");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
-		testI.stacks[0].pop();
+		if (!testI.userVars[0].get(0).getValue().equals("so many shots")){
+			System.out.println("FAILED: Interpreter parse() Test 336. Result: " + testI.userVars[0].get(0).getValue());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter parse() Test 336.");
+		}
 		
-		testI.stacks[0].push("third");
-		testI.stacks[0].push("piece0");
-		testI.sendMessage();
-		testI.stacks[0].pop();
+		testI.stacks[0].clear();
+		testI.context.currentInstructions.clear();
 		
-		testI.stacks[0].push("piece0");
-		testI.receiveMessage();
+		testI.stacks[0].push("#shotsFired");
+
+		testI.parse("?");
 		
 		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 291. Result: " + testI.stacks[0].size());
+			System.out.println("FAILED: Interpreter parse() Test 337. Result: " + testI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 291.");
+			System.out.println("PASSED: Interpreter parse() Test 337.");
 		}
 		
 		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("first")){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 292. Result: " + sResult);
+		if (!sResult.equals("so many shots")){
+			System.out.println("FAILED: Interpreter parse() Test 338. Result: " + sResult);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 292.");
+			System.out.println("PASSED: Interpreter parse() Test 338.");
 		}
 		
-		testI.stacks[0].push("piece0");
-		testI.receiveMessage();
+		/*
+		  Compiled programs:
+		o Test case: A program declaring a variable and a play word is initialized and played. Expected result: The variable is set during initialization and used by play.
+		o Test case: A play word with a do loop. Expected result: The loop index is pushed for every iteration from start to end.
+		o Test case: A play word with if/else blocks. Expected result: Only the branch matching each test value runs.
+		o Test case: A play word with a begin/until loop. Expected result: The loop runs until the condition is true.
+		o Test case: A restricted word outside of play mode. Expected result: The turn is aborted.
+		o Test case: A do loop containing "leave". Expected result: The loop ends immediately.
+		 */
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 293. Result: " + testI.stacks[0].size());
+		Interpreter compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "x", "7", "x", "!", ":", "play", "x", "?", "dup", "+", ";")));
+		compiledI.initialize(0);
+		
+		if (compiledI.stacks[0].size() != 0 || !compiledI.userVars[0].get(0).getValue().equals("7")){
+			System.out.println("FAILED: Interpreter compiled program Test 339. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 293.");
+			System.out.println("PASSED: Interpreter compiled program Test 339.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("second")){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 294. Result: " + sResult);
+		compiledI.play(0);
+		
+		if (compiledI.stacks[0].size() != 1 || !compiledI.stacks[0].peek().equals("14")){
+			System.out.println("FAILED: Interpreter compiled program Test 340. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 294.");
+			System.out.println("PASSED: Interpreter compiled program Test 340.");
 		}
 		
-		testI.stacks[0].push("piece0");
-		testI.receiveMessage();
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "3", "0", "do", "I", "loop", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 295. Result: " + testI.stacks[0].size());
+		if (!compiledI.stacks[0].toString().equals("[0, 1, 2, 3]") || compiledI.context.loopDepth != 0){
+			System.out.println("FAILED: Interpreter compiled program Test 341. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 295.");
+			System.out.println("PASSED: Interpreter compiled program Test 341.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("third")){
-			System.out.println("FAILED: Interpreter receiveMessage() Test 296. Result: " + sResult);
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "true", "if", "1", "else", "2", "then", "false", "if", "3", "else", "4", "then", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		
+		if (!compiledI.stacks[0].toString().equals("[1, 4]")){
+			System.out.println("FAILED: Interpreter compiled program Test 342. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter receiveMessage() Test 296.");
+			System.out.println("PASSED: Interpreter compiled program Test 342.");
 		}
 		
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "n", "0", "n", "!", ":", "play", "begin", "n", "?", "1", "+", "dup", "n", "!", "5", "=", "until", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		/*  parse(String line) :
-			o Test case: parse() is passed an empty string. Expected result: parse() will perform no action.
-			o Test case: parse() is passed a string which evaluates to an integer. Expected result: parse() will correctly convert the string to an integer, and perform the appropriate operation with it.
-			o Test case: parse() is passed a string which evaluates to a boolean value true or false. Expected result: parse() will correctly convert the string to a boolean value, and perform the appropriate operation with it.
-			o Test case: parse() is passed a string which begins with a . character. Expected result: parse() will correctly convert the string into a cleaned string, without the leading character, and perform the appropriate operation with it.
-			o Test case: parse() is passed a string which evaluates to the name of an existing UserWord. Expected result: parse() will retrieve the correct UserWord and perform the appropriate operation with it.
-			o Test case: parse() is passed a string which evaluates to the name of an existing UserVariable. Expected result: parse() will retrieve the correct UserVariable and perform the appropriate operation with it.
-			o Test case: parse() is passed a string which evaluates to the name of an existing method in the Word Interface. Expected result: parse() will call the correct method.
-		 */
-		
-		testI.stacks[0].clear();
-		testI.mailboxes[0].clear();
-		testI.userVars[0].clear();
-		testI.userWords[0].clear();
+		if (compiledI.stacks[0].size() != 0 || !compiledI.userVars[0].get(0).getValue().equals("5")){
+			System.out.println("FAILED: Interpreter compiled program Test 343. Result: " + compiledI.userVars[0].get(0).getValue());
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter compiled program Test 343.");
+		}
 		
-		testI.parse("");
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("health", "1", ":", "play", ";")));
+		compiledI.initialize(0);
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 297. Result: " + testI.stacks[0].size());
+		if (compiledI.stacks[0].size() != 0){
+			System.out.println("FAILED: Interpreter compiled program Test 344. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 297.");
+			System.out.println("PASSED: Interpreter compiled program Test 344.");
 		}
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 298. Result: " + testI.userWords[0].size());
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "10", "0", "do", "I", "I", "3", "=", "if", "leave", "then", "drop", "loop", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		
+		if (!compiledI.stacks[0].toString().equals("[3]") || compiledI.context.loopDepth != 0){
+			System.out.println("FAILED: Interpreter compiled program Test 345. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 298.");
+			System.out.println("PASSED: Interpreter compiled program Test 345.");
 		}
+
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "1", "0", "do", "1", "0", "do", "I", "loop", "loop", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (testI.userVars[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 299. Result: " + testI.userVars[0].size());
+		if (!compiledI.stacks[0].toString().equals("[0, 1, 0, 1]") || compiledI.context.loopDepth != 0){
+			System.out.println("FAILED: Interpreter compiled program Test 346. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 299.");
+			System.out.println("PASSED: Interpreter compiled program Test 346.");
 		}
 		
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("1", "then", "2", ":", "play", ";")));
+		compiledI.initialize(0);
 		
-		testI.parse("true");
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 300. Result: " + testI.stacks[0].size());
+		if (!compiledI.stacks[0].toString().equals("[1, 2]") || compiledI.programs[0].warnings.length != 1){
+			System.out.println("FAILED: Interpreter compiled program Test 347. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 300.");
+			System.out.println("PASSED: Interpreter compiled program Test 347.");
+		}
+
+		ValueStack typedStack = new ValueStack(2);
+		typedStack.push("42");
+		typedStack.pushBool(true);
+		boolean overflowed = false;
+		try {
+			typedStack.pushInt(1);
+		}
+		catch (RuntimeException e){
+			overflowed = true;
 		}
+		finally {}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("true")){
-			System.out.println("FAILED: Interpreter parse() Test 301. Result: " + sResult);
+		if (!overflowed || typedStack.typeAt(0) != ValueTypeEnum.BOOLEAN || typedStack.typeAt(1) != ValueTypeEnum.INTEGER || typedStack.intAt(1) != 42){
+			System.out.println("FAILED: Interpreter ValueStack Test 348. Result: " + typedStack);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 301.");
+			System.out.println("PASSED: Interpreter ValueStack Test 348.");
 		}
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 302. Result: " + testI.userWords[0].size());
-			return;
+		typedStack.clear();
+		boolean underflowed = false;
+		try {
+			typedStack.pop();
 		}
-		else {
-			System.out.println("PASSED: Interpreter parse() Test 302.");
+		catch (RuntimeException e){
+			underflowed = true;
 		}
+		finally {}
 		
-		if (testI.userVars[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 303. Result: " + testI.userVars[0].size());
+		if (!underflowed || ValueStack.classify("moo") != ValueTypeEnum.STRING || ValueStack.classify("#moo") != ValueTypeEnum.ADDRESS || ValueStack.isInteger("2147483648")){
+			System.out.println("FAILED: Interpreter ValueStack Test 349.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 303.");
+			System.out.println("PASSED: Interpreter ValueStack Test 349.");
 		}
 		
-		testI.parse("42");
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "begin", "1", "false", "until", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 304. Result: " + testI.stacks[0].size());
+		if (compiledI.stacks[0].size() != 0){
+			System.out.println("FAILED: Interpreter compiled program Test 350. Result: " + compiledI.stacks[0].size());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 304.");
+			System.out.println("PASSED: Interpreter compiled program Test 350.");
 		}
+
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "a", "variable", "b", ":", "w", "1", ";", ":", "w", "2", ";", ":", "play", "w", "b", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		sResult = testI.stacks[0].pop();
-		if (sResult != "42"){
-			System.out.println("FAILED: Interpreter parse() Test 305. Result: " + sResult);
+		if (compiledI.userWords[0].size() != 2 || compiledI.userVars[0].slotOf("b") != 1 || compiledI.stacks[0].typeAt(0) != ValueTypeEnum.ADDRESS || compiledI.stacks[0].intAt(0) != 1 || compiledI.stacks[0].intAt(1) != 2){
+			System.out.println("FAILED: Interpreter compiled program Test 351. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 305.");
+			System.out.println("PASSED: Interpreter compiled program Test 351.");
 		}
+
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withInstructionBudget(50));
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "1", "begin", "1", "+", "false", "until", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		int firstResult = compiledI.stacks[0].intAt(0);
+		compiledI.stacks[0].clear();
+		compiledI.play(0);
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 306. Result: " + testI.userWords[0].size());
+		if (compiledI.context.fuel != 0 || compiledI.stacks[0].size() != 1 || compiledI.stacks[0].intAt(0) != firstResult){
+			System.out.println("FAILED: Interpreter instruction budget Test 352. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 306.");
+			System.out.println("PASSED: Interpreter instruction budget Test 352.");
 		}
+
 		
-		if (testI.userVars[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 307. Result: " + testI.userVars[0].size());
+		//  Words called as many times as the hot word threshold are run as HotWords, with the same results and instruction counts as the instruction loop.
+		List<String> hotProgram = Arrays.asList(":", "sq", "dup", "*", ";", ":", "play", "0", "100", "1", "do", "I", "sq", "+", "loop", ";");
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(Integer.MAX_VALUE));
+		compiledI.ai[0] = new AI(new ArrayList<String>(hotProgram));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		int coldFuel = compiledI.context.fuel;
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(10));
+		compiledI.ai[0] = new AI(new ArrayList<String>(hotProgram));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		
+		if (compiledI.hotWords[0][compiledI.programs[0].findWord("sq")] == null || compiledI.stacks[0].size() != 1 || compiledI.stacks[0].intAt(0) != 338350 || compiledI.context.fuel != coldFuel){
+			System.out.println("FAILED: Interpreter hot word Test 353. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 307.");
+			System.out.println("PASSED: Interpreter hot word Test 353.");
 		}
 		
-		testI.parse(".\"porkchop\"");
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(2));
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "down", "dup", "0", "<", "if", "-1", "+", "down", "then", ";", 
+				":", "first", "10", "1", "do", "I", "5", "<", "if", "I", "leave", "then", "loop", ";", ":", "play", "5", "down", "first", "first", "first", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 308. Result: " + testI.stacks[0].size());
+		if (compiledI.hotWords[0][compiledI.programs[0].findWord("down")] == null || compiledI.hotWords[0][compiledI.programs[0].findWord("first")] == null || !compiledI.stacks[0].toString().equals("[0, 6, 6, 6]") || compiledI.context.loopDepth != 0){
+			System.out.println("FAILED: Interpreter hot word Test 354. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 308.");
+			System.out.println("PASSED: Interpreter hot word Test 354.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("porkchop")){
-			System.out.println("FAILED: Interpreter parse() Test 309. Result: " + sResult);
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(10));
+		compiledI.ai[0] = new AI(new ArrayList<String>(hotProgram));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		int hotFuel = compiledI.context.fuel;
+		
+		//  A definition inside a word is dropped when the program is compiled, so sq keeps its body and stays hot.
+		List<String> nestedProgram = new ArrayList<String>(hotProgram.subList(0, hotProgram.size() - 1));
+		nestedProgram.addAll(Arrays.asList(":", "sq", "dup", "+", ";"));
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(10));
+		compiledI.ai[0] = new AI(nestedProgram);
+		compiledI.initialize(0);
+		compiledI.play(0);
+		compiledI.stacks[0].clear();
+		compiledI.play(0);
+		
+		if (compiledI.hotWords[0][compiledI.programs[0].findWord("sq")] == null || compiledI.stacks[0].size() != 1 || compiledI.stacks[0].intAt(0) != 338350
+				|| compiledI.context.fuel != hotFuel || !Arrays.asList(compiledI.programs[0].getWarnings()).contains("definition of \"sq\" inside word play ignored.")){
+			System.out.println("FAILED: Interpreter hot word Test 355. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 309.");
+			System.out.println("PASSED: Interpreter hot word Test 355.");
 		}
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 310. Result: " + testI.userWords[0].size());
+		Program optimized = ProgramOptimizer.optimize(ProgramCompiler.compile(Arrays.asList("variable", "x", "2", "3", "+", "x", "!", "x", "?", "dup", "drop", "1", "-", "drop", "drop")));
+		
+		if (!optimized.getOptimizationReport().equals("[constant folding x1, dup drop removed x1, STORE_VARIABLE x1, RETRIEVE_VARIABLE x1, LITERAL_SUBTRACT x1, DROP_PAIR x1]") || optimized.getLength() != 7){
+			System.out.println("FAILED: Interpreter optimizer Test 356. Result: " + optimized.getOptimizationReport() + "\n" + optimized.disassemble());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 310.");
+			System.out.println("PASSED: Interpreter optimizer Test 356.");
 		}
 		
-		if (testI.userVars[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 311. Result: " + testI.userVars[0].size());
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "x", ":", "play", "3", "1", "do", "I", "1", "-", "loop", "2", "3", "<", "if", "x", "?", "else", "false", "then", ";", "moo", "x", "!")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		
+		if (!compiledI.stacks[0].toString().equals("[0, -1, -2, false]") || !compiledI.userVars[0].find("x").getValue().equals("moo")){
+			System.out.println("FAILED: Interpreter optimizer Test 357. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 311.");
+			System.out.println("PASSED: Interpreter optimizer Test 357.");
 		}
 		
-		testI.parse("shotsFired");
+		//  Superinstructions report errors in the same way as the instructions they replace.
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "x", ":", "play", "x", "!", "moo", "1", "<>", "true", "1", "-", "5", "drop", "drop", "drop", "x", "?", "7", "x", "!", "x", "?", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 312. Result: " + testI.stacks[0].size());
+		if (!compiledI.stacks[0].toString().equals("[, 7]")){
+			System.out.println("FAILED: Interpreter optimizer Test 358. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 312.");
+			System.out.println("PASSED: Interpreter optimizer Test 358.");
 		}
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 313. Result: " + testI.userWords[0].size());
+		ProgramCache.clear();
+		RobotRecord firstRecord = new RobotRecord();
+		firstRecord.getCode().addAll(Arrays.asList(": play ( a comment ) 1 2 + ;", "variable moo"));
+		RobotRecord secondRecord = new RobotRecord();
+		secondRecord.getCode().addAll(Arrays.asList(": play ( a comment ) 1 2 + ;", "variable moo"));
+		Program cached = ProgramCache.getProgram(firstRecord);
+		
+		if (ProgramCache.getProgram(secondRecord) != cached || ProgramCache.getHits() != 1 || ProgramCache.getMisses() != 1 || cached.varNames.length != 1){
+			System.out.println("FAILED: Interpreter program cache Test 359.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 313.");
+			System.out.println("PASSED: Interpreter program cache Test 359.");
 		}
 		
-		if (testI.userVars[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 314. Result: " + testI.userVars[0].size());
+		ProgramCache.setCapacity(1);
+		secondRecord.getCode().set(1, "variable cow");
+		Program changed = ProgramCache.getProgram(secondRecord);
+		ProgramCache.getProgram(firstRecord);
+		ProgramCache.setCapacity(ProgramCache.DEFAULT_CAPACITY);
+		
+		if (changed == cached || !changed.varNames[0].equals("cow") || ProgramCache.size() != 1 || ProgramCache.getMisses() != 3){
+			System.out.println("FAILED: Interpreter program cache Test 360.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 314.");
+			System.out.println("PASSED: Interpreter program cache Test 360.");
 		}
-		testI.stacks[0].clear();
-		
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("shotsFired");
-		testI.declareVar();
+		ProgramCache.clear();		
 		
-		testI.parse("shotsFired");
+		//  Errors are counted per piece and sent to the diagnostics sink.
+		RingBufferSink sink = new RingBufferSink(4);
+		compiledI = new Interpreter(1, t, null);
+		compiledI.setDiagnostics(new Diagnostics(sink, DiagnosticLevelEnum.ERROR));
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "drop", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		compiledI.play(0);
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 315. Result: " + testI.stacks[0].size());
+		if (compiledI.getErrorCount(0) != 2 || sink.getMessages().size() != 2
+				|| !sink.getMessages().get(0).equals("ERROR in " + t.getColour() + " piece0: not enough arguments for stack operation drop().")){
+			System.out.println("FAILED: Interpreter diagnostics Test 361. Result: " + sink.getMessages());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 315.");
+			System.out.println("PASSED: Interpreter diagnostics Test 361.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("#shotsFired")){
-			System.out.println("FAILED: Interpreter parse() Test 316. Result: " + sResult);
+		//  Messages below the level are not written, but errors are still counted.
+		sink.clear();
+		compiledI.getDiagnostics().setLevel(DiagnosticLevelEnum.OFF);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "5", ".", "drop", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		
+		if (compiledI.getErrorCount(0) != 3 || sink.getMessages().size() != 0
+				|| compiledI.getDiagnostics().getErrorCounts().get(t.getColour() + " piece0") != 3){
+			System.out.println("FAILED: Interpreter diagnostics Test 362. Result: " + sink.getMessages());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 316.");
+			System.out.println("PASSED: Interpreter diagnostics Test 362.");
 		}
+
+		//  Messages keep their type, and may contain any character.
+		compiledI = new Interpreter(1, t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "7", "piece0", "send!", "drop", "a@b", "piece0", "send!", "drop",
+				"piece0", "mesg?", "piece0", "recv!", "1", "+", "piece0", "recv!", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (testI.userWords[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 317. Result: " + testI.userWords[0].size());
+		if (!compiledI.stacks[0].toString().equals("[true, 8, a@b]") || compiledI.stacks[0].typeAt(1) != ValueTypeEnum.INTEGER || !compiledI.mailboxes[0].isEmpty()){
+			System.out.println("FAILED: Interpreter mailbox Test 363. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 317.");
+			System.out.println("PASSED: Interpreter mailbox Test 363.");
 		}
-		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 318. Result: " + testI.userVars[0].size());
+
+		//  The standard words are shared, and carry their flags.
+		if (BuiltinWord.find("dup") == null || BuiltinWord.find("dup").isRestricted() || !BuiltinWord.find("health").isRestricted() || BuiltinWord.find("health").touchesBoard()
+				|| !BuiltinWord.find("move!").touchesBoard() || !OpcodeEnum.SCAN.isRestricted() || OpcodeEnum.SEND_MESSAGE.isRestricted() || BuiltinWord.getWords().size() != 43){
+			System.out.println("FAILED: Interpreter builtin registry Test 364.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 318.");
+			System.out.println("PASSED: Interpreter builtin registry Test 364.");
 		}
 		
-		testI.stacks[0].clear();
-		testI.currentInstructions.clear();
-		testI.currentInstructions.add("double");
-		testI.currentInstructions.add("dup");
-		testI.currentInstructions.add("+");
-		testI.declareWord();
-		
-		testI.parse("double");
+		//  A reset Interpreter starts the next match with nothing left over from the last one.
+		Team nextTeam = new Team(TeamEnum.BLUE, true, 1, 1, 1);
+		compiledI.reset(nextTeam, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "y", ":", "play", "2", "y", "!", "y", "?", "team", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
 		
-		if (!testI.currentInstructions.get(0).equals("dup")){
-			System.out.println("FAILED: Interpreter parse() Test 319. Result: " + testI.currentInstructions.get(0));
+		if (!compiledI.stacks[0].toString().equals("[2, " + TeamEnum.BLUE + "]") || compiledI.userVars[0].slotOf("y") != 0 || compiledI.userVars[0].size() != 1 || compiledI.team != nextTeam){
+			System.out.println("FAILED: Interpreter reset Test 365. Result: " + compiledI.stacks[0]);
 			return;
 		}
-		else{
-			System.out.println("PASSED: Interpreter parse() Test 319.");
+		else {
+			System.out.println("PASSED: Interpreter reset Test 365.");
+		}
+
+		//  The same seed gives the same random numbers, and each piece and team draws its own.
+		compiledI = new Interpreter(2, t, null);
+		compiledI.setSeed(42, 1);
+		Interpreter sameSeed = new Interpreter(2, t, null);
+		sameSeed.setSeed(42, 1);
+		Interpreter otherTeam = new Interpreter(2, t, null);
+		otherTeam.setSeed(42, 2);
+		String first = "";
+		String same = "";
+		String other = "";
+		String secondPiece = "";
+		for (int i = 0; i < 8; i++){
+			first += compiledI.randoms[0].nextInt(1000) + " ";
+			same += sameSeed.randoms[0].nextInt(1000) + " ";
+			other += otherTeam.randoms[0].nextInt(1000) + " ";
+			secondPiece += compiledI.randoms[1].nextInt(1000) + " ";
 		}
 		
-		if (testI.currentInstructions.get(1) != "+"){
-			System.out.println("FAILED: Interpreter parse() Test 320. Result: " + testI.currentInstructions.get(1));
+		if (!first.equals(same) || first.equals(other) || first.equals(secondPiece)){
+			System.out.println("FAILED: Interpreter random Test 366. Result: " + first + "/ " + same + "/ " + other + "/ " + secondPiece);
 			return;
 		}
-		else{
-			System.out.println("PASSED: Interpreter parse() Test 320.");
+		else {
+			System.out.println("PASSED: Interpreter random Test 366.");
 		}
 		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 321. Result: " + testI.stacks[0].size());
+		compiledI.reset(t, null);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "1000", "random", "1000", "random", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		sameSeed.setSeed(42, 1);
+		
+		if (compiledI.stacks[0].intAt(1) != sameSeed.randoms[0].nextInt(1000) || compiledI.stacks[0].intAt(0) != sameSeed.randoms[0].nextInt(1000)){
+			System.out.println("FAILED: Interpreter random Test 367. Result: " + compiledI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 321.");
+			System.out.println("PASSED: Interpreter random Test 367.");
 		}
-		
-		if (testI.userWords[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 322. Result: " + testI.userWords[0].size());
+
+		//  The verifier works out how many values each word takes and leaves, and marks the words it proved.
+		HashMap<String, String> declared = new HashMap<String, String>();
+		Program verified = ProgramCache.build(new ArrayList<String>(Arrays.asList(":", "pair", "dup", ";", ":", "fold", "+", "+", ";",
+				":", "choose", "if", "1", "else", "2", "then", ";", ":", "listen", "recv!", ";", ":", "both", "pair", "fold", ";")), declared);
+		int pair = verified.findWord("pair");
+		int fold = verified.findWord("fold");
+		int choose = verified.findWord("choose");
+		int both = verified.findWord("both");
+		if (!verified.isVerified(pair) || verified.wordInputs[pair] != 1 || verified.wordGrowth[pair] != 1
+				|| !verified.isVerified(fold) || verified.wordInputs[fold] != 3 || verified.wordGrowth[fold] != 0
+				|| !verified.isVerified(choose) || verified.wordInputs[choose] != 1 || verified.isVerified(verified.findWord("listen"))
+				|| !verified.isVerified(both) || verified.wordInputs[both] != 2 || verified.getWarnings().length != 0){
+			System.out.println("FAILED: Interpreter stack verifier Test 368. Result: " + Arrays.toString(verified.wordVerified) + " " + Arrays.toString(verified.wordInputs) + " " + Arrays.toString(verified.wordGrowth) + " " + Arrays.toString(verified.getWarnings()));
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 322.");
+			System.out.println("PASSED: Interpreter stack verifier Test 368.");
 		}
 		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 323. Result: " + testI.userVars[0].size());
+		//  Code that always underflows, loops that never end or change the depth each time round, and a play word that grows the stack are reported.
+		String warnings = Arrays.toString(ProgramCache.build(new ArrayList<String>(Arrays.asList("1", "drop", "drop", ":", "spin", "begin", "false", "until", ";",
+				":", "deeper", "begin", "1", "true", "until", ";", ":", "self", "self", ";")), declared).getWarnings())
+				+ Arrays.toString(ProgramCache.build(new ArrayList<String>(Arrays.asList("7", ":", "play", "1", ";")), declared).getWarnings())
+				+ Arrays.toString(ProgramCache.build(new ArrayList<String>(Arrays.asList("7", ":", "play", "drop", "drop", "+", ";")), declared).getWarnings());
+		if (!warnings.contains("stack underflow in the top level: \"drop\" in the top level is always short of 1 value(s).")
+				|| !warnings.contains("begin/until loop in word spin never ends")
+				|| !warnings.contains("loop in word deeper changes the stack depth by 1 each time round.")
+				|| !warnings.contains("word self calls itself on every path")
+				|| !warnings.contains("word play leaves 1 more value(s) on the stack each turn")
+				|| !warnings.contains("stack underflow in word play: \"+\" in word play is short of 3 value(s) on the first turn.")){
+			System.out.println("FAILED: Interpreter stack verifier Test 369. Result: " + warnings);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 323.");
+			System.out.println("PASSED: Interpreter stack verifier Test 369.");
 		}
 		
-		testI.currentInstructions.clear();
-		
-		testI.stacks[0].clear();
-		
-		
-		//  Test for established words in the Word Interface
-		
-		testI.parse("3");
-		testI.parse("3");
-		testI.parse("+");
-		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 324. Result: " + testI.stacks[0].size());
+		//  Declared effects are checked against the body, and stand in for words whose effect cannot be worked out.
+		RobotRecord declaredRecord = new RobotRecord();
+		declaredRecord.getCode().add(": pair ( a -- a ) dup ;");
+		declaredRecord.getCode().add(": count ( n -- ) dup 0 > if 1 - count else drop then ;");
+		declaredRecord.getCode().add(": play 3 count ;");
+		Program declaredProgram = ProgramCache.getProgram(declaredRecord);
+		warnings = Arrays.toString(declaredProgram.getWarnings());
+		if (!warnings.equals("[word pair is declared ( a -- a ) but takes 1 and leaves 2.]") || declaredProgram.isVerified(declaredProgram.findWord("count"))
+				|| declaredProgram.isVerified(declaredProgram.playWord)){
+			System.out.println("FAILED: Interpreter stack verifier Test 370. Result: " + warnings);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 324.");
+			System.out.println("PASSED: Interpreter stack verifier Test 370.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("6")){
-			System.out.println("FAILED: Interpreter parse() Test 325. Result: " + sResult);
+		//  Verified words run their stack words unchecked, and errors in a word entered with too few values are reported as before.
+		compiledI = new Interpreter(1, t, null);
+		compiledI.setDiagnostics(Diagnostics.disabled());
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "spin", "rot", "rot", "rot", "swap", "swap", "dup", "drop", ";",
+				":", "two", "drop", "drop", ";", ":", "play", "1", "2", "3", "spin", "two", "two", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		if (!compiledI.programs[0].isVerified(0) || !compiledI.stacks[0].toString().equals("[]") || compiledI.getErrorCount(0) != 1 || compiledI.context.uncheckedCall != -1){
+			System.out.println("FAILED: Interpreter stack verifier Test 371. Result: " + compiledI.stacks[0] + " " + compiledI.getErrorCount(0));
 			return;
 		}
-		else{
-			System.out.println("PASSED: Interpreter parse() Test 325.");
+		else {
+			System.out.println("PASSED: Interpreter stack verifier Test 371.");
 		}
-		
-		if (testI.userWords[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 326. Result: " + testI.userWords[0].size());
+
+		//  The profiler counts calls, built-in words and loop iterations, and tracks the deepest stack.
+		compiledI = new Interpreter(1, t, null);
+		compiledI.setProfiling(true);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "sum", "0", "swap", "1", "do", "I", "+", "loop", ";",
+				":", "twice", "dup", "sum", "swap", "sum", "+", ";", ":", "play", "3", "twice", "drop", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		compiledI.play(0);
+		Profiler profiler = compiledI.getProfiler();
+		if (profiler.getCalls(0, "play") != 2 || profiler.getCalls(0, "twice") != 2 || profiler.getCalls(0, "sum") != 4 || profiler.getCalls(0, "(top level)") != 1
+				|| profiler.getCount(0, OpcodeEnum.DUPLICATE) != 2 || profiler.getLoopIterations(0) != 8 || profiler.getStackHighWater(0) != 4){
+			System.out.println("FAILED: Interpreter profiler Test 372. Result: " + profiler.getFlatReport());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 326.");
+			System.out.println("PASSED: Interpreter profiler Test 372.");
 		}
 		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 327. Result: " + testI.userVars[0].size());
+		//  The reports name each piece and word, and the collapsed stacks follow the calls.
+		String flat = profiler.getFlatReport();
+		String collapsed = profiler.getCollapsedStacks();
+		if (!flat.contains("RED piece0") || !flat.contains("3 runs") || !flat.contains("twice") || !flat.contains("loop from instruction")
+				|| !collapsed.contains("RED piece0;play;twice;sum;+ ") || !collapsed.matches("(?s)(RED piece0(;[^;\\n]+)+ \\d+\\n)+")){
+			System.out.println("FAILED: Interpreter profiler Test 373. Result: " + flat + collapsed);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 327.");
+			System.out.println("PASSED: Interpreter profiler Test 373.");
 		}
 		
-		testI.parse("moo");
-		testI.parse("dup");
-		
-		if (testI.stacks[0].size() != 2){
-			System.out.println("FAILED: Interpreter parse() Test 328. Result: " + testI.stacks[0].size());
+		compiledI.setProfiling(false);
+		if (compiledI.getProfiler() != null){
+			System.out.println("FAILED: Interpreter profiler Test 374.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 328.");
+			System.out.println("PASSED: Interpreter profiler Test 374.");
 		}
-		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("moo")){
-			System.out.println("FAILED: Interpreter parse() Test 329. Result: " + sResult);
+
+		//  The trace records each instruction with its piece, turn and the top of the stack.
+		compiledI = new Interpreter(1, t, null);
+		compiledI.setTracing(64);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("5", ":", "play", "1", "+", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		compiledI.play(0);
+		List<String> traced = TraceDecoder.decode(compiledI.getTraceRecorder().getRecords());
+		if (!traced.contains("turn 1 piece 0 + top INTEGER 1") || !traced.contains("turn 2 piece 0 + top INTEGER 1") || !traced.get(0).equals("turn 0 piece 0 PUSH_LITERAL empty stack")){
+			System.out.println("FAILED: Interpreter trace Test 375. Result: " + traced);
 			return;
 		}
-		else{
-			System.out.println("PASSED: Interpreter parse() Test 329.");
+		else {
+			System.out.println("PASSED: Interpreter trace Test 375.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("moo")){
-			System.out.println("FAILED: Interpreter parse() Test 330. Result: " + sResult);
+		//  A written trace reads back as the same records.
+		try {
+			java.io.ByteArrayOutputStream written = new java.io.ByteArrayOutputStream();
+			compiledI.getTraceRecorder().writeTo(written);
+			long[] read = TraceDecoder.read(new java.io.ByteArrayInputStream(written.toByteArray()));
+			if (!Arrays.equals(read, compiledI.getTraceRecorder().getRecords())){
+				System.out.println("FAILED: Interpreter trace Test 376.");
+				return;
+			}
+			else {
+				System.out.println("PASSED: Interpreter trace Test 376.");
+			}
+		}
+		catch (java.io.IOException e){
+			System.out.println("FAILED: Interpreter trace Test 376. Exception: " + e.getMessage());
+			return;
+		}
+		
+		//  A full ring keeps only the most recent records, and tracing can be turned off.
+		compiledI.setTracing(0);
+		TraceRecorder ring = new TraceRecorder(3);
+		ValueStack traceStack = new ValueStack(16);
+		for (int i = 0; i < 10; i++){
+			traceStack.pushInt(i);
+			ring.instruction(0, OpcodeEnum.DUPLICATE, traceStack);
+		}
+		long[] kept = ring.getRecords();
+		if (ring.capacity() != 4 || kept.length != 4 || TraceRecorder.valueOf(kept[0]) != 6 || TraceRecorder.valueOf(kept[3]) != 9
+				|| ring.getWritten() != 10 || compiledI.getTraceRecorder() != null){
+			System.out.println("FAILED: Interpreter trace Test 377.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 330.");
+			System.out.println("PASSED: Interpreter trace Test 377.");
 		}
-		
-		if (testI.userWords[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 331. Result: " + testI.userWords[0].size());
+
+		//  cancel() from another thread ends a turn that would otherwise run until its budget is spent.
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withInstructionBudget(Integer.MAX_VALUE));
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "begin", "false", "until", ";")));
+		compiledI.initialize(0);
+		final Interpreter cancelledI = compiledI;
+		Thread canceller = new Thread() {
+			public void run(){
+				try {
+					Thread.sleep(50);
+				}
+				catch (InterruptedException e){
+				}
+				cancelledI.cancel();
+			}
+		};
+		canceller.start();
+		compiledI.play(0);
+		if (compiledI.context.fuel <= 0 || !compiledI.context.abortTurn){
+			System.out.println("FAILED: Interpreter cancel Test 378.");
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 331.");
+			System.out.println("PASSED: Interpreter cancel Test 378.");
 		}
-		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 332. Result: " + testI.userVars[0].size());
+
+		//  Interpreters share nothing that changes, so many can play at once on different threads with the same results as one at a time.
+		final List<String> parallelProgram = Arrays.asList(":", "sq", "dup", "*", ";", ":", "play", "0", "2000", "1", "do", "I", "sq", "+", "loop", "3", "random", "+", ";");
+		final Team parallelTeam = t;
+		final int[] parallelResults = new int[8];
+		Thread[] players = new Thread[parallelResults.length];
+		for (int i = 0; i < players.length; i++){
+			final int match = i;
+			players[i] = new Thread() {
+				public void run(){
+					Interpreter matchI = new Interpreter(1, parallelTeam, null, InterpreterConfig.DEFAULT.withHotWordThreshold(5));
+					matchI.setSeed(match, 0);
+					matchI.ai[0] = new AI(new ArrayList<String>(parallelProgram));
+					matchI.initialize(0);
+					for (int turn = 0; turn < 20; turn++){
+						matchI.play(0);
+					}
+					parallelResults[match] = matchI.stacks[0].intAt(0) + matchI.stacks[0].size();
+				}
+			};
+			players[i].start();
+		}
+		boolean parallelMatches = true;
+		for (int i = 0; i < players.length; i++){
+			try {
+				players[i].join();
+			}
+			catch (InterruptedException e){
+				parallelMatches = false;
+			}
+			Interpreter matchI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(5));
+			matchI.setSeed(i, 0);
+			matchI.ai[0] = new AI(new ArrayList<String>(parallelProgram));
+			matchI.initialize(0);
+			for (int turn = 0; turn < 20; turn++){
+				matchI.play(0);
+			}
+			if (parallelResults[i] != matchI.stacks[0].intAt(0) + matchI.stacks[0].size()){
+				parallelMatches = false;
+			}
+		}
+		if (!parallelMatches){
+			System.out.println("FAILED: Interpreter parallel Test 379. Result: " + Arrays.toString(parallelResults));
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 332.");
+			System.out.println("PASSED: Interpreter parallel Test 379.");
 		}
-		
-		testI.stacks[0].clear();
-		testI.currentInstructions.clear();
-		
-		testI.stacks[0].push("so many shots");
-		testI.stacks[0].push("#shotsFired");
 
-		testI.parse("!");
-		
-		if (testI.stacks[0].size() > 0){
-			System.out.println("FAILED: Interpreter parse() Test 333. Result: " + testI.stacks[0].size());
+		//  A snapshot puts back the stacks, variables, random streams and mailboxes, so the same turns play out the same way again.
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(3));
+		compiledI.setSeed(42, 0);
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList("variable", "n", "0", "n", "!", ":", "sq", "dup", "*", ";",
+				":", "play", "n", "?", "1", "+", "dup", "n", "!", "sq", "100", "random", "+", ";")));
+		compiledI.initialize(0);
+		compiledI.play(0);
+		compiledI.mailboxes[0].sendMessage("piece0", "7");
+		InterpreterSnapshot snapshot = compiledI.snapshot();
+		for (int i = 0; i < 5; i++){
+			compiledI.play(0);
+		}
+		String played = compiledI.stacks[0].toString() + compiledI.userVars[0].get(0).getValue();
+		compiledI.restore(snapshot);
+		boolean restoredMail = compiledI.mailboxes[0].hasMessage(0);
+		for (int i = 0; i < 5; i++){
+			compiledI.play(0);
+		}
+		String replayed = compiledI.stacks[0].toString() + compiledI.userVars[0].get(0).getValue();
+		if (!played.equals(replayed) || !restoredMail || compiledI.stacks[0].size() != 6){
+			System.out.println("FAILED: Interpreter snapshot Test 380. Result: " + played + " " + replayed);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 333.");
+			System.out.println("PASSED: Interpreter snapshot Test 380.");
 		}
 		
-		
-		if (testI.userWords[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 334. Result: " + testI.userWords[0].size());
+		//  A snapshot restored into another Interpreter forks the match, and neither changes the other.
+		Interpreter forkI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withHotWordThreshold(3));
+		forkI.restore(snapshot);
+		forkI.userWords[0].declare("extra", new UserWord("extra"));
+		for (int i = 0; i < 5; i++){
+			forkI.play(0);
+		}
+		String forked = forkI.stacks[0].toString() + forkI.userVars[0].get(0).getValue();
+		if (!played.equals(forked) || snapshot.stacks[0].size() != 1 || snapshot.userVars[0].get(0).getNumber() != 1
+				|| snapshot.userWords[0].slotOf("extra") != -1 || compiledI.userWords[0].slotOf("extra") != -1){
+			System.out.println("FAILED: Interpreter snapshot Test 381. Result: " + forked);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 334.");
+			System.out.println("PASSED: Interpreter snapshot Test 381.");
 		}
 		
-		if (testI.userVars[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 335. Result: " + testI.userVars[0].size());
+		//  A "dup drop" that could report an underflow is kept.
+		optimized = ProgramOptimizer.optimize(ProgramCompiler.compile(Arrays.asList("dup", "drop", "5", "+", "dup", "drop", "7", "dup", "dup", "drop", "drop")));
+		if (!optimized.getOptimizationReport().equals("[dup drop removed x2]") || optimized.getLength() != 9){
+			System.out.println("FAILED: Interpreter optimizer Test 382. Result: " + optimized.getOptimizationReport() + "\n" + optimized.disassemble());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 335.");
+			System.out.println("PASSED: Interpreter optimizer Test 382.");
 		}
 		
-		if (!testI.userVars[0].get(0).getValue().equals("so many shots")){
-			System.out.println("FAILED: Interpreter parse() Test 336. Result: " + testI.userVars[0].get(0).getValue());
+		//  Setting the diagnostics again, or resetting for another match, keeps the robot ids instead of registering more robots.
+		Diagnostics shared = new Diagnostics(new RingBufferSink(4), DiagnosticLevelEnum.OFF);
+		compiledI = new Interpreter(2, t, null);
+		compiledI.setDiagnostics(shared);
+		int firstId = compiledI.robotIds[1];
+		compiledI.setDiagnostics(shared);
+		compiledI.reset(t, null);
+		compiledI.reset(t, null);
+		int registered = shared.getRobotCount();
+		Diagnostics nextMatch = shared.forMatch();
+		compiledI.setDiagnostics(nextMatch);
+		if (registered != 2 || firstId != 1 || compiledI.robotIds[1] != 1 || shared.getRobotCount() != 0 || shared.getErrorCounts().size() != 0
+				|| nextMatch.getRobotCount() != 2 || nextMatch.register("extra") != 2){
+			System.out.println("FAILED: Interpreter diagnostics Test 383. Result: " + registered + " " + nextMatch.getErrorCounts());
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 336.");
+			System.out.println("PASSED: Interpreter diagnostics Test 383.");
 		}
 		
-		testI.stacks[0].clear();
-		testI.currentInstructions.clear();
+		//  scan! and identify! share one scanArea() until the board changes; move!, shoot! and a change of piece make the next scan! look again.
+		final int[] scans = new int[1];
+		Board sensed;
+		try {
+			MatchOptions sensedOptions = new MatchOptions();
+			sensedOptions.setNumPlayers(3);
+			sensedOptions.setNumScouts(4);
+			PlayerSettings[] sensedPlayers = new PlayerSettings[3];
+			for (int i = 0; i < sensedPlayers.length; i++){
+				sensedPlayers[i] = new PlayerSettings();
+			}
+			sensedOptions.setPlayers(sensedPlayers);
+			sensed = new Board(3, null, sensedOptions){
+				@Override
+				public LinkedList<Integer> scanArea(){
+					scans[0] += 1;
+					return super.scanArea();
+				}
+			};
+		}
+		catch (InvalidActivityException e){
+			System.out.println("FAILED: Interpreter sensor snapshot Test 384. Result: " + e.getMessage());
+			return;
+		}
+		Interpreter sensingI = new Interpreter(sensed.getPiecesPerTeam(), sensed.getTeams()[0], null);
+		sensingI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "scan!", "drop", "scan!", "0", ">", "if", "0", "identify!", "drop", "drop", "drop", "drop", "then", "scan!", "drop", ";")));
+		sensingI.initialize(0);
+		sensingI.play(0);
 		
-		testI.stacks[0].push("#shotsFired");
-
-		testI.parse("?");
+		if (scans[0] != 1 || sensingI.stacks[0].size() != 0){
+			System.out.println("FAILED: Interpreter sensor snapshot Test 384. Result: " + scans[0] + " " + sensingI.stacks[0]);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter sensor snapshot Test 384.");
+		}
 		
-		if (testI.stacks[0].size() != 1){
-			System.out.println("FAILED: Interpreter parse() Test 337. Result: " + testI.stacks[0].size());
+		scans[0] = 0;
+		sensingI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "scan!", "drop", "move!", "scan!", "drop", "scan!", "drop", "0", "1", "shoot!", "scan!", "drop", ";")));
+		sensingI.initialize(0);
+		sensingI.play(0);
+		
+		if (scans[0] != 3 || sensingI.stacks[0].size() != 0){
+			System.out.println("FAILED: Interpreter sensor snapshot Test 385. Result: " + scans[0] + " " + sensingI.stacks[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 337.");
+			System.out.println("PASSED: Interpreter sensor snapshot Test 385.");
 		}
 		
-		sResult = testI.stacks[0].pop();
-		if (!sResult.equals("so many shots")){
-			System.out.println("FAILED: Interpreter parse() Test 338. Result: " + sResult);
+		//  The snapshot follows the board's version, so a change made to the board directly also drops it.
+		scans[0] = 0;
+		SensorSnapshot sensedSnapshot = new SensorSnapshot();
+		sensedSnapshot.getVisible(sensed);
+		sensedSnapshot.getVisible(sensed);
+		int sameVersion = scans[0];
+		sensed.setCurrentPiece(1);
+		sensedSnapshot.getVisible(sensed);
+		int otherPiece = scans[0];
+		sensed.moveForward();
+		sensedSnapshot.getVisible(sensed);
+		sensedSnapshot.getVisible(sensed);
+		
+		if (sameVersion != 1 || otherPiece != 2 || scans[0] != 3){
+			System.out.println("FAILED: Interpreter sensor snapshot Test 386. Result: " + sameVersion + " " + otherPiece + " " + scans[0]);
 			return;
 		}
 		else {
-			System.out.println("PASSED: Interpreter parse() Test 338.");
+			System.out.println("PASSED: Interpreter sensor snapshot Test 386.");
 		}
 		
+		//  A cancel() made before the turn starts still ends it, and later turns are ended too until clearCancel().
+		compiledI = new Interpreter(1, t, null, InterpreterConfig.DEFAULT.withInstructionBudget(5000));
+		compiledI.ai[0] = new AI(new ArrayList<String>(Arrays.asList(":", "play", "begin", "false", "until", ";")));
+		compiledI.initialize(0);
+		compiledI.cancel();
+		compiledI.play(0);
+		int cancelledFuel = compiledI.context.fuel;
+		boolean cancelledAborted = compiledI.context.abortTurn;
+		compiledI.play(0);
+		int stillCancelledFuel = compiledI.context.fuel;
+		compiledI.clearCancel();
+		compiledI.play(0);
+		
+		if (cancelledFuel != 5000 || !cancelledAborted || stillCancelledFuel != 5000 || compiledI.context.fuel != 0){
+			System.out.println("FAILED: Interpreter cancel Test 387. Result: " + cancelledFuel + " " + stillCancelledFuel + " " + compiledI.context.fuel);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Interpreter cancel Test 387.");
+		}
 
 		//  Reached the end of the unit tests
 		System.out.println("Interpreter class: all unit tests passed.");
@@ -0,0 +1,106 @@
+/*  InterpreterConfig.java
+ *  Purpose: The limits an Interpreter runs its pieces' programs with, fixed for the match. A config cannot be changed once made,
+ *           so one config can be shared by the Interpreters of many matches on many threads.
+ */
+
+package robowars.interpreter;
+
+public final class InterpreterConfig {
+
+	/** The limits used unless a match sets others. */
+	public static final InterpreterConfig DEFAULT = new InterpreterConfig(Interpreter.DEFAULT_INSTRUCTION_BUDGET, Interpreter.DEFAULT_MAILBOX_CAPACITY,
+			Interpreter.DEFAULT_STACK_CAPACITY, Interpreter.DEFAULT_MAX_CALL_DEPTH, Interpreter.DEFAULT_MAX_LOOP_DEPTH, Interpreter.DEFAULT_HOT_WORD_THRESHOLD);
+
+	/** The number of instructions a piece may run in one turn, or while being initialized. */
+	private final int instructionBudget;
+	/** The maximum number of messages in each piece's mailbox. */
+	private final int mailboxCapacity;
+	/** The maximum number of values on each piece's stack. */
+	private final int stackCapacity;
+	/** The maximum depth of nested user word calls. */
+	private final int maxCallDepth;
+	/** The maximum number of do loops running at once, including loops in calling words. */
+	private final int maxLoopDepth;
+	/** The number of calls after which a user word is compiled to a HotWord. */
+	private final int hotWordThreshold;
+
+	/**
+	 * Constructor for a config with every limit given.
+	 * @param instructionBudget The number of instructions a piece may run in one turn.
+	 * @param mailboxCapacity The maximum number of messages in each mailbox.
+	 * @param stackCapacity The maximum number of values on each stack.
+	 * @param maxCallDepth The maximum depth of nested user word calls.
+	 * @param maxLoopDepth The maximum number of do loops running at once.
+	 * @param hotWordThreshold The number of calls after which a user word is run as a HotWord.
+	 * @precondition Every limit is greater than 0.
+	 */
+	public InterpreterConfig(int instructionBudget, int mailboxCapacity, int stackCapacity, int maxCallDepth, int maxLoopDepth, int hotWordThreshold){
+		if (instructionBudget <= 0){
+			throw new RuntimeException("Error creating InterpreterConfig: instruction budget must be greater than 0.");
+		}
+		if (mailboxCapacity <= 0 || stackCapacity <= 0){
+			throw new RuntimeException("Error creating InterpreterConfig: mailbox and stack capacities must be greater than 0.");
+		}
+		if (maxCallDepth <= 0 || maxLoopDepth <= 0){
+			throw new RuntimeException("Error creating InterpreterConfig: call and loop depths must be greater than 0.");
+		}
+		if (hotWordThreshold <= 0){
+			throw new RuntimeException("Error creating InterpreterConfig: hot word threshold must be greater than 0.");
+		}
+		this.instructionBudget = instructionBudget;
+		this.mailboxCapacity = mailboxCapacity;
+		this.stackCapacity = stackCapacity;
+		this.maxCallDepth = maxCallDepth;
+		this.maxLoopDepth = maxLoopDepth;
+		this.hotWordThreshold = hotWordThreshold;
+	}
+
+	public int getInstructionBudget(){
+		return this.instructionBudget;
+	}
+
+	public int getMailboxCapacity(){
+		return this.mailboxCapacity;
+	}
+
+	public int getStackCapacity(){
+		return this.stackCapacity;
+	}
+
+	public int getMaxCallDepth(){
+		return this.maxCallDepth;
+	}
+
+	public int getMaxLoopDepth(){
+		return this.maxLoopDepth;
+	}
+
+	public int getHotWordThreshold(){
+		return this.hotWordThreshold;
+	}
+
+	/**
+	 * Makes a config with another instruction budget.
+	 * @param budget The number of instructions a piece may run in one turn.
+	 * @return A new config with the same other limits.
+	 */
+	public InterpreterConfig withInstructionBudget(int budget){
+		return new InterpreterConfig(budget, this.mailboxCapacity, this.stackCapacity, this.maxCallDepth, this.maxLoopDepth, this.hotWordThreshold);
+	}
+
+	/**
+	 * Makes a config with another hot word threshold.
+	 * @param threshold The number of calls after which a user word is run as a HotWord.
+	 * @return A new config with the same other limits.
+	 */
+	public InterpreterConfig withHotWordThreshold(int threshold){
+		return new InterpreterConfig(this.instructionBudget, this.mailboxCapacity, this.stackCapacity, this.maxCallDepth, this.maxLoopDepth, threshold);
+	}
+
+	@Override
+	public String toString(){
+		return "budget " + this.instructionBudget + ", mailbox " + this.mailboxCapacity + ", stack " + this.stackCapacity
+				+ ", calls " + this.maxCallDepth + ", loops " + this.maxLoopDepth + ", hot after " + this.hotWordThreshold;
+	}
+
+}
@@ -0,0 +1,84 @@
+/*  InterpreterSnapshot.java
+ *  Purpose: The state of every piece of an Interpreter at one moment, taken by Interpreter.snapshot() and put back by restore(),
+ *           so that a match can be forked for what-if play. Compiled programs and user word definitions are shared, not copied,
+ *           since they are never changed in place; the rest is copied at its current size.
+ */
+
+package robowars.interpreter;
+
+public final class InterpreterSnapshot {
+
+	/** The config of the Interpreter the snapshot was taken from. */
+	final InterpreterConfig config;
+	/** The Interpreter the snapshot was taken from, whose HotWords can be kept when it is restored. */
+	final Interpreter source;
+	/** The piece that was playing. */
+	final int currentPiece;
+	/** The state of the call to play() or initialize() that last ran, with its own loop state. */
+	final ExecutionContext context;
+
+	//  The state of each piece, indexed by the piece offset.
+	final AI[] ai;
+	final Program[] programs;
+	final ValueStack[] stacks;
+	final Mailbox[] mailboxes;
+	final SlotDictionary<UserWord>[] userWords;
+	final SlotDictionary<UserVariable>[] userVars;
+	final int[][] wordCalls;
+	final HotWord[][] hotWords;
+	final PieceRandom[] randoms;
+
+	/**
+	 * Constructor for a snapshot of an Interpreter.
+	 * @param interpreter The Interpreter, which is not changed except to share its word dictionaries.
+	 * @precondition The Interpreter is not playing a turn.
+	 */
+	InterpreterSnapshot(Interpreter interpreter){
+		int pieces = interpreter.numberOfPieces;
+		this.config = interpreter.config;
+		this.source = interpreter;
+		this.currentPiece = interpreter.currentPiece;
+		this.context = new ExecutionContext(interpreter.context);
+		this.ai = interpreter.ai.clone();
+		this.programs = interpreter.programs.clone();
+		this.stacks = new ValueStack[pieces];
+		this.mailboxes = new Mailbox[pieces];
+		this.userWords = SlotDictionary.newArray(pieces);
+		this.userVars = SlotDictionary.newArray(pieces);
+		this.wordCalls = new int[pieces][];
+		this.hotWords = new HotWord[pieces][];
+		this.randoms = new PieceRandom[pieces];
+		for (int i = 0; i < pieces; i++){
+			this.stacks[i] = interpreter.stacks[i].copy();
+			this.mailboxes[i] = new Mailbox(this.config.getMailboxCapacity(), "piece" + i, interpreter);
+			this.mailboxes[i].restore(interpreter.mailboxes[i]);
+			this.userWords[i] = interpreter.userWords[i].share();
+			this.userVars[i] = copyVariables(interpreter.userVars[i]);
+			this.wordCalls[i] = interpreter.wordCalls[i] == null ? null : interpreter.wordCalls[i].clone();
+			this.hotWords[i] = interpreter.hotWords[i] == null ? null : interpreter.hotWords[i].clone();
+			this.randoms[i] = new PieceRandom(interpreter.randoms[i]);
+		}
+	}
+
+	/**
+	 * Copies a dictionary of variables, with a copy of each variable, since stored values change the variables in place.
+	 * @param variables The variables.
+	 * @return The copy.
+	 */
+	static SlotDictionary<UserVariable> copyVariables(SlotDictionary<UserVariable> variables){
+		SlotDictionary<UserVariable> copy = variables.share();
+		for (int slot = 0; slot < copy.size(); slot++){
+			copy.replace(slot, new UserVariable(copy.get(slot)));
+		}
+		return copy;
+	}
+
+	public int getNumberOfPieces(){
+		return this.stacks.length;
+	}
+
+	public InterpreterConfig getConfig(){
+		return this.config;
+	}
+
+}
@@ -0,0 +1,236 @@
+/*  Lexer.java
+ *  Purpose: Splits the source of a robot program into tokens in one pass, removing comments.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Lexer {
+
+	/** The tokens read so far. */
+	private final List<Token> tokens;
+	/** The text of the token being read. */
+	private final StringBuilder text;
+	/** The column of the first character of the token being read. */
+	private int column;
+
+	/** For each open comment, the number of tokens read before it. */
+	private int[] markTokens;
+	/** For each open comment, the text of the token it interrupted, or null if it started between tokens. */
+	private String[] markPrefixes;
+	/** For each open comment, the column of the token it interrupted. */
+	private int[] markColumns;
+	/** The number of open comments. */
+	private int depth;
+	/** The offset in the line of the "(" opening the outermost comment. */
+	private int commentStart;
+
+	/** The stack effect comment of each word, eg. "a b -- c", keyed by the name of the word. */
+	private final Map<String, String> effects;
+	/** The number of tokens read before the last stack effect comment kept, so that only the first comment after a name is used. */
+	private int effectTokens;
+
+	private Lexer(){
+		this.tokens = new ArrayList<Token>();
+		this.text = new StringBuilder();
+		this.markTokens = new int[8];
+		this.markPrefixes = new String[8];
+		this.markColumns = new int[8];
+		this.effects = new HashMap<String, String>();
+		this.effectTokens = -1;
+	}
+
+	/**
+	 * Reads the tokens of a program, one character at a time.
+	 * Tokens are separated by whitespace. Comments are between "(" and ")" on one line and may be nested; a ")" closes the innermost open comment.
+	 * A "(" that is never closed and a ")" with no open comment are dropped. A string starts with ." at the start of a token, and runs to the next " on the line,
+	 * so it may hold spaces and parentheses.
+	 * @param lines The lines of the program, as in RobotRecord.getCode().
+	 * @return The tokens, with the line and column each one starts at.
+	 */
+	public static List<Token> tokenize(List<String> lines){
+		return read(lines).tokens;
+	}
+
+	/**
+	 * Reads the tokens of a program, keeping the stack effect comments of its words as well.
+	 * @param lines The lines of the program, as in RobotRecord.getCode().
+	 * @return The lexer, holding the tokens and the stack effects.
+	 */
+	static Lexer read(List<String> lines){
+		Lexer lexer = new Lexer();
+		for (int i = 0; i < lines.size(); i++){
+			lexer.readLine(lines.get(i), i + 1);
+		}
+		return lexer;
+	}
+
+	List<Token> getTokens(){
+		return this.tokens;
+	}
+
+	/**
+	 * Getter for the stack effect comments of the words.
+	 * A stack effect comment is the first comment directly after the name of a word that contains "--", eg. ": pick ( a b -- c )".
+	 * @return The text inside each comment, eg. " a b -- c ", keyed by the name of the word. A word defined twice has the effect of its last definition.
+	 */
+	Map<String, String> getDeclaredEffects(){
+		return this.effects;
+	}
+
+	/**
+	 * Removes the comments from a line, by the same rules as tokenize(), keeping the rest of the line as it is.
+	 * @param line The line to strip of comments.
+	 * @return The cleaned line.
+	 */
+	public static String stripComments(String line){
+		StringBuilder text = new StringBuilder(line.length());
+		int[] marks = new int[8];
+		int open = 0;
+		int i = 0;
+		while (i < line.length()){
+			char c = line.charAt(i);
+			if (open == 0 && startsString(line, i) && (text.length() == 0 || text.charAt(text.length() - 1) <= ' ')){
+				int end = endOfString(line, i);
+				text.append(line, i, end);
+				i = end;
+				continue;
+			}
+			if (c == '('){
+				if (open == marks.length){
+					marks = Arrays.copyOf(marks, open * 2);
+				}
+				marks[open] = text.length();
+				open += 1;
+			}
+			else if (c == ')'){
+				if (open > 0){
+					open -= 1;
+					text.setLength(marks[open]);
+				}
+			}
+			else {
+				text.append(c);
+			}
+			i += 1;
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Reads one line, adding its tokens.
+	 * @param line The text of the line.
+	 * @param lineNumber The line number, counting from 1.
+	 */
+	private void readLine(String line, int lineNumber){
+		this.depth = 0;
+		int i = 0;
+		while (i < line.length()){
+			char c = line.charAt(i);
+			if (this.depth == 0 && this.text.length() == 0 && startsString(line, i)){
+				int end = endOfString(line, i);
+				this.column = i;
+				this.text.append(line, i, end);
+				i = end;
+				continue;
+			}
+			if (c == '('){
+				if (this.depth == 0){
+					this.commentStart = i;
+				}
+				this.openComment();
+			}
+			else if (c == ')'){
+				if (this.depth > 0){
+					this.closeComment();
+					if (this.depth == 0){
+						this.keepEffect(line.substring(this.commentStart + 1, i));
+					}
+				}
+			}
+			else if (c <= ' '){
+				this.endToken(lineNumber);
+			}
+			else {
+				if (this.text.length() == 0){
+					this.column = i;
+				}
+				this.text.append(c);
+			}
+			i += 1;
+		}
+		this.endToken(lineNumber);
+	}
+
+	private void openComment(){
+		if (this.depth == this.markTokens.length){
+			this.markTokens = Arrays.copyOf(this.markTokens, this.depth * 2);
+			this.markPrefixes = Arrays.copyOf(this.markPrefixes, this.depth * 2);
+			this.markColumns = Arrays.copyOf(this.markColumns, this.depth * 2);
+		}
+		this.markTokens[this.depth] = this.tokens.size();
+		this.markPrefixes[this.depth] = this.text.length() == 0 ? null : this.text.toString();
+		this.markColumns[this.depth] = this.column;
+		this.depth += 1;
+	}
+
+	/**
+	 * Drops everything read since the innermost open comment started, and carries on with the token it interrupted.
+	 */
+	private void closeComment(){
+		this.depth -= 1;
+		int kept = this.markTokens[this.depth];
+		if (this.tokens.size() > kept){
+			this.tokens.subList(kept, this.tokens.size()).clear();
+		}
+		this.text.setLength(0);
+		if (this.markPrefixes[this.depth] != null){
+			this.text.append(this.markPrefixes[this.depth]);
+			this.column = this.markColumns[this.depth];
+			this.markPrefixes[this.depth] = null;
+		}
+	}
+
+	/**
+	 * Keeps a comment that has just closed if it is the stack effect of a word.
+	 * @param comment The text inside the comment.
+	 */
+	private void keepEffect(String comment){
+		int count = this.tokens.size();
+		if (this.text.length() > 0 || count < 2 || count == this.effectTokens || !comment.contains("--")){
+			return;
+		}
+		if (this.tokens.get(count - 2).getText().equals(":")){
+			this.effects.put(this.tokens.get(count - 1).getText(), comment);
+			this.effectTokens = count;
+		}
+	}
+
+	private void endToken(int lineNumber){
+		if (this.text.length() > 0){
+			this.tokens.add(new Token(this.text.toString(), lineNumber, this.column + 1));
+			this.text.setLength(0);
+		}
+	}
+
+	private static boolean startsString(String line, int i){
+		return line.charAt(i) == '.' && i + 1 < line.length() && line.charAt(i + 1) == '"';
+	}
+
+	/**
+	 * Finds the end of a string starting at an offset.
+	 * @param line The text of the line.
+	 * @param start The offset of the ." starting the string.
+	 * @return The offset after the closing ", or the end of the line if the string is not closed.
+	 */
+	private static int endOfString(String line, int start){
+		int close = line.indexOf('"', start + 2);
+		return close < 0 ? line.length() : close + 1;
+	}
+
+}
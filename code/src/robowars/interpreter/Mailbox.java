@@ -9,20 +9,27 @@
 
 package robowars.interpreter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 import robowars.pieces.Team;
 import robowars.pieces.TeamEnum;
 
 public class Mailbox {
 
-	/**  The messages received from other pieces.
-	*    Each message is a string, which contains the ID of the sender, a separation character, and then the message itself.
-	*/
-	private List<String> messages;
-	/**  The limit on the number of messages that may be held in the mailbox at once. */
-	private Integer mailboxSize;
+	/**  The piece index of the sender of each message, in a ring buffer starting at head, oldest first. */
+	private final int[] senders;
+	/**  The type of each message, parallel to senders. */
+	private final ValueTypeEnum[] types;
+	/**  The int value of each INTEGER or BOOLEAN message, parallel to senders. */
+	private final int[] values;
+	/**  The string form of each message, or null for numbers and booleans, parallel to senders. */
+	private final String[] refs;
+	/**  The index of the oldest message. */
+	private int head;
+	/**  The number of messages held. */
+	private int size;
+	/**  The number of messages held from each sender, indexed by piece index. */
+	private final int[] senderCounts;
 	/**  ID of the piece that the Mailbox belongs to. */
 	private String pieceID;
 	/**  Reference to the interpreter holding the Mailbox. */
@@ -30,19 +37,21 @@ public class Mailbox {
 	
 	/**  Constructor for testing purposes only. */
 	public Mailbox(Integer size, String id){
-		mailboxSize = size;
-		pieceID = id;
 		//  Initialize the Interpreter using the test constructor
-		interpreter = new Interpreter(size, new Team(TeamEnum.RED, true, 1, 1, 1), null);		
-		messages = new ArrayList<String>();
+		this(size, id, new Interpreter(size, new Team(TeamEnum.RED, true, 1, 1, 1), null));
 	}
 	
 	/** Constructor for use in the application. */
 	public Mailbox(Integer size, String id, Interpreter parent){
-		mailboxSize = size;
 		pieceID = id;
-		interpreter = parent;		
-		messages = new ArrayList<String>();
+		interpreter = parent;
+		senders = new int[size];
+		types = new ValueTypeEnum[size];
+		values = new int[size];
+		refs = new String[size];
+		head = 0;
+		this.size = 0;
+		senderCounts = new int[parent.numberOfPieces];
 	}
 	
 	/**
@@ -66,7 +75,15 @@ public class Mailbox {
 	 * @return true if the mailbox is empty, false otherwise
 	 */
 	public boolean isEmpty(){
-		return this.messages.size() == 0;
+		return this.size == 0;
+	}
+	
+	/**
+	 * Check if the mailbox is full.
+	 * @return true if no more messages can be delivered, false otherwise
+	 */
+	public boolean isFull(){
+		return this.size == this.senders.length;
 	}
 	
 	/**
@@ -75,13 +92,16 @@ public class Mailbox {
 	 * @return true if there is a message from sender currently held in the Mailbox, false otherwise
 	 */
 	public boolean hasMessage(String sender){
-		for (String message : this.messages) {
-			String pieceID = message.split("@")[0];
-			if (pieceID.equalsIgnoreCase(sender)) {
-				return true;
-			}	
-		}
-		return false;
+		return this.hasMessage(this.indexOf(sender));
+	}
+	
+	/**
+	 * A method for checking whether this mailbox holds a message from the sender.
+	 * @param sender The piece index of the sender, or -1 for no piece.
+	 * @return true if there is a message from sender currently held in the Mailbox, false otherwise
+	 */
+	public boolean hasMessage(int sender){
+		return sender >= 0 && sender < this.senderCounts.length && this.senderCounts[sender] > 0;
 	}
 	
 	/**
@@ -91,18 +111,34 @@ public class Mailbox {
 	 * @return A string representing the oldest message received from the sender, or "" if there is no message.
 	 */
 	public String receiveMessage(String sender){
-		for (int i = 0; i < this.messages.size(); i++) {
-			String[] message = this.messages.get(i).split("@");
-			String pieceID = message[0];
-			String onlyMessage = message[1];
-			//  Remove and return the earliest message if found.
-			if (pieceID.equalsIgnoreCase(sender)) {
-				this.messages.remove(i);
-				return onlyMessage;
-			}	
-		}
-		//  No message from sender.
-		return "";
+		int index = this.find(this.indexOf(sender));
+		if (index < 0){
+			//  No message from sender.
+			return "";
+		}
+		String message = this.refs[index];
+		if (message == null){
+			message = this.types[index] == ValueTypeEnum.BOOLEAN ? Boolean.toString(this.values[index] != 0) : Integer.toString(this.values[index]);
+		}
+		this.remove(index);
+		return message;
+	}
+	
+	/**
+	 * A method for moving the oldest message from the given sender onto a stack, keeping its type.
+	 * @param sender The piece index of the sender.
+	 * @param stack The stack to push the message to.
+	 * @postcondition The message, if it exists, has been removed from the mailbox and pushed to the stack.
+	 * @return true if a message was pushed, false if there is no message from the sender.
+	 */
+	public boolean receiveMessage(int sender, ValueStack stack){
+		int index = this.find(sender);
+		if (index < 0){
+			return false;
+		}
+		stack.push(this.types[index], this.values[index], this.refs[index]);
+		this.remove(index);
+		return true;
 	}
 	
 	/**
@@ -113,39 +149,166 @@ public class Mailbox {
 	 * @return True if the message is sent successfully, false otherwise.
 	 */
 	public boolean sendMessage(String recipient, String message){
-		for (Mailbox mailbox : this.interpreter.mailboxes) {
-			if (mailbox.getID().equals(recipient)) {
-				if (mailbox.messages.size() < mailboxSize){
-					mailbox.addMessage(this.pieceID + "@" + message);
-					return true;
-				}
-				else {
-					return false;
-				}
-			}
+		Integer index = this.interpreter.idToIndex.get(recipient);
+		Integer sender = this.interpreter.idToIndex.get(this.pieceID);
+		if (index == null || sender == null){
+			return false;
 		}
-		return false;
+		return this.interpreter.mailboxes[index].addMessage(sender, message);
 	}
 	
 	/**
-	 * Public method to add a message to the messages field. 
+	 * A method for sending a typed value to another Mailbox.
+	 * @param recipient The piece index of the Mailbox to send to.
+	 * @param type The type of the value.
+	 * @param value The int value of an INTEGER or BOOLEAN.
+	 * @param ref The string form of the value, or null for a number or boolean.
+	 * @postcondition The message has been delivered if the recipient is valid and its mailbox is not full.
+	 * @return True if the message is sent successfully, false otherwise.
+	 */
+	public boolean sendMessage(int recipient, ValueTypeEnum type, int value, String ref){
+		Integer sender = this.interpreter.idToIndex.get(this.pieceID);
+		if (sender == null || recipient < 0 || recipient >= this.interpreter.mailboxes.length){
+			return false;
+		}
+		return this.interpreter.mailboxes[recipient].addMessage(sender, type, value, ref);
+	}
+	
+	/**
+	 * Public method to add a message to the mailbox, typed in the same way as a value pushed to a stack.
+	 * @param sender The piece index of the sender.
 	 * @param message - A string holding a new message.
+	 * @return true if the message was added, false if the mailbox is full or the sender is not a piece.
 	 */
-	public void addMessage(String message){
-		this.messages.add(message);
+	public boolean addMessage(int sender, String message){
+		ValueTypeEnum type = ValueStack.classify(message);
+		int value = 0;
+		if (type == ValueTypeEnum.INTEGER){
+			value = Integer.parseInt(message);
+		}
+		else if (type == ValueTypeEnum.BOOLEAN){
+			value = message.equals("true") ? 1 : 0;
+		}
+		return this.addMessage(sender, type, value, message);
 	}
 	
 	/**
-	 * Public method to remove all messages from the messages list.
-	 * @postcondition The messages field has been cleared.
+	 * Adds a typed message to the end of the ring buffer.
+	 * @param sender The piece index of the sender.
+	 * @param type The type of the message.
+	 * @param value The int value of an INTEGER or BOOLEAN.
+	 * @param ref The string form of the message, or null.
+	 * @return true if the message was added, false if the mailbox is full or the sender is not a piece.
+	 */
+	boolean addMessage(int sender, ValueTypeEnum type, int value, String ref){
+		if (this.isFull() || sender < 0 || sender >= this.senderCounts.length){
+			return false;
+		}
+		int index = (this.head + this.size) % this.senders.length;
+		this.senders[index] = sender;
+		this.types[index] = type;
+		this.values[index] = value;
+		this.refs[index] = ref;
+		this.size += 1;
+		this.senderCounts[sender] += 1;
+		return true;
+	}
+	
+	/**
+	 * Public method to remove all messages from the mailbox.
+	 * @postcondition The mailbox is empty.
 	 */
 	public void clear(){
-		this.messages.clear();
+		Arrays.fill(this.refs, null);
+		Arrays.fill(this.senderCounts, 0);
+		this.head = 0;
+		this.size = 0;
+	}
+	
+	/**
+	 * Replaces the messages held with the messages held by another Mailbox.
+	 * @param other The Mailbox to copy, which is not changed.
+	 * @precondition Both Mailboxes have the same capacity and the same number of pieces.
+	 */
+	void restore(Mailbox other){
+		if (other.senders.length != this.senders.length || other.senderCounts.length != this.senderCounts.length){
+			throw new RuntimeException("Error restoring Mailbox " + this.pieceID + ": capacity does not match.");
+		}
+		System.arraycopy(other.senders, 0, this.senders, 0, this.senders.length);
+		System.arraycopy(other.types, 0, this.types, 0, this.types.length);
+		System.arraycopy(other.values, 0, this.values, 0, this.values.length);
+		System.arraycopy(other.refs, 0, this.refs, 0, this.refs.length);
+		System.arraycopy(other.senderCounts, 0, this.senderCounts, 0, this.senderCounts.length);
+		this.head = other.head;
+		this.size = other.size;
+	}
+	
+	/**
+	 * Finds the piece index of a piece ID, ignoring case as messages always have.
+	 * @param id The ID of a piece, eg. "piece2".
+	 * @return The piece index, or -1 if no piece has the ID.
+	 */
+	int indexOf(String id){
+		Integer index = this.interpreter.idToIndex.get(id);
+		if (index != null){
+			return index;
+		}
+		for (int i = 0; i < this.interpreter.mailboxes.length; i++){
+			if (this.interpreter.mailboxes[i] != null && this.interpreter.mailboxes[i].getID().equalsIgnoreCase(id)){
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Finds the oldest message from a sender.
+	 * @param sender The piece index of the sender.
+	 * @return The index of the message in the ring buffer, or -1 if there is none.
+	 */
+	private int find(int sender){
+		if (!this.hasMessage(sender)){
+			return -1;
+		}
+		for (int i = 0; i < this.size; i++){
+			int index = (this.head + i) % this.senders.length;
+			if (this.senders[index] == sender){
+				return index;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Removes a message. The oldest message is removed by moving the head; any other message by moving the newer messages after it back one place,
+	 * so the buffer stays in order.
+	 * @param index The index of the message in the ring buffer.
+	 */
+	private void remove(int index){
+		this.senderCounts[this.senders[index]] -= 1;
+		if (index == this.head){
+			this.refs[index] = null;
+			this.head = (this.head + 1) % this.senders.length;
+			this.size -= 1;
+			return;
+		}
+		int last = (this.head + this.size - 1) % this.senders.length;
+		while (index != last){
+			int next = (index + 1) % this.senders.length;
+			this.senders[index] = this.senders[next];
+			this.types[index] = this.types[next];
+			this.values[index] = this.values[next];
+			this.refs[index] = this.refs[next];
+			index = next;
+		}
+		this.refs[last] = null;
+		this.size -= 1;
 	}
 	
 	public static void main(String[] args){
 		
 		//  Main class providing testing for the Mailbox Class
+		//  Messages are added by the piece index of the sender; the test Interpreter has the pieces piece0, piece1 and piece2.
 
 		Mailbox test1 = new Mailbox(3, "Batman");
 		
@@ -168,7 +331,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox hasMessage() Test 1.");
 		}
 		
-		bResult = test1.hasMessage("Superman");
+		bResult = test1.hasMessage("piece1");
 		if (bResult != false){
 			System.out.println("FAILED: Mailbox hasMessage() Test 2. Result: " + bResult);
 			return;
@@ -177,7 +340,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox hasMessage() Test 2.");
 		}
 		
-		test1.addMessage("Catwoman@Hi");
+		test1.addMessage(0, "Hi");
 		
 		bResult = test1.hasMessage("");
 		if (bResult != false){
@@ -188,7 +351,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox hasMessage() Test 3.");
 		}
 		
-		bResult = test1.hasMessage("Superman");
+		bResult = test1.hasMessage("piece1");
 		if (bResult != false){
 			System.out.println("FAILED: Mailbox hasMessage() Test 4. Result: " + bResult);
 			return;
@@ -197,9 +360,9 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox hasMessage() Test 4.");
 		}
 		
-		test1.addMessage("Superman@Heyo");
+		test1.addMessage(1, "Heyo");
 		
-		bResult = test1.hasMessage("Superman");
+		bResult = test1.hasMessage("piece1");
 		if (bResult != true){
 			System.out.println("FAILED: Mailbox hasMessage() Test 5. Result: " + bResult);
 			return;
@@ -218,7 +381,7 @@ public class Mailbox {
 		o Test case: The messages field of the Mailbox is not empty, and receiveMessage() is passed a string which matches with more than one of the pieceIDs of the messages it contains. Expected result: receiveMessage() returns the message matching the pieceID which was chronologically received first, with the pieceID removed from the string, and removes the message from the Mailbox.
 		*/
 		
-		sResult = test1.receiveMessage("Superman");
+		sResult = test1.receiveMessage("piece1");
 		if (!sResult.equals("")){
 			System.out.println("FAILED: Mailbox receiveMessage() Test 6. Result: " + sResult);
 			return;
@@ -236,7 +399,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox receiveMessage() Test 7.");
 		}
 		
-		test1.addMessage("Aquaman@Glubglub");
+		test1.addMessage(2, "Glubglub");
 		
 		sResult = test1.receiveMessage("");
 		if (!sResult.equals("")){
@@ -247,7 +410,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox receiveMessage() Test 7.");
 		}
 		
-		sResult = test1.receiveMessage("Superman");
+		sResult = test1.receiveMessage("piece1");
 		if (!sResult.equals("")){
 			System.out.println("FAILED: Mailbox receiveMessage() Test 8. Result: " + sResult);
 			return;
@@ -256,7 +419,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox receiveMessage() Test 8.");
 		}
 		
-		sResult = test1.receiveMessage("Aquaman");
+		sResult = test1.receiveMessage("piece2");
 		if (!sResult.equals("Glubglub")) {
 			System.out.println("FAILED: Mailbox receiveMessage() Test 9. Result: " + sResult);
 			return;
@@ -265,10 +428,10 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox receiveMessage() Test 9.");
 		}
 		
-		test1.addMessage("Superman@Super");
-		test1.addMessage("Superman@Duper");
+		test1.addMessage(1, "Super");
+		test1.addMessage(1, "Duper");
 		
-		sResult = test1.receiveMessage("Superman");
+		sResult = test1.receiveMessage("piece1");
 		if (!sResult.equals("Super")){
 			System.out.println("FAILED: Mailbox receiveMessage() Test 10. Result: " + sResult);
 			return;
@@ -277,7 +440,7 @@ public class Mailbox {
 			System.out.println("PASSED: Mailbox receiveMessage() Test 10.");
 		}
 		
-		sResult = test1.receiveMessage("Superman");
+		sResult = test1.receiveMessage("piece1");
 		if (!sResult.equals("Duper")){
 			System.out.println("FAILED: Mailbox receiveMessage() Test 11. Result: " + sResult);
 			return;
@@ -323,6 +486,47 @@ public class Mailbox {
 		
 		//  The remaining sendMessage() test cases must occur in the Interpreter class tests.
 		
+		//  Messages may contain the character that used to separate the sender from the message.
+		test1.clear();
+		test1.addMessage(2, "meet@3");
+		sResult = test1.receiveMessage("PIECE2");
+		if (!sResult.equals("meet@3") || !test1.isEmpty()){
+			System.out.println("FAILED: Mailbox receiveMessage() Test 15. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Mailbox receiveMessage() Test 15.");
+		}
+		
+		//  The ring buffer keeps the order of the messages after it wraps around, and refuses messages when full.
+		test1.addMessage(0, "a");
+		test1.addMessage(1, "b");
+		test1.receiveMessage("piece0");
+		test1.addMessage(0, "c");
+		test1.addMessage(1, "d");
+		bResult = test1.addMessage(2, "e");
+		sResult = test1.receiveMessage("piece1") + test1.receiveMessage("piece0") + test1.receiveMessage("piece1");
+		if (bResult != false || !sResult.equals("bcd") || test1.hasMessage("piece0") || test1.hasMessage("piece1") || !test1.isEmpty()){
+			System.out.println("FAILED: Mailbox receiveMessage() Test 16. Result: " + sResult);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Mailbox receiveMessage() Test 16.");
+		}
+		
+		//  Messages keep their type when moved to a stack.
+		ValueStack stack = new ValueStack(4);
+		test1.addMessage(1, "42");
+		test1.addMessage(1, "true");
+		bResult = test1.receiveMessage(1, stack) && test1.receiveMessage(1, stack) && !test1.receiveMessage(1, stack);
+		if (bResult != true || stack.typeAt(0) != ValueTypeEnum.BOOLEAN || stack.typeAt(1) != ValueTypeEnum.INTEGER || stack.intAt(1) != 42){
+			System.out.println("FAILED: Mailbox receiveMessage() Test 17. Result: " + stack);
+			return;
+		}
+		else {
+			System.out.println("PASSED: Mailbox receiveMessage() Test 17.");
+		}
+		
 		System.out.println("Mailbox Class: all tests passed.");
 	}
 	
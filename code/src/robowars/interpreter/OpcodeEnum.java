@@ -0,0 +1,132 @@
+/*  OpcodeEnum.java
+ *  Purpose: Enumeration of the instructions understood by the compiled form of a robot program.
+ */
+
+package robowars.interpreter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum OpcodeEnum {
+
+	//  Stack and arithmetic words.
+	ADD("+"),
+	SUBTRACT("-"),
+	MULTIPLY("*"),
+	DIVIDE_REMAIN("/mod"),
+	AND("and"),
+	OR("or"),
+	INVERT("invert"),
+	DUPLICATE("dup"),
+	DROP("drop"),
+	SWAP("swap"),
+	ROTATE("rot"),
+	GREATER_THAN(">"),
+	GREATER_THAN_EQUAL(">="),
+	LESS_THAN("<"),
+	LESS_THAN_EQUAL("<="),
+	EQUAL("="),
+	NOT_EQUAL("<>"),
+	RANDOM("random"),
+	DOT_PRINT("."),
+
+	//  Words restricted to play mode.
+	HEALTH("health"),
+	HEALTH_LEFT("healthLeft"),
+	MOVES("moves"),
+	MOVES_LEFT("movesLeft"),
+	ATTACK("attack"),
+	RANGE("range"),
+	TEAM("team"),
+	TYPE("type"),
+	TURN("turn!"),
+	MOVE("move!"),
+	SHOOT("shoot!"),
+	CHECK("check!"),
+	SCAN("scan!"),
+	IDENTIFY("identify!"),
+
+	//  Message and variable words.
+	SEND_MESSAGE("send!"),
+	CHECK_MESSAGES("mesg?"),
+	RECEIVE_MESSAGE("recv!"),
+	RETRIEVE("?"),
+	STORE("!"),
+
+	//  Control structures, resolved by the compiler.
+	IF("if"),
+	ELSE("else"),
+	THEN("then"),
+	BEGIN("begin"),
+	UNTIL("until"),
+	DO("do"),
+	LOOP("loop"),
+	LOOP_INDEX("I"),
+	LEAVE("leave"),
+
+	//  Internal instructions with no source spelling.  The operand is described beside each one.
+	PUSH_LITERAL(null),		//  Index into the program's constant pool.
+	PUSH_VARIABLE(null),	//  Index into the program's variable table.
+	CALL(null),				//  Index into the program's word table.
+	RETURN(null),
+	HALT(null),
+	NOP(null),
+
+	//  Superinstructions produced by the ProgramOptimizer from frequent pairs.
+	RETRIEVE_VARIABLE(null),	//  Index into the program's variable table; a variable followed by "?".
+	STORE_VARIABLE(null),		//  Index into the program's variable table; a variable followed by "!".
+	DROP_PAIR(null),			//  "drop drop".
+	LITERAL_SUBTRACT(null),		//  Index of an integer in the constant pool; the integer followed by "-".
+	LITERAL_NOT_EQUAL(null),	//  Index of an integer in the constant pool; the integer followed by "<>".
+	LITERAL_LESS_THAN(null);	//  Index of an integer in the constant pool; the integer followed by "<".
+
+	/** The word used for this instruction in a robot program, or null if it is internal. */
+	private final String word;
+
+	/** Lookup from program words to opcodes, shared by every compiler. */
+	private static final Map<String, OpcodeEnum> BY_WORD = new HashMap<String, OpcodeEnum>();
+
+	static {
+		for (OpcodeEnum op : values()){
+			if (op.word != null){
+				BY_WORD.put(op.word, op);
+			}
+		}
+	}
+
+	private OpcodeEnum(String word){
+		this.word = word;
+	}
+
+	public String getWord(){
+		return this.word;
+	}
+
+	/**
+	 * Method for finding the opcode spelled by a program word.
+	 * @param word The term from the robot program.
+	 * @return The matching opcode, or null if the term is not a built-in word.
+	 */
+	public static OpcodeEnum fromWord(String word){
+		return BY_WORD.get(word);
+	}
+
+	/**
+	 * Whether this opcode can only be executed while a piece is taking its turn.
+	 * @return true if the opcode queries or changes the board.
+	 */
+	public boolean isRestricted(){
+		BuiltinWord builtin = BuiltinWord.forOpcode(this);
+		return builtin != null && builtin.isRestricted();
+	}
+
+	/**
+	 * Whether this opcode reads or changes the board.
+	 * @return true for the words that turn, move or shoot the piece, or look at the board around it.
+	 */
+	public boolean touchesBoard(){
+		BuiltinWord builtin = BuiltinWord.forOpcode(this);
+		return builtin != null && builtin.touchesBoard();
+	}
+
+}
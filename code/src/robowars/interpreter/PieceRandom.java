@@ -0,0 +1,65 @@
+/*  PieceRandom.java
+ *  Purpose: The random number stream of one piece. It draws numbers the same way as SplittableRandom, but its state is one long,
+ *           so that a snapshot of the Interpreter can copy it and a restored match draws the same numbers.
+ */
+
+package robowars.interpreter;
+
+public class PieceRandom {
+
+	/** The step added to the state for each number, the same odd constant SplittableRandom starts with. */
+	private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+	/** The state, advanced by GAMMA for each number drawn. */
+	private long state;
+
+	/**
+	 * Constructor for a stream starting from a seed.
+	 * @param seed The seed, usually drawn from the match's SplittableRandom.
+	 */
+	public PieceRandom(long seed){
+		this.state = seed;
+	}
+
+	/**
+	 * Constructor for a copy of a stream, which draws the same numbers as the stream from now on.
+	 * @param other The stream to copy.
+	 */
+	PieceRandom(PieceRandom other){
+		this.state = other.state;
+	}
+
+	/**
+	 * Draws a number.
+	 * @param bound The number of possible values.
+	 * @return A number from 0 up to, but not including, bound.
+	 * @precondition The bound is greater than 0.
+	 */
+	public int nextInt(int bound){
+		if (bound <= 0){
+			throw new RuntimeException("Error drawing random number: bound must be greater than 0.");
+		}
+		int r = this.next();
+		int m = bound - 1;
+		if ((bound & m) == 0){
+			//  A power of two: the low bits are as good as any.
+			return r & m;
+		}
+		//  Draw again while the draw falls in the last, partial run of values, so that every value is as likely.
+		for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = this.next() >>> 1){
+		}
+		return r;
+	}
+
+	/**
+	 * Advances the state and mixes it into 32 random bits.
+	 * @return The bits.
+	 */
+	private int next(){
+		this.state += GAMMA;
+		long z = this.state;
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+}
@@ -0,0 +1,447 @@
+/*  Profiler.java
+ *  Purpose: Records where the programs of an Interpreter's pieces spend their time: how often and how long each word runs,
+ *           how often each loop goes round, how deep each stack gets and how much each piece allocates.
+ */
+
+package robowars.interpreter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Profiler {
+
+	/** The slot of the code outside of any word; word n is in slot n + 1. */
+	private static final int TOP_LEVEL = 0;
+	/** The name used for the code outside of any word. */
+	private static final String TOP_LEVEL_NAME = "(top level)";
+
+	private static final OpcodeEnum[] OPCODES = OpcodeEnum.values();
+
+	/** Whether each opcode, by ordinal, is a built-in word whose time is measured. */
+	private static final boolean[] TIMED = new boolean[OPCODES.length];
+
+	static {
+		for (OpcodeEnum op : OPCODES){
+			TIMED[op.ordinal()] = BuiltinWord.forOpcode(op) != null;
+		}
+	}
+
+	/** Measures the memory allocated by the thread running a piece, where the JVM supports it. */
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	/** What was recorded for one piece. */
+	private static class PieceProfile {
+		/** The name of the robot and piece, eg. "RED piece0 (Scout)". */
+		final String robot;
+		/** The program the counts are for. */
+		final Program program;
+		/** The number of times run() was called for the piece. */
+		long runs;
+		/** The number of times each opcode ran, by ordinal. */
+		final long[] opcodeCounts;
+		/** The nanoseconds spent in each built-in word, by ordinal. */
+		final long[] opcodeNanos;
+		/** The number of calls of each word, by slot. */
+		final long[] wordCalls;
+		/** The nanoseconds from the start of each word to its return, by slot, counting a recursive word once. */
+		final long[] wordInclusive;
+		/** The nanoseconds spent in each word itself, not in the words and built-ins it calls, by slot. */
+		final long[] wordExclusive;
+		/** The number of calls of each word in progress, by slot, so that recursive calls are not timed twice. */
+		final int[] wordActive;
+		/** The number of times each loop went back to its start, by the instruction number of the start of its body. */
+		final long[] loopIterations;
+		/** The most values on the stack of the piece. */
+		int stackHighWater;
+		/** The bytes allocated while the piece ran, or 0 if the JVM does not measure it. */
+		long allocatedBytes;
+
+		/** The call tree used for the collapsed stacks: the parent of each node, or -1 for the root of a run. */
+		int[] nodeParents;
+		/** The slot of the word of each node, or -(opcode ordinal + 1) for a built-in word. */
+		int[] nodeFrames;
+		/** The nanoseconds spent in each node itself. */
+		long[] nodeNanos;
+		/** The number of nodes. */
+		int nodes;
+		/** The child node of each node and frame, keyed by (parent << 32 | frame). */
+		final Map<Long, Integer> children;
+
+		PieceProfile(String robot, Program program){
+			this.robot = robot;
+			this.program = program;
+			this.opcodeCounts = new long[OPCODES.length];
+			this.opcodeNanos = new long[OPCODES.length];
+			int slots = program.wordNames.length + 1;
+			this.wordCalls = new long[slots];
+			this.wordInclusive = new long[slots];
+			this.wordExclusive = new long[slots];
+			this.wordActive = new int[slots];
+			this.loopIterations = new long[program.getLength()];
+			this.nodeParents = new int[16];
+			this.nodeFrames = new int[16];
+			this.nodeNanos = new long[16];
+			this.children = new HashMap<Long, Integer>();
+		}
+
+		/**
+		 * Finds the node for a frame called from a node, adding it the first time.
+		 * @param parent The calling node, or -1 for the root of a run.
+		 * @param frame The slot of the word, or -(opcode ordinal + 1) for a built-in word.
+		 * @return The node.
+		 */
+		int child(int parent, int frame){
+			Long key = ((long) parent << 32) | (frame & 0xffffffffL);
+			Integer node = this.children.get(key);
+			if (node != null){
+				return node;
+			}
+			if (this.nodes == this.nodeParents.length){
+				this.nodeParents = Arrays.copyOf(this.nodeParents, this.nodes * 2);
+				this.nodeFrames = Arrays.copyOf(this.nodeFrames, this.nodes * 2);
+				this.nodeNanos = Arrays.copyOf(this.nodeNanos, this.nodes * 2);
+			}
+			this.nodeParents[this.nodes] = parent;
+			this.nodeFrames[this.nodes] = frame;
+			this.children.put(key, this.nodes);
+			this.nodes += 1;
+			return this.nodes - 1;
+		}
+
+		String frameName(int frame){
+			if (frame < 0){
+				return OPCODES[-frame - 1].getWord() == null ? OPCODES[-frame - 1].toString() : OPCODES[-frame - 1].getWord();
+			}
+			return frame == TOP_LEVEL ? TOP_LEVEL_NAME : this.program.wordNames[frame - 1];
+		}
+	}
+
+	/** What was recorded for each piece, indexed by the piece offset; null for a piece that has not run. */
+	private final PieceProfile[] profiles;
+
+	/** The piece running, or null between runs. */
+	private PieceProfile current;
+	/** The slot of each word in progress, outermost first. */
+	private final int[] frameSlots;
+	/** The call tree node of each word in progress. */
+	private final int[] frameNodes;
+	/** The time each word in progress started. */
+	private final long[] frameStarts;
+	/** The nanoseconds spent in the words and built-ins called by each word in progress. */
+	private final long[] frameChildren;
+	/** The number of words in progress. */
+	private int frames;
+	/** The time the running built-in word started. */
+	private long builtinStart;
+	/** The bytes the thread had allocated when the run started. */
+	private long allocationStart;
+
+	/**
+	 * Constructor for a profiler recording the pieces of one Interpreter.
+	 * @param pieces The number of pieces.
+	 * @param maxCallDepth The deepest nesting of user word calls the Interpreter allows.
+	 */
+	Profiler(int pieces, int maxCallDepth){
+		this.profiles = new PieceProfile[pieces];
+		//  The run's own frame, the nested calls, and a spare for a call that fails.
+		this.frameSlots = new int[maxCallDepth + 2];
+		this.frameNodes = new int[maxCallDepth + 2];
+		this.frameStarts = new long[maxCallDepth + 2];
+		this.frameChildren = new long[maxCallDepth + 2];
+	}
+
+	/**
+	 * Starts recording a run of a piece's program.
+	 * @param piece The piece offset.
+	 * @param robot The name of the robot and piece.
+	 * @param program The program being run. The piece's counts start again if its program has changed.
+	 * @param entry The code offset the run starts at.
+	 */
+	void begin(int piece, String robot, Program program, int entry){
+		if (this.profiles[piece] == null || this.profiles[piece].program != program){
+			this.profiles[piece] = new PieceProfile(robot, program);
+		}
+		this.current = this.profiles[piece];
+		this.current.runs += 1;
+		this.frames = 0;
+		int slot = TOP_LEVEL;
+		for (int w = 0; w < program.wordEntries.length; w++){
+			if (program.wordEntries[w] == entry){
+				slot = w + 1;
+			}
+		}
+		this.push(slot);
+		this.allocationStart = allocated();
+	}
+
+	/**
+	 * Stops recording a run, ending any words it left in progress.
+	 * @param stackSize The number of values left on the stack.
+	 */
+	void end(int stackSize){
+		long now = System.nanoTime();
+		while (this.frames > 0){
+			this.pop(now);
+		}
+		this.current.stackHighWater = Math.max(this.current.stackHighWater, stackSize);
+		this.current.allocatedBytes += allocated() - this.allocationStart;
+		this.current = null;
+	}
+
+	/**
+	 * Records a call of a user word.
+	 * @param word The word number.
+	 */
+	void call(int word){
+		this.push(word + 1);
+	}
+
+	/**
+	 * Records the return from the user word called last.
+	 */
+	void ret(){
+		this.pop(System.nanoTime());
+	}
+
+	/**
+	 * Counts an instruction, and starts timing it if it is a built-in word.
+	 * @param op The opcode.
+	 * @param stackSize The number of values on the stack before it runs.
+	 */
+	void start(OpcodeEnum op, int stackSize){
+		this.current.opcodeCounts[op.ordinal()] += 1;
+		if (stackSize > this.current.stackHighWater){
+			this.current.stackHighWater = stackSize;
+		}
+		if (TIMED[op.ordinal()]){
+			this.builtinStart = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Stops timing an instruction started with start().
+	 * @param op The opcode.
+	 */
+	void finish(OpcodeEnum op){
+		if (!TIMED[op.ordinal()]){
+			return;
+		}
+		long elapsed = System.nanoTime() - this.builtinStart;
+		PieceProfile p = this.current;
+		p.opcodeNanos[op.ordinal()] += elapsed;
+		this.frameChildren[this.frames - 1] += elapsed;
+		p.nodeNanos[p.child(this.frameNodes[this.frames - 1], -op.ordinal() - 1)] += elapsed;
+	}
+
+	/**
+	 * Counts a loop going back to its start.
+	 * @param pc The code offset of the start of the loop body.
+	 */
+	void loop(int pc){
+		this.current.loopIterations[pc / Program.INSTRUCTION_SIZE] += 1;
+	}
+
+	private void push(int slot){
+		PieceProfile p = this.current;
+		int parent = this.frames == 0 ? -1 : this.frameNodes[this.frames - 1];
+		this.frameSlots[this.frames] = slot;
+		this.frameNodes[this.frames] = p.child(parent, slot);
+		this.frameChildren[this.frames] = 0;
+		this.frameStarts[this.frames] = System.nanoTime();
+		this.frames += 1;
+		p.wordCalls[slot] += 1;
+		p.wordActive[slot] += 1;
+	}
+
+	private void pop(long now){
+		PieceProfile p = this.current;
+		this.frames -= 1;
+		int slot = this.frameSlots[this.frames];
+		long elapsed = now - this.frameStarts[this.frames];
+		long exclusive = elapsed - this.frameChildren[this.frames];
+		p.wordExclusive[slot] += exclusive;
+		p.nodeNanos[this.frameNodes[this.frames]] += exclusive;
+		p.wordActive[slot] -= 1;
+		if (p.wordActive[slot] == 0){
+			p.wordInclusive[slot] += elapsed;
+		}
+		if (this.frames > 0){
+			this.frameChildren[this.frames - 1] += elapsed;
+		}
+	}
+
+	/**
+	 * Reads the bytes allocated by the current thread.
+	 * @return The bytes allocated, or 0 if the JVM does not measure it.
+	 */
+	private static long allocated(){
+		if (THREADS instanceof com.sun.management.ThreadMXBean){
+			return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	/**
+	 * Getter for the number of calls of a word.
+	 * @param piece The piece offset.
+	 * @param word The name of the user word, or "(top level)".
+	 * @return The number of calls, or 0 if the piece has not run the word.
+	 */
+	public long getCalls(int piece, String word){
+		PieceProfile p = this.profiles[piece];
+		if (p == null){
+			return 0;
+		}
+		return word.equals(TOP_LEVEL_NAME) ? p.wordCalls[TOP_LEVEL] : p.program.findWord(word) < 0 ? 0 : p.wordCalls[p.program.findWord(word) + 1];
+	}
+
+	/**
+	 * Getter for the number of times an opcode ran.
+	 * @param piece The piece offset.
+	 * @param op The opcode, eg. OpcodeEnum.DUPLICATE for "dup".
+	 * @return The count, or 0 if the piece has not run.
+	 */
+	public long getCount(int piece, OpcodeEnum op){
+		return this.profiles[piece] == null ? 0 : this.profiles[piece].opcodeCounts[op.ordinal()];
+	}
+
+	/**
+	 * Getter for the number of times the loops of a piece went back to their start.
+	 * @param piece The piece offset.
+	 * @return The iterations of every loop, added together.
+	 */
+	public long getLoopIterations(int piece){
+		long iterations = 0;
+		if (this.profiles[piece] != null){
+			for (long count : this.profiles[piece].loopIterations){
+				iterations += count;
+			}
+		}
+		return iterations;
+	}
+
+	/**
+	 * Getter for the most values on the stack of a piece while it was profiled.
+	 * @param piece The piece offset.
+	 * @return The high-water mark.
+	 */
+	public int getStackHighWater(int piece){
+		return this.profiles[piece] == null ? 0 : this.profiles[piece].stackHighWater;
+	}
+
+	/**
+	 * Forgets everything recorded.
+	 */
+	public void clear(){
+		for (int i = 0; i < this.profiles.length; i++){
+			this.profiles[i] = null;
+		}
+	}
+
+	/**
+	 * Produces a readable report for each piece: its totals, then its words by the time spent in them, its built-in words and its loops.
+	 * Times are in microseconds. Inclusive time runs from a call to its return; exclusive time leaves out the words and built-ins called.
+	 * @return The report, or "" if nothing has been recorded.
+	 */
+	public String getFlatReport(){
+		StringBuilder report = new StringBuilder();
+		for (final PieceProfile p : this.profiles){
+			if (p == null){
+				continue;
+			}
+			long instructions = 0;
+			for (long count : p.opcodeCounts){
+				instructions += count;
+			}
+			report.append(p.robot).append(": ").append(p.runs).append(" runs, ").append(instructions).append(" instructions, stack high-water ")
+					.append(p.stackHighWater).append(", ").append(p.allocatedBytes).append(" bytes allocated\n");
+
+			report.append(String.format("  %-24s %10s %14s %14s%n", "word", "calls", "inclusive us", "exclusive us"));
+			List<Integer> slots = new ArrayList<Integer>();
+			for (int slot = 0; slot < p.wordCalls.length; slot++){
+				if (p.wordCalls[slot] > 0){
+					slots.add(slot);
+				}
+			}
+			Collections.sort(slots, new Comparator<Integer>() {
+				public int compare(Integer a, Integer b){
+					return Long.compare(p.wordExclusive[b], p.wordExclusive[a]);
+				}
+			});
+			for (int slot : slots){
+				report.append(String.format("  %-24s %10d %14.1f %14.1f%n", p.frameName(slot), p.wordCalls[slot], p.wordInclusive[slot] / 1000.0, p.wordExclusive[slot] / 1000.0));
+			}
+
+			report.append(String.format("  %-24s %10s %14s%n", "built-in", "count", "time us"));
+			for (OpcodeEnum op : OPCODES){
+				if (p.opcodeCounts[op.ordinal()] > 0){
+					report.append(String.format("  %-24s %10d %14.1f%n", p.frameName(-op.ordinal() - 1), p.opcodeCounts[op.ordinal()], p.opcodeNanos[op.ordinal()] / 1000.0));
+				}
+			}
+
+			for (int i = 0; i < p.loopIterations.length; i++){
+				if (p.loopIterations[i] > 0){
+					report.append("  loop from instruction ").append(i).append(" in ").append(p.frameName(this.slotAt(p.program, i * Program.INSTRUCTION_SIZE)))
+							.append(": ").append(p.loopIterations[i]).append(" iterations\n");
+				}
+			}
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Produces the time spent in each chain of calls, in the collapsed stack format read by flame graph tools:
+	 * one line per chain, the robot and the words from the outermost call separated by ";", then a space and the nanoseconds spent in the last word itself.
+	 * @return The collapsed stacks, eg. "RED piece0 (Scout);play;move! 1200", or "" if nothing has been recorded.
+	 */
+	public String getCollapsedStacks(){
+		StringBuilder stacks = new StringBuilder();
+		List<String> frames = new ArrayList<String>();
+		for (PieceProfile p : this.profiles){
+			if (p == null){
+				continue;
+			}
+			for (int node = 0; node < p.nodes; node++){
+				if (p.nodeNanos[node] <= 0){
+					continue;
+				}
+				frames.clear();
+				for (int n = node; n >= 0; n = p.nodeParents[n]){
+					frames.add(p.frameName(p.nodeFrames[n]));
+				}
+				stacks.append(p.robot);
+				for (int i = frames.size() - 1; i >= 0; i--){
+					stacks.append(';').append(frames.get(i));
+				}
+				stacks.append(' ').append(p.nodeNanos[node]).append('\n');
+			}
+		}
+		return stacks.toString();
+	}
+
+	/**
+	 * Finds the word holding an instruction.
+	 * @param program The program.
+	 * @param pc The code offset of the instruction.
+	 * @return The slot of the word, or TOP_LEVEL.
+	 */
+	private int slotAt(Program program, int pc){
+		int slot = TOP_LEVEL;
+		int start = -1;
+		for (int w = 0; w < program.wordEntries.length; w++){
+			if (program.wordEntries[w] <= pc && program.wordEntries[w] > start){
+				start = program.wordEntries[w];
+				slot = w + 1;
+			}
+		}
+		return slot;
+	}
+
+}
@@ -0,0 +1,208 @@
+/*  Program.java
+ *  Purpose: Compiled form of a robot program, produced once by the ProgramCompiler and executed by the Interpreter.
+ */
+
+package robowars.interpreter;
+
+import java.util.Arrays;
+
+public class Program {
+
+	/** Offset of the operand of an instruction, relative to the start of the instruction. */
+	public static final int OPERAND = 1;
+	/** The number of ints used by each instruction in the code array. */
+	public static final int INSTRUCTION_SIZE = 2;
+
+	/** The instructions, stored as (opcode ordinal, operand) pairs. */
+	final int[] code;
+	/** The literal values pushed by PUSH_LITERAL instructions. */
+	final String[] constants;
+	/** The stack type of each constant, classified once so that pushing a literal does not parse it. */
+	final ValueTypeEnum[] constantTypes;
+	/** The int value of each INTEGER or BOOLEAN constant. */
+	final int[] constantValues;
+	/** The names of the user-defined words, indexed by word number. */
+	final String[] wordNames;
+	/** The offset into the code array where each user-defined word begins. */
+	final int[] wordEntries;
+	/** The source terms of each user-defined word, kept so the words can be inspected. */
+	final String[][] wordBodies;
+	/** The names of the user-defined variables, indexed by variable number. */
+	final String[] varNames;
+	/** The address pushed to the stack for each variable, built once so that pushing a variable does not allocate. */
+	final String[] varAddresses;
+	/** The word number of the "play" word. */
+	final int playWord;
+	/** Whether the source defined "play", or the compiler added a blank one. */
+	final boolean definesPlay;
+	/** Problems found by the compiler, such as unmatched control words. */
+	final String[] warnings;
+	/** The optimizations applied by the ProgramOptimizer, each with the number of times it was applied, eg. "DROP_PAIR x2". */
+	final String[] optimizations;
+	/** Whether the StackVerifier proved the stack effect of each word, so that the Interpreter may skip its stack depth checks. */
+	final boolean[] wordVerified;
+	/** The number of values each verified word takes from the stack of its caller. */
+	final int[] wordInputs;
+	/** The most values each verified word has on the stack at once above the depth it was called at. */
+	final int[] wordGrowth;
+
+	Program(int[] code, String[] constants, String[] wordNames, int[] wordEntries, String[][] wordBodies, String[] varNames, int playWord, boolean definesPlay, String[] warnings){
+		this(code, constants, wordNames, wordEntries, wordBodies, varNames, playWord, definesPlay, warnings, new String[0]);
+	}
+
+	Program(int[] code, String[] constants, String[] wordNames, int[] wordEntries, String[][] wordBodies, String[] varNames, int playWord, boolean definesPlay, String[] warnings, String[] optimizations){
+		this.code = code;
+		this.constants = constants;
+		this.wordNames = wordNames;
+		this.wordEntries = wordEntries;
+		this.wordBodies = wordBodies;
+		this.varNames = varNames;
+		this.playWord = playWord;
+		this.definesPlay = definesPlay;
+		this.warnings = warnings;
+		this.optimizations = optimizations;
+		this.wordVerified = new boolean[wordNames.length];
+		this.wordInputs = new int[wordNames.length];
+		this.wordGrowth = new int[wordNames.length];
+
+		this.constantTypes = new ValueTypeEnum[constants.length];
+		this.constantValues = new int[constants.length];
+		for (int i = 0; i < constants.length; i++){
+			this.constantTypes[i] = ValueStack.classify(constants[i]);
+			if (this.constantTypes[i] == ValueTypeEnum.INTEGER){
+				this.constantValues[i] = Integer.parseInt(constants[i]);
+			}
+			else if (this.constantTypes[i] == ValueTypeEnum.BOOLEAN){
+				this.constantValues[i] = constants[i].equals("true") ? 1 : 0;
+			}
+		}
+
+		this.varAddresses = new String[varNames.length];
+		for (int i = 0; i < varNames.length; i++){
+			this.varAddresses[i] = "#" + varNames[i];
+		}
+	}
+
+	/**
+	 * Copies a program, adding the results of the StackVerifier.
+	 * The code and tables are shared with the original, which must not be changed.
+	 * @param program The program that was verified.
+	 * @param warnings The warnings of the program, followed by those of the verifier.
+	 * @param wordVerified Whether each word was verified.
+	 * @param wordInputs The number of values each verified word takes.
+	 * @param wordGrowth The most values each verified word adds to the stack at once.
+	 */
+	Program(Program program, String[] warnings, boolean[] wordVerified, int[] wordInputs, int[] wordGrowth){
+		this.code = program.code;
+		this.constants = program.constants;
+		this.constantTypes = program.constantTypes;
+		this.constantValues = program.constantValues;
+		this.wordNames = program.wordNames;
+		this.wordEntries = program.wordEntries;
+		this.wordBodies = program.wordBodies;
+		this.varNames = program.varNames;
+		this.varAddresses = program.varAddresses;
+		this.playWord = program.playWord;
+		this.definesPlay = program.definesPlay;
+		this.warnings = warnings;
+		this.optimizations = program.optimizations;
+		this.wordVerified = wordVerified;
+		this.wordInputs = wordInputs;
+		this.wordGrowth = wordGrowth;
+	}
+
+	/**
+	 * Getter for the number of instructions in the program.
+	 * @return The number of instructions, including those in word bodies.
+	 */
+	public int getLength(){
+		return this.code.length / INSTRUCTION_SIZE;
+	}
+
+	/**
+	 * Method for finding a user-defined word by name.
+	 * @param name The name of the word.
+	 * @return The word number, or -1 if no word has the name.
+	 */
+	public int findWord(String name){
+		for (int i = 0; i < this.wordNames.length; i++){
+			if (this.wordNames[i].equals(name)){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Getter for the problems found by the compiler and the StackVerifier.
+	 * @return A copy of the warnings.
+	 */
+	public String[] getWarnings(){
+		return this.warnings.clone();
+	}
+
+	/**
+	 * Whether the StackVerifier proved the stack effect of a word.
+	 * @param word The word number.
+	 * @return true if the word always takes and leaves the same number of values.
+	 */
+	public boolean isVerified(int word){
+		return this.wordVerified[word];
+	}
+
+	/**
+	 * Getter for the optimizations applied to the program.
+	 * @return The optimizations, eg. "[constant folding x1, DROP_PAIR x2]", or "[]" if the program was not optimized.
+	 */
+	public String getOptimizationReport(){
+		return Arrays.toString(this.optimizations);
+	}
+
+	/**
+	 * Produces a readable listing of the compiled instructions, for debugging.
+	 * @return One line per instruction.
+	 */
+	public String disassemble(){
+		StringBuilder listing = new StringBuilder();
+		OpcodeEnum[] opcodes = OpcodeEnum.values();
+		for (int pc = 0; pc < this.code.length; pc += INSTRUCTION_SIZE){
+			for (int w = 0; w < this.wordEntries.length; w++){
+				if (this.wordEntries[w] == pc){
+					listing.append(": ").append(this.wordNames[w]).append('\n');
+				}
+			}
+			OpcodeEnum op = opcodes[this.code[pc]];
+			int operand = this.code[pc + OPERAND];
+			listing.append(pc / INSTRUCTION_SIZE).append('\t').append(op);
+			switch (op){
+			case PUSH_LITERAL:
+			case LITERAL_SUBTRACT:
+			case LITERAL_NOT_EQUAL:
+			case LITERAL_LESS_THAN:
+				listing.append(' ').append(this.constants[operand]);
+				break;
+			case PUSH_VARIABLE:
+			case RETRIEVE_VARIABLE:
+			case STORE_VARIABLE:
+				listing.append(' ').append(this.varNames[operand]);
+				break;
+			case CALL:
+				listing.append(' ').append(this.wordNames[operand]);
+				break;
+			case IF:
+			case ELSE:
+			case UNTIL:
+			case DO:
+			case LOOP:
+			case LEAVE:
+				listing.append(" -> ").append(operand / INSTRUCTION_SIZE);
+				break;
+			default:
+				break;
+			}
+			listing.append('\n');
+		}
+		return listing.toString();
+	}
+
+}
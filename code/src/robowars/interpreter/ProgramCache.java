@@ -0,0 +1,175 @@
+/*  ProgramCache.java
+ *  Purpose: Process-wide cache of compiled robot programs, so that a robot playing many matches is tokenized and compiled once.
+ */
+
+package robowars.interpreter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import robowars.flow.RobotRecord;
+
+public class ProgramCache {
+
+	/** The number of programs kept by default. */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/** A compiled program, with the code it was compiled from to guard against hash collisions. */
+	private static class Entry {
+		final List<String> code;
+		final Program program;
+
+		Entry(List<String> code, Program program){
+			this.code = code;
+			this.program = program;
+		}
+	}
+
+	/** The cached programs keyed by the hash of their code, least recently used first. */
+	private static final LinkedHashMap<String, Entry> PROGRAMS = new LinkedHashMap<String, Entry>(16, 0.75f, true){
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest){
+			return this.size() > capacity;
+		}
+	};
+
+	/** The maximum number of programs kept. */
+	private static int capacity = DEFAULT_CAPACITY;
+	/** The number of lookups answered from the cache. */
+	private static long hits = 0;
+	/** The number of lookups that had to compile the program. */
+	private static long misses = 0;
+
+	private ProgramCache(){
+	}
+
+	/**
+	 * Finds the compiled program for a robot, compiling it on the first lookup.
+	 * The program is shared by every Interpreter running the robot, and must not be changed.
+	 * @param record The robot.
+	 * @return The compiled, optimized and verified program.
+	 */
+	public static Program getProgram(RobotRecord record){
+		List<String> code = record.getCode();
+		String key = hash(code);
+		synchronized (PROGRAMS){
+			Entry entry = PROGRAMS.get(key);
+			if (entry != null && entry.code.equals(code)){
+				hits += 1;
+				return entry.program;
+			}
+			misses += 1;
+		}
+
+		//  Compile outside of the lock; two threads compiling the same robot at once produce equal programs.
+		AI ai = new AI(record);
+		Program program = build(ai.getFull(), ai.getDeclaredEffects());
+		synchronized (PROGRAMS){
+			PROGRAMS.put(key, new Entry(new ArrayList<String>(code), program));
+		}
+		return program;
+	}
+
+	/**
+	 * Compiles, optimizes and verifies program terms without caching them.
+	 * @param terms The terms of the program, as produced by the AI class.
+	 * @return The compiled, optimized and verified program.
+	 */
+	public static Program build(List<String> terms){
+		return build(terms, new HashMap<String, String>());
+	}
+
+	/**
+	 * Compiles, optimizes and verifies program terms without caching them.
+	 * @param terms The terms of the program, as produced by the AI class.
+	 * @param declared The stack effect comments of the program's words, as from AI.getDeclaredEffects().
+	 * @return The compiled, optimized and verified program.
+	 */
+	public static Program build(List<String> terms, Map<String, String> declared){
+		return StackVerifier.verify(ProgramOptimizer.optimize(ProgramCompiler.compile(terms)), declared);
+	}
+
+	/**
+	 * Setter for the maximum number of programs kept. The least recently used programs are dropped first.
+	 * @param programs The capacity.
+	 * @precondition The capacity is greater than 0.
+	 */
+	public static void setCapacity(int programs){
+		if (programs <= 0){
+			throw new RuntimeException("Error setting ProgramCache capacity: capacity must be greater than 0.");
+		}
+		synchronized (PROGRAMS){
+			capacity = programs;
+			//  Drop the least recently used programs beyond the new capacity.
+			while (PROGRAMS.size() > capacity){
+				PROGRAMS.remove(PROGRAMS.keySet().iterator().next());
+			}
+		}
+	}
+
+	public static int getCapacity(){
+		synchronized (PROGRAMS){
+			return capacity;
+		}
+	}
+
+	public static int size(){
+		synchronized (PROGRAMS){
+			return PROGRAMS.size();
+		}
+	}
+
+	public static long getHits(){
+		synchronized (PROGRAMS){
+			return hits;
+		}
+	}
+
+	public static long getMisses(){
+		synchronized (PROGRAMS){
+			return misses;
+		}
+	}
+
+	public static void clear(){
+		synchronized (PROGRAMS){
+			PROGRAMS.clear();
+			hits = 0;
+			misses = 0;
+		}
+	}
+
+	/**
+	 * Hashes the code of a robot.
+	 * @param code The lines of code.
+	 * @return The SHA-256 hash of the lines, as hex.
+	 */
+	private static String hash(List<String> code){
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e){
+			throw new RuntimeException("Error hashing robot code: " + e.getMessage());
+		}
+		for (String line : code){
+			digest.update(line.getBytes(StandardCharsets.UTF_8));
+			//  Separate the lines so that moving text between lines changes the hash.
+			digest.update((byte) '\n');
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()){
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+}
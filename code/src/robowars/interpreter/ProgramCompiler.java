@@ -0,0 +1,373 @@
+/*  ProgramCompiler.java
+ *  Purpose: Translates the terms of a robot program into a Program of opcodes, once, before the program is run.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProgramCompiler {
+
+	/** The instructions emitted so far. */
+	private int[] code;
+	/** The number of ints of the code array in use. */
+	private int length;
+	/** The literal values used by the program, mapped to their index in the constant pool. */
+	private Map<String, Integer> constants;
+	/** The variables declared by the program, mapped to their variable number. */
+	private Map<String, Integer> variables;
+	/** The words defined by the program, mapped to their source terms. Later definitions replace earlier ones. */
+	private LinkedHashMap<String, List<String>> words;
+	/** The word numbers of the words defined by the program. */
+	private Map<String, Integer> wordNumbers;
+	/** The terms outside of any definition, which are run when the program is initialized. */
+	private List<String> topLevel;
+	/** The offsets of the control words (if, else, begin, do) still waiting for their closing word in the current body. */
+	private List<Integer> openStructures;
+	/** The offsets of the "leave" instructions inside each open do loop, keyed by the offset of the "do". */
+	private Map<Integer, List<Integer>> pendingLeaves;
+	/** Problems found while compiling, such as unmatched control words. */
+	private List<String> warnings;
+
+	private ProgramCompiler(){
+		this.code = new int[64];
+		this.length = 0;
+		this.constants = new LinkedHashMap<String, Integer>();
+		this.variables = new LinkedHashMap<String, Integer>();
+		this.words = new LinkedHashMap<String, List<String>>();
+		this.wordNumbers = new HashMap<String, Integer>();
+		this.topLevel = new ArrayList<String>();
+		this.openStructures = new ArrayList<Integer>();
+		this.pendingLeaves = new HashMap<Integer, List<Integer>>();
+		this.warnings = new ArrayList<String>();
+	}
+
+	/**
+	 * Compiles the terms of a robot program.
+	 * The terms outside of any definition are compiled first and end with a HALT instruction; each word follows, ending with RETURN.
+	 * Names are resolved against every declaration in the program, so a word may use a word or variable declared after it.
+	 * Control words are matched within each body, and unmatched ones are compiled as NOP with a warning.
+	 * A definition inside a word is dropped with a warning, so every word keeps the body it was compiled with.
+	 * @param terms The terms of the program, as produced by the AI class.
+	 * @return The compiled program. A blank "play" word is added if the program does not define one.
+	 */
+	public static Program compile(List<String> terms){
+		ProgramCompiler compiler = new ProgramCompiler();
+		compiler.collectDeclarations(terms);
+		return compiler.emitProgram();
+	}
+
+	/**
+	 * Checks whether a term may be used as the name of a variable or word.
+	 * @param name The proposed name.
+	 * @return false if the name is blank, an integer, a boolean or a variable location.
+	 */
+	static boolean isValidName(String name){
+		if (name.equals("") || name.equals("true") || name.equals("false") || name.contains("#")){
+			return false;
+		}
+		try {
+			Integer.parseInt(name);
+			return false;
+		}
+		catch (NumberFormatException e){
+			return true;
+		}
+	}
+
+	/**
+	 * First pass: record every variable and word declaration, and set aside the top-level terms.
+	 * @param terms The terms of the program.
+	 */
+	private void collectDeclarations(List<String> terms){
+		int i = 0;
+		while (i < terms.size()){
+			String term = terms.get(i);
+			i += 1;
+
+			if (term.equals("variable")){
+				if (i < terms.size()){
+					this.declareVariable(terms.get(i));
+					i += 1;
+				}
+			}
+			else if (term.equals(":")){
+				if (i >= terms.size()){
+					break;
+				}
+				String name = terms.get(i);
+				i += 1;
+
+				//  Collect the body up to the closing semicolon, hoisting any variables declared inside it.
+				List<String> body = new ArrayList<String>();
+				while (i < terms.size() && !terms.get(i).equals(";")){
+					if (terms.get(i).equals("variable") && i + 1 < terms.size()){
+						this.declareVariable(terms.get(i + 1));
+						i += 2;
+					}
+					else if (terms.get(i).equals(":")){
+						//  Words are only defined outside of other words, so a nested definition is dropped, up to the semicolon that ends both.
+						String nested = i + 1 < terms.size() ? terms.get(i + 1) : "";
+						this.warnings.add("definition of \"" + nested + "\" inside word " + name + " ignored.");
+						while (i < terms.size() && !terms.get(i).equals(";")){
+							i += 1;
+						}
+					}
+					else {
+						body.add(terms.get(i));
+						i += 1;
+					}
+				}
+				//  Skip the semicolon.
+				i += 1;
+
+				if (isValidName(name)){
+					this.words.remove(name);
+					this.words.put(name, body);
+				}
+			}
+			else {
+				this.topLevel.add(term);
+			}
+		}
+	}
+
+	private void declareVariable(String name){
+		if (isValidName(name) && !this.variables.containsKey(name)){
+			this.variables.put(name, this.variables.size());
+		}
+	}
+
+	/**
+	 * Second pass: emit the instructions for the top-level terms and each word.
+	 * @return The finished program.
+	 */
+	private Program emitProgram(){
+		boolean definesPlay = this.words.containsKey("play");
+		if (!definesPlay){
+			this.words.put("play", new ArrayList<String>());
+		}
+
+		String[] wordNames = this.words.keySet().toArray(new String[this.words.size()]);
+		for (int w = 0; w < wordNames.length; w++){
+			this.wordNumbers.put(wordNames[w], w);
+		}
+
+		this.emitBody("the top level", this.topLevel);
+		this.emit(OpcodeEnum.HALT, 0);
+
+		int[] wordEntries = new int[wordNames.length];
+		String[][] wordBodies = new String[wordNames.length][];
+		for (int w = 0; w < wordNames.length; w++){
+			List<String> body = this.words.get(wordNames[w]);
+			wordEntries[w] = this.length;
+			wordBodies[w] = body.toArray(new String[body.size()]);
+			this.emitBody("word " + wordNames[w], body);
+			this.emit(OpcodeEnum.RETURN, 0);
+		}
+
+		return new Program(Arrays.copyOf(this.code, this.length),
+				this.constants.keySet().toArray(new String[this.constants.size()]),
+				wordNames, wordEntries, wordBodies,
+				this.variables.keySet().toArray(new String[this.variables.size()]),
+				this.wordNumbers.get("play"), definesPlay,
+				this.warnings.toArray(new String[this.warnings.size()]));
+	}
+	
+	/**
+	 * Emits the instructions for the terms of one body, then closes any control structures left open so that they jump to the end of the body.
+	 * @param context A description of the body, for warnings.
+	 * @param terms The terms of the body.
+	 */
+	private void emitBody(String context, List<String> terms){
+		for (String term : terms){
+			OpcodeEnum op = OpcodeEnum.fromWord(term);
+			if (op == null){
+				this.emitTerm(term);
+			}
+			else {
+				this.emitControl(context, op);
+			}
+		}
+		
+		int end = this.length;
+		while (this.openStructures.size() > 0){
+			int open = this.openStructures.remove(this.openStructures.size() - 1);
+			OpcodeEnum op = this.opcodeAt(open);
+			this.warnings.add("unmatched \"" + op.getWord() + "\" in " + context + ".");
+			if (op != OpcodeEnum.BEGIN){
+				this.code[open + Program.OPERAND] = end;
+			}
+			if (op == OpcodeEnum.DO){
+				this.patchLeaves(open, end);
+			}
+		}
+	}
+	
+	/**
+	 * Emits a built-in word, resolving the jump targets of control words against the structures open in the current body.
+	 * The operand of "if" is the offset of its "else" or "then"; "else", "do" and "leave" jump past the end of their structure,
+	 * and "until" and "loop" jump back to the start of their body.
+	 * @param context A description of the body, for warnings.
+	 * @param op The opcode of the word.
+	 */
+	private void emitControl(String context, OpcodeEnum op){
+		int here = this.length;
+		int open = this.openStructures.size() > 0 ? this.openStructures.get(this.openStructures.size() - 1) : -1;
+		OpcodeEnum openOp = open >= 0 ? this.opcodeAt(open) : null;
+		
+		switch (op){
+		case IF:
+		case BEGIN:
+		case DO:
+			this.openStructures.add(here);
+			this.emit(op, 0);
+			return;
+			
+		case ELSE:
+			if (openOp == OpcodeEnum.IF){
+				this.code[open + Program.OPERAND] = here;
+				this.openStructures.set(this.openStructures.size() - 1, here);
+				this.emit(op, 0);
+				return;
+			}
+			break;
+			
+		case THEN:
+			if (openOp == OpcodeEnum.IF || openOp == OpcodeEnum.ELSE){
+				this.openStructures.remove(this.openStructures.size() - 1);
+				this.code[open + Program.OPERAND] = openOp == OpcodeEnum.IF ? here : here + Program.INSTRUCTION_SIZE;
+				this.emit(op, 0);
+				return;
+			}
+			break;
+			
+		case UNTIL:
+			if (openOp == OpcodeEnum.BEGIN){
+				this.openStructures.remove(this.openStructures.size() - 1);
+				if (here == open + Program.INSTRUCTION_SIZE){
+					this.warnings.add("empty begin/until body in " + context + ".");
+					this.code[open] = OpcodeEnum.NOP.ordinal();
+					this.emit(OpcodeEnum.NOP, 0);
+				}
+				else {
+					this.emit(op, open + Program.INSTRUCTION_SIZE);
+				}
+				return;
+			}
+			break;
+			
+		case LOOP:
+			if (openOp == OpcodeEnum.DO){
+				this.openStructures.remove(this.openStructures.size() - 1);
+				if (here == open + Program.INSTRUCTION_SIZE){
+					this.warnings.add("empty do/loop body in " + context + ".");
+					this.code[open] = OpcodeEnum.NOP.ordinal();
+					this.emit(OpcodeEnum.NOP, 0);
+				}
+				else {
+					this.code[open + Program.OPERAND] = here + Program.INSTRUCTION_SIZE;
+					this.patchLeaves(open, here + Program.INSTRUCTION_SIZE);
+					this.emit(op, open + Program.INSTRUCTION_SIZE);
+				}
+				return;
+			}
+			break;
+			
+		case LEAVE:
+			for (int i = this.openStructures.size() - 1; i >= 0; i--){
+				int loop = this.openStructures.get(i);
+				if (this.opcodeAt(loop) == OpcodeEnum.DO){
+					if (!this.pendingLeaves.containsKey(loop)){
+						this.pendingLeaves.put(loop, new ArrayList<Integer>());
+					}
+					this.pendingLeaves.get(loop).add(here);
+					this.emit(op, 0);
+					return;
+				}
+			}
+			break;
+			
+		default:
+			this.emit(op, 0);
+			return;
+		}
+		
+		//  The control word does not close any open structure.
+		this.warnings.add("unmatched \"" + op.getWord() + "\" in " + context + " ignored.");
+		this.emit(OpcodeEnum.NOP, 0);
+	}
+	
+	/**
+	 * Sets the jump target of every "leave" inside a do loop.
+	 * @param loop The offset of the "do".
+	 * @param target The offset after the end of the loop.
+	 */
+	private void patchLeaves(int loop, int target){
+		List<Integer> leaves = this.pendingLeaves.remove(loop);
+		if (leaves != null){
+			for (int leave : leaves){
+				this.code[leave + Program.OPERAND] = target;
+			}
+		}
+	}
+	
+	private OpcodeEnum opcodeAt(int offset){
+		return OpcodeEnum.values()[this.code[offset]];
+	}
+
+	/**
+	 * Emits the instruction for a single term that is not a built-in word, using the same precedence as Interpreter.parse():
+	 * user words first, then user variables, then strings, then literals.
+	 * @param term The term to compile.
+	 */
+	private void emitTerm(String term){
+		if (term.equals("") || term.equals(";")){
+			return;
+		}
+
+		Integer word = this.wordNumbers.get(term);
+		if (word != null){
+			this.emit(OpcodeEnum.CALL, word);
+			return;
+		}
+
+		Integer variable = this.variables.get(term);
+		if (variable != null){
+			this.emit(OpcodeEnum.PUSH_VARIABLE, variable);
+			return;
+		}
+
+		if (term.startsWith(".")){
+			String[] parts = term.split("\"");
+			this.emit(OpcodeEnum.PUSH_LITERAL, this.constant(parts.length > 1 ? parts[1] : ""));
+		}
+		else {
+			this.emit(OpcodeEnum.PUSH_LITERAL, this.constant(term));
+		}
+	}
+
+	private int constant(String value){
+		Integer index = this.constants.get(value);
+		if (index == null){
+			index = this.constants.size();
+			this.constants.put(value, index);
+		}
+		return index;
+	}
+
+	private void emit(OpcodeEnum op, int operand){
+		if (this.length + Program.INSTRUCTION_SIZE > this.code.length){
+			this.code = Arrays.copyOf(this.code, this.code.length * 2);
+		}
+		this.code[this.length] = op.ordinal();
+		this.code[this.length + Program.OPERAND] = operand;
+		this.length += Program.INSTRUCTION_SIZE;
+	}
+
+}
@@ -0,0 +1,291 @@
+/*  ProgramOptimizer.java
+ *  Purpose: Peephole pass over a compiled Program: folds constant arithmetic, removes "dup drop" pairs,
+ *           and fuses frequent instruction pairs into superinstructions.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProgramOptimizer {
+
+	/** The opcodes indexed by ordinal, for decoding compiled instructions. */
+	private static final OpcodeEnum[] OPCODES = OpcodeEnum.values();
+
+	/** The program being optimized. */
+	private final Program program;
+	/** The instructions still in the program, each as {opcode ordinal, operand, original instruction number}, in order. */
+	private final List<int[]> instructions;
+	/** Whether each original instruction is the target of a jump or the entry of a word, and so must start an instruction. */
+	private final boolean[] targets;
+	/** The constant pool, extended with folded results. */
+	private final List<String> constants;
+	/** The number of times each optimization was applied, in the order they were first applied. */
+	private final Map<String, Integer> applied;
+
+	private ProgramOptimizer(Program program){
+		this.program = program;
+		this.instructions = new ArrayList<int[]>();
+		this.targets = new boolean[program.getLength() + 1];
+		this.constants = new ArrayList<String>();
+		this.applied = new LinkedHashMap<String, Integer>();
+
+		for (String constant : program.constants){
+			this.constants.add(constant);
+		}
+		this.targets[0] = true;
+		for (int entry : program.wordEntries){
+			this.targets[entry / Program.INSTRUCTION_SIZE] = true;
+		}
+		for (int pc = 0; pc < program.code.length; pc += Program.INSTRUCTION_SIZE){
+			OpcodeEnum op = OPCODES[program.code[pc]];
+			int operand = program.code[pc + Program.OPERAND];
+			this.instructions.add(new int[] {op.ordinal(), operand, pc / Program.INSTRUCTION_SIZE});
+			if (isJump(op)){
+				this.targets[operand / Program.INSTRUCTION_SIZE] = true;
+			}
+		}
+	}
+
+	/**
+	 * Optimizes a compiled program.
+	 * An instruction is only merged with the one before it when nothing jumps to it, so every jump target still starts an instruction.
+	 * Apart from the number of instructions run, the optimized program behaves in the same way, including its error messages,
+	 * except that a removed "dup drop" no longer overflows a stack that is already full.
+	 * @param program The program produced by the ProgramCompiler.
+	 * @return A new program with the same words and variables, whose optimizations are listed in its optimization report.
+	 */
+	public static Program optimize(Program program){
+		ProgramOptimizer optimizer = new ProgramOptimizer(program);
+		optimizer.foldConstants();
+		optimizer.removeDupDrop();
+		optimizer.fusePairs();
+		return optimizer.build();
+	}
+
+	/**
+	 * Whether the operand of an instruction is a code offset.
+	 * @param op The opcode.
+	 * @return true for the control words resolved by the compiler.
+	 */
+	private static boolean isJump(OpcodeEnum op){
+		switch (op){
+		case IF:
+		case ELSE:
+		case UNTIL:
+		case DO:
+		case LOOP:
+		case LEAVE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Replaces two integer literals followed by arithmetic or a comparison with the result.
+	 * The result is worked out as the Interpreter's methods would, with the top of the stack (the second literal) as the first argument.
+	 */
+	private void foldConstants(){
+		int i = 0;
+		while (i + 2 < this.instructions.size()){
+			int[] first = this.instructions.get(i);
+			int[] second = this.instructions.get(i + 1);
+			OpcodeEnum op = OPCODES[this.instructions.get(i + 2)[0]];
+			String result = null;
+			if (this.isIntegerLiteral(first) && this.isIntegerLiteral(second) && !this.targets[second[2]] && !this.targets[this.instructions.get(i + 2)[2]]){
+				int arg1 = Integer.parseInt(this.constants.get(second[1]));
+				int arg2 = Integer.parseInt(this.constants.get(first[1]));
+				int order = Integer.signum(Integer.compare(arg1, arg2));
+				switch (op){
+				case ADD:
+					result = Integer.toString(arg1 + arg2);
+					break;
+				case SUBTRACT:
+					result = Integer.toString(arg1 - arg2);
+					break;
+				case MULTIPLY:
+					result = Integer.toString(arg1 * arg2);
+					break;
+				case GREATER_THAN:
+					result = Boolean.toString(order == 1);
+					break;
+				case GREATER_THAN_EQUAL:
+					result = Boolean.toString(order >= 0);
+					break;
+				case LESS_THAN:
+					result = Boolean.toString(order == -1);
+					break;
+				case LESS_THAN_EQUAL:
+					result = Boolean.toString(order <= 0);
+					break;
+				case EQUAL:
+					result = Boolean.toString(arg1 == arg2);
+					break;
+				case NOT_EQUAL:
+					result = Boolean.toString(arg1 != arg2);
+					break;
+				default:
+					break;
+				}
+			}
+			if (result == null){
+				i += 1;
+				continue;
+			}
+			first[1] = this.constant(result);
+			this.instructions.remove(i + 2);
+			this.instructions.remove(i + 1);
+			this.count("constant folding");
+			//  The result may be folded again with the literal before it.
+			i = Math.max(i - 1, 0);
+		}
+	}
+
+	/**
+	 * Removes "dup" immediately followed by "drop", which leaves the stack as it was.
+	 * A pair is only removed when the instruction before it has just pushed a value, so the "dup" could not have reported an underflow.
+	 */
+	private void removeDupDrop(){
+		int i = 1;
+		while (i + 1 < this.instructions.size()){
+			int[] first = this.instructions.get(i);
+			int[] second = this.instructions.get(i + 1);
+			if (OPCODES[first[0]] != OpcodeEnum.DUPLICATE || OPCODES[second[0]] != OpcodeEnum.DROP || this.targets[first[2]] || this.targets[second[2]]
+					|| !this.pushesValue(i - 1)){
+				i += 1;
+				continue;
+			}
+			this.instructions.remove(i + 1);
+			this.instructions.remove(i);
+			this.count("dup drop removed");
+			//  Removing the pair may bring another pair together, as in "dup dup drop drop".
+			i = Math.max(i - 1, 1);
+		}
+	}
+
+	/**
+	 * Checks whether an instruction always leaves at least one value on the stack when it has run without an error.
+	 * @param i The index of the instruction.
+	 * @return true for a literal or a variable, for a variable followed by "?", and for a "dup" after one of these.
+	 */
+	private boolean pushesValue(int i){
+		OpcodeEnum op = OPCODES[this.instructions.get(i)[0]];
+		if (op == OpcodeEnum.PUSH_LITERAL || op == OpcodeEnum.PUSH_VARIABLE){
+			return true;
+		}
+		if ((op == OpcodeEnum.RETRIEVE || op == OpcodeEnum.DUPLICATE) && i > 0 && !this.targets[this.instructions.get(i)[2]]){
+			return this.pushesValue(i - 1);
+		}
+		return false;
+	}
+
+	/**
+	 * Fuses frequent pairs of instructions into superinstructions.
+	 */
+	private void fusePairs(){
+		int i = 0;
+		while (i + 1 < this.instructions.size()){
+			int[] first = this.instructions.get(i);
+			int[] second = this.instructions.get(i + 1);
+			OpcodeEnum op = OPCODES[first[0]];
+			OpcodeEnum next = OPCODES[second[0]];
+			OpcodeEnum fused = null;
+			if (op == OpcodeEnum.PUSH_VARIABLE && next == OpcodeEnum.RETRIEVE){
+				fused = OpcodeEnum.RETRIEVE_VARIABLE;
+			}
+			else if (op == OpcodeEnum.PUSH_VARIABLE && next == OpcodeEnum.STORE){
+				fused = OpcodeEnum.STORE_VARIABLE;
+			}
+			else if (op == OpcodeEnum.DROP && next == OpcodeEnum.DROP){
+				fused = OpcodeEnum.DROP_PAIR;
+			}
+			else if (this.isIntegerLiteral(first) && next == OpcodeEnum.SUBTRACT){
+				fused = OpcodeEnum.LITERAL_SUBTRACT;
+			}
+			else if (this.isIntegerLiteral(first) && next == OpcodeEnum.NOT_EQUAL){
+				fused = OpcodeEnum.LITERAL_NOT_EQUAL;
+			}
+			else if (this.isIntegerLiteral(first) && next == OpcodeEnum.LESS_THAN){
+				fused = OpcodeEnum.LITERAL_LESS_THAN;
+			}
+
+			if (fused == null || this.targets[second[2]]){
+				i += 1;
+				continue;
+			}
+			//  The operand of the first instruction is kept.
+			first[0] = fused.ordinal();
+			this.instructions.remove(i + 1);
+			this.count(fused.name());
+			i += 1;
+		}
+	}
+
+	/**
+	 * Builds the optimized program, moving each jump target and word entry to the new offset of its instruction.
+	 * A target whose instruction was removed moves to the next instruction kept.
+	 * @return The optimized program.
+	 */
+	private Program build(){
+		int[] newIndex = new int[this.targets.length];
+		int k = this.instructions.size();
+		for (int original = this.targets.length - 1; original >= 0; original--){
+			while (k > 0 && this.instructions.get(k - 1)[2] >= original){
+				k -= 1;
+			}
+			newIndex[original] = k;
+		}
+
+		int[] code = new int[this.instructions.size() * Program.INSTRUCTION_SIZE];
+		for (k = 0; k < this.instructions.size(); k++){
+			int[] instruction = this.instructions.get(k);
+			code[k * Program.INSTRUCTION_SIZE] = instruction[0];
+			int operand = instruction[1];
+			if (isJump(OPCODES[instruction[0]])){
+				operand = newIndex[operand / Program.INSTRUCTION_SIZE] * Program.INSTRUCTION_SIZE;
+			}
+			code[k * Program.INSTRUCTION_SIZE + Program.OPERAND] = operand;
+		}
+
+		int[] wordEntries = new int[this.program.wordEntries.length];
+		for (int w = 0; w < wordEntries.length; w++){
+			wordEntries[w] = newIndex[this.program.wordEntries[w] / Program.INSTRUCTION_SIZE] * Program.INSTRUCTION_SIZE;
+		}
+
+		List<String> report = new ArrayList<String>();
+		for (Map.Entry<String, Integer> entry : this.applied.entrySet()){
+			report.add(entry.getKey() + " x" + entry.getValue());
+		}
+
+		return new Program(code, this.constants.toArray(new String[this.constants.size()]), this.program.wordNames, wordEntries, this.program.wordBodies,
+				this.program.varNames, this.program.playWord, this.program.definesPlay, this.program.warnings, report.toArray(new String[report.size()]));
+	}
+
+	private boolean isIntegerLiteral(int[] instruction){
+		return OPCODES[instruction[0]] == OpcodeEnum.PUSH_LITERAL && ValueStack.classify(this.constants.get(instruction[1])) == ValueTypeEnum.INTEGER;
+	}
+
+	/**
+	 * Finds or adds a constant in the pool.
+	 * @param value The constant.
+	 * @return The index of the constant.
+	 */
+	private int constant(String value){
+		int index = this.constants.indexOf(value);
+		if (index < 0){
+			this.constants.add(value);
+			index = this.constants.size() - 1;
+		}
+		return index;
+	}
+
+	private void count(String optimization){
+		Integer times = this.applied.get(optimization);
+		this.applied.put(optimization, times == null ? 1 : times + 1);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*  SensorSnapshot.java
+ *  Purpose: What the current piece can sense on the board, worked out once per turn and shared by scan!, identify! and check!.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import robowars.board.Board;
+
+public class SensorSnapshot {
+
+	/** The number of relative directions check! can be asked about. */
+	private static final int DIRECTIONS = 6;
+
+	/** The board the snapshot was taken of, or null if there is no snapshot. */
+	private Board board;
+	/** The version of the board when the snapshot was taken. */
+	private int version;
+	/** The piece offset on the board the snapshot was taken for. */
+	private int piece;
+
+	/** The offsets of the pieces found by scan!, or null until a sensing word needs them. */
+	private List<Integer> visible;
+	/** The information identify! pushes for each visible piece, indexed as visible; null until asked for. */
+	private List<ArrayList<String>> infos;
+	/** The result of check! in each relative direction; null until asked for. */
+	private final String[] checks;
+
+	public SensorSnapshot(){
+		this.checks = new String[DIRECTIONS];
+		this.infos = new ArrayList<ArrayList<String>>();
+		this.invalidate();
+	}
+
+	/**
+	 * Drops the snapshot, so that the next sensing word looks at the board again.
+	 * Called at the start of each turn, and when the piece moves, shoots or turns.
+	 */
+	public void invalidate(){
+		this.board = null;
+		this.visible = null;
+		this.infos.clear();
+		for (int i = 0; i < DIRECTIONS; i++){
+			this.checks[i] = null;
+		}
+	}
+
+	/**
+	 * Makes sure the snapshot is of the board as it is now, from the current piece.
+	 * @param b The board.
+	 */
+	private void update(Board b){
+		if (this.board != b || this.version != b.getVersion() || this.piece != b.getCurrentPiece()){
+			this.invalidate();
+			this.board = b;
+			this.version = b.getVersion();
+			this.piece = b.getCurrentPiece();
+		}
+	}
+
+	/**
+	 * Getter for the pieces the current piece can see, as found by Board.scanArea().
+	 * @param b The board.
+	 * @return The offsets of the visible pieces; the list must not be changed.
+	 */
+	public List<Integer> getVisible(Board b){
+		this.update(b);
+		if (this.visible == null){
+			this.visible = b.scanArea();
+		}
+		return this.visible;
+	}
+
+	/**
+	 * Getter for the information about a visible piece, as found by Board.getPieceInfoFromOffset().
+	 * @param b The board.
+	 * @param nth The index of the piece in getVisible().
+	 * @return The health, distance, direction and colour of the piece; the list must not be changed.
+	 * @precondition nth is an index of getVisible().
+	 */
+	public ArrayList<String> getInfo(Board b, int nth){
+		List<Integer> pieces = this.getVisible(b);
+		while (this.infos.size() < pieces.size()){
+			this.infos.add(null);
+		}
+		if (this.infos.get(nth) == null){
+			this.infos.set(nth, b.getPieceInfoFromOffset(pieces.get(nth)));
+		}
+		return this.infos.get(nth);
+	}
+
+	/**
+	 * Getter for the contents of an adjacent space, as found by Board.checkSpace().
+	 * @param b The board.
+	 * @param direction The relative direction of the space.
+	 * @return EMPTY, OCCUPIED or OUT OF BOUNDS.
+	 */
+	public String getCheck(Board b, int direction){
+		this.update(b);
+		if (direction < 0 || direction >= DIRECTIONS){
+			return b.checkSpace(direction);
+		}
+		if (this.checks[direction] == null){
+			this.checks[direction] = b.checkSpace(direction);
+		}
+		return this.checks[direction];
+	}
+
+}
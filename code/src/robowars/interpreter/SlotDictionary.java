@@ -0,0 +1,158 @@
+/*  SlotDictionary.java
+ *  Purpose: Per-piece dictionary of user words or variables, resolving each name once to an integer slot.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class SlotDictionary<T> implements Iterable<T> {
+
+	/** The entries, indexed by slot. */
+	private List<T> entries;
+	/** The names of the entries, indexed by slot. */
+	private List<String> names;
+	/** The slot of each name. */
+	private Map<String, Integer> slots;
+	/** Whether the lists and map may be in use by another dictionary, so must be copied before they are changed. */
+	private boolean shared;
+
+	public SlotDictionary(){
+		this.entries = new ArrayList<T>();
+		this.names = new ArrayList<String>();
+		this.slots = new HashMap<String, Integer>();
+		this.shared = false;
+	}
+
+	/**
+	 * Constructor for a dictionary sharing the contents of another until either of them is changed.
+	 * @param other The dictionary to share.
+	 */
+	private SlotDictionary(SlotDictionary<T> other){
+		this.entries = other.entries;
+		this.names = other.names;
+		this.slots = other.slots;
+		this.shared = true;
+		other.shared = true;
+	}
+
+	/**
+	 * Makes an array of empty slots for dictionaries, one for each piece.
+	 * Java cannot make an array of a generic type, so the unchecked cast is kept here.
+	 * @param length The number of dictionaries.
+	 * @return The array, with every element null.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> SlotDictionary<T>[] newArray(int length){
+		return (SlotDictionary<T>[]) new SlotDictionary[length];
+	}
+
+	/**
+	 * Makes a dictionary with the same entries, names and slots, without copying them until one of the two is changed.
+	 * The entries themselves are shared, so this is only for entries that are replaced rather than changed, such as UserWords.
+	 * @return The new dictionary.
+	 */
+	SlotDictionary<T> share(){
+		return new SlotDictionary<T>(this);
+	}
+
+	/**
+	 * Replaces the entry in a slot, as when an entry is copied.
+	 * @param slot The slot of the entry.
+	 * @param entry The new entry.
+	 */
+	void replace(int slot, T entry){
+		this.own();
+		this.entries.set(slot, entry);
+	}
+
+	/**
+	 * Copies the lists and map if another dictionary may be using them, so that changing them changes only this dictionary.
+	 */
+	private void own(){
+		if (this.shared){
+			this.entries = new ArrayList<T>(this.entries);
+			this.names = new ArrayList<String>(this.names);
+			this.slots = new HashMap<String, Integer>(this.slots);
+			this.shared = false;
+		}
+	}
+
+	/**
+	 * Method for adding an entry, or replacing the entry with the same name so that the latest definition is used.
+	 * A replaced entry keeps its slot, so slots resolved earlier stay valid.
+	 * @param name The name of the word or variable.
+	 * @param entry The word or variable.
+	 * @return The slot of the entry.
+	 */
+	public int declare(String name, T entry){
+		this.own();
+		Integer slot = this.slots.get(name);
+		if (slot != null){
+			this.entries.set(slot, entry);
+			return slot;
+		}
+		this.entries.add(entry);
+		this.names.add(name);
+		this.slots.put(name, this.entries.size() - 1);
+		return this.entries.size() - 1;
+	}
+
+	/**
+	 * Method for resolving a name to its slot.
+	 * @param name The name of the word or variable.
+	 * @return The slot, or -1 if nothing with the name has been declared.
+	 */
+	public int slotOf(String name){
+		Integer slot = this.slots.get(name);
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * Method for finding an entry by name.
+	 * @param name The name of the word or variable.
+	 * @return The entry, or null if nothing with the name has been declared.
+	 */
+	public T find(String name){
+		Integer slot = this.slots.get(name);
+		return slot == null ? null : this.entries.get(slot);
+	}
+
+	public T get(int slot){
+		return this.entries.get(slot);
+	}
+
+	public String nameOf(int slot){
+		return this.names.get(slot);
+	}
+
+	public int size(){
+		return this.entries.size();
+	}
+
+	public void clear(){
+		this.own();
+		this.entries.clear();
+		this.names.clear();
+		this.slots.clear();
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return this.entries.iterator();
+	}
+
+	/**
+	 * Lists the declared names in slot order.
+	 * @return The names, eg. "[moved, shot]".
+	 */
+	@Override
+	public String toString(){
+		return this.names.toString();
+	}
+
+}
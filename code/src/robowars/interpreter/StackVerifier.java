@@ -0,0 +1,443 @@
+/*  StackVerifier.java
+ *  Purpose: Works out the stack effect of each word of a compiled program before it is run, warning about programs that always underflow or never finish,
+ *           and marking the words the Interpreter may run without checking the stack depth.
+ */
+
+package robowars.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StackVerifier {
+
+	/** Marks an instruction that has not been reached, or a change in depth that is not known yet. */
+	private static final int UNKNOWN = Integer.MIN_VALUE;
+
+	/** The state of a word that has not been looked at. */
+	private static final int UNVISITED = 0;
+	/** The state of a word whose body is being looked at, so that a call to it is recursive. */
+	private static final int IN_PROGRESS = 1;
+	/** The state of a word whose effect has been worked out. */
+	private static final int DONE = 2;
+
+	/** The stack effect of a body of code, counted from the depth it was entered at. */
+	private static class Effect {
+		/** Whether every path through the body leaves the same number of values. */
+		boolean known = true;
+		/** Whether the effect was proved from the body, using no word that leaves a varying number of values. */
+		boolean verified = true;
+		/** The change in depth from entering the body to leaving it. */
+		int net = UNKNOWN;
+		/** The number of values the body may take from below the depth it was entered at. */
+		int inputs = 0;
+		/** The most values the body has on the stack at once above the depth it was entered at. */
+		int growth = 0;
+		/** The number of values the instructions run on every path take from below the depth the body was entered at. */
+		int certainInputs = 0;
+		/** The instruction that needs certainInputs values, eg. "\"drop\" in word foo". */
+		String certainWord = null;
+	}
+
+	/** The program being verified. */
+	private final Program program;
+	/** The stack effect comments of the words, eg. "a b -- c", keyed by word name. */
+	private final Map<String, String> declared;
+	/** The effect of each word, indexed by word number. */
+	private final Effect[] words;
+	/** The state of each word, indexed by word number. */
+	private final int[] states;
+	/** The problems found. */
+	private final List<String> warnings;
+
+	private static final OpcodeEnum[] OPCODES = OpcodeEnum.values();
+
+	private StackVerifier(Program program, Map<String, String> declared){
+		this.program = program;
+		this.declared = declared;
+		this.words = new Effect[program.wordNames.length];
+		this.states = new int[program.wordNames.length];
+		this.warnings = new ArrayList<String>(Arrays.asList(program.warnings));
+	}
+
+	/**
+	 * Verifies a compiled program that has no stack effect comments.
+	 * @param program The compiled program.
+	 * @return The program with the verifier's warnings and stack effects.
+	 */
+	public static Program verify(Program program){
+		return verify(program, new HashMap<String, String>());
+	}
+
+	/**
+	 * Works out how many values each word takes from the stack and leaves on it, following every path through the compiled code.
+	 * A word whose paths leave different depths, that calls itself, or that uses "recv!" has no known effect, unless it is declared with a comment, eg. ": pick ( a b -- c )".
+	 * A word with a known effect that does not use a declaration is verified, and the Interpreter may skip its stack depth checks when the stack is deep enough to run it.
+	 * Warnings are added for code that always underflows, for loops that change the depth each time round or never end, for a play word that
+	 * runs the stack down or up every turn, and for declarations that do not match the body.
+	 * @param program The compiled program.
+	 * @param declared The stack effect comments of the words, as from AI.getDeclaredEffects().
+	 * @return The program with the verifier's warnings and stack effects.
+	 */
+	public static Program verify(Program program, Map<String, String> declared){
+		return new StackVerifier(program, declared).verifyProgram();
+	}
+
+	/**
+	 * Reads a stack effect comment.
+	 * @param comment The text of the comment, eg. " a b -- c ".
+	 * @return The number of inputs and outputs, or null if the comment has no "--" term.
+	 */
+	static int[] parseEffect(String comment){
+		if (comment == null){
+			return null;
+		}
+		String[] names = comment.trim().split("\\s+");
+		int split = Arrays.asList(names).indexOf("--");
+		if (split < 0){
+			return null;
+		}
+		return new int[] {split, names.length - split - 1};
+	}
+
+	private Program verifyProgram(){
+		for (int w = 0; w < this.words.length; w++){
+			this.effectOf(w);
+		}
+
+		Effect top = this.analyse(0, "the top level", -1);
+		if (top.known && top.certainInputs > 0){
+			this.warnings.add("stack underflow in the top level: " + top.certainWord + " is always short of " + top.certainInputs + " value(s).");
+		}
+
+		//  The stack is kept between turns, so play starts its first turn with what the top level left, and each later turn with what the turn before left.
+		Effect play = this.words[this.program.playWord];
+		if (top.known && top.certainInputs == 0 && play.known){
+			int start = Math.max(top.net, 0);
+			if (play.certainInputs > start){
+				this.warnings.add("stack underflow in word play: " + play.certainWord + " is short of " + (play.certainInputs - start) + " value(s) on the first turn.");
+			}
+			else if (play.net < 0){
+				int needed = Math.max(play.certainInputs, -play.net);
+				this.warnings.add("stack underflow in word play: it takes " + -play.net + " more value(s) than it leaves each turn, so it runs out by turn " + ((start - needed) / -play.net + 2) + ".");
+			}
+			else if (play.net > 0){
+				this.warnings.add("word play leaves " + play.net + " more value(s) on the stack each turn, so the stack grows without bound.");
+			}
+		}
+
+		boolean[] verified = new boolean[this.words.length];
+		int[] inputs = new int[this.words.length];
+		int[] growth = new int[this.words.length];
+		for (int w = 0; w < this.words.length; w++){
+			verified[w] = this.words[w].known && this.words[w].verified;
+			inputs[w] = this.words[w].inputs;
+			growth[w] = this.words[w].growth;
+		}
+		return new Program(this.program, this.warnings.toArray(new String[this.warnings.size()]), verified, inputs, growth);
+	}
+
+	/**
+	 * Works out the effect of a word once, checking it against its declaration.
+	 * @param word The word number.
+	 * @return The effect of the word, or null if the word is being worked out, so the call is recursive.
+	 */
+	private Effect effectOf(int word){
+		if (this.states[word] == DONE){
+			return this.words[word];
+		}
+		String name = this.program.wordNames[word];
+		if (this.states[word] == IN_PROGRESS){
+			//  A recursive call; only a declaration can say what it does.
+			return this.declaredEffect(name);
+		}
+
+		this.states[word] = IN_PROGRESS;
+		Effect effect = this.analyse(this.program.wordEntries[word], "word " + name, word);
+		int[] declaration = parseEffect(this.declared.get(name));
+		if (declaration != null && effect.known){
+			if (declaration[1] - declaration[0] != effect.net || declaration[0] < effect.inputs){
+				this.warnings.add("word " + name + " is declared (" + this.declared.get(name) + ") but takes " + effect.inputs + " and leaves " + (effect.inputs + effect.net) + ".");
+			}
+		}
+		else if (declaration != null){
+			effect = this.declaredEffect(name);
+		}
+		this.words[word] = effect;
+		this.states[word] = DONE;
+		return effect;
+	}
+
+	/**
+	 * Builds the effect of a word from its declaration, for callers of a word whose body could not be worked out.
+	 * @param name The name of the word.
+	 * @return The declared effect, which is not verified, or null if the word has no declaration.
+	 */
+	private Effect declaredEffect(String name){
+		int[] declaration = parseEffect(this.declared.get(name));
+		if (declaration == null){
+			return null;
+		}
+		Effect effect = new Effect();
+		effect.verified = false;
+		effect.inputs = declaration[0];
+		effect.net = declaration[1] - declaration[0];
+		return effect;
+	}
+
+	/**
+	 * Follows every path through a body of code, from its entry to its RETURN or HALT, recording the depth at each instruction.
+	 * @param entry The code offset of the first instruction.
+	 * @param context A description of the body, for warnings.
+	 * @param self The word number of the body, or -1 for the top level.
+	 * @return The effect of the body.
+	 */
+	private Effect analyse(int entry, String context, int self){
+		int[] code = this.program.code;
+		int[] depths = new int[code.length / Program.INSTRUCTION_SIZE];
+		Arrays.fill(depths, UNKNOWN);
+		//  Each instruction is added to the work list once, when it is first reached.
+		int[] work = new int[depths.length];
+		int pending = 0;
+
+		Effect effect = new Effect();
+		depths[entry / Program.INSTRUCTION_SIZE] = 0;
+		work[pending++] = entry;
+
+		while (pending > 0){
+			int pc = work[--pending];
+			int depth = depths[pc / Program.INSTRUCTION_SIZE];
+			OpcodeEnum op = OPCODES[code[pc]];
+			int operand = code[pc + Program.OPERAND];
+			int next = pc + Program.INSTRUCTION_SIZE;
+			int[] targets;
+			int after;
+
+			effect.inputs = Math.max(effect.inputs, inputsOf(op) - depth);
+			switch (op){
+			case RETURN:
+			case HALT:
+				if (effect.net == UNKNOWN){
+					effect.net = depth;
+				}
+				else if (effect.net != depth){
+					effect.known = false;
+				}
+				continue;
+
+			case IF:
+				targets = new int[] {next, OPCODES[code[operand]] == OpcodeEnum.ELSE ? operand + Program.INSTRUCTION_SIZE : operand};
+				after = depth - 1;
+				break;
+			case ELSE:
+			case LEAVE:
+				targets = new int[] {operand};
+				after = depth;
+				break;
+			case UNTIL:
+				if (OPCODES[code[pc - Program.INSTRUCTION_SIZE]] == OpcodeEnum.PUSH_LITERAL && this.program.constants[code[pc - Program.INSTRUCTION_SIZE + Program.OPERAND]].equals("false")){
+					this.warnings.add("begin/until loop in " + context + " never ends: its condition is always false.");
+				}
+				this.loop(effect, depths, operand, depth - 1, context);
+				targets = new int[] {next};
+				after = depth - 1;
+				break;
+			case LOOP:
+				this.loop(effect, depths, operand, depth, context);
+				targets = new int[] {next};
+				after = depth;
+				break;
+
+			case CALL:
+				Effect callee = this.effectOf(operand);
+				if (callee == null || !callee.known){
+					effect.known = false;
+					continue;
+				}
+				effect.inputs = Math.max(effect.inputs, callee.inputs - depth);
+				effect.growth = Math.max(effect.growth, depth + callee.growth);
+				effect.verified &= callee.verified;
+				targets = new int[] {next};
+				after = depth + callee.net;
+				break;
+
+			default:
+				int outputs = outputsOf(op);
+				if (outputs == BuiltinWord.VARIABLE){
+					effect.known = false;
+					continue;
+				}
+				targets = new int[] {next};
+				after = depth - inputsOf(op) + outputs;
+				break;
+			}
+
+			effect.growth = Math.max(effect.growth, after);
+			for (int target : targets){
+				int index = target / Program.INSTRUCTION_SIZE;
+				if (depths[index] == UNKNOWN){
+					depths[index] = after;
+					work[pending++] = target;
+				}
+				else if (depths[index] != after){
+					//  The paths meeting here leave different depths, eg. an if with no else that pushes a value.
+					effect.known = false;
+				}
+			}
+		}
+		if (effect.net == UNKNOWN){
+			//  No path reaches the end of the body.
+			effect.known = false;
+		}
+
+		this.checkCertainPath(effect, depths, entry, context, self);
+		return effect;
+	}
+
+	/**
+	 * Checks the jump back to the start of a loop body, which must find the depth it found the first time round.
+	 * @param effect The effect of the body holding the loop.
+	 * @param depths The depth at each instruction reached so far.
+	 * @param start The code offset of the start of the loop body.
+	 * @param depth The depth the jump back leaves.
+	 * @param context A description of the body, for warnings.
+	 */
+	private void loop(Effect effect, int[] depths, int start, int depth, String context){
+		int first = depths[start / Program.INSTRUCTION_SIZE];
+		if (first != UNKNOWN && depth != first){
+			int change = depth - first;
+			effect.known = false;
+			this.warnings.add("loop in " + context + " changes the stack depth by " + change + " each time round.");
+		}
+	}
+
+	/**
+	 * Finds the values needed by the instructions run on every path through a body: those that are not inside an if and not after a leave.
+	 * Loop bodies are always run at least once, so they are included.
+	 * @param effect The effect of the body, updated with the values needed.
+	 * @param depths The depth at each instruction.
+	 * @param entry The code offset of the first instruction.
+	 * @param context A description of the body, for warnings.
+	 * @param self The word number of the body, or -1 for the top level.
+	 */
+	private void checkCertainPath(Effect effect, int[] depths, int entry, String context, int self){
+		int[] code = this.program.code;
+		int nested = 0;
+		for (int pc = entry; pc < code.length; pc += Program.INSTRUCTION_SIZE){
+			OpcodeEnum op = OPCODES[code[pc]];
+			int depth = depths[pc / Program.INSTRUCTION_SIZE];
+			if (op == OpcodeEnum.RETURN || op == OpcodeEnum.HALT || (op == OpcodeEnum.LEAVE && nested == 0) || depth == UNKNOWN){
+				return;
+			}
+			if (op == OpcodeEnum.THEN){
+				nested -= 1;
+			}
+			if (nested > 0){
+				continue;
+			}
+
+			int required = requiredBy(op);
+			String word = "\"" + describe(op) + "\" in " + context;
+			if (op == OpcodeEnum.CALL){
+				if (code[pc + Program.OPERAND] == self){
+					this.warnings.add(context + " calls itself on every path, so it never returns.");
+					return;
+				}
+				Effect callee = this.words[code[pc + Program.OPERAND]];
+				if (callee == null || !callee.known){
+					return;
+				}
+				required = callee.certainInputs;
+				word = callee.certainWord;
+			}
+			if (effect.known && required - depth > effect.certainInputs){
+				effect.certainInputs = required - depth;
+				effect.certainWord = word;
+			}
+			if (op == OpcodeEnum.IF){
+				nested += 1;
+			}
+		}
+	}
+
+	/**
+	 * The number of values an instruction takes from the stack when it succeeds.
+	 * @param op The opcode.
+	 * @return The number of inputs.
+	 */
+	private static int inputsOf(OpcodeEnum op){
+		switch (op){
+		case IF:
+		case UNTIL:
+		case STORE_VARIABLE:
+		case LITERAL_SUBTRACT:
+		case LITERAL_NOT_EQUAL:
+		case LITERAL_LESS_THAN:
+			return 1;
+		case DO:
+		case DROP_PAIR:
+			return 2;
+		default:
+			BuiltinWord builtin = BuiltinWord.forOpcode(op);
+			return builtin == null ? 0 : builtin.getInputs();
+		}
+	}
+
+	/**
+	 * The number of values an instruction other than a control word or CALL leaves in place of its inputs.
+	 * @param op The opcode.
+	 * @return The number of outputs, or BuiltinWord.VARIABLE.
+	 */
+	private static int outputsOf(OpcodeEnum op){
+		switch (op){
+		case PUSH_LITERAL:
+		case PUSH_VARIABLE:
+		case LOOP_INDEX:
+		case RETRIEVE_VARIABLE:
+		case LITERAL_SUBTRACT:
+		case LITERAL_NOT_EQUAL:
+		case LITERAL_LESS_THAN:
+			return 1;
+		default:
+			BuiltinWord builtin = BuiltinWord.forOpcode(op);
+			return builtin == null ? 0 : builtin.getOutputs();
+		}
+	}
+
+	/**
+	 * The number of values an instruction must find on the stack to run at all.
+	 * @param op The opcode.
+	 * @return The number of inputs, except that "swap" and "rot" run on a stack of one value.
+	 */
+	private static int requiredBy(OpcodeEnum op){
+		if (op == OpcodeEnum.SWAP || op == OpcodeEnum.ROTATE){
+			return 1;
+		}
+		return inputsOf(op);
+	}
+
+	/**
+	 * Names an instruction as it was written in the program.
+	 * @param op The opcode.
+	 * @return The word, eg. "!" for STORE_VARIABLE.
+	 */
+	private static String describe(OpcodeEnum op){
+		switch (op){
+		case STORE_VARIABLE:
+			return "!";
+		case DROP_PAIR:
+			return "drop";
+		case LITERAL_SUBTRACT:
+			return "-";
+		case LITERAL_NOT_EQUAL:
+			return "<>";
+		case LITERAL_LESS_THAN:
+			return "<";
+		default:
+			return op.getWord() == null ? op.toString() : op.getWord();
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+/*  Token.java
+ *  Purpose: A term of a robot program, with the place in the source it was read from.
+ */
+
+package robowars.interpreter;
+
+public class Token {
+
+	/** The text of the term. */
+	private final String text;
+	/** The line of the source the term starts on, counting from 1. */
+	private final int line;
+	/** The column of the line the term starts at, counting from 1. */
+	private final int column;
+
+	public Token(String text, int line, int column){
+		this.text = text;
+		this.line = line;
+		this.column = column;
+	}
+
+	public String getText(){
+		return this.text;
+	}
+
+	public int getLine(){
+		return this.line;
+	}
+
+	public int getColumn(){
+		return this.column;
+	}
+
+	/**
+	 * Describes the token for error messages.
+	 * @return The text and position, eg. "dup (3:12)".
+	 */
+	@Override
+	public String toString(){
+		return this.text + " (" + this.line + ":" + this.column + ")";
+	}
+
+}
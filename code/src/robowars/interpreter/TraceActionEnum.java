@@ -0,0 +1,12 @@
+/*  TraceActionEnum.java
+ *  Purpose: Enumeration of the board actions recorded by the TraceRecorder.
+ */
+
+package robowars.interpreter;
+
+public enum TraceActionEnum {
+	NONE,
+	TURN,
+	MOVE,
+	SHOOT;
+}
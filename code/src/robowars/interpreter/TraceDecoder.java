@@ -0,0 +1,119 @@
+/*  TraceDecoder.java
+ *  Purpose: Turns a trace written by the TraceRecorder into readable lines, away from the match that recorded it.
+ */
+
+package robowars.interpreter;
+
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TraceDecoder {
+
+	private TraceDecoder(){
+	}
+
+	/**
+	 * Reads a trace written by TraceRecorder.writeTo().
+	 * @param in The trace. It is not closed.
+	 * @return The records, oldest first.
+	 * @throws IOException If the trace cannot be read, or was not written by a TraceRecorder of this version.
+	 */
+	public static long[] read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != TraceRecorder.MAGIC){
+			throw new IOException("not a robot trace.");
+		}
+		int version = data.readInt();
+		if (version != TraceRecorder.VERSION){
+			throw new IOException("trace version " + version + " cannot be read, expected version " + TraceRecorder.VERSION + ".");
+		}
+		int opcodes = data.readInt();
+		if (opcodes != OpcodeEnum.values().length){
+			throw new IOException("trace was recorded with " + opcodes + " opcodes, but this build has " + OpcodeEnum.values().length + ".");
+		}
+		long[] records = new long[data.readInt()];
+		for (int i = 0; i < records.length; i++){
+			records[i] = data.readLong();
+		}
+		return records;
+	}
+
+	/**
+	 * Describes one record.
+	 * @param record The record.
+	 * @return eg. "turn 3 piece 1 dup top INTEGER 5", or "turn 3 piece 1 shoot! SHOOT distance 2 direction 4".
+	 */
+	public static String describe(long record){
+		OpcodeEnum op = OpcodeEnum.values()[TraceRecorder.opcodeOf(record)];
+		StringBuilder line = new StringBuilder();
+		line.append("turn ").append(TraceRecorder.turnOf(record)).append(" piece ").append(TraceRecorder.pieceOf(record)).append(' ')
+				.append(op.getWord() == null ? op.toString() : op.getWord());
+
+		TraceActionEnum action = TraceRecorder.actionOf(record);
+		int value = TraceRecorder.valueOf(record);
+		switch (action){
+		case TURN:
+			line.append(" TURN rotation ").append(value);
+			break;
+		case MOVE:
+			line.append(" MOVE");
+			break;
+		case SHOOT:
+			line.append(" SHOOT distance ").append(value / 8).append(" direction ").append(value % 8);
+			break;
+		default:
+			ValueTypeEnum type = TraceRecorder.typeOf(record);
+			if (type == null){
+				line.append(" empty stack");
+			}
+			else if (type == ValueTypeEnum.STRING){
+				line.append(" top STRING");
+			}
+			else if (type == ValueTypeEnum.BOOLEAN){
+				line.append(" top BOOLEAN ").append(value != 0);
+			}
+			else {
+				line.append(" top ").append(type).append(' ').append(value);
+			}
+			break;
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Describes every record of a trace.
+	 * @param records The records, oldest first.
+	 * @return One line per record.
+	 */
+	public static List<String> decode(long[] records){
+		List<String> lines = new ArrayList<String>(records.length);
+		for (long record : records){
+			lines.add(describe(record));
+		}
+		return lines;
+	}
+
+	/**
+	 * Prints a trace file as text.
+	 * @param args The name of the trace file.
+	 */
+	public static void main(String[] args){
+		if (args.length != 1){
+			System.out.println("Usage: TraceDecoder <trace file>");
+			return;
+		}
+		try (InputStream in = new FileInputStream(args[0])){
+			for (String line : decode(read(in))){
+				System.out.println(line);
+			}
+		}
+		catch (IOException e){
+			System.out.println("Error reading trace " + args[0] + ": " + e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+/*  TraceRecorder.java
+ *  Purpose: Records what an Interpreter's pieces do as compact binary records in a ring buffer allocated once,
+ *           so that a match can be traced without printing. The TraceDecoder turns the records back into text.
+ */
+
+package robowars.interpreter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class TraceRecorder {
+
+	/** The first int of a written trace, "RWTR". */
+	public static final int MAGIC = 0x52575452;
+	/** The version of the record layout below. */
+	public static final int VERSION = 1;
+	/** The number of records kept by default. */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	//  Each record is one long:
+	//  bits 0-31 the top value of the stack before the instruction, or the argument of a board action;
+	//  bits 32-35 the type of that value (0 for an empty stack, otherwise the ValueTypeEnum ordinal + 1);
+	//  bits 36-39 the TraceActionEnum ordinal; bits 40-47 the OpcodeEnum ordinal; bits 48-55 the piece; bits 56-63 the turn, modulo 256.
+	static final int TYPE_SHIFT = 32;
+	static final int ACTION_SHIFT = 36;
+	static final int OPCODE_SHIFT = 40;
+	static final int PIECE_SHIFT = 48;
+	static final int TURN_SHIFT = 56;
+
+	private static final ValueTypeEnum[] TYPES = ValueTypeEnum.values();
+
+	/** The records, written in a circle so that the newest replace the oldest. */
+	private final long[] records;
+	/** records.length - 1; the capacity is a power of two so that the next slot is found with a mask. */
+	private final int mask;
+	/** The number of records written since the recorder was created or cleared. */
+	private long written;
+	/** The turn being recorded. */
+	private int turn;
+
+	/**
+	 * Constructor for a recorder keeping the most recent records.
+	 * @param capacity The number of records kept, rounded up to a power of two.
+	 * @precondition The capacity is greater than 0.
+	 */
+	public TraceRecorder(int capacity){
+		if (capacity <= 0){
+			throw new RuntimeException("Error creating TraceRecorder: capacity must be greater than 0.");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity){
+			size <<= 1;
+		}
+		this.records = new long[size];
+		this.mask = size - 1;
+	}
+
+	public int capacity(){
+		return this.records.length;
+	}
+
+	/**
+	 * Getter for the number of records held.
+	 * @return The number of records, at most the capacity.
+	 */
+	public int size(){
+		return (int) Math.min(this.written, this.records.length);
+	}
+
+	/**
+	 * Getter for the number of records written, including those since replaced.
+	 * @return The number of records written.
+	 */
+	public long getWritten(){
+		return this.written;
+	}
+
+	/**
+	 * Starts a new turn; the records after it carry the new turn number.
+	 */
+	void nextTurn(){
+		this.turn += 1;
+	}
+
+	/**
+	 * Records an instruction about to run.
+	 * @param piece The piece offset.
+	 * @param op The opcode.
+	 * @param stack The stack of the piece, whose top value is recorded.
+	 */
+	void instruction(int piece, OpcodeEnum op, ValueStack stack){
+		if (stack.isEmpty()){
+			this.write(piece, op, TraceActionEnum.NONE, 0, 0);
+		}
+		else {
+			ValueTypeEnum type = stack.typeAt(0);
+			//  Strings are recorded by type only, so that records stay one long.
+			this.write(piece, op, TraceActionEnum.NONE, type.ordinal() + 1, type == ValueTypeEnum.STRING ? 0 : stack.intAt(0));
+		}
+	}
+
+	/**
+	 * Records an action taken on the board.
+	 * @param piece The piece offset.
+	 * @param op The opcode of the word that took the action.
+	 * @param action The action.
+	 * @param argument The rotation for TURN, 0 for MOVE, and the distance * 8 + the direction for SHOOT.
+	 */
+	void action(int piece, OpcodeEnum op, TraceActionEnum action, int argument){
+		this.write(piece, op, action, ValueTypeEnum.INTEGER.ordinal() + 1, argument);
+	}
+
+	private void write(int piece, OpcodeEnum op, TraceActionEnum action, int type, int value){
+		this.records[(int) (this.written & this.mask)] = ((long) (this.turn & 0xff) << TURN_SHIFT)
+				| ((long) (piece & 0xff) << PIECE_SHIFT)
+				| ((long) op.ordinal() << OPCODE_SHIFT)
+				| ((long) action.ordinal() << ACTION_SHIFT)
+				| ((long) type << TYPE_SHIFT)
+				| (value & 0xffffffffL);
+		this.written += 1;
+	}
+
+	/**
+	 * Copies the records held, oldest first.
+	 * @return The records.
+	 */
+	public long[] getRecords(){
+		int size = this.size();
+		long[] copy = new long[size];
+		long first = this.written - size;
+		for (int i = 0; i < size; i++){
+			copy[i] = this.records[(int) ((first + i) & this.mask)];
+		}
+		return copy;
+	}
+
+	public void clear(){
+		this.written = 0;
+		this.turn = 0;
+	}
+
+	/**
+	 * Writes the records held for the TraceDecoder: MAGIC, VERSION, the number of opcodes, the number of records, then the records oldest first.
+	 * @param out Where to write the trace. It is not closed.
+	 * @throws IOException If the trace cannot be written.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		long[] held = this.getRecords();
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(OpcodeEnum.values().length);
+		data.writeInt(held.length);
+		for (long record : held){
+			data.writeLong(record);
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads the piece of a record.
+	 * @param record The record.
+	 * @return The piece offset.
+	 */
+	public static int pieceOf(long record){
+		return (int) (record >>> PIECE_SHIFT) & 0xff;
+	}
+
+	/**
+	 * Reads the turn of a record.
+	 * @param record The record.
+	 * @return The turn, modulo 256.
+	 */
+	public static int turnOf(long record){
+		return (int) (record >>> TURN_SHIFT) & 0xff;
+	}
+
+	/**
+	 * Reads the opcode of a record.
+	 * @param record The record.
+	 * @return The ordinal of the OpcodeEnum.
+	 */
+	public static int opcodeOf(long record){
+		return (int) (record >>> OPCODE_SHIFT) & 0xff;
+	}
+
+	public static TraceActionEnum actionOf(long record){
+		return TraceActionEnum.values()[(int) (record >>> ACTION_SHIFT) & 0xf];
+	}
+
+	/**
+	 * Reads the type of the value of a record.
+	 * @param record The record.
+	 * @return The type, or null if the stack was empty.
+	 */
+	public static ValueTypeEnum typeOf(long record){
+		int type = (int) (record >>> TYPE_SHIFT) & 0xf;
+		return type == 0 ? null : TYPES[type - 1];
+	}
+
+	public static int valueOf(long record){
+		return (int) record;
+	}
+
+}
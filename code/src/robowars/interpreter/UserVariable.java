@@ -12,6 +12,11 @@ package robowars.interpreter;
 public class UserVariable {
 
 	String varName;
+	/** The location pushed to the stack for this variable, built once. */
+	String varAddress;
+	ValueTypeEnum varType;
+	int varNumber;
+	/** The string form of the value, or null until it is needed for a number or boolean. */
 	String varValue;
 	
 	public UserVariable(String name){
@@ -19,18 +24,71 @@ public class UserVariable {
 			throw new RuntimeException("Cannot create a UserVariable with a blank name.");	
 		}
 		varName = name;
+		varAddress = "#" + name;
+		varType = ValueTypeEnum.STRING;
+		varNumber = 0;
 		varValue = "";
 	}
 	
+	/**
+	 * Constructor for a copy of a variable, holding the same value.
+	 * @param other The variable to copy.
+	 */
+	UserVariable(UserVariable other){
+		varName = other.varName;
+		varAddress = other.varAddress;
+		varType = other.varType;
+		varNumber = other.varNumber;
+		varValue = other.varValue;
+	}
+	
 	public String getName(){
 		return varName;
 	}
 	
+	public String getAddress(){
+		return varAddress;
+	}
+	
 	public String getValue(){
+		if (varValue == null){
+			if (varType == ValueTypeEnum.BOOLEAN){
+				return varNumber != 0 ? "true" : "false";
+			}
+			varValue = Integer.toString(varNumber);
+		}
 		return varValue;
 	}
 	
+	public ValueTypeEnum getType(){
+		return varType;
+	}
+	
+	public int getNumber(){
+		return varNumber;
+	}
+	
 	public void setValue(String value){
+		varType = ValueStack.classify(value);
+		varNumber = 0;
+		if (varType == ValueTypeEnum.INTEGER){
+			varNumber = Integer.parseInt(value);
+		}
+		else if (varType == ValueTypeEnum.BOOLEAN){
+			varNumber = value.equals("true") ? 1 : 0;
+		}
+		varValue = value;
+	}
+	
+	/**
+	 * Setter for a value already on the stack, keeping its type.
+	 * @param type The type of the value.
+	 * @param number The int value of the value.
+	 * @param value The string form of the value, or null.
+	 */
+	public void setValue(ValueTypeEnum type, int number, String value){
+		varType = type;
+		varNumber = number;
 		varValue = value;
 	}
 	
@@ -0,0 +1,313 @@
+/*  ValueStack.java
+ *  Purpose: Fixed-capacity stack of typed values for a piece's program, so that words can work with ints and booleans without parsing strings.
+ */
+
+package robowars.interpreter;
+
+import java.util.Arrays;
+
+public class ValueStack {
+
+	/** The string form of each boolean, shared so that popping a boolean as a string does not allocate. */
+	private static final String TRUE = "true";
+	private static final String FALSE = "false";
+
+	/** The type of each value on the stack. */
+	private final ValueTypeEnum[] types;
+	/** The int value of each INTEGER, 1 or 0 for each BOOLEAN, and the variable slot of each ADDRESS (-1 if only the name is known). */
+	private final int[] values;
+	/** The string form of each value, or null for numbers and booleans that have not been needed as strings. */
+	private final String[] refs;
+	/** The number of values on the stack. */
+	private int top;
+
+	/**
+	 * Constructor for a stack holding at most capacity values.
+	 * @param capacity The maximum number of values.
+	 */
+	public ValueStack(int capacity){
+		if (capacity <= 0){
+			throw new RuntimeException("Error creating ValueStack: capacity must be greater than 0.");
+		}
+		this.types = new ValueTypeEnum[capacity];
+		this.values = new int[capacity];
+		this.refs = new String[capacity];
+		this.top = 0;
+	}
+
+	/**
+	 * Works out the type a program term or stored string has on the stack, in the same way the word methods always have:
+	 * "true" and "false" are booleans, terms containing # are variable addresses, terms accepted by Integer.parseInt() are integers.
+	 * @param value The string to classify.
+	 * @return The type of the value.
+	 */
+	public static ValueTypeEnum classify(String value){
+		if (value.equals(TRUE) || value.equals(FALSE)){
+			return ValueTypeEnum.BOOLEAN;
+		}
+		if (value.indexOf('#') >= 0){
+			return ValueTypeEnum.ADDRESS;
+		}
+		if (isInteger(value)){
+			return ValueTypeEnum.INTEGER;
+		}
+		return ValueTypeEnum.STRING;
+	}
+
+	/**
+	 * Checks whether Integer.parseInt() would accept a string, without throwing an exception when it would not.
+	 * @param value The string to check.
+	 * @return true if the string is an optional sign followed by decimal digits, within the range of an int.
+	 */
+	public static boolean isInteger(String value){
+		int length = value.length();
+		int i = 0;
+		if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')){
+			i = 1;
+		}
+		if (i == length){
+			return false;
+		}
+		long result = 0;
+		for (; i < length; i++){
+			char c = value.charAt(i);
+			if (c < '0' || c > '9'){
+				return false;
+			}
+			result = result * 10 + (c - '0');
+			if (result > 1L + Integer.MAX_VALUE){
+				return false;
+			}
+		}
+		if (value.charAt(0) == '-'){
+			result = -result;
+		}
+		return result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE;
+	}
+
+	public int size(){
+		return this.top;
+	}
+
+	public boolean isEmpty(){
+		return this.top == 0;
+	}
+
+	public int capacity(){
+		return this.types.length;
+	}
+
+	/**
+	 * Copies the values on the stack into a stack just big enough to hold them.
+	 * @return The copy.
+	 */
+	ValueStack copy(){
+		ValueStack copy = new ValueStack(Math.max(this.top, 1));
+		copy.restore(this);
+		return copy;
+	}
+
+	/**
+	 * Replaces the values on this stack with the values on another.
+	 * @param other The stack to copy, which is not changed.
+	 * @precondition This stack can hold every value on the other.
+	 */
+	void restore(ValueStack other){
+		if (other.top > this.types.length){
+			throw new RuntimeException("stack overflow: more than " + this.types.length + " values on the stack");
+		}
+		this.clear();
+		System.arraycopy(other.types, 0, this.types, 0, other.top);
+		System.arraycopy(other.values, 0, this.values, 0, other.top);
+		System.arraycopy(other.refs, 0, this.refs, 0, other.top);
+		this.top = other.top;
+	}
+
+	public void clear(){
+		//  Release the strings so they can be collected.
+		Arrays.fill(this.refs, 0, this.top, null);
+		this.top = 0;
+	}
+
+	/**
+	 * Pushes a value whose type is already known, such as a compiled constant.
+	 * @param type The type of the value.
+	 * @param value The int value for INTEGER, BOOLEAN (1 or 0) and ADDRESS values.
+	 * @param ref The string form of the value, or null if it can be built from the int value.
+	 * @postcondition The value is on top of the stack.
+	 */
+	public void push(ValueTypeEnum type, int value, String ref){
+		if (this.top == this.types.length){
+			throw new RuntimeException("stack overflow: more than " + this.types.length + " values on the stack");
+		}
+		this.types[this.top] = type;
+		this.values[this.top] = value;
+		this.refs[this.top] = ref;
+		this.top += 1;
+	}
+
+	/**
+	 * Pushes a string, classifying it with classify() so that typed words can use it.
+	 * The same String object is returned by pop().
+	 * @param value The string to push.
+	 */
+	public void push(String value){
+		ValueTypeEnum type = classify(value);
+		int number = 0;
+		if (type == ValueTypeEnum.INTEGER){
+			number = Integer.parseInt(value);
+		}
+		else if (type == ValueTypeEnum.ADDRESS){
+			//  The slot of a location given by name is not known until it is used.
+			number = -1;
+		}
+		else if (type == ValueTypeEnum.BOOLEAN){
+			number = value.equals(TRUE) ? 1 : 0;
+		}
+		this.push(type, number, value);
+	}
+
+	public void pushInt(int value){
+		this.push(ValueTypeEnum.INTEGER, value, null);
+	}
+
+	public void pushBool(boolean value){
+		this.push(ValueTypeEnum.BOOLEAN, value ? 1 : 0, null);
+	}
+
+	/**
+	 * Getter for the type of a value without removing it.
+	 * @param depth 0 for the top value, 1 for the value below it, and so on.
+	 * @return The type of the value.
+	 */
+	public ValueTypeEnum typeAt(int depth){
+		this.checkDepth(depth);
+		return this.types[this.top - 1 - depth];
+	}
+
+	/**
+	 * Getter for the int value of a value without removing it.
+	 * @param depth 0 for the top value, 1 for the value below it, and so on.
+	 * @return The int value; 1 or 0 for booleans.
+	 */
+	public int intAt(int depth){
+		this.checkDepth(depth);
+		return this.values[this.top - 1 - depth];
+	}
+
+	/**
+	 * Getter for the string that was pushed with a value, without building one for numbers and booleans.
+	 * @param depth 0 for the top value, 1 for the value below it, and so on.
+	 * @return The string form of the value, or null.
+	 */
+	public String refAt(int depth){
+		this.checkDepth(depth);
+		return this.refs[this.top - 1 - depth];
+	}
+
+	/**
+	 * Removes the top value and returns its int value, whatever its type.
+	 * @return The int value; 1 or 0 for booleans.
+	 */
+	public int popInt(){
+		this.checkDepth(0);
+		this.top -= 1;
+		this.refs[this.top] = null;
+		return this.values[this.top];
+	}
+
+	public boolean popBool(){
+		return this.popInt() != 0;
+	}
+
+	/**
+	 * Removes the top value and returns it as a string.
+	 * @return The string that was pushed, or the string form of a number or boolean.
+	 */
+	public String pop(){
+		String value = this.peek();
+		this.top -= 1;
+		this.refs[this.top] = null;
+		return value;
+	}
+
+	/**
+	 * Returns the top value as a string without removing it.
+	 * @return The string that was pushed, or the string form of a number or boolean.
+	 */
+	public String peek(){
+		this.checkDepth(0);
+		return this.stringAt(this.top - 1);
+	}
+
+	/**
+	 * Removes the top value without building its string form.
+	 */
+	public void drop(){
+		this.checkDepth(0);
+		this.top -= 1;
+		this.refs[this.top] = null;
+	}
+
+	/**
+	 * Pushes a copy of the value at the given depth.
+	 * @param depth 0 for the top value, 1 for the value below it, and so on.
+	 */
+	public void copy(int depth){
+		this.checkDepth(depth);
+		int index = this.top - 1 - depth;
+		this.push(this.types[index], this.values[index], this.refs[index]);
+	}
+
+	/**
+	 * Moves the value at the given depth to the top of the stack, shifting the values above it down.
+	 * @param depth 1 to swap the top two values, 2 to rotate the top three.
+	 */
+	public void roll(int depth){
+		this.checkDepth(depth);
+		int index = this.top - 1 - depth;
+		ValueTypeEnum type = this.types[index];
+		int value = this.values[index];
+		String ref = this.refs[index];
+		System.arraycopy(this.types, index + 1, this.types, index, depth);
+		System.arraycopy(this.values, index + 1, this.values, index, depth);
+		System.arraycopy(this.refs, index + 1, this.refs, index, depth);
+		this.types[this.top - 1] = type;
+		this.values[this.top - 1] = value;
+		this.refs[this.top - 1] = ref;
+	}
+
+	private String stringAt(int index){
+		if (this.refs[index] == null){
+			if (this.types[index] == ValueTypeEnum.BOOLEAN){
+				return this.values[index] != 0 ? TRUE : FALSE;
+			}
+			//  Cache the string form in case the value is copied and used as a string again.
+			this.refs[index] = Integer.toString(this.values[index]);
+		}
+		return this.refs[index];
+	}
+
+	private void checkDepth(int depth){
+		if (depth >= this.top){
+			throw new RuntimeException("stack underflow: " + (depth + 1) + " values needed, " + this.top + " on the stack");
+		}
+	}
+
+	/**
+	 * Lists the values from the bottom of the stack to the top, in the same form as java.util.Stack.
+	 * @return The values as strings, eg. "[1, true, moo]".
+	 */
+	@Override
+	public String toString(){
+		StringBuilder result = new StringBuilder("[");
+		for (int i = 0; i < this.top; i++){
+			if (i > 0){
+				result.append(", ");
+			}
+			result.append(this.stringAt(i));
+		}
+		return result.append(']').toString();
+	}
+
+}
@@ -0,0 +1,12 @@
+/*  ValueTypeEnum.java
+ *  Purpose: Enumeration of the types of value that can be held on an Interpreter stack.
+ */
+
+package robowars.interpreter;
+
+public enum ValueTypeEnum {
+	INTEGER,
+	BOOLEAN,
+	STRING,
+	ADDRESS;
+}
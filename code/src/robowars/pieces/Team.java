@@ -12,6 +12,8 @@
 package robowars.pieces;
 
 import robowars.board.Board;
+import robowars.diagnostics.DiagnosticLevelEnum;
+import robowars.diagnostics.Diagnostics;
 import robowars.flow.PlayerSettings;
 import robowars.interpreter.Interpreter;
 
@@ -92,10 +94,15 @@ public class Team {
 		this.isAI = isAI;
 		
 		//  Initialize interpreters for all members of the AI team.
+		//  The Interpreter keeps the board it is given.
+		this.board = b;
 		if (this.isAI) {
-			this.interpreter = new Interpreter(b.getPiecesPerTeam(), this, p);
+			this.interpreter = new Interpreter(b.getPiecesPerTeam(), this, p, b.getMatchOptions().getInterpreterConfig());
+			this.interpreter.setDiagnostics(b.getMatchOptions().getDiagnostics());
+			this.interpreter.setSeed(b.getMatchOptions().getSeed(), colour.ordinal());
+			this.interpreter.setProfiling(b.getMatchOptions().isProfiling());
+			this.interpreter.setTracing(b.getMatchOptions().getTraceCapacity());
 		}
-		this.board = b;
 	
 	}
 
@@ -204,9 +211,32 @@ public class Team {
 	 * @param pieceID the piece index
 	 */
 	public void playAI(int pieceID) {	
-		System.out.println("All right, piece " + pieceID + ", let's do this.");
+		Diagnostics diagnostics = this.interpreter.getDiagnostics();
+		if (diagnostics.isEnabled(DiagnosticLevelEnum.DEBUG)){
+			diagnostics.report(DiagnosticLevelEnum.DEBUG, "Team", "playing " + this.colour + " piece" + pieceID + ".");
+		}
 		this.interpreter.play(pieceID);
-		System.out.println("All done with the interpreter.");
+		diagnostics.report(DiagnosticLevelEnum.DEBUG, "Team", "done with the interpreter.");
+	}
+	
+	/**
+	 * Method for ending the AI turn being played by playAI(), which may be running on another thread.
+	 * @postcondition The Interpreter ends the turn at its next check.
+	 */
+	public void cancelAI() {
+		if (this.interpreter != null){
+			this.interpreter.cancel();
+		}
+	}
+	
+	/**
+	 * Method for letting the AI play again after cancelAI(), called when its next turn or initialization is queued.
+	 * @postcondition The Interpreter runs the turns queued from now on.
+	 */
+	public void clearCancelAI() {
+		if (this.interpreter != null){
+			this.interpreter.clearCancel();
+		}
 	}
 	
 	/**
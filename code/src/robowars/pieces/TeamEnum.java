@@ -8,15 +8,17 @@
 
 package robowars.pieces;
 
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.Set;
 
 public enum TeamEnum {
 
 	RED, ORANGE, YELLOW, GREEN, BLUE, PURPLE;
 
-	public static EnumSet<TeamEnum> Two = EnumSet.of(TeamEnum.RED, TeamEnum.GREEN);
+	public static final Set<TeamEnum> Two = Collections.unmodifiableSet(EnumSet.of(TeamEnum.RED, TeamEnum.GREEN));
 	
-	public static EnumSet<TeamEnum> Three = EnumSet.of(TeamEnum.RED, TeamEnum.YELLOW, TeamEnum.BLUE);
+	public static final Set<TeamEnum> Three = Collections.unmodifiableSet(EnumSet.of(TeamEnum.RED, TeamEnum.YELLOW, TeamEnum.BLUE));
 	
 
 }